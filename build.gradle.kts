@@ -116,6 +116,12 @@ val osType = if (os.isWindows) "windows" else
         if (os.isLinux) "linux" else ""
 val archType = if (arch == "aarch64" || arch == "arm64") "arm64" else "x86_64"
 
+// JMH benchmarks live in their own source set so they run offline without Javet
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
 dependencies {
     // https://mvnrepository.com/artifact/org.assertj/assertj-core
     testImplementation(Config.Projects.ASSERTJ_CORE)
@@ -131,6 +137,9 @@ dependencies {
     testImplementation(Config.Projects.JMH_CORE)
     testAnnotationProcessor(Config.Projects.JMH_GENERATOR_ANNPROCESS)
 
+    "jmhImplementation"(Config.Projects.JMH_CORE)
+    "jmhAnnotationProcessor"(Config.Projects.JMH_GENERATOR_ANNPROCESS)
+
     testImplementation(Config.Projects.JAVET)
     testImplementation("com.caoccao.javet:javet-v8-$osType-$archType-i18n:${Config.Versions.JAVET}")
 }
@@ -151,6 +160,24 @@ tasks.register<Test>("performanceTest") {
     shouldRunAfter(tasks.test)
 }
 
+// Run the JMH benchmark suite, e.g. ./gradlew jmh -Pjmh.include=ArrayBenchmark
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs JMH benchmarks and writes JSON results to build/reports/jmh"
+
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+
+    val resultFile = layout.buildDirectory.file("reports/jmh/results.json")
+    args = listOfNotNull(providers.gradleProperty("jmh.include").orNull) +
+            listOf("-rf", "json", "-rff", resultFile.get().asFile.absolutePath)
+    outputs.file(resultFile)
+    outputs.upToDateWhen { false }
+    doFirst {
+        resultFile.get().asFile.parentFile.mkdirs()
+    }
+}
+
 // Create a task for running test262 conformance tests
 tasks.register<JavaExec>("test262") {
     group = "verification"
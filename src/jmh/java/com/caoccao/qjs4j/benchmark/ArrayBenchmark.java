@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Array builtins.
+ */
+public class ArrayBenchmark extends BaseBenchmark {
+    private JSFunction iteration;
+    private JSFunction join;
+    private JSFunction pushPop;
+    private JSFunction sortNumbers;
+    private JSFunction sortStrings;
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const numbers = [];
+                for (let i = 0; i < 1000; i++) numbers.push((i * 7919) % 1000);
+                const strings = numbers.map(n => 'item' + n);
+                function iteration() {
+                  return numbers.map(n => n * 2).filter(n => n % 3 === 0).reduce((a, b) => a + b, 0)
+                    + numbers.indexOf(999) + (numbers.includes(500) ? 1 : 0);
+                }
+                function join() {
+                  return numbers.join(',').length;
+                }
+                function pushPop() {
+                  const array = [];
+                  for (let i = 0; i < 1000; i++) array.push(i);
+                  let sum = 0;
+                  while (array.length > 0) sum += array.pop();
+                  return sum;
+                }
+                function sortNumbers() {
+                  return numbers.slice().sort((a, b) => a - b)[500];
+                }
+                function sortStrings() {
+                  return strings.slice().sort()[500];
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue iteration() {
+        return call(iteration);
+    }
+
+    @Benchmark
+    public JSValue join() {
+        return call(join);
+    }
+
+    @Benchmark
+    public JSValue pushPop() {
+        return call(pushPop);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        iteration = getFunction("iteration");
+        join = getFunction("join");
+        pushPop = getFunction("pushPop");
+        sortNumbers = getFunction("sortNumbers");
+        sortStrings = getFunction("sortStrings");
+    }
+
+    @Benchmark
+    public JSValue sortNumbers() {
+        return call(sortNumbers);
+    }
+
+    @Benchmark
+    public JSValue sortStrings() {
+        return call(sortStrings);
+    }
+}
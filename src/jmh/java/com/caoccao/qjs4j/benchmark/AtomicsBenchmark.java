@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Atomics.waitAsync() with 10k concurrent waiters on a SharedArrayBuffer.
+ */
+public class AtomicsBenchmark extends BaseBenchmark {
+    private JSFunction waitAsyncNotify;
+    private JSFunction waitAsyncTimed;
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const WAITERS = 10000;
+                const i32 = new Int32Array(new SharedArrayBuffer(64));
+                let woken = 0;
+                function waitAsyncNotify() {
+                  for (let i = 0; i < WAITERS; i++) {
+                    Atomics.waitAsync(i32, i & 15, 0).value.then(() => { woken++; });
+                  }
+                  for (let i = 0; i < 16; i++) Atomics.notify(i32, i);
+                  return woken;
+                }
+                function waitAsyncTimed() {
+                  for (let i = 0; i < WAITERS; i++) {
+                    Atomics.waitAsync(i32, i & 15, 0, 60000).value.then(() => { woken++; });
+                  }
+                  for (let i = 0; i < 16; i++) Atomics.notify(i32, i);
+                  return woken;
+                }
+                """;
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        waitAsyncNotify = getFunction("waitAsyncNotify");
+        waitAsyncTimed = getFunction("waitAsyncTimed");
+    }
+
+    @Benchmark
+    public JSValue waitAsyncNotify() {
+        JSValue result = call(waitAsyncNotify);
+        context.processMicrotasks();
+        return result;
+    }
+
+    @Benchmark
+    public JSValue waitAsyncTimed() {
+        JSValue result = call(waitAsyncTimed);
+        context.processMicrotasks();
+        return result;
+    }
+}
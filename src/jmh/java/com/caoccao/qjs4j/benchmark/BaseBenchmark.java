@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the JMH benchmarks. Each trial gets a fresh runtime and context,
+ * evaluates {@link #getSetupScript()} once, and benchmarks call the global functions
+ * it defines so that parsing and compiling stay out of the measured path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class BaseBenchmark {
+    protected JSContext context;
+    protected JSRuntime runtime;
+
+    protected JSValue call(JSFunction function) {
+        return function.call(context, JSUndefined.INSTANCE, JSValue.NO_ARGS);
+    }
+
+    protected JSFunction getFunction(String name) {
+        JSValue value = context.getGlobalObject().get(name);
+        if (value instanceof JSFunction function) {
+            return function;
+        }
+        throw new IllegalStateException("Benchmark function " + name + " is not defined");
+    }
+
+    protected abstract String getSetupScript();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        runtime = new JSRuntime();
+        context = runtime.createContext();
+        context.eval(getSetupScript());
+        setUpFunctions();
+    }
+
+    /**
+     * Look up the functions defined by the setup script.
+     */
+    protected void setUpFunctions() {
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.close();
+        context = null;
+        runtime = null;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Map and Set operations.
+ */
+public class CollectionBenchmark extends BaseBenchmark {
+    private JSFunction map;
+    private JSFunction set;
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const keys = Array.from({ length: 1000 }, (_, i) => 'key' + i);
+                function map() {
+                  const m = new Map();
+                  for (let i = 0; i < keys.length; i++) m.set(keys[i], i);
+                  let sum = 0;
+                  for (let i = 0; i < keys.length; i++) sum += m.get(keys[i]);
+                  for (const [key, value] of m) sum += value;
+                  return sum;
+                }
+                function set() {
+                  const s = new Set();
+                  for (let i = 0; i < 1000; i++) s.add(i % 500);
+                  let count = 0;
+                  for (let i = 0; i < 1000; i++) if (s.has(i)) count++;
+                  s.forEach(v => { count += v; });
+                  return count;
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue map() {
+        return call(map);
+    }
+
+    @Benchmark
+    public JSValue set() {
+        return call(set);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        map = getFunction("map");
+        set = getFunction("set");
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.compilation.ast.Program;
+import com.caoccao.qjs4j.compilation.compiler.Compiler;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Lexing and parsing, and the full parse plus bytecode compilation pipeline.
+ */
+public class CompilerBenchmark extends BaseBenchmark {
+    private static final String FILE_NAME = "benchmark.js";
+    private static final String SOURCE_TEMPLATE = """
+            class Shape$ {
+              #id = $;
+              constructor(width, height) { this.width = width; this.height = height; }
+              get area() { return this.width * this.height; }
+              scale(factor = 2) { return new Shape$(this.width * factor, this.height * factor); }
+              static of({ width, height } = {}) { return new Shape$(width ?? 1, height ?? 1); }
+            }
+            function compute$(items, ...rest) {
+              const result = [];
+              for (const [index, item] of items.entries()) {
+                if (item?.value > 10 && !rest.includes(index)) {
+                  result.push(`${index}:${item.value}`);
+                } else {
+                  switch (typeof item) {
+                    case 'number': result.push(item * 2); break;
+                    case 'string': result.push(item.toUpperCase()); break;
+                    default: result.push(null);
+                  }
+                }
+              }
+              try { return result.map(x => x ?? 0).filter(Boolean); } catch (e) { return []; }
+            }
+            async function* generate$(limit) {
+              let i = 0;
+              while (i < limit) { yield await Promise.resolve({ value: i++, shape: Shape$.of({ width: i }) }); }
+            }
+            """;
+
+    private String source;
+
+    @Benchmark
+    public Compiler.CompileResult compile() {
+        return new Compiler(source, FILE_NAME).setContext(context).compile(false);
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return "";
+    }
+
+    @Benchmark
+    public Program parse() {
+        return new Compiler(source, FILE_NAME).parse(false);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        StringBuilder stringBuilder = new StringBuilder(SOURCE_TEMPLATE.length() * 20);
+        for (int i = 0; i < 20; i++) {
+            stringBuilder.append(SOURCE_TEMPLATE.replace("$", Integer.toString(i)));
+        }
+        source = stringBuilder.toString();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSContext;
+import com.caoccao.qjs4j.core.JSRuntime;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Runtime and context creation, including the global object and its eager intrinsics,
+ * and the first use of a lazily materialized one.
+ */
+public class ContextBenchmark extends BaseBenchmark {
+    @Benchmark
+    public JSValue createContext() {
+        try (JSContext newContext = runtime.createContext()) {
+            return newContext.getGlobalObject();
+        }
+    }
+
+    @Benchmark
+    public JSValue createContextAndUseIntl() {
+        try (JSContext newContext = runtime.createContext()) {
+            return newContext.eval("new Intl.NumberFormat('en').format(1234.5)");
+        }
+    }
+
+    @Benchmark
+    public JSValue createRuntimeAndContext() {
+        try (JSRuntime newRuntime = new JSRuntime()) {
+            return newRuntime.createContext().eval("1 + 1");
+        }
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return "";
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Property access, function calls and closures in the bytecode interpreter.
+ */
+public class InterpreterBenchmark extends BaseBenchmark {
+    private JSFunction closures;
+    private JSFunction functionCalls;
+    private JSFunction propertyAccess;
+    private JSFunction propertyWrite;
+
+    @Benchmark
+    public JSValue closures() {
+        return call(closures);
+    }
+
+    @Benchmark
+    public JSValue functionCalls() {
+        return call(functionCalls);
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                function Point(x, y) { this.x = x; this.y = y; }
+                Point.prototype.norm = function () { return this.x * this.x + this.y * this.y; };
+                const points = [];
+                for (let i = 0; i < 100; i++) points.push(new Point(i, i + 1));
+                function propertyAccess() {
+                  let sum = 0;
+                  for (let i = 0; i < points.length; i++) sum += points[i].x + points[i].y;
+                  return sum;
+                }
+                function propertyWrite() {
+                  const o = {};
+                  for (let i = 0; i < 100; i++) { o.a = i; o.b = o.a + 1; o.c = o.b + 1; }
+                  return o.c;
+                }
+                function add(a, b) { return a + b; }
+                function functionCalls() {
+                  let sum = 0;
+                  for (let i = 0; i < 1000; i++) sum = add(sum, i);
+                  for (let i = 0; i < points.length; i++) sum += points[i].norm();
+                  return sum;
+                }
+                function closures() {
+                  const counters = [];
+                  for (let i = 0; i < 100; i++) {
+                    let count = i;
+                    counters.push(() => ++count);
+                  }
+                  let sum = 0;
+                  for (const counter of counters) sum += counter() + counter();
+                  return sum;
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue propertyAccess() {
+        return call(propertyAccess);
+    }
+
+    @Benchmark
+    public JSValue propertyWrite() {
+        return call(propertyWrite);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        closures = getFunction("closures");
+        functionCalls = getFunction("functionCalls");
+        propertyAccess = getFunction("propertyAccess");
+        propertyWrite = getFunction("propertyWrite");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * JSON.parse and JSON.stringify.
+ */
+public class JsonBenchmark extends BaseBenchmark {
+    private JSFunction parse;
+    private JSFunction stringify;
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const data = Array.from({ length: 200 }, (_, i) => ({
+                  id: i, name: 'item' + i, price: i * 1.25, active: i % 2 === 0,
+                  tags: ['a', 'b', 'c'], nested: { x: i, y: [i, i + 1] }
+                }));
+                const json = JSON.stringify(data);
+                function parse() {
+                  return JSON.parse(json).length;
+                }
+                function stringify() {
+                  return JSON.stringify(data).length;
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue parse() {
+        return call(parse);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        parse = getFunction("parse");
+        stringify = getFunction("stringify");
+    }
+
+    @Benchmark
+    public JSValue stringify() {
+        return call(stringify);
+    }
+}
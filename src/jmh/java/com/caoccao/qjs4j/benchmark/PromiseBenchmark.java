@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Promise reactions, async functions and microtask throughput.
+ */
+public class PromiseBenchmark extends BaseBenchmark {
+    private JSFunction asyncAwait;
+    private JSFunction promiseChain;
+    private JSFunction promiseFanOut;
+
+    @Benchmark
+    public JSValue asyncAwait() {
+        JSValue result = call(asyncAwait);
+        context.processMicrotasks();
+        return result;
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                let total = 0;
+                function promiseChain() {
+                  let promise = Promise.resolve(0);
+                  for (let i = 0; i < 100; i++) promise = promise.then(v => v + 1);
+                  promise.then(v => { total += v; });
+                  return total;
+                }
+                function promiseFanOut() {
+                  const promise = Promise.resolve(1);
+                  for (let i = 0; i < 10000; i++) promise.then(v => { total += v; });
+                  return total;
+                }
+                async function step(v) { return v + 1; }
+                async function run() {
+                  let v = 0;
+                  for (let i = 0; i < 100; i++) v = await step(v);
+                  total += v;
+                }
+                function asyncAwait() {
+                  run();
+                  return total;
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue promiseChain() {
+        JSValue result = call(promiseChain);
+        context.processMicrotasks();
+        return result;
+    }
+
+    @Benchmark
+    public JSValue promiseFanOut() {
+        JSValue result = call(promiseFanOut);
+        context.processMicrotasks();
+        return result;
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        asyncAwait = getFunction("asyncAwait");
+        promiseChain = getFunction("promiseChain");
+        promiseFanOut = getFunction("promiseFanOut");
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Regular expression matching and replacement.
+ */
+public class RegExpBenchmark extends BaseBenchmark {
+    private JSFunction exec;
+    private JSFunction replace;
+    private JSFunction test;
+
+    @Benchmark
+    public JSValue exec() {
+        return call(exec);
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const log = Array.from({ length: 100 }, (_, i) =>
+                  `2026-01-${String(i % 28 + 1).padStart(2, '0')} user${i}@example.com GET /api/items/${i}`).join('\\n');
+                function exec() {
+                  const pattern = /(\\d{4})-(\\d{2})-(\\d{2}) (\\w+)@([\\w.]+)/g;
+                  let count = 0;
+                  let match;
+                  while ((match = pattern.exec(log)) !== null) count += match[4].length;
+                  return count;
+                }
+                function replace() {
+                  return log.replace(/\\d+/g, n => n.length).length;
+                }
+                function test() {
+                  let count = 0;
+                  for (let i = 0; i < 100; i++) {
+                    if (/^[a-z]+\\d+$/i.test('user' + i)) count++;
+                  }
+                  return count;
+                }
+                """;
+    }
+
+    @Benchmark
+    public JSValue replace() {
+        return call(replace);
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        exec = getFunction("exec");
+        replace = getFunction("replace");
+        test = getFunction("test");
+    }
+
+    @Benchmark
+    public JSValue test() {
+        return call(test);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.benchmark;
+
+import com.caoccao.qjs4j.core.JSFunction;
+import com.caoccao.qjs4j.core.JSValue;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * String concatenation and string builtins.
+ */
+public class StringBenchmark extends BaseBenchmark {
+    private JSFunction builtins;
+    private JSFunction concatenation;
+    private JSFunction templateLiteral;
+
+    @Benchmark
+    public JSValue builtins() {
+        return call(builtins);
+    }
+
+    @Benchmark
+    public JSValue concatenation() {
+        return call(concatenation);
+    }
+
+    @Override
+    protected String getSetupScript() {
+        return """
+                const text = 'The quick brown fox jumps over the lazy dog. '.repeat(20);
+                function builtins() {
+                  let sum = 0;
+                  for (let i = 0; i < 20; i++) {
+                    sum += text.indexOf('lazy', i) + text.split(' ').length
+                      + text.slice(i, i + 10).toUpperCase().length + text.charCodeAt(i)
+                      + text.replaceAll('o', '0').length + text.trim().padEnd(1000, '-').length;
+                  }
+                  return sum;
+                }
+                function concatenation() {
+                  let s = '';
+                  for (let i = 0; i < 1000; i++) s += 'x' + i;
+                  return s.length;
+                }
+                function templateLiteral() {
+                  let length = 0;
+                  for (let i = 0; i < 1000; i++) length += `item ${i} of ${text.length}`.length;
+                  return length;
+                }
+                """;
+    }
+
+    @Override
+    protected void setUpFunctions() {
+        builtins = getFunction("builtins");
+        concatenation = getFunction("concatenation");
+        templateLiteral = getFunction("templateLiteral");
+    }
+
+    @Benchmark
+    public JSValue templateLiteral() {
+        return call(templateLiteral);
+    }
+}
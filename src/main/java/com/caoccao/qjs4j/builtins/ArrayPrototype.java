@@ -17,9 +17,10 @@
 package com.caoccao.qjs4j.builtins;
 
 import com.caoccao.qjs4j.core.*;
+import com.caoccao.qjs4j.utils.StringAccumulator;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -29,6 +30,7 @@ import java.util.List;
  * @see <a href="https://tc39.es/ecma262/#sec-properties-of-the-array-prototype-object">ECMAScript Array.prototype</a>
  */
 public final class ArrayPrototype {
+    private static final int MAX_JOIN_PART_PRESIZE = 1 << 16;
 
     /**
      * Array.prototype.at(index)
@@ -81,18 +83,20 @@ public final class ArrayPrototype {
         return obj.get(PropertyKey.fromString(Long.toString(index)));
     }
 
-    private static JSValue callCallableForSort(
-            JSContext context,
-            JSValue callable,
-            JSValue thisArg,
-            JSValue[] args) {
-        if (callable instanceof JSProxy proxy) {
-            return proxy.apply(context, thisArg, args);
+    /**
+     * Append the string form of a join element, where null and undefined are empty.
+     */
+    private static boolean appendJoinElement(JSContext context, StringAccumulator result, JSValue element) {
+        if (element instanceof JSNull || element instanceof JSUndefined) {
+            result.append("");
+            return true;
         }
-        if (callable instanceof JSFunction function) {
-            return function.call(context, thisArg, args);
+        JSString string = JSTypeConversions.toString(context, element);
+        if (context.hasPendingException()) {
+            return false;
         }
-        return context.throwTypeError("Value is not callable");
+        result.append(string.value());
+        return true;
     }
 
     /**
@@ -1135,36 +1139,45 @@ public final class ArrayPrototype {
         if (thisArg instanceof JSNull || thisArg instanceof JSUndefined) {
             return context.throwTypeError("Array.prototype.join called on null or undefined");
         }
-        StringBuilder result = new StringBuilder();
+        // Elements are converted one by one, the result string is allocated once at the end.
+        StringAccumulator result;
+        String separator;
         if (thisArg instanceof JSArray jsArray) {
-            String separator = args.length > 0 && !(args[0] instanceof JSUndefined) ?
+            separator = args.length > 0 && !(args[0] instanceof JSUndefined) ?
                     JSTypeConversions.toString(context, args[0]).value() : ",";
+            if (context.hasPendingException()) {
+                return context.getPendingException();
+            }
             long length = jsArray.getLength();
+            result = new StringAccumulator((int) Math.min(length, MAX_JOIN_PART_PRESIZE));
             for (long i = 0; i < length; i++) {
-                if (i > 0) {
-                    result.append(separator);
-                }
                 JSValue element = jsArray.get(i);
-                if (!(element instanceof JSNull) && !(element instanceof JSUndefined)) {
-                    result.append(JSTypeConversions.toString(context, element).value());
+                if (context.hasPendingException() || !appendJoinElement(context, result, element)) {
+                    return context.getPendingException();
                 }
             }
         } else if (thisArg instanceof JSObject jsObject) {
             // Following QuickJS js_array_join: read length first, then coerce separator
             long length = JSTypeConversions.toLength(context, jsObject.get(PropertyKey.fromString("length")));
-            String separator = args.length > 0 && !(args[0] instanceof JSUndefined) ?
+            if (context.hasPendingException()) {
+                return context.getPendingException();
+            }
+            separator = args.length > 0 && !(args[0] instanceof JSUndefined) ?
                     JSTypeConversions.toString(context, args[0]).value() : ",";
+            if (context.hasPendingException()) {
+                return context.getPendingException();
+            }
+            result = new StringAccumulator((int) Math.min(length, MAX_JOIN_PART_PRESIZE));
             for (long i = 0; i < length; i++) {
-                if (i > 0) {
-                    result.append(separator);
-                }
                 JSValue element = jsObject.get(PropertyKey.fromString(Long.toString(i)));
-                if (!(element instanceof JSNull) && !(element instanceof JSUndefined)) {
-                    result.append(JSTypeConversions.toString(context, element).value());
+                if (context.hasPendingException() || !appendJoinElement(context, result, element)) {
+                    return context.getPendingException();
                 }
             }
+        } else {
+            return new JSString("");
         }
-        return new JSString(result.toString());
+        return new JSString(result.join(separator));
     }
 
     /**
@@ -1864,53 +1877,70 @@ public final class ArrayPrototype {
 
         // Following QuickJS js_array_sort: separate holes/undefined from sortable elements.
         // Phase 1: Collect only present, non-undefined elements; count undefined values; skip holes.
-        List<JSValue> sortableElements = new ArrayList<>();
-        int undefinedCount = 0;
-        for (long i = 0; i < length; i++) {
-            PropertyKey key = PropertyKey.fromString(Long.toString(i));
-            boolean present = obj.has(key);
-            if (context.hasPendingException()) {
-                return context.getPendingException();
-            }
-            if (!present) {
-                continue;
+        // A packed array is read straight from its dense storage.
+        JSArray packedArray = null;
+        JSValue[] sortableElements = null;
+        if (obj instanceof JSArray jsArray) {
+            sortableElements = jsArray.getPackedElements();
+            if (sortableElements != null) {
+                packedArray = jsArray;
             }
-            JSValue value = obj.get(key);
-            if (context.hasPendingException()) {
-                return context.getPendingException();
+        }
+        int sortableCount = 0;
+        int undefinedCount = 0;
+        if (sortableElements != null) {
+            for (JSValue value : sortableElements) {
+                if (value instanceof JSUndefined) {
+                    undefinedCount++;
+                } else {
+                    sortableElements[sortableCount++] = value;
+                }
             }
-            if (value instanceof JSUndefined) {
-                undefinedCount++;
-                continue;
+        } else {
+            List<JSValue> elements = new ArrayList<>();
+            for (long i = 0; i < length; i++) {
+                PropertyKey key = PropertyKey.fromString(Long.toString(i));
+                boolean present = obj.has(key);
+                if (context.hasPendingException()) {
+                    return context.getPendingException();
+                }
+                if (!present) {
+                    continue;
+                }
+                JSValue value = obj.get(key);
+                if (context.hasPendingException()) {
+                    return context.getPendingException();
+                }
+                if (value instanceof JSUndefined) {
+                    undefinedCount++;
+                    continue;
+                }
+                elements.add(value);
             }
-            sortableElements.add(value);
+            sortableElements = elements.toArray(JSValue[]::new);
+            sortableCount = sortableElements.length;
         }
 
         // Phase 2: Sort only the defined, present elements.
-        Collections.sort(sortableElements, (a, b) -> {
-            if (compareCallable != null) {
-                JSValue[] compareArgs = {a, b};
-                JSValue result = callCallableForSort(
-                        context,
-                        compareCallable,
-                        JSUndefined.INSTANCE,
-                        compareArgs);
-                return JSTypeConversions.toInt32(context, result);
-            } else {
-                // Default: convert to strings and compare
-                String aStr = JSTypeConversions.toString(context, a).value();
-                String bStr = JSTypeConversions.toString(context, b).value();
-                return aStr.compareTo(bStr);
+        if (!ArraySorter.sort(context, compareCallable, sortableElements, sortableCount)) {
+            return context.getPendingException();
+        }
+
+        // The comparator may have changed the array, so the dense write-back re-checks the layout.
+        if (packedArray != null) {
+            Arrays.fill(sortableElements, sortableCount, sortableElements.length, JSUndefined.INSTANCE);
+            if (packedArray.setPackedElements(sortableElements)) {
+                return obj;
             }
-        });
+        }
 
         // Phase 3: Write back sorted elements, then undefined values, then delete holes.
         long writeIndex = 0;
 
         // Write sorted elements
-        for (int i = 0; i < sortableElements.size(); i++) {
+        for (int i = 0; i < sortableCount; i++) {
             PropertyKey key = PropertyKey.fromString(Long.toString(writeIndex));
-            if (!setOrThrow(context, obj, key, sortableElements.get(i))) {
+            if (!setOrThrow(context, obj, key, sortableElements[i])) {
                 return context.getPendingException();
             }
             writeIndex++;
@@ -2246,35 +2276,33 @@ public final class ArrayPrototype {
         }
 
         // Create a copy of the elements
-        List<JSValue> elements = new ArrayList<>();
-        for (long i = 0; i < length; i++) {
-            PropertyKey key = PropertyKey.fromString(Long.toString(i));
-            elements.add(obj.get(key));
-            if (context.hasPendingException()) {
-                return context.getPendingException();
+        JSValue[] elements = obj instanceof JSArray jsArray ? jsArray.getPackedElements() : null;
+        if (elements == null) {
+            List<JSValue> elementList = new ArrayList<>();
+            for (long i = 0; i < length; i++) {
+                PropertyKey key = PropertyKey.fromString(Long.toString(i));
+                elementList.add(obj.get(key));
+                if (context.hasPendingException()) {
+                    return context.getPendingException();
+                }
             }
+            elements = elementList.toArray(JSValue[]::new);
         }
 
-        // Sort the copy
-        elements.sort((a, b) -> {
-            if (compareCallable != null) {
-                JSValue[] compareArgs = {a, b};
-                JSValue result = callCallableForSort(
-                        context,
-                        compareCallable,
-                        JSUndefined.INSTANCE,
-                        compareArgs);
-                return JSTypeConversions.toInt32(context, result);
-            } else {
-                // Default: convert to strings and compare
-                String aStr = JSTypeConversions.toString(context, a).value();
-                String bStr = JSTypeConversions.toString(context, b).value();
-                return aStr.compareTo(bStr);
+        // Sort the copy, keeping undefined values at the end without comparing them
+        int sortableCount = 0;
+        for (JSValue element : elements) {
+            if (!(element instanceof JSUndefined)) {
+                elements[sortableCount++] = element;
             }
-        });
+        }
+        Arrays.fill(elements, sortableCount, elements.length, JSUndefined.INSTANCE);
+        if (!ArraySorter.sort(context, compareCallable, elements, sortableCount)) {
+            return context.getPendingException();
+        }
 
         // Create new array with sorted elements
-        JSArray result = context.createJSArray(0, elements.size());
+        JSArray result = context.createJSArray(0, elements.length);
         for (JSValue element : elements) {
             result.push(element);
         }
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.builtins;
+
+import com.caoccao.qjs4j.core.*;
+
+/**
+ * Stable in-place TimSort used by Array.prototype.sort and Array.prototype.toSorted.
+ * <p>
+ * With the default comparator, arrays of primitives are compared through string keys
+ * computed once per element. ToString only runs on every comparison when an element
+ * is an object or a symbol, where it is observable.
+ * A comparator function is called with a single reused argument buffer when the callee
+ * is known to copy its arguments into its own frame.
+ * <p>
+ * The merges do not gallop and tolerate inconsistent comparators; a pending exception
+ * from a comparison aborts the sort and leaves the values in an unspecified order.
+ */
+final class ArraySorter {
+    private static final SortAbortedException ABORTED = new SortAbortedException();
+    private static final int MAX_RUN_STACK_SIZE = 49;
+    private static final int MIN_MERGE = 32;
+    private final JSValue[] compareArgs;
+    private final JSValue compareCallable;
+    private final JSContext context;
+    private final String[] keys;
+    private final int[] runBase;
+    private final int[] runLength;
+    private final JSValue[] values;
+    private String[] keysBuffer;
+    private int stackSize;
+    private JSValue[] valuesBuffer;
+
+    private ArraySorter(JSContext context, JSValue compareCallable, JSValue[] values, String[] keys) {
+        this.context = context;
+        this.compareCallable = compareCallable;
+        this.compareArgs = isArgumentBufferReusable(compareCallable) ? new JSValue[2] : null;
+        this.values = values;
+        this.keys = keys;
+        runBase = new int[MAX_RUN_STACK_SIZE];
+        runLength = new int[MAX_RUN_STACK_SIZE];
+        stackSize = 0;
+    }
+
+    /**
+     * Call the comparator of Array.prototype.sort or Array.prototype.toSorted.
+     */
+    private static JSValue callCompareFunction(JSContext context, JSValue callable, JSValue[] args) {
+        if (callable instanceof JSProxy proxy) {
+            return proxy.apply(context, JSUndefined.INSTANCE, args);
+        }
+        if (callable instanceof JSFunction function) {
+            return function.call(context, JSUndefined.INSTANCE, args);
+        }
+        return context.throwTypeError("Value is not callable");
+    }
+
+    /**
+     * Build the string keys for the default comparator, or return null when some element
+     * must be converted on every comparison.
+     */
+    private static String[] createStringKeys(JSContext context, JSValue[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            JSValue value = values[i];
+            if (!(value instanceof JSString
+                    || value instanceof JSNumber
+                    || value instanceof JSBoolean
+                    || value instanceof JSNull
+                    || value instanceof JSBigInt)) {
+                return null;
+            }
+        }
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = JSTypeConversions.toString(context, values[i]).value();
+        }
+        return keys;
+    }
+
+    /**
+     * A bytecode function with locals copies its arguments when the frame is created,
+     * and generator or async state is the only other place arguments are retained.
+     */
+    private static boolean isArgumentBufferReusable(JSValue compareCallable) {
+        return compareCallable instanceof JSBytecodeFunction bytecodeFunction
+                && !bytecodeFunction.isGenerator()
+                && !bytecodeFunction.isAsync()
+                && bytecodeFunction.getBytecode().getLocalCount() > 0;
+    }
+
+    private static int minRunLength(int count) {
+        int remainder = 0;
+        while (count >= MIN_MERGE) {
+            remainder |= count & 1;
+            count >>= 1;
+        }
+        return count + remainder;
+    }
+
+    /**
+     * Sort the first count values in place. Undefined values must already be excluded.
+     *
+     * @param context         the context
+     * @param compareCallable the comparator function, or null for the default string order
+     * @param values          the values
+     * @param count           the number of values to sort
+     * @return false if a comparison left a pending exception
+     */
+    static boolean sort(JSContext context, JSValue compareCallable, JSValue[] values, int count) {
+        if (count < 2) {
+            return true;
+        }
+        String[] keys = null;
+        if (compareCallable == null) {
+            keys = createStringKeys(context, values, count);
+            if (context.hasPendingException()) {
+                return false;
+            }
+        }
+        try {
+            new ArraySorter(context, compareCallable, values, keys).sortRange(count);
+            return true;
+        } catch (SortAbortedException e) {
+            return false;
+        }
+    }
+
+    private void binaryInsertionSort(int low, int high, int start) {
+        for (int i = start; i < high; i++) {
+            JSValue pivot = values[i];
+            String pivotKey = keys != null ? keys[i] : null;
+            int left = low;
+            int right = i;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (compare(pivot, pivotKey, values[middle], keys != null ? keys[middle] : null) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            int moveCount = i - left;
+            if (moveCount > 0) {
+                System.arraycopy(values, left, values, left + 1, moveCount);
+                if (keys != null) {
+                    System.arraycopy(keys, left, keys, left + 1, moveCount);
+                }
+            }
+            values[left] = pivot;
+            if (keys != null) {
+                keys[left] = pivotKey;
+            }
+        }
+    }
+
+    private int compare(JSValue a, String aKey, JSValue b, String bKey) {
+        if (keys != null) {
+            return aKey.compareTo(bKey);
+        }
+        if (compareCallable == null) {
+            String aString = JSTypeConversions.toString(context, a).value();
+            if (context.hasPendingException()) {
+                throw ABORTED;
+            }
+            String bString = JSTypeConversions.toString(context, b).value();
+            if (context.hasPendingException()) {
+                throw ABORTED;
+            }
+            return aString.compareTo(bString);
+        }
+        JSValue[] args = compareArgs != null ? compareArgs : new JSValue[2];
+        args[0] = a;
+        args[1] = b;
+        JSValue result = callCompareFunction(context, compareCallable, args);
+        if (context.hasPendingException()) {
+            throw ABORTED;
+        }
+        double number = result instanceof JSNumber jsNumber
+                ? jsNumber.value()
+                : JSTypeConversions.toNumber(context, result).value();
+        if (context.hasPendingException()) {
+            throw ABORTED;
+        }
+        // NaN compares as +0.
+        return number < 0 ? -1 : (number > 0 ? 1 : 0);
+    }
+
+    private int compareAt(int i, int j) {
+        return keys != null
+                ? keys[i].compareTo(keys[j])
+                : compare(values[i], null, values[j], null);
+    }
+
+    /**
+     * Find the length of the run starting at low, reversing it if it is strictly descending.
+     */
+    private int countRunAndMakeAscending(int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (compareAt(runHigh++, low) < 0) {
+            while (runHigh < high && compareAt(runHigh, runHigh - 1) < 0) {
+                runHigh++;
+            }
+            reverseRange(low, runHigh);
+        } else {
+            while (runHigh < high && compareAt(runHigh, runHigh - 1) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    private void ensureBuffer(int size) {
+        if (valuesBuffer == null || valuesBuffer.length < size) {
+            valuesBuffer = new JSValue[size];
+            if (keys != null) {
+                keysBuffer = new String[size];
+            }
+        }
+    }
+
+    private void mergeAt(int index) {
+        int base1 = runBase[index];
+        int length1 = runLength[index];
+        int base2 = runBase[index + 1];
+        int length2 = runLength[index + 1];
+        runLength[index] = length1 + length2;
+        if (index == stackSize - 3) {
+            runBase[index + 1] = runBase[index + 2];
+            runLength[index + 1] = runLength[index + 2];
+        }
+        stackSize--;
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                    || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merge two adjacent runs from the right, buffering the second run.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        ensureBuffer(length2);
+        System.arraycopy(values, base2, valuesBuffer, 0, length2);
+        if (keys != null) {
+            System.arraycopy(keys, base2, keysBuffer, 0, length2);
+        }
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+        while (cursor1 >= base1 && cursor2 >= 0) {
+            // Take from the second run unless it is strictly less, which keeps equal elements stable.
+            if (compare(valuesBuffer[cursor2], keys != null ? keysBuffer[cursor2] : null,
+                    values[cursor1], keys != null ? keys[cursor1] : null) < 0) {
+                values[destination] = values[cursor1];
+                if (keys != null) {
+                    keys[destination] = keys[cursor1];
+                }
+                cursor1--;
+            } else {
+                values[destination] = valuesBuffer[cursor2];
+                if (keys != null) {
+                    keys[destination] = keysBuffer[cursor2];
+                }
+                cursor2--;
+            }
+            destination--;
+        }
+        if (cursor2 >= 0) {
+            System.arraycopy(valuesBuffer, 0, values, base1, cursor2 + 1);
+            if (keys != null) {
+                System.arraycopy(keysBuffer, 0, keys, base1, cursor2 + 1);
+            }
+        }
+    }
+
+    /**
+     * Merge two adjacent runs from the left, buffering the first run.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        ensureBuffer(length1);
+        System.arraycopy(values, base1, valuesBuffer, 0, length1);
+        if (keys != null) {
+            System.arraycopy(keys, base1, keysBuffer, 0, length1);
+        }
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int end2 = base2 + length2;
+        int destination = base1;
+        while (cursor1 < length1 && cursor2 < end2) {
+            if (compare(values[cursor2], keys != null ? keys[cursor2] : null,
+                    valuesBuffer[cursor1], keys != null ? keysBuffer[cursor1] : null) < 0) {
+                values[destination] = values[cursor2];
+                if (keys != null) {
+                    keys[destination] = keys[cursor2];
+                }
+                cursor2++;
+            } else {
+                values[destination] = valuesBuffer[cursor1];
+                if (keys != null) {
+                    keys[destination] = keysBuffer[cursor1];
+                }
+                cursor1++;
+            }
+            destination++;
+        }
+        if (cursor1 < length1) {
+            System.arraycopy(valuesBuffer, cursor1, values, destination, length1 - cursor1);
+            if (keys != null) {
+                System.arraycopy(keysBuffer, cursor1, keys, destination, length1 - cursor1);
+            }
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    private void reverseRange(int low, int high) {
+        high--;
+        while (low < high) {
+            JSValue value = values[low];
+            values[low] = values[high];
+            values[high] = value;
+            if (keys != null) {
+                String key = keys[low];
+                keys[low] = keys[high];
+                keys[high] = key;
+            }
+            low++;
+            high--;
+        }
+    }
+
+    private void sortRange(int count) {
+        int minRun = minRunLength(count);
+        int low = 0;
+        int remaining = count;
+        do {
+            int length = countRunAndMakeAscending(low, count);
+            if (length < minRun) {
+                int forcedLength = Math.min(remaining, minRun);
+                binaryInsertionSort(low, low + forcedLength, low + length);
+                length = forcedLength;
+            }
+            pushRun(low, length);
+            mergeCollapse();
+            low += length;
+            remaining -= length;
+        } while (remaining != 0);
+        mergeForceCollapse();
+    }
+
+    /**
+     * Unwinds the sort when a comparison leaves a pending exception.
+     */
+    private static final class SortAbortedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private SortAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -26,11 +26,13 @@ import java.lang.invoke.VarHandle;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongBinaryOperator;
 
 /**
  * Implementation of Atomics object methods.
@@ -44,19 +46,18 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public final class AtomicsObject {
     // VarHandles for lock-free per-element atomic operations on byte[] backing arrays.
+    private static final int INITIAL_WAITER_LIST_SLOT_COUNT = 16;
     private static final VarHandle BYTE_VH = MethodHandles.arrayElementVarHandle(byte[].class);
     private static final VarHandle INT_VH = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
     private static final VarHandle LONG_VH = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
     private static final VarHandle SHORT_VH = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
-    // Shared thread pool for Atomics.waitAsync() — reuses threads instead of creating one per call.
-    // Cached pool: idle threads are terminated after 60s, new threads created on demand.
-    private final ExecutorService waitAsyncExecutor = Executors.newCachedThreadPool(r -> {
-        Thread t = new Thread(r, "qjs4j-atomics-waitAsync");
-        t.setDaemon(true);
-        return t;
-    });
-    // Wait lists indexed by SharedArrayBuffer + index, scoped per runtime (agent cluster)
-    private final Map<String, WaitList> waitLists = new ConcurrentHashMap<>();
+    // Guards every waiter list of this runtime (agent cluster), like the WaiterList critical section in the spec.
+    private final Lock waitLock = new ReentrantLock();
+    // A single daemon thread expires timed Atomics.waitAsync() waiters; pending waiters hold no thread.
+    private ScheduledThreadPoolExecutor waitAsyncTimeoutScheduler;
+    private int waiterListCount;
+    // Linear-probing table of the waiter lists by getWaiterListHash(), so a lookup boxes no key.
+    private WaiterList[] waiterListSlots = new WaiterList[INITIAL_WAITER_LIST_SLOT_COUNT];
 
     private static JSValue createBigUint64(long value) {
         BigInteger unsigned = value >= 0
@@ -72,6 +73,57 @@ public final class AtomicsObject {
         return result;
     }
 
+    // --- Fallback for buffers without a padded heap array (direct or memory-mapped backing) ---
+    // Only ArrayBuffers can be backed that way and they are never shared between agents,
+    // so a read-modify-write under the buffer lock is atomic to every other Atomics operation.
+
+    private static JSValue externalCompareExchange(
+            JSContext context, JSTypedArray typedArray, int index, JSValue expectedValue, JSValue replacementValue) {
+        long expectedBits = toAtomicOperand(context, typedArray, expectedValue);
+        long replacementBits = toAtomicOperand(context, typedArray, replacementValue);
+        ByteBuffer byteBuffer = requireAtomicBuffer(typedArray);
+        int bytesPerElement = typedArray.getBytesPerElement();
+        int byteOffset = typedArray.getByteOffset() + index * bytesPerElement;
+        synchronized (byteBuffer) {
+            long oldBits = readElementBits(byteBuffer, byteOffset, bytesPerElement);
+            if (oldBits == signExtendElementBits(expectedBits, bytesPerElement)) {
+                writeElementBits(byteBuffer, byteOffset, bytesPerElement, replacementBits);
+            }
+            return toAtomicValue(typedArray, oldBits);
+        }
+    }
+
+    private static JSValue externalGetAndUpdate(
+            JSContext context, JSTypedArray typedArray, int index, JSValue value, LongBinaryOperator operator) {
+        long operand = toAtomicOperand(context, typedArray, value);
+        ByteBuffer byteBuffer = requireAtomicBuffer(typedArray);
+        int bytesPerElement = typedArray.getBytesPerElement();
+        int byteOffset = typedArray.getByteOffset() + index * bytesPerElement;
+        synchronized (byteBuffer) {
+            long oldBits = readElementBits(byteBuffer, byteOffset, bytesPerElement);
+            writeElementBits(byteBuffer, byteOffset, bytesPerElement, operator.applyAsLong(oldBits, operand));
+            return toAtomicValue(typedArray, oldBits);
+        }
+    }
+
+    private static JSValue externalLoad(JSTypedArray typedArray, int index) {
+        ByteBuffer byteBuffer = requireAtomicBuffer(typedArray);
+        int bytesPerElement = typedArray.getBytesPerElement();
+        int byteOffset = typedArray.getByteOffset() + index * bytesPerElement;
+        synchronized (byteBuffer) {
+            return toAtomicValue(typedArray, readElementBits(byteBuffer, byteOffset, bytesPerElement));
+        }
+    }
+
+    private static void externalStore(JSTypedArray typedArray, int index, long bits) {
+        ByteBuffer byteBuffer = requireAtomicBuffer(typedArray);
+        int bytesPerElement = typedArray.getBytesPerElement();
+        int byteOffset = typedArray.getByteOffset() + index * bytesPerElement;
+        synchronized (byteBuffer) {
+            writeElementBits(byteBuffer, byteOffset, bytesPerElement, bits);
+        }
+    }
+
     private static int getAtomicIndex(JSContext context, JSTypedArray typedArray, JSValue indexValue) {
         if (typedArray.getBuffer().isDetached()) {
             throw new JSTypeErrorException("TypedArray buffer is detached");
@@ -100,18 +152,65 @@ public final class AtomicsObject {
         return Math.max(timeoutNumber, 0.0);
     }
 
-    private static String getWaitKey(JSTypedArray typedArray, int index) {
-        byte[] sharedBytes = requireAtomicArray(typedArray);
-        int absoluteByteOffset = typedArray.getByteOffset() + (index * typedArray.getBytesPerElement());
-        return System.identityHashCode(sharedBytes) + ":" + absoluteByteOffset;
+    private static int getWaiterListHash(byte[] sharedBytes, int byteOffset) {
+        int hash = System.identityHashCode(sharedBytes) * 31 + byteOffset;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long loadWaitValue(JSTypedArray typedArray, byte[] arr, int byteOffset) {
+        if (typedArray instanceof JSInt32Array) {
+            return (int) INT_VH.getVolatile(arr, byteOffset);
+        }
+        return (long) LONG_VH.getVolatile(arr, byteOffset);
+    }
+
+    /**
+     * Convert a wait timeout in milliseconds to nanoseconds, or -1 for no timeout.
+     */
+    private static long toWaitTimeoutNanos(double timeoutMillis) {
+        if (Double.isInfinite(timeoutMillis)) {
+            return -1L;
+        }
+        return (long) Math.min(timeoutMillis * 1_000_000.0, Long.MAX_VALUE);
+    }
+
+    private static long readElementBits(ByteBuffer byteBuffer, int byteOffset, int bytesPerElement) {
+        return switch (bytesPerElement) {
+            case Byte.BYTES -> byteBuffer.get(byteOffset);
+            case Short.BYTES -> byteBuffer.getShort(byteOffset);
+            case Integer.BYTES -> byteBuffer.getInt(byteOffset);
+            default -> byteBuffer.getLong(byteOffset);
+        };
     }
 
+    /**
+     * Get the padded heap array behind a typed array for lock-free VarHandle access.
+     * Returns null for buffers without such an array (direct or memory-mapped backing),
+     * which take the external* paths instead.
+     */
     private static byte[] requireAtomicArray(JSTypedArray typedArray) {
+        ByteBuffer byteBuffer = requireAtomicBuffer(typedArray);
+        if (!byteBuffer.hasArray() || byteBuffer.arrayOffset() != 0 || (byteBuffer.array().length & 3) != 0) {
+            return null;
+        }
+        return byteBuffer.array();
+    }
+
+    private static ByteBuffer requireAtomicBuffer(JSTypedArray typedArray) {
         ByteBuffer byteBuffer = typedArray.getBuffer().getBuffer();
         if (byteBuffer == null) {
             throw new JSTypeErrorException("TypedArray buffer is detached");
         }
-        return byteBuffer.array();
+        return byteBuffer;
+    }
+
+    private static long signExtendElementBits(long bits, int bytesPerElement) {
+        return switch (bytesPerElement) {
+            case Byte.BYTES -> (byte) bits;
+            case Short.BYTES -> (short) bits;
+            case Integer.BYTES -> (int) bits;
+            default -> bits;
+        };
     }
 
     // --- CAS-loop helpers for short (Int16/Uint16) atomics ---
@@ -211,6 +310,37 @@ public final class AtomicsObject {
         }
     }
 
+    private static long toAtomicOperand(JSContext context, JSTypedArray typedArray, JSValue value) {
+        if (typedArray instanceof JSBigInt64Array || typedArray instanceof JSBigUint64Array) {
+            return JSTypeConversions.toBigInt64(context, value);
+        }
+        return JSTypeConversions.toInt32(context, value);
+    }
+
+    private static JSValue toAtomicValue(JSTypedArray typedArray, long bits) {
+        if (typedArray instanceof JSBigInt64Array) {
+            return new JSBigInt(BigInteger.valueOf(bits));
+        } else if (typedArray instanceof JSBigUint64Array) {
+            return createBigUint64(bits);
+        } else if (typedArray instanceof JSUint8Array) {
+            return JSNumber.of(bits & 0xFF);
+        } else if (typedArray instanceof JSUint16Array) {
+            return JSNumber.of(bits & 0xFFFF);
+        } else if (typedArray instanceof JSUint32Array) {
+            return JSNumber.of(bits & 0xFFFFFFFFL);
+        }
+        return JSNumber.of(bits);
+    }
+
+    private static void writeElementBits(ByteBuffer byteBuffer, int byteOffset, int bytesPerElement, long bits) {
+        switch (bytesPerElement) {
+            case Byte.BYTES -> byteBuffer.put(byteOffset, (byte) bits);
+            case Short.BYTES -> byteBuffer.putShort(byteOffset, (short) bits);
+            case Integer.BYTES -> byteBuffer.putInt(byteOffset, (int) bits);
+            default -> byteBuffer.putLong(byteOffset, bits);
+        }
+    }
+
     /**
      * Atomics.add(typedArray, index, value)
      * ES2017 24.4.3
@@ -233,6 +363,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], Long::sum);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -280,6 +413,35 @@ public final class AtomicsObject {
         return context.throwTypeError("Atomics.add invalid typed array");
     }
 
+    /**
+     * Append a waiter to the list of its location. Must be called with the wait lock held.
+     */
+    private void addWaiter(byte[] sharedBytes, int byteOffset, Waiter waiter) {
+        WaiterList waiterList = findWaiterList(sharedBytes, byteOffset);
+        if (waiterList == null) {
+            if ((waiterListCount + 1) * 2 > waiterListSlots.length) {
+                WaiterList[] oldSlots = waiterListSlots;
+                waiterListSlots = new WaiterList[oldSlots.length * 2];
+                for (WaiterList oldList : oldSlots) {
+                    if (oldList != null) {
+                        insertWaiterList(oldList);
+                    }
+                }
+            }
+            waiterList = new WaiterList(sharedBytes, byteOffset);
+            insertWaiterList(waiterList);
+            waiterListCount++;
+        }
+        waiter.list = waiterList;
+        waiter.prev = waiterList.tail;
+        if (waiterList.tail == null) {
+            waiterList.head = waiter;
+        } else {
+            waiterList.tail.next = waiter;
+        }
+        waiterList.tail = waiter;
+    }
+
     /**
      * Atomics.and(typedArray, index, value)
      * ES2017 24.4.4
@@ -301,6 +463,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], (oldBits, operand) -> oldBits & operand);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -370,6 +535,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalCompareExchange(context, typedArray, index, args[2], args[3]);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int expectedValue = JSTypeConversions.toInt32(context, args[2]);
                 int replacementValue = JSTypeConversions.toInt32(context, args[3]);
@@ -447,6 +615,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], (oldBits, operand) -> operand);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -494,6 +665,53 @@ public final class AtomicsObject {
         return context.throwTypeError("Atomics.exchange invalid typed array");
     }
 
+    private void expireWaiter(Waiter waiter) {
+        waitLock.lock();
+        try {
+            if (waiter.list == null) {
+                return;
+            }
+            removeWaiter(waiter);
+        } finally {
+            waitLock.unlock();
+        }
+        waiter.promise.fulfill(new JSString("timed-out"));
+    }
+
+    private WaiterList findWaiterList(byte[] sharedBytes, int byteOffset) {
+        int mask = waiterListSlots.length - 1;
+        for (int index = getWaiterListHash(sharedBytes, byteOffset) & mask; ; index = (index + 1) & mask) {
+            WaiterList waiterList = waiterListSlots[index];
+            if (waiterList == null
+                    || (waiterList.sharedBytes == sharedBytes && waiterList.byteOffset == byteOffset)) {
+                return waiterList;
+            }
+        }
+    }
+
+    private ScheduledExecutorService getWaitAsyncTimeoutScheduler() {
+        if (waitAsyncTimeoutScheduler == null) {
+            waitAsyncTimeoutScheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "qjs4j-atomics-waitAsync");
+                t.setDaemon(true);
+                return t;
+            });
+            waitAsyncTimeoutScheduler.setRemoveOnCancelPolicy(true);
+            waitAsyncTimeoutScheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+            waitAsyncTimeoutScheduler.allowCoreThreadTimeOut(true);
+        }
+        return waitAsyncTimeoutScheduler;
+    }
+
+    private void insertWaiterList(WaiterList waiterList) {
+        int mask = waiterListSlots.length - 1;
+        int index = waiterList.hash & mask;
+        while (waiterListSlots[index] != null) {
+            index = (index + 1) & mask;
+        }
+        waiterListSlots[index] = waiterList;
+    }
+
     /**
      * Atomics.isLockFree(size)
      * ES2017 24.4.2
@@ -538,6 +756,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalLoad(typedArray, index);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int byteOffset = typedArray.getByteOffset() + index;
                 return JSNumber.of((byte) BYTE_VH.getVolatile(arr, byteOffset));
@@ -604,13 +825,39 @@ public final class AtomicsObject {
                     ? Integer.MAX_VALUE
                     : (int) Math.min(clampedCount, Integer.MAX_VALUE);
 
-            String waitKey = getWaitKey(typedArray, index);
-            WaitList waitList = waitLists.get(waitKey);
-            if (waitList == null) {
-                return JSNumber.of(0);
+            byte[] arr = requireAtomicArray(typedArray);
+            int byteOffset = typedArray.getByteOffset() + (index * typedArray.getBytesPerElement());
+            int notified = 0;
+            List<Waiter> asyncWaiters = null;
+            waitLock.lock();
+            try {
+                WaiterList waiterList = findWaiterList(arr, byteOffset);
+                while (waiterList != null && waiterList.head != null && notified < count) {
+                    Waiter waiter = waiterList.head;
+                    removeWaiter(waiter);
+                    waiter.notified = true;
+                    notified++;
+                    if (waiter.condition != null) {
+                        waiter.condition.signal();
+                    } else {
+                        if (waiter.timeoutFuture != null) {
+                            waiter.timeoutFuture.cancel(false);
+                        }
+                        if (asyncWaiters == null) {
+                            asyncWaiters = new ArrayList<>();
+                        }
+                        asyncWaiters.add(waiter);
+                    }
+                }
+            } finally {
+                waitLock.unlock();
+            }
+            // Settle promises outside the lock, reactions are queued on the waiters' contexts
+            if (asyncWaiters != null) {
+                for (Waiter waiter : asyncWaiters) {
+                    waiter.promise.fulfill(new JSString("ok"));
+                }
             }
-
-            int notified = waitList.notifyWaiters(count);
             return JSNumber.of(notified);
         } catch (JSErrorException e) {
             return context.throwError(e);
@@ -638,6 +885,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], (oldBits, operand) -> oldBits | operand);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -710,6 +960,51 @@ public final class AtomicsObject {
         return JSUndefined.INSTANCE;
     }
 
+    /**
+     * Unlink a waiter, dropping its list once empty. Must be called with the wait lock held.
+     */
+    private void removeWaiter(Waiter waiter) {
+        WaiterList waiterList = waiter.list;
+        if (waiter.prev == null) {
+            waiterList.head = waiter.next;
+        } else {
+            waiter.prev.next = waiter.next;
+        }
+        if (waiter.next == null) {
+            waiterList.tail = waiter.prev;
+        } else {
+            waiter.next.prev = waiter.prev;
+        }
+        waiter.list = null;
+        waiter.next = null;
+        waiter.prev = null;
+        if (waiterList.head == null) {
+            removeWaiterList(waiterList);
+        }
+    }
+
+    /**
+     * Drop an empty waiter list, shifting back the lists probed past its slot.
+     * Must be called with the wait lock held.
+     */
+    private void removeWaiterList(WaiterList waiterList) {
+        int mask = waiterListSlots.length - 1;
+        int index = waiterList.hash & mask;
+        while (waiterListSlots[index] != waiterList) {
+            index = (index + 1) & mask;
+        }
+        waiterListSlots[index] = null;
+        waiterListCount--;
+        for (int next = (index + 1) & mask; waiterListSlots[next] != null; next = (next + 1) & mask) {
+            int home = waiterListSlots[next].hash & mask;
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                waiterListSlots[index] = waiterListSlots[next];
+                waiterListSlots[next] = null;
+                index = next;
+            }
+        }
+    }
+
     /**
      * Atomics.store(typedArray, index, value)
      * ES2017 24.4.11
@@ -734,6 +1029,10 @@ public final class AtomicsObject {
             if (typedArray instanceof JSBigInt64Array || typedArray instanceof JSBigUint64Array) {
                 JSBigInt returnValue = JSTypeConversions.toBigInt(context, args[2]);
                 long storedValue = returnValue.value().longValue();
+                if (arr == null) {
+                    externalStore(typedArray, index, storedValue);
+                    return returnValue;
+                }
                 int byteOffset = typedArray.getByteOffset() + (index * Long.BYTES);
                 LONG_VH.setVolatile(arr, byteOffset, storedValue);
                 return returnValue;
@@ -743,6 +1042,10 @@ public final class AtomicsObject {
                 returnValue = 0.0;
             }
             int int32Value = JSTypeConversions.toInt32(context, JSNumber.of(returnValue));
+            if (arr == null) {
+                externalStore(typedArray, index, int32Value);
+                return JSNumber.of(returnValue);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int byteOffset = typedArray.getByteOffset() + index;
                 byte storedValue = (byte) int32Value;
@@ -799,6 +1102,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], (oldBits, operand) -> oldBits - operand);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -872,31 +1178,18 @@ public final class AtomicsObject {
 
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
-            double timeoutDouble;
-
-            if (typedArray instanceof JSInt32Array) {
-                int expectedValue = JSTypeConversions.toInt32(context, args[2]);
-                if (context.hasPendingException()) {
-                    return JSUndefined.INSTANCE;
-                }
-                int byteOffset = typedArray.getByteOffset() + (index * Integer.BYTES);
-                int currentValue = (int) INT_VH.getVolatile(arr, byteOffset);
-                if (currentValue != expectedValue) {
-                    return new JSString("not-equal");
-                }
-            } else {
-                long expectedValue = JSTypeConversions.toBigInt64(context, args[2]);
-                if (context.hasPendingException()) {
-                    return JSUndefined.INSTANCE;
-                }
-                int byteOffset = typedArray.getByteOffset() + (index * Long.BYTES);
-                long currentValue = (long) LONG_VH.getVolatile(arr, byteOffset);
-                if (currentValue != expectedValue) {
-                    return new JSString("not-equal");
-                }
+            int byteOffset = typedArray.getByteOffset() + (index * typedArray.getBytesPerElement());
+            long expectedValue = typedArray instanceof JSInt32Array
+                    ? JSTypeConversions.toInt32(context, args[2])
+                    : JSTypeConversions.toBigInt64(context, args[2]);
+            if (context.hasPendingException()) {
+                return JSUndefined.INSTANCE;
+            }
+            if (loadWaitValue(typedArray, arr, byteOffset) != expectedValue) {
+                return new JSString("not-equal");
             }
 
-            timeoutDouble = getAtomicsWaitTimeout(context, args, 3);
+            double timeoutDouble = getAtomicsWaitTimeout(context, args, 3);
             if (context.hasPendingException()) {
                 return JSUndefined.INSTANCE;
             }
@@ -907,13 +1200,39 @@ public final class AtomicsObject {
                 return new JSString("timed-out");
             }
 
-            String waitKey = getWaitKey(typedArray, index);
-            WaitList waitList = waitLists.computeIfAbsent(waitKey, k -> new WaitList());
-            long timeout = Double.isInfinite(timeoutDouble)
-                    ? -1L
-                    : Math.min((long) timeoutDouble, Long.MAX_VALUE);
-            String result = waitList.await(timeout);
-            return new JSString(result);
+            long timeoutNanos = toWaitTimeoutNanos(timeoutDouble);
+            waitLock.lock();
+            try {
+                // Re-check under the lock so a store + notify cannot slip in before the waiter is listed
+                if (loadWaitValue(typedArray, arr, byteOffset) != expectedValue) {
+                    return new JSString("not-equal");
+                }
+                Waiter waiter = new Waiter(waitLock.newCondition(), null);
+                addWaiter(arr, byteOffset, waiter);
+                try {
+                    long remainingNanos = timeoutNanos;
+                    while (!waiter.notified) {
+                        if (timeoutNanos < 0) {
+                            waiter.condition.await();
+                        } else if (remainingNanos > 0) {
+                            remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                        } else {
+                            removeWaiter(waiter);
+                            return new JSString("timed-out");
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    if (waiter.notified) {
+                        Thread.currentThread().interrupt();
+                        return new JSString("ok");
+                    }
+                    removeWaiter(waiter);
+                    throw e;
+                }
+                return new JSString("ok");
+            } finally {
+                waitLock.unlock();
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return new JSString("timed-out");
@@ -948,25 +1267,15 @@ public final class AtomicsObject {
 
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
-            double timeoutDouble;
-
-            if (typedArray instanceof JSInt32Array) {
-                int expectedValue = JSTypeConversions.toInt32(context, args[2]);
-                int byteOffset = typedArray.getByteOffset() + (index * Integer.BYTES);
-                int currentValue = (int) INT_VH.getVolatile(arr, byteOffset);
-                if (currentValue != expectedValue) {
-                    return createWaitAsyncSyncResult(context, "not-equal");
-                }
-            } else {
-                long expectedValue = JSTypeConversions.toBigInt64(context, args[2]);
-                int byteOffset = typedArray.getByteOffset() + (index * Long.BYTES);
-                long currentValue = (long) LONG_VH.getVolatile(arr, byteOffset);
-                if (currentValue != expectedValue) {
-                    return createWaitAsyncSyncResult(context, "not-equal");
-                }
+            int byteOffset = typedArray.getByteOffset() + (index * typedArray.getBytesPerElement());
+            long expectedValue = typedArray instanceof JSInt32Array
+                    ? JSTypeConversions.toInt32(context, args[2])
+                    : JSTypeConversions.toBigInt64(context, args[2]);
+            if (loadWaitValue(typedArray, arr, byteOffset) != expectedValue) {
+                return createWaitAsyncSyncResult(context, "not-equal");
             }
 
-            timeoutDouble = getAtomicsWaitTimeout(context, args, 3);
+            double timeoutDouble = getAtomicsWaitTimeout(context, args, 3);
             if (context.hasPendingException()) {
                 return JSUndefined.INSTANCE;
             }
@@ -975,30 +1284,26 @@ public final class AtomicsObject {
                 return createWaitAsyncSyncResult(context, "timed-out");
             }
 
-            String waitKey = getWaitKey(typedArray, index);
-            WaitList waitList = waitLists.computeIfAbsent(waitKey, k -> new WaitList());
-            JSPromise promise = context.createJSPromise();
+            long timeoutNanos = toWaitTimeoutNanos(timeoutDouble);
+            JSPromise promise;
+            waitLock.lock();
+            try {
+                if (loadWaitValue(typedArray, arr, byteOffset) != expectedValue) {
+                    return createWaitAsyncSyncResult(context, "not-equal");
+                }
+                promise = context.createJSPromise();
+                Waiter waiter = new Waiter(null, promise);
+                addWaiter(arr, byteOffset, waiter);
+                if (timeoutNanos >= 0) {
+                    waiter.timeoutFuture = getWaitAsyncTimeoutScheduler().schedule(
+                            () -> expireWaiter(waiter), timeoutNanos, TimeUnit.NANOSECONDS);
+                }
+            } finally {
+                waitLock.unlock();
+            }
             JSObject result = context.createJSObject();
             result.set(PropertyKey.ASYNC, JSBoolean.TRUE);
             result.set(PropertyKey.VALUE, promise);
-            long timeoutMillis = Double.isInfinite(timeoutDouble)
-                    ? -1L
-                    : Math.min((long) timeoutDouble, Long.MAX_VALUE);
-            waitList.registerWaiter();
-            try {
-                waitAsyncExecutor.execute(() -> {
-                    try {
-                        String waitResult = waitList.awaitRegisteredWaiter(timeoutMillis);
-                        promise.fulfill(new JSString(waitResult));
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        promise.fulfill(new JSString("timed-out"));
-                    }
-                });
-            } catch (RejectedExecutionException e) {
-                waitList.cancelRegisteredWaiter();
-                promise.fulfill(new JSString("timed-out"));
-            }
             return result;
         } catch (JSErrorException e) {
             return context.throwError(e);
@@ -1027,6 +1332,9 @@ public final class AtomicsObject {
         try {
             int index = getAtomicIndex(context, typedArray, args[1]);
             byte[] arr = requireAtomicArray(typedArray);
+            if (arr == null) {
+                return externalGetAndUpdate(context, typedArray, index, args[2], (oldBits, operand) -> oldBits ^ operand);
+            }
             if (typedArray instanceof JSInt8Array) {
                 int value = JSTypeConversions.toInt32(context, args[2]);
                 int byteOffset = typedArray.getByteOffset() + index;
@@ -1075,104 +1383,39 @@ public final class AtomicsObject {
     }
 
     /**
-     * WaitList manages threads waiting on specific SharedArrayBuffer locations.
-     * This is used by Atomics.wait() and Atomics.notify().
+     * A pending Atomics.wait() or Atomics.waitAsync() call.
+     * Synchronous waiters block on their own condition of the wait lock,
+     * asynchronous waiters only hold the promise to settle.
      */
-    private static class WaitList {
-        private final Lock lock = new ReentrantLock();
-        private final Condition condition = lock.newCondition();
-        private int pendingSignals = 0;
-        private int waitingCount = 0;
-
-        public String await(long timeoutMs) throws InterruptedException {
-            return await(timeoutMs, null);
-        }
-
-        public String await(long timeoutMs, CountDownLatch registrationLatch) throws InterruptedException {
-            lock.lock();
-            try {
-                waitingCount++;
-                if (registrationLatch != null) {
-                    registrationLatch.countDown();
-                }
-                return awaitRegisteredWaiterInternal(timeoutMs);
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public String awaitRegisteredWaiter(long timeoutMs) throws InterruptedException {
-            lock.lock();
-            try {
-                return awaitRegisteredWaiterInternal(timeoutMs);
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        private String awaitRegisteredWaiterInternal(long timeoutMs) throws InterruptedException {
-            try {
-                if (timeoutMs < 0) {
-                    while (pendingSignals == 0) {
-                        condition.await();
-                    }
-                    pendingSignals--;
-                    return "ok";
-                }
-
-                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
-                while (pendingSignals == 0) {
-                    if (remainingNanos <= 0) {
-                        return "timed-out";
-                    }
-                    remainingNanos = condition.awaitNanos(remainingNanos);
-                }
-                pendingSignals--;
-                return "ok";
-            } finally {
-                waitingCount--;
-                if (pendingSignals > waitingCount) {
-                    pendingSignals = waitingCount;
-                }
-            }
-        }
-
-        public void cancelRegisteredWaiter() {
-            lock.lock();
-            try {
-                if (waitingCount > 0) {
-                    waitingCount--;
-                    if (pendingSignals > waitingCount) {
-                        pendingSignals = waitingCount;
-                    }
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public int notifyWaiters(int count) {
-            lock.lock();
-            try {
-                int availableToSignal = Math.max(waitingCount - pendingSignals, 0);
-                int toNotify = Math.min(Math.max(count, 0), availableToSignal);
-                pendingSignals += toNotify;
-                for (int i = 0; i < toNotify; i++) {
-                    condition.signal();
-                }
-                return toNotify;
-            } finally {
-                lock.unlock();
-            }
+    private static final class Waiter {
+        private final Condition condition;
+        private final JSPromise promise;
+        private WaiterList list;
+        private Waiter next;
+        private boolean notified;
+        private Waiter prev;
+        private ScheduledFuture<?> timeoutFuture;
+
+        private Waiter(Condition condition, JSPromise promise) {
+            this.condition = condition;
+            this.promise = promise;
         }
+    }
 
-        public void registerWaiter() {
-            lock.lock();
-            try {
-                waitingCount++;
-            } finally {
-                lock.unlock();
-            }
+    /**
+     * FIFO list of waiters on one location of a SharedArrayBuffer.
+     */
+    private static final class WaiterList {
+        private final int byteOffset;
+        private final int hash;
+        private final byte[] sharedBytes;
+        private Waiter head;
+        private Waiter tail;
+
+        private WaiterList(byte[] sharedBytes, int byteOffset) {
+            this.sharedBytes = sharedBytes;
+            this.byteOffset = byteOffset;
+            hash = getWaiterListHash(sharedBytes, byteOffset);
         }
     }
 }
@@ -37,7 +37,8 @@ public final class BigIntPrototype {
                     // Construct Intl.NumberFormat with the provided locales and options.
                     // This reuses the same createNumberFormat path that new Intl.NumberFormat() uses,
                     // ensuring identical validation, option parsing, and exception behavior.
-                    JSValue numberFormatValue = JSIntlObject.createNumberFormat(context, null, args);
+                    JSValue numberFormatValue = JSIntlObject.createCachedFormatter(context, "NumberFormat", args,
+                            () -> JSIntlObject.createNumberFormat(context, null, args));
                     if (context.hasPendingException()) {
                         return (JSValue) JSUndefined.INSTANCE;
                     }
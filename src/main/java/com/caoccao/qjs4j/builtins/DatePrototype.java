@@ -69,7 +69,8 @@ public final class DatePrototype {
         JSValue locales = args.length > 0 ? args[0] : JSUndefined.INSTANCE;
         JSValue options = args.length > 1 ? args[1] : JSUndefined.INSTANCE;
         JSValue[] dtfArgs = {locales, options};
-        JSValue dtf = JSIntlObject.createDateTimeFormat(context, null, dtfArgs, required, defaults);
+        JSValue dtf = JSIntlObject.createCachedFormatter(context, "DateTimeFormat:" + required + ":" + defaults, dtfArgs,
+                () -> JSIntlObject.createDateTimeFormat(context, null, dtfArgs, required, defaults));
         if (context.hasPendingException()) {
             return JSUndefined.INSTANCE;
         }
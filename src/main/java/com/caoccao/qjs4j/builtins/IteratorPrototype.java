@@ -123,13 +123,8 @@ public final class IteratorPrototype {
                     ? new JSZipKeyedResultObject(context, keyArray, cachedZipKeyStrings)
                     : new JSObject(context);
             PropertyKey[] keys = keyArray.clone();
-            PropertyDescriptor[] descriptors = new PropertyDescriptor[iterCount];
-            JSValue[] values = new JSValue[iterCount];
-            for (int i = 0; i < iterCount; i++) {
-                descriptors[i] = PropertyDescriptor.defaultData(results[i]);
-                values[i] = results[i];
-            }
-            resultObject.initProperties(keys, descriptors, values);
+            JSValue[] values = Arrays.copyOf(results, iterCount);
+            resultObject.initProperties(keys, values);
             return resultObject;
         } else {
             // zip: create packed array
@@ -2177,14 +2172,7 @@ public final class IteratorPrototype {
             if (!pristine) {
                 return;
             }
-            initProperties(
-                    ITERATOR_RESULT_KEYS.clone(),
-                    new PropertyDescriptor[]{
-                            PropertyDescriptor.defaultData(valueValue),
-                            PropertyDescriptor.defaultData(doneValue)
-                    },
-                    new JSValue[]{valueValue, doneValue}
-            );
+            initProperties(ITERATOR_RESULT_KEYS.clone(), new JSValue[]{valueValue, doneValue});
             pristine = false;
             valueValue = JSUndefined.INSTANCE;
             doneValue = JSUndefined.INSTANCE;
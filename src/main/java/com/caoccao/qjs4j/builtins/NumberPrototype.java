@@ -165,7 +165,8 @@ public final class NumberPrototype {
                     if (args.length == 0) {
                         return new JSString(DtoaConverter.convert(jsNumber.value()));
                     }
-                    JSValue numberFormatValue = JSIntlObject.createNumberFormat(context, null, args);
+                    JSValue numberFormatValue = JSIntlObject.createCachedFormatter(context, "NumberFormat", args,
+                            () -> JSIntlObject.createNumberFormat(context, null, args));
                     if (context.hasPendingException()) {
                         return JSUndefined.INSTANCE;
                     }
@@ -352,6 +352,16 @@ public final class ObjectConstructor {
             }
         }
 
+        JSValue[] fastPathKeys = obj.enumerableStringKeyValuesFastPath();
+        JSValue[] fastPathValues = fastPathKeys != null ? obj.enumerableStringPropertyValuesFastPath() : null;
+        if (fastPathValues != null && fastPathValues.length == fastPathKeys.length) {
+            JSValue[] entries = new JSValue[fastPathKeys.length];
+            for (int index = 0; index < entries.length; index++) {
+                entries[index] = context.createJSArray(new JSValue[]{fastPathKeys[index], fastPathValues[index]}, true);
+            }
+            return context.createJSArray(entries, true);
+        }
+
         // Step 2: Let ownKeys be ? obj.[[OwnPropertyKeys]]()
         List<PropertyKey> ownKeys = obj.getOwnPropertyKeys();
 
@@ -1061,6 +1071,14 @@ public final class ObjectConstructor {
             }
         }
 
+        JSValue[] fastPathKeys = obj.enumerableStringKeyValuesFastPath();
+        if (fastPathKeys != null) {
+            if (obj.getClass() == JSObject.class) {
+                return context.createJSArray(fastPathKeys, true);
+            }
+            return context.createJSArray(fastPathKeys);
+        }
+
         // Step 2: EnumerableOwnProperties(obj, key) - single pass per spec
         List<PropertyKey> propertyKeys = obj.getOwnPropertyKeys();
         if (context.hasPendingException()) {
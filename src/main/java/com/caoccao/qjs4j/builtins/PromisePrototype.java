@@ -154,11 +154,6 @@ public final class PromisePrototype {
         if (context.hasPendingException()) {
             return JSUndefined.INSTANCE;
         }
-        PromiseConstructor.PromiseCapability promiseCapability = PromiseConstructor.newPromiseCapability(context, constructor);
-        if (promiseCapability == null) {
-            return JSUndefined.INSTANCE;
-        }
-
         JSFunction onFulfilled = null;
         JSFunction onRejected = null;
 
@@ -170,6 +165,21 @@ public final class PromisePrototype {
             onRejected = (JSFunction) args[1];
         }
 
+        if (constructor == context.getPromiseConstructor()) {
+            // %Promise% and its built-in executor have no observable side effects,
+            // so the chained promise is created directly instead of through a capability
+            JSPromise chainedPromise = context.createJSPromise();
+            promise.addReactions(
+                    new JSPromise.ReactionRecord(onFulfilled, chainedPromise, context),
+                    new JSPromise.ReactionRecord(onRejected, chainedPromise, context));
+            return chainedPromise;
+        }
+
+        PromiseConstructor.PromiseCapability promiseCapability = PromiseConstructor.newPromiseCapability(context, constructor);
+        if (promiseCapability == null) {
+            return JSUndefined.INSTANCE;
+        }
+
         JSPromise.ReactionRecord fulfillReaction;
         JSPromise.ReactionRecord rejectReaction;
         if (promiseCapability.promise() instanceof JSPromise chainedPromise) {
@@ -187,4 +197,40 @@ public final class PromisePrototype {
 
         return promiseCapability.promise();
     }
+
+    /**
+     * Promise.prototype.then called by the engine with internal handlers, e.g. when a promise is resolved
+     * with a native promise. The observable steps match {@link #then(JSContext, JSValue, JSValue[])}.
+     * Function objects for the handlers are only created when a species constructor can observe them.
+     */
+    public static void thenInternal(
+            JSContext context,
+            JSPromise promise,
+            JSPromise.ReactionHandler onFulfilled,
+            JSPromise.ReactionHandler onRejected) {
+        JSValue constructor = speciesConstructor(context, promise, getDefaultPromiseConstructor(context));
+        if (context.hasPendingException()) {
+            return;
+        }
+        if (constructor == context.getPromiseConstructor()) {
+            // The chained promise is never exposed, so the reactions need no target
+            promise.addReactions(
+                    new JSPromise.ReactionRecord(onFulfilled, context),
+                    new JSPromise.ReactionRecord(onRejected, context));
+            return;
+        }
+        JSNativeFunction onFulfilledFunction = PromiseConstructor.createBuiltinFunction(context, "", 1,
+                (childContext, thisArg, args) -> onFulfilled.handle(childContext, args.length > 0 ? args[0] : JSUndefined.INSTANCE));
+        JSNativeFunction onRejectedFunction = PromiseConstructor.createBuiltinFunction(context, "", 1,
+                (childContext, thisArg, args) -> onRejected.handle(childContext, args.length > 0 ? args[0] : JSUndefined.INSTANCE));
+        PromiseConstructor.PromiseCapability promiseCapability = PromiseConstructor.newPromiseCapability(context, constructor);
+        if (promiseCapability == null) {
+            return;
+        }
+        promise.addReactions(
+                new JSPromise.ReactionRecord(
+                        onFulfilledFunction, context, promiseCapability.resolve(), promiseCapability.reject()),
+                new JSPromise.ReactionRecord(
+                        onRejectedFunction, context, promiseCapability.resolve(), promiseCapability.reject()));
+    }
 }
@@ -20,6 +20,7 @@ import com.caoccao.qjs4j.core.*;
 import com.caoccao.qjs4j.regexp.RegExpEngine;
 import com.caoccao.qjs4j.unicode.UnicodeNormalization;
 import com.caoccao.qjs4j.unicode.UnicodePropertyResolver;
+import com.caoccao.qjs4j.utils.StringAccumulator;
 
 import java.util.Locale;
 
@@ -331,7 +332,7 @@ public final class StringPrototype {
             return JSUndefined.INSTANCE;
         }
 
-        return new JSString(String.valueOf(s.charAt((int) index)));
+        return JSString.of(s.charAt((int) index));
     }
 
     /**
@@ -417,7 +418,7 @@ public final class StringPrototype {
             return new JSString("");
         }
 
-        return new JSString(String.valueOf(s.charAt((int) pos)));
+        return JSString.of(s.charAt((int) pos));
     }
 
     /**
@@ -518,12 +519,22 @@ public final class StringPrototype {
      */
     public static JSValue concat(JSContext context, JSValue thisArg, JSValue[] args) {
         JSString str = toStringCheckObject(context, thisArg);
-        StringBuilder result = new StringBuilder(str.value());
-
+        if (context.hasPendingException()) {
+            return context.getPendingException();
+        }
+        if (args.length == 0) {
+            return str;
+        }
+        // Template literals compile to concat, so the result is allocated once at its exact length.
+        StringAccumulator result = new StringAccumulator(args.length + 1);
+        result.append(str.value());
         for (JSValue arg : args) {
-            result.append(JSTypeConversions.toString(context, arg).value());
+            JSString argString = JSTypeConversions.toString(context, arg);
+            if (context.hasPendingException()) {
+                return context.getPendingException();
+            }
+            result.append(argString.value());
         }
-
         return new JSString(result.toString());
     }
 
@@ -1010,10 +1021,9 @@ public final class StringPrototype {
 
         JSValue localeValue = args.length > 1 ? args[1] : JSUndefined.INSTANCE;
         JSValue optionsValue = args.length > 2 ? args[2] : JSUndefined.INSTANCE;
-        JSValue collatorValue = JSIntlObject.createCollator(
-                context,
-                context.createJSObject(),
-                new JSValue[]{localeValue, optionsValue});
+        JSValue[] collatorArgs = {localeValue, optionsValue};
+        JSValue collatorValue = JSIntlObject.createCachedFormatter(context, "Collator", collatorArgs,
+                () -> JSIntlObject.createCollator(context, context.createJSObject(), collatorArgs));
         if (context.hasPendingException()) {
             return JSUndefined.INSTANCE;
         }
@@ -1193,7 +1203,8 @@ public final class StringPrototype {
         }
 
         String normalized = UnicodeNormalization.normalize(str.value(), form);
-        return new JSString(normalized);
+        // Already normalized input, the common case, is returned as is.
+        return normalized == str.value() ? str : new JSString(normalized);
     }
 
     /**
@@ -1215,16 +1226,12 @@ public final class StringPrototype {
         if (fillStr.isEmpty()) {
             return str;
         }
-
-        StringBuilder result = new StringBuilder(s);
-
-        while (result.length() < maxLength) {
-            for (int i = 0; i < fillStr.length() && result.length() < maxLength; i++) {
-                result.append(fillStr.charAt(i));
-            }
+        if (maxLength > Integer.MAX_VALUE) {
+            return context.throwRangeError("Invalid string length");
         }
 
-        return new JSString(result.toString());
+        int fillLen = (int) (maxLength - s.length());
+        return new JSString(s + repeatToLength(fillStr, fillLen));
     }
 
     /**
@@ -1246,17 +1253,12 @@ public final class StringPrototype {
         if (fillStr.isEmpty()) {
             return str;
         }
-
-        int fillLen = (int) (maxLength - s.length());
-        StringBuilder padding = new StringBuilder();
-
-        while (padding.length() < fillLen) {
-            for (int i = 0; i < fillStr.length() && padding.length() < fillLen; i++) {
-                padding.append(fillStr.charAt(i));
-            }
+        if (maxLength > Integer.MAX_VALUE) {
+            return context.throwRangeError("Invalid string length");
         }
 
-        return new JSString(padding + s);
+        int fillLen = (int) (maxLength - s.length());
+        return new JSString(repeatToLength(fillStr, fillLen) + s);
     }
 
     /**
@@ -1318,6 +1320,16 @@ public final class StringPrototype {
         return new JSString(result.toString());
     }
 
+    /**
+     * Repeat a non-empty fill string and cut it to the given length, as padStart and padEnd do.
+     */
+    private static String repeatToLength(String fillStr, int length) {
+        int fillLength = fillStr.length();
+        String repeated = fillStr.repeat(length / fillLength);
+        int remainder = length % fillLength;
+        return remainder == 0 ? repeated : repeated + fillStr.substring(0, remainder);
+    }
+
     /**
      * String.prototype.replace(searchValue, replaceValue)
      * ES2020 21.1.3.14
@@ -1764,11 +1776,12 @@ public final class StringPrototype {
 
         // Handle string separator (already computed above)
         if (separator.isEmpty()) {
-            // Split into individual characters
-            for (int i = 0; i < s.length() && i < limit; i++) {
-                arr.push(new JSString(String.valueOf(s.charAt(i))));
+            // Split into individual characters, which are cached strings for Latin-1 content.
+            JSValue[] characters = new JSValue[(int) Math.min(s.length(), limit)];
+            for (int i = 0; i < characters.length; i++) {
+                characters[i] = JSString.of(s.charAt(i));
             }
-            return arr;
+            return context.createJSArray(characters, true);
         }
 
         // Manual split without using Java regex
@@ -1942,9 +1955,27 @@ public final class StringPrototype {
      */
     public static JSValue toLowerCase(JSContext context, JSValue thisArg, JSValue[] args) {
         JSString str = toStringCheckObject(context, thisArg);
+        if (str.isLatin1()) {
+            return toLowerCaseLatin1(str);
+        }
         return new JSString(toLowerCaseWithSigma(context.getUnicodePropertyResolver(), str.value()));
     }
 
+    /**
+     * Latin-1 strings have no sigma, surrogates or Unicode 16.0 mappings, and lowercase
+     * within Latin-1, so the string is returned as is unless it has an uppercase letter.
+     */
+    private static JSString toLowerCaseLatin1(JSString str) {
+        String s = str.value();
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if ((ch >= 'A' && ch <= 'Z') || (ch >= '\u00C0' && ch <= '\u00DE' && ch != '\u00D7')) {
+                return new JSString(s.toLowerCase(Locale.ROOT));
+            }
+        }
+        return str;
+    }
+
     /**
      * Custom toLowerCase that handles the Greek final sigma rule.
      * When U+03A3 (SIGMA) is at a "final" position (preceded by a cased letter
@@ -2098,6 +2129,9 @@ public final class StringPrototype {
         while (end > start && isEcmaWhitespace(s.charAt(end - 1))) {
             end--;
         }
+        if (start == 0 && end == s.length()) {
+            return str;
+        }
         return new JSString(s.substring(start, end));
     }
 
@@ -2112,6 +2146,9 @@ public final class StringPrototype {
         while (end > 0 && isEcmaWhitespace(s.charAt(end - 1))) {
             end--;
         }
+        if (end == s.length()) {
+            return str;
+        }
         return new JSString(s.substring(0, end));
     }
 
@@ -2126,6 +2163,9 @@ public final class StringPrototype {
         while (start < s.length() && isEcmaWhitespace(s.charAt(start))) {
             start++;
         }
+        if (start == 0) {
+            return str;
+        }
         return new JSString(s.substring(start));
     }
 
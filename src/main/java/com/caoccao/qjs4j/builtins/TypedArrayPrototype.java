@@ -106,6 +106,25 @@ public final class TypedArrayPrototype {
         return 0;
     }
 
+    /**
+     * Copy raw bytes between buffers. Overlapping ranges of the same buffer are copied through
+     * a temporary array so the result is as if the source had been cloned first.
+     */
+    private static void copyBytes(IJSArrayBuffer srcBuffer, int srcByteOffset,
+                                  IJSArrayBuffer dstBuffer, int dstByteOffset, int byteCount) {
+        ByteBuffer src = srcBuffer.getBuffer().duplicate();
+        ByteBuffer dst = dstBuffer.getBuffer().duplicate();
+        src.limit(srcByteOffset + byteCount).position(srcByteOffset);
+        dst.position(dstByteOffset);
+        if (srcBuffer == dstBuffer) {
+            byte[] temp = new byte[byteCount];
+            src.get(temp);
+            dst.put(temp);
+        } else {
+            dst.put(src);
+        }
+    }
+
     public static JSValue copyWithin(JSContext context, JSValue thisArg, JSValue[] args) {
         JSTypedArray typedArray = toTypedArray(context, thisArg, "TypedArray.prototype.copyWithin");
         if (typedArray == null) {
@@ -171,20 +190,9 @@ public final class TypedArrayPrototype {
         if (arrayBuffer.isDetached()) {
             return context.throwTypeError("Cannot perform TypedArray.prototype.copyWithin on a detached ArrayBuffer");
         }
-        ByteBuffer buffer = arrayBuffer.getBuffer().duplicate();
-        buffer.order(arrayBuffer.getBuffer().order());
         int baseByteOffset = typedArray.getByteOffset();
-        int fromByteOffset = baseByteOffset + start * elementSize;
-        int toByteOffset = baseByteOffset + target * elementSize;
-        int byteCount = count * elementSize;
-
-        // Handle overlapping regions by copying through temp array
-        byte[] temp = new byte[byteCount];
-        buffer.position(fromByteOffset);
-        buffer.get(temp, 0, byteCount);
-        buffer.position(toByteOffset);
-        buffer.put(temp, 0, byteCount);
-
+        copyBytes(arrayBuffer, baseByteOffset + start * elementSize,
+                arrayBuffer, baseByteOffset + target * elementSize, count * elementSize);
         return typedArray;
     }
 
@@ -307,11 +315,16 @@ public final class TypedArrayPrototype {
         end = Math.min(end, currentLength);
         start = Math.min(start, end);
 
-        for (int i = start; i < end; i++) {
-            typedArray.set(PropertyKey.fromIndex(i), convertedValue);
+        if (start < end) {
+            // Convert into the element type once, then replicate the stored bits
+            typedArray.set(PropertyKey.fromIndex(start), convertedValue);
             if (context.hasPendingException()) {
                 return context.getPendingException();
             }
+            long bits = typedArray.getElementBits(start);
+            for (int i = start + 1; i < end; i++) {
+                typedArray.setElementBits(i, bits);
+            }
         }
         return typedArray;
     }
@@ -581,6 +594,19 @@ public final class TypedArrayPrototype {
             fromIndex = (int) fromIndexD;
         }
         // After coercion of fromIndex, buffer may have been detached
+        if (searchElement instanceof JSNumber searchNumber && !isBigIntTypedArray(typedArray)) {
+            // Elements past the current length read as undefined and never match a number
+            double searchValue = searchNumber.value();
+            boolean searchNaN = Double.isNaN(searchValue);
+            int currentLength = Math.min(length, typedArray.getLength());
+            for (int k = fromIndex; k < currentLength; k++) {
+                double element = typedArray.getElement(k);
+                if (element == searchValue || (searchNaN && Double.isNaN(element))) {
+                    return JSBoolean.TRUE;
+                }
+            }
+            return JSBoolean.FALSE;
+        }
         for (int k = fromIndex; k < length; k++) {
             JSValue element = safeGetElement(typedArray, k);
             // SameValueZero: NaN === NaN, +0 === -0
@@ -622,6 +648,16 @@ public final class TypedArrayPrototype {
         } else {
             fromIndex = (int) fromIndexD;
         }
+        if (searchElement instanceof JSNumber searchNumber && !isBigIntTypedArray(typedArray)) {
+            double searchValue = searchNumber.value();
+            int currentLength = Math.min(length, typedArray.getLength());
+            for (int k = fromIndex; k < currentLength; k++) {
+                if (typedArray.getElement(k) == searchValue) {
+                    return JSNumber.of(k);
+                }
+            }
+            return JSNumber.of(-1);
+        }
         for (int k = fromIndex; k < length; k++) {
             JSValue element = safeGetElement(typedArray, k);
             // indexOf uses strict equality (===)
@@ -636,6 +672,11 @@ public final class TypedArrayPrototype {
         return typedArray instanceof JSBigInt64Array || typedArray instanceof JSBigUint64Array;
     }
 
+    private static boolean isIntegerTypedArray(JSTypedArray typedArray) {
+        return !(typedArray instanceof JSFloat16Array || typedArray instanceof JSFloat32Array
+                || typedArray instanceof JSFloat64Array || isBigIntTypedArray(typedArray));
+    }
+
     public static JSValue join(JSContext context, JSValue thisArg, JSValue[] args) {
         JSTypedArray typedArray = toTypedArray(context, thisArg, "TypedArray.prototype.join");
         if (typedArray == null) {
@@ -660,6 +701,18 @@ public final class TypedArrayPrototype {
 
         // Use original length for iteration; elements that are now OOB become empty string
         StringBuilder sb = new StringBuilder();
+        if (isIntegerTypedArray(typedArray)) {
+            int currentLength = Math.min(length, typedArray.getLength());
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    sb.append(separator);
+                }
+                if (i < currentLength) {
+                    sb.append((long) typedArray.getElement(i));
+                }
+            }
+            return new JSString(sb.toString());
+        }
         for (int i = 0; i < length; i++) {
             if (i > 0) {
                 sb.append(separator);
@@ -721,6 +774,16 @@ public final class TypedArrayPrototype {
         } else {
             fromIndex = (int) (length + fromIndexD);
         }
+        if (searchElement instanceof JSNumber searchNumber && !isBigIntTypedArray(typedArray)) {
+            double searchValue = searchNumber.value();
+            int currentLength = typedArray.getLength();
+            for (int k = Math.min(fromIndex, currentLength - 1); k >= 0; k--) {
+                if (typedArray.getElement(k) == searchValue) {
+                    return JSNumber.of(k);
+                }
+            }
+            return JSNumber.of(-1);
+        }
         for (int k = fromIndex; k >= 0; k--) {
             JSValue element = safeGetElement(typedArray, k);
             if (JSTypeConversions.strictEquals(element, searchElement)) {
@@ -852,10 +915,9 @@ public final class TypedArrayPrototype {
         int middle = length / 2;
         for (int lower = 0; lower < middle; lower++) {
             int upper = length - 1 - lower;
-            JSValue lowerValue = typedArray.getJSElement(lower);
-            JSValue upperValue = typedArray.getJSElement(upper);
-            typedArray.set(PropertyKey.fromIndex(lower), upperValue);
-            typedArray.set(PropertyKey.fromIndex(upper), lowerValue);
+            long lowerBits = typedArray.getElementBits(lower);
+            typedArray.setElementBits(lower, typedArray.getElementBits(upper));
+            typedArray.setElementBits(upper, lowerBits);
         }
         return typedArray;
     }
@@ -1013,8 +1075,27 @@ public final class TypedArrayPrototype {
             return context.throwTypeError("Cannot mix BigInt and non-BigInt typed arrays");
         }
 
+        // Same element type: the values are the stored bytes, so copy them in bulk
+        if (target.getClass() == source.getClass()) {
+            int elementSize = target.getBytesPerElement();
+            copyBytes(source.getBuffer(), source.getByteOffset(),
+                    target.getBuffer(), target.getByteOffset() + targetOffset * elementSize, srcLength * elementSize);
+            return JSUndefined.INSTANCE;
+        }
+
         // Step 15: If same buffer, clone source values first to avoid overlap
         boolean sameBuffer = target.getBuffer() == source.getBuffer();
+        if (!targetIsBigInt) {
+            // Number to Number conversion needs no JSValue per element
+            double[] values = new double[srcLength];
+            for (int i = 0; i < srcLength; i++) {
+                values[i] = source.getElement(i);
+            }
+            for (int i = 0; i < srcLength; i++) {
+                target.setElement(targetOffset + i, values[i]);
+            }
+            return JSUndefined.INSTANCE;
+        }
         if (sameBuffer) {
             // Clone source values into temporary array
             JSValue[] tempValues = new JSValue[srcLength];
@@ -1116,15 +1197,12 @@ public final class TypedArrayPrototype {
                         }
                     } else {
                         // Different buffers: bulk copy
-                        ByteBuffer src = srcBuffer.getBuffer().duplicate();
-                        src.order(srcBuffer.getBuffer().order());
-                        ByteBuffer dst = dstBuffer.getBuffer().duplicate();
-                        dst.order(dstBuffer.getBuffer().order());
-                        byte[] temp = new byte[byteCount];
-                        src.position(srcByteOffset);
-                        src.get(temp, 0, byteCount);
-                        dst.position(dstByteOffset);
-                        dst.put(temp, 0, byteCount);
+                        copyBytes(srcBuffer, srcByteOffset, dstBuffer, dstByteOffset, byteCount);
+                    }
+                } else if (!isBigIntTypedArray(typedArray) && !isBigIntTypedArray(resultArray)) {
+                    // Different number types: convert through the element accessors
+                    for (int k = 0; k < srcCount; k++) {
+                        resultArray.setElement(k, typedArray.getElement(start + k));
                     }
                 } else {
                     // Different types: per-element copy (step 14h), limited by srcCount
@@ -1401,6 +1479,12 @@ public final class TypedArrayPrototype {
             return context.throwTypeError("TypedArray constructor did not return a TypedArray");
         }
 
+        if (resultArray.getClass() == typedArray.getClass() && resultArray.getLength() >= length) {
+            for (int k = 0; k < length; k++) {
+                resultArray.setElementBits(k, typedArray.getElementBits(length - 1 - k));
+            }
+            return resultArray;
+        }
         for (int k = 0; k < length; k++) {
             JSValue fromValue = typedArray.getJSElement(length - 1 - k);
             resultArray.set(PropertyKey.fromIndex(k), fromValue);
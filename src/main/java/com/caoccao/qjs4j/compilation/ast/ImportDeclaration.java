@@ -22,11 +22,17 @@ import java.util.List;
  * Represents an import declaration.
  */
 public final class ImportDeclaration extends ModuleItem {
+    private final boolean deferred;
     private final Literal source;
     private final List<ImportSpecifier> specifiers;
 
     public ImportDeclaration(List<ImportSpecifier> specifiers, Literal source, SourceLocation location) {
+        this(specifiers, source, false, location);
+    }
+
+    public ImportDeclaration(List<ImportSpecifier> specifiers, Literal source, boolean deferred, SourceLocation location) {
         super(location);
+        this.deferred = deferred;
         this.specifiers = specifiers;
         this.source = source;
     }
@@ -39,4 +45,8 @@ public final class ImportDeclaration extends ModuleItem {
         return specifiers;
     }
 
+    public boolean isDeferred() {
+        return deferred;
+    }
+
 }
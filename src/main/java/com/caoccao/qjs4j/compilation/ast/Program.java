@@ -24,12 +24,18 @@ import java.util.*;
 public final class Program extends ASTNode {
     private final List<Statement> body;
     private final boolean isModule;
+    private final List<ModuleItem> moduleItems;
     private final boolean strict;
     private GlobalDeclarations globalDeclarations;
 
     public Program(List<Statement> body, boolean isModule, boolean strict, SourceLocation location) {
+        this(body, List.of(), isModule, strict, location);
+    }
+
+    public Program(List<Statement> body, List<ModuleItem> moduleItems, boolean isModule, boolean strict, SourceLocation location) {
         super(location);
         this.body = body;
+        this.moduleItems = moduleItems;
         this.isModule = isModule;
         this.strict = strict;
         this.globalDeclarations = null;
@@ -205,6 +211,14 @@ public final class Program extends ASTNode {
         return globalDeclarations;
     }
 
+    /**
+     * Module requests in source order: one {@link ImportDeclaration} per import and one
+     * {@link ExportDeclaration} per {@code export ... from}. Empty for scripts.
+     */
+    public List<ModuleItem> getModuleItems() {
+        return moduleItems;
+    }
+
     public boolean isModule() {
         return isModule;
     }
@@ -85,6 +85,7 @@ public final class BytecodeCompiler {
 
     public void setContext(JSContext context) {
         compilerContext.context = context;
+        compilerContext.emitter.setAtomTable(context != null ? context.getRuntime().getAtoms() : null);
     }
 
     public void setEvalMode(boolean evalMode) {
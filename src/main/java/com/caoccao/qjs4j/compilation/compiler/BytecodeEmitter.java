@@ -17,6 +17,7 @@
 package com.caoccao.qjs4j.compilation.compiler;
 
 import com.caoccao.qjs4j.core.JSValue;
+import com.caoccao.qjs4j.utils.AtomTable;
 import com.caoccao.qjs4j.vm.Bytecode;
 import com.caoccao.qjs4j.vm.Opcode;
 
@@ -31,15 +32,19 @@ import java.util.Map;
  * Handles encoding of opcodes, operands, and manages constant/atom pools.
  */
 public final class BytecodeEmitter {
+    private final Map<String, Integer> atomIndexCache;
     private final List<String> atomPool;
     private final ByteArrayOutputStream code;
     private final Map<JSValue, Integer> constantIndexCache;
     private final List<JSValue> constantPool;
+    private AtomTable atomTable;
 
     public BytecodeEmitter() {
+        this.atomTable = null;
         this.code = new ByteArrayOutputStream();
         this.constantPool = new ArrayList<>();
         this.constantIndexCache = new HashMap<>();
+        this.atomIndexCache = new HashMap<>();
         this.atomPool = new ArrayList<>();
     }
 
@@ -73,10 +78,14 @@ public final class BytecodeEmitter {
      * Returns the atom index.
      */
     public int emitAtom(String str) {
-        int index = atomPool.indexOf(str);
-        if (index == -1) {
+        Integer cached = atomIndexCache.get(str);
+        int index;
+        if (cached != null) {
+            index = cached;
+        } else {
             index = atomPool.size();
-            atomPool.add(str);
+            atomPool.add(atomTable != null ? atomTable.internKey(str) : str);
+            atomIndexCache.put(str, index);
         }
         emitU32(index);
         return index;
@@ -260,4 +269,12 @@ public final class BytecodeEmitter {
         code.reset();
         code.write(bytes, 0, bytes.length);
     }
+
+    /**
+     * Resolve the atoms of this emitter through the runtime atom table, so while the table
+     * has room the property keys of all compiled functions share one String instance per name.
+     */
+    public void setAtomTable(AtomTable atomTable) {
+        this.atomTable = atomTable;
+    }
 }
@@ -51,6 +51,7 @@ public final class Compiler {
     private boolean inheritedStrictMode;
     private boolean isEval; // true if compiling eval code
     private boolean predeclareProgramLexicalsAsLocals;
+    private Program program;
 
     public Compiler(String source, String fileName) {
         if (source == null) {
@@ -65,6 +66,7 @@ public final class Compiler {
         this.isEval = false;
         this.evalPrivateSymbols = Map.of();
         this.predeclareProgramLexicalsAsLocals = false;
+        this.program = null;
     }
 
     /**
@@ -76,7 +78,7 @@ public final class Compiler {
      */
     public CompileResult compile(boolean isModule) {
         try {
-            Program ast = parse(isModule);
+            Program ast = program != null ? program : parse(isModule);
             validateTopLevelUsingDeclarations(ast, isModule);
             BytecodeCompiler compiler = new BytecodeCompiler();
             compiler.setContext(context);
@@ -184,6 +186,18 @@ public final class Compiler {
         return this;
     }
 
+    /**
+     * Compile an already parsed program instead of parsing the source again.
+     * The program must have been parsed from the same source with the same flags.
+     *
+     * @param program the parsed program, or null to parse the source
+     * @return this compiler for chaining
+     */
+    public Compiler setProgram(Program program) {
+        this.program = program;
+        return this;
+    }
+
     private void validateTopLevelUsingDeclarations(Program ast, boolean isModule) {
         if (isModule) {
             return;
@@ -140,6 +140,9 @@ final class CompilerContext {
         this.captureResolver = new CaptureResolver(parentCaptureResolver, scopeManager::findBindingInScopes);
         this.context = context;
         this.emitter = new BytecodeEmitter();
+        if (context != null) {
+            emitter.setAtomTable(context.getRuntime().getAtoms());
+        }
         this.evalMode = false;
         this.evalReturnLocalIndex = -1;
         this.finallySubroutineDepth = 0;
@@ -201,7 +201,7 @@ public final class Parser {
             delegates.statements.validateProgramEarlyErrors(body);
         }
 
-        return new Program(body, parserContext.moduleMode,
+        return new Program(body, parserContext.moduleItems, parserContext.moduleMode,
                 strict || parserContext.moduleMode || parserContext.inheritedStrictMode, location);
     }
 
@@ -78,6 +78,7 @@ final class ParserContext {
     // Module-level early error tracking (ES2024 16.2.1.1)
     final Set<String> moduleExportedNames = new HashSet<>();
     final Set<String> moduleLexicalNames = new HashSet<>();
+    final List<ModuleItem> moduleItems = new ArrayList<>();
     final boolean moduleMode;
     final Set<String> moduleVarNames = new HashSet<>();
     final Set<Expression> parenthesizedExpressions;
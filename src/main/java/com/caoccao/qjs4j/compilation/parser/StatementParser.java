@@ -457,7 +457,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
                 addModuleExportedName(exportedName);
             }
             expectContextualKeyword(TokenType.FROM, "from");
-            parserContext.expect(TokenType.STRING);
+            parseExportSource(location);
             parseWithClause();
             parserContext.consumeSemicolon();
             return new BlockStatement(List.of(), location);
@@ -490,7 +490,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
             return decl;
         }
         if (parserContext.match(TokenType.LBRACE)) {
-            parseExportNamedSpecifiers();
+            parseExportNamedSpecifiers(location);
             parserContext.consumeSemicolon();
             return new BlockStatement(List.of(), location);
         }
@@ -498,11 +498,22 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
         throw new JSSyntaxErrorException("Unexpected export syntax");
     }
 
+    /**
+     * Parse the module specifier of an {@code export ... from} declaration and
+     * record it as a module request.
+     */
+    private void parseExportSource(SourceLocation location) {
+        SourceLocation sourceLocation = parserContext.getLocation();
+        Token token = parserContext.expect(TokenType.STRING);
+        parserContext.moduleItems.add(new ExportDeclaration(
+                null, List.of(), new Literal(token.value(), sourceLocation), location));
+    }
+
     /**
      * Parse export { specifiers } and optional 'from' clause.
      * Handles string export/import names per ES2024 ModuleExportName.
      */
-    private void parseExportNamedSpecifiers() {
+    private void parseExportNamedSpecifiers(SourceLocation location) {
         parserContext.advance(); // consume '{'
         boolean hasStringLocalName = false;
         List<String[]> specifiers = new ArrayList<>(); // [localName, exportedName]
@@ -543,7 +554,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
             }
             hasFrom = true;
             parserContext.advance();
-            parserContext.expect(TokenType.STRING);
+            parseExportSource(location);
             parseWithClause();
         } else if (hasStringLocalName) {
             // String local names require a 'from' clause per spec
@@ -889,7 +900,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
 
         // Side-effect-only import: import 'module';
         if (parserContext.match(TokenType.STRING)) {
-            parserContext.advance(); // module specifier
+            parseImportSource(location, false);
             parseWithClause();
             parserContext.consumeSemicolon();
             return null;
@@ -906,7 +917,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
             Identifier nsBinding = parserContext.parseIdentifier();
             addModuleLexicalName(nsBinding.getName());
             expectContextualKeyword(TokenType.FROM, "from");
-            parserContext.expect(TokenType.STRING);
+            parseImportSource(location, true);
             parseWithClause();
             parserContext.consumeSemicolon();
             return null;
@@ -919,7 +930,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
             Identifier nsBinding = parserContext.parseIdentifier();
             addModuleLexicalName(nsBinding.getName());
             expectContextualKeyword(TokenType.FROM, "from");
-            parserContext.expect(TokenType.STRING);
+            parseImportSource(location, false);
             parseWithClause();
             parserContext.consumeSemicolon();
             return null;
@@ -929,7 +940,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
         if (parserContext.match(TokenType.LBRACE)) {
             parseNamedImportSpecifiers();
             expectContextualKeyword(TokenType.FROM, "from");
-            parserContext.expect(TokenType.STRING);
+            parseImportSource(location, false);
             parseWithClause();
             parserContext.consumeSemicolon();
             return null;
@@ -958,7 +969,7 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
                 }
             }
             expectContextualKeyword(TokenType.FROM, "from");
-            parserContext.expect(TokenType.STRING);
+            parseImportSource(location, false);
             parseWithClause();
             parserContext.consumeSemicolon();
             return null;
@@ -967,6 +978,16 @@ record StatementParser(ParserContext parserContext, ParserDelegates delegates) {
         throw new JSSyntaxErrorException("Unsupported import declaration");
     }
 
+    /**
+     * Parse the module specifier of an import declaration and record it as a module request.
+     */
+    private void parseImportSource(SourceLocation location, boolean deferred) {
+        SourceLocation sourceLocation = parserContext.getLocation();
+        Token token = parserContext.expect(TokenType.STRING);
+        parserContext.moduleItems.add(new ImportDeclaration(
+                List.of(), new Literal(token.value(), sourceLocation), deferred, location));
+    }
+
     private String parseImportIdentifierName() {
         TokenType type = parserContext.currentToken.type();
         if (type == TokenType.STRING) {
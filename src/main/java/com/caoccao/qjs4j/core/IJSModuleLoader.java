@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Module loader SPI used by a {@link JSRuntime} to resolve and fetch ES module sources.
+ * <p>
+ * Resolution maps an import specifier and its referrer to a resolved specifier that
+ * uniquely identifies the module within the runtime. Fetching returns the raw bytes of
+ * a resolved module. The runtime compiles fetched sources itself and caches the compiled
+ * records per resolved specifier and content hash, so loaders do not need to cache.
+ */
+public interface IJSModuleLoader {
+    /**
+     * Resolve a specifier against a referrer using virtual path semantics.
+     * Absolute specifiers ("/a/b.js") are kept, relative ones ("./b.js", "../c.js", "b.js")
+     * are resolved against the referrer's directory, and "." / ".." segments are collapsed.
+     *
+     * @param specifier the import specifier
+     * @param referrer  the referrer's resolved specifier, may be null
+     * @return the normalized absolute virtual path
+     */
+    static String resolveVirtualPath(String specifier, String referrer) {
+        String path;
+        if (specifier.startsWith("/")) {
+            path = specifier;
+        } else if (referrer != null && !referrer.isEmpty() && !referrer.startsWith("<")) {
+            String normalizedReferrer = referrer.replace('\\', '/');
+            int lastSlashIndex = normalizedReferrer.lastIndexOf('/');
+            String directory = lastSlashIndex >= 0 ? normalizedReferrer.substring(0, lastSlashIndex + 1) : "/";
+            if (!directory.startsWith("/")) {
+                directory = "/" + directory;
+            }
+            path = directory + specifier;
+        } else {
+            path = "/" + specifier;
+        }
+        String[] segments = path.split("/");
+        String[] stack = new String[segments.length];
+        int depth = 0;
+        for (String segment : segments) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
+            }
+            if ("..".equals(segment)) {
+                if (depth > 0) {
+                    depth--;
+                }
+                continue;
+            }
+            stack[depth++] = segment;
+        }
+        StringBuilder stringBuilder = new StringBuilder(path.length());
+        for (int i = 0; i < depth; i++) {
+            stringBuilder.append('/').append(stack[i]);
+        }
+        return stringBuilder.isEmpty() ? "/" : stringBuilder.toString();
+    }
+
+    /**
+     * Fetch the raw bytes of a resolved module.
+     *
+     * @param resolvedSpecifier the specifier returned by {@link #resolve(String, String)}
+     * @return the module bytes
+     * @throws IOException if the module cannot be read
+     */
+    byte[] fetch(String resolvedSpecifier) throws IOException;
+
+    /**
+     * Fetch the source text of a resolved module, decoded as UTF-8 by default.
+     *
+     * @param resolvedSpecifier the specifier returned by {@link #resolve(String, String)}
+     * @return the module source
+     * @throws IOException if the module cannot be read
+     */
+    default String fetchSource(String resolvedSpecifier) throws IOException {
+        return new String(fetch(resolvedSpecifier), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Resolve an import specifier relative to its referrer.
+     *
+     * @param specifier the import specifier as written in source
+     * @param referrer  the resolved specifier (or filename) of the importing module, may be null
+     * @return the resolved specifier, or null if the module does not exist
+     */
+    String resolve(String specifier, String referrer);
+}
@@ -247,8 +247,7 @@ public final class JSArray extends JSObject {
     @Override
     protected void definePropertyInternal(PropertyKey key, PropertyDescriptor descriptor) {
         long index = key.toArrayIndex();
-        if (index >= 0 && index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
+        if (index >= 0) {
             // For default data descriptors (writable, enumerable, configurable),
             // store in array storage (denseArray/sparseProperties) rather than shape.
             if (descriptor.isDataDescriptor() && !descriptor.isAccessorDescriptor()
@@ -265,6 +264,7 @@ public final class JSArray extends JSObject {
                 PropertyKey shapeKey = getOwnShapeKey(key);
                 if (shapeKey != null) {
                     int shapeOffset = shape.getPropertyOffset(shapeKey);
+                    ensureUnsharedShape();
                     shape.removeProperty(shapeKey);
                     if (shapeOffset >= 0) {
                         propertyValues[shapeOffset] = JSUndefined.INSTANCE;
@@ -273,20 +273,20 @@ public final class JSArray extends JSObject {
                         compactProperties();
                     }
                 }
-                if (intIndex < MAX_DENSE_SIZE) {
-                    ensureDenseCapacity(intIndex + 1);
-                    denseArray[intIndex] = descriptor.getValue();
+                if (index < MAX_DENSE_SIZE) {
+                    ensureDenseCapacity((int) index + 1);
+                    denseArray[(int) index] = descriptor.getValue();
                 } else {
                     if (sparseProperties == null) {
-                        sparseProperties = new HashMap<>();
+                        sparseProperties = new SparseElements();
                     }
-                    sparseProperties.put(intIndex, descriptor.getValue());
+                    sparseProperties.put(index, descriptor.getValue());
                 }
                 return;
             }
             // Non-default descriptor: clear dense entry so shape storage takes precedence.
-            if (intIndex < denseArray.length) {
-                denseArray[intIndex] = null;
+            if (index < denseArray.length) {
+                denseArray[(int) index] = null;
             }
         }
         super.definePropertyInternal(key, descriptor);
@@ -304,15 +304,12 @@ public final class JSArray extends JSObject {
             return super.delete(stringKey);
         }
 
-        if (index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
-            if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                denseArray[intIndex] = null;
-                return true;
-            }
-            if (sparseProperties != null && sparseProperties.remove(intIndex) != null) {
-                return true;
-            }
+        if (index < denseArray.length && denseArray[(int) index] != null) {
+            denseArray[(int) index] = null;
+            return true;
+        }
+        if (sparseProperties != null && sparseProperties.remove(index) != null) {
+            return true;
         }
 
         return super.delete(key);
@@ -347,17 +344,15 @@ public final class JSArray extends JSObject {
 
         // Own indexed elements cannot exist at or above length, but inherited
         // numeric properties must still be observable through prototype lookup.
-        if (index < length && index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
-
+        if (index < length) {
             // Try dense array first
-            if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                return denseArray[intIndex];
+            if (index < denseArray.length && denseArray[(int) index] != null) {
+                return denseArray[(int) index];
             }
 
             // Check sparse storage
             if (sparseProperties != null) {
-                JSValue value = sparseProperties.get(intIndex);
+                JSValue value = sparseProperties.get(index);
                 if (value != null) {
                     return value;
                 }
@@ -390,13 +385,12 @@ public final class JSArray extends JSObject {
                 return super.get(key);
             }
             // Try own dense/sparse storage
-            if (index < length && index <= Integer.MAX_VALUE) {
-                int intIndex = (int) index;
-                if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                    return denseArray[intIndex];
+            if (index < length) {
+                if (index < denseArray.length && denseArray[(int) index] != null) {
+                    return denseArray[(int) index];
                 }
                 if (sparseProperties != null) {
-                    JSValue value = sparseProperties.get(intIndex);
+                    JSValue value = sparseProperties.get(index);
                     if (value != null) {
                         return value;
                     }
@@ -411,6 +405,21 @@ public final class JSArray extends JSObject {
         return super.get(key);
     }
 
+    /**
+     * Get the length of the dense index range a for-in loop may enumerate lazily,
+     * or -1 if some own index keys live outside the dense storage.
+     */
+    int getDenseEnumerationLength() {
+        if (getClass() != JSArray.class || sparseProperties != null) {
+            return -1;
+        }
+        PropertyKey[] shapeKeys = shape.getStringKeys().keys();
+        if (shapeKeys.length > 0 && shapeKeys[0].toArrayIndex() >= 0) {
+            return -1;
+        }
+        return (int) Math.min(length, denseArray.length);
+    }
+
     /**
      * Get the array length.
      */
@@ -430,20 +439,17 @@ public final class JSArray extends JSObject {
             return null;
         }
 
-        if (index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
-            if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                return PropertyDescriptor.dataDescriptor(denseArray[intIndex], PropertyDescriptor.DataState.All);
-            }
-            if (sparseProperties != null) {
-                JSValue sparseValue = sparseProperties.get(intIndex);
-                if (sparseValue != null) {
-                    return PropertyDescriptor.dataDescriptor(sparseValue, PropertyDescriptor.DataState.All);
-                }
+        if (index < denseArray.length && denseArray[(int) index] != null) {
+            return PropertyDescriptor.dataDescriptor(denseArray[(int) index], PropertyDescriptor.DataState.All);
+        }
+        if (sparseProperties != null) {
+            JSValue sparseValue = sparseProperties.get(index);
+            if (sparseValue != null) {
+                return PropertyDescriptor.dataDescriptor(sparseValue, PropertyDescriptor.DataState.All);
             }
-        } else {
-            PropertyDescriptor largeIndexDescriptor = super.getOwnPropertyDescriptor(PropertyKey.fromString(Long.toString(index)));
-            return largeIndexDescriptor;
+        }
+        if (index > Integer.MAX_VALUE) {
+            return super.getOwnPropertyDescriptor(PropertyKey.fromString(Long.toString(index)));
         }
 
         return null;
@@ -482,48 +488,17 @@ public final class JSArray extends JSObject {
             }
         }
 
-        List<Map.Entry<Long, PropertyKey>> numericKeys = new ArrayList<>();
-        Set<Long> seenNumericIndices = new HashSet<>();
+        List<PropertyKey> shapeIndexKeys = new ArrayList<>();
         List<PropertyKey> stringKeys = new ArrayList<>();
         List<PropertyKey> symbolKeys = new ArrayList<>();
         Set<PropertyKey> seenPropertyKeys = new HashSet<>();
 
-        long denseLimit = Math.min(length, denseArray.length);
-        for (int i = 0; i < denseLimit; i++) {
-            JSValue value = denseArray[i];
-            if (value != null) {
-                long numericIndex = Integer.toUnsignedLong(i);
-                if (seenNumericIndices.add(numericIndex)) {
-                    numericKeys.add(Map.entry(numericIndex, PropertyKey.fromIndex(i)));
-                }
-            }
-        }
-        if (sparseProperties != null) {
-            for (Map.Entry<Integer, JSValue> entry : sparseProperties.entrySet()) {
-                int sparseIndex = entry.getKey();
-                long index = Integer.toUnsignedLong(sparseIndex);
-                if (index >= 0 && index < length) {
-                    if (seenNumericIndices.add(index)) {
-                        numericKeys.add(Map.entry(index, PropertyKey.fromIndex(sparseIndex)));
-                    }
-                }
-            }
-        }
-
         for (PropertyKey key : shape.getPropertyKeys()) {
             long index = key.toArrayIndex();
             if (index >= 0) {
-                if (!seenNumericIndices.contains(index)) {
-                    PropertyDescriptor descriptor = super.getOwnPropertyDescriptor(key);
-                    if (descriptor != null && (!enumerableOnly || descriptor.isEnumerable())) {
-                        if (seenNumericIndices.add(index)) {
-                            if (index <= Integer.MAX_VALUE) {
-                                numericKeys.add(Map.entry(index, PropertyKey.fromIndex((int) index)));
-                            } else {
-                                numericKeys.add(Map.entry(index, PropertyKey.fromString(Long.toString(index))));
-                            }
-                        }
-                    }
+                PropertyDescriptor descriptor = super.getOwnPropertyDescriptor(key);
+                if (descriptor != null && (!enumerableOnly || descriptor.isEnumerable())) {
+                    shapeIndexKeys.add(key);
                 }
                 continue;
             }
@@ -552,17 +527,77 @@ public final class JSArray extends JSObject {
             }
         }
 
-        numericKeys.sort(Comparator.comparingLong(Map.Entry::getKey));
-
-        List<PropertyKey> keys = new ArrayList<>(numericKeys.size() + stringKeys.size() + symbolKeys.size());
-        for (Map.Entry<Long, PropertyKey> entry : numericKeys) {
-            keys.add(entry.getValue());
+        // Merge the ascending dense and sparse indices with the few index keys in the shape,
+        // which are the only ones that need sorting.
+        shapeIndexKeys.sort(Comparator.comparingLong(PropertyKey::toArrayIndex));
+        long[] sparseIndices = sparseProperties != null ? sparseProperties.indices() : null;
+        int sparseCount = sparseIndices != null ? sparseIndices.length : 0;
+        int shapeIndexCount = shapeIndexKeys.size();
+        int denseLimit = (int) Math.min(length, denseArray.length);
+        List<PropertyKey> keys = new ArrayList<>(
+                denseLimit + sparseCount + shapeIndexCount + stringKeys.size() + symbolKeys.size());
+        int denseCursor = 0;
+        int sparseCursor = 0;
+        int shapeCursor = 0;
+        while (true) {
+            while (denseCursor < denseLimit && denseArray[denseCursor] == null) {
+                denseCursor++;
+            }
+            while (sparseCursor < sparseCount && sparseIndices[sparseCursor] >= length) {
+                sparseCursor++;
+            }
+            long index = Long.MAX_VALUE;
+            if (denseCursor < denseLimit) {
+                index = denseCursor;
+            }
+            if (sparseCursor < sparseCount) {
+                index = Math.min(index, sparseIndices[sparseCursor]);
+            }
+            if (shapeCursor < shapeIndexCount) {
+                index = Math.min(index, shapeIndexKeys.get(shapeCursor).toArrayIndex());
+            }
+            if (index == Long.MAX_VALUE) {
+                break;
+            }
+            keys.add(SparseElements.toPropertyKey(index));
+            if (denseCursor == index) {
+                denseCursor++;
+            }
+            if (sparseCursor < sparseCount && sparseIndices[sparseCursor] == index) {
+                sparseCursor++;
+            }
+            while (shapeCursor < shapeIndexCount && shapeIndexKeys.get(shapeCursor).toArrayIndex() == index) {
+                shapeCursor++;
+            }
         }
+
         keys.addAll(stringKeys);
         keys.addAll(symbolKeys);
         return keys;
     }
 
+    /**
+     * Copy the elements of a packed array, i.e. one whose indices [0, length) are all
+     * plain data elements in the dense storage, or return null for any other layout.
+     */
+    public JSValue[] getPackedElements() {
+        int packedLength = getPackedLength();
+        return packedLength < 0 ? null : Arrays.copyOf(denseArray, packedLength);
+    }
+
+    private int getPackedLength() {
+        int packedLength = getDenseEnumerationLength();
+        if (packedLength < 0 || packedLength != length) {
+            return -1;
+        }
+        for (int i = 0; i < packedLength; i++) {
+            if (denseArray[i] == null) {
+                return -1;
+            }
+        }
+        return packedLength;
+    }
+
     /**
      * Override three-arg get so prototype chain lookups find dense array elements.
      * Without this, JSObject's three-arg get only checks shape/sparse properties,
@@ -571,15 +606,14 @@ public final class JSArray extends JSObject {
     @Override
     protected JSValue getWithReceiver(PropertyKey key, JSValue receiver, int depth) {
         long index = key.toArrayIndex();
-        if (index >= 0 && index < length && index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
+        if (index >= 0 && index < length) {
             // Check dense array
-            if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                return denseArray[intIndex];
+            if (index < denseArray.length && denseArray[(int) index] != null) {
+                return denseArray[(int) index];
             }
             // Check sparse storage
             if (sparseProperties != null) {
-                JSValue value = sparseProperties.get(intIndex);
+                JSValue value = sparseProperties.get(index);
                 if (value != null) {
                     return value;
                 }
@@ -589,6 +623,14 @@ public final class JSArray extends JSObject {
         return super.getWithReceiver(key, receiver, depth);
     }
 
+    /**
+     * Check whether an index has an own element in the dense storage.
+     * Such an element is always an enumerable data property.
+     */
+    boolean hasDenseElement(int index) {
+        return index < length && index < denseArray.length && denseArray[index] != null;
+    }
+
     /**
      * Check whether an index has an own element (distinguishes holes from undefined values).
      */
@@ -597,14 +639,13 @@ public final class JSArray extends JSObject {
             return false;
         }
 
-        if (index <= Integer.MAX_VALUE) {
-            int intIndex = (int) index;
-            if (intIndex < denseArray.length && denseArray[intIndex] != null) {
-                return true;
-            }
-            return sparseProperties != null && sparseProperties.containsKey(intIndex);
+        if (index < denseArray.length && denseArray[(int) index] != null) {
+            return true;
         }
-        return super.hasOwnProperty(PropertyKey.fromString(Long.toString(index)));
+        if (sparseProperties != null && sparseProperties.containsKey(index)) {
+            return true;
+        }
+        return index > Integer.MAX_VALUE && super.hasOwnProperty(PropertyKey.fromString(Long.toString(index)));
     }
 
     @Override
@@ -640,6 +681,11 @@ public final class JSArray extends JSObject {
         return false;
     }
 
+    @Override
+    boolean hasShapeOnlyOwnKeys() {
+        return getClass() == JSArray.class && length == 0 && sparseProperties == null;
+    }
+
     /**
      * Initialize the "length" property as a special data property.
      */
@@ -653,8 +699,8 @@ public final class JSArray extends JSObject {
     }
 
     private boolean isLengthWritable() {
-        PropertyDescriptor descriptor = shape.getDescriptor(PropertyKey.LENGTH);
-        return descriptor == null || descriptor.isWritable();
+        int offset = shape.getPropertyOffset(PropertyKey.LENGTH);
+        return offset < 0 || (shape.getPropertyFlagsAt(offset) & JSShape.PROP_WRITABLE) != 0;
     }
 
     @Override
@@ -676,9 +722,7 @@ public final class JSArray extends JSObject {
         // Remove the element
         if (lastIndex < denseArray.length) {
             denseArray[(int) lastIndex] = null;
-        } else if (lastIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            sparseProperties.remove((int) lastIndex);
-        } else {
+        } else if (sparseProperties == null || sparseProperties.remove(lastIndex) == null) {
             super.delete(PropertyKey.fromString(Long.toString(lastIndex)));
         }
 
@@ -750,7 +794,7 @@ public final class JSArray extends JSObject {
         // If this index has a shape property (e.g., from Object.defineProperty),
         // delegate to JSObject.set which handles descriptor constraints (writable, accessor, etc.).
         // Following QuickJS which checks find_own_property before using the fast array path.
-        if (!isAddingNewElement && index <= Integer.MAX_VALUE) {
+        if (!isAddingNewElement) {
             PropertyKey key = PropertyKey.fromString(Long.toString(index));
             if (super.hasOwnShapeProperty(key)) {
                 super.set(key, value);
@@ -775,15 +819,12 @@ public final class JSArray extends JSObject {
         if (index < MAX_DENSE_SIZE) {
             ensureDenseCapacity((int) index + 1);
             denseArray[(int) index] = value;
-        } else if (index <= Integer.MAX_VALUE) {
+        } else {
             // Use sparse storage for large indices
             if (sparseProperties == null) {
-                sparseProperties = new HashMap<>();
+                sparseProperties = new SparseElements();
             }
-            sparseProperties.put((int) index, value);
-        } else {
-            // Preserve semantics for very large array indices without integer overflow.
-            super.set(PropertyKey.fromString(Long.toString(index)), value);
+            sparseProperties.put(index, value);
         }
     }
 
@@ -841,7 +882,7 @@ public final class JSArray extends JSObject {
 
             // Remove sparse elements beyond new length
             if (sparseProperties != null) {
-                sparseProperties.entrySet().removeIf(entry -> entry.getKey() >= newLength);
+                sparseProperties.removeFrom(newLength);
             }
 
             // Remove indexed string properties outside the new length range.
@@ -857,6 +898,19 @@ public final class JSArray extends JSObject {
         updateLengthProperty();
     }
 
+    /**
+     * Overwrite the elements of a packed array with the same number of values.
+     * Returns false without modifying the array when it is no longer packed with
+     * that length or its elements are read-only.
+     */
+    public boolean setPackedElements(JSValue[] values) {
+        if (frozen || getPackedLength() != values.length) {
+            return false;
+        }
+        System.arraycopy(values, 0, denseArray, 0, values.length);
+        return true;
+    }
+
     @Override
     public boolean setWithResult(PropertyKey key, JSValue value) {
         return setWithResult(key, value, this);
@@ -934,16 +988,10 @@ public final class JSArray extends JSObject {
 
         // Handle sparse properties
         if (sparseProperties != null) {
-            Map<Integer, JSValue> newSparse = new HashMap<>();
-            for (Map.Entry<Integer, JSValue> entry : sparseProperties.entrySet()) {
-                int index = entry.getKey();
-                if (index >= start + count) {
-                    newSparse.put(index - count, entry.getValue());
-                } else if (index < start) {
-                    newSparse.put(index, entry.getValue());
-                }
+            sparseProperties.shiftLeft(start, count);
+            if (sparseProperties.isEmpty()) {
+                sparseProperties = null;
             }
-            sparseProperties = newSparse.isEmpty() ? null : newSparse;
         }
     }
 
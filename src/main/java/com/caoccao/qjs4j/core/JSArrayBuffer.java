@@ -28,12 +28,16 @@ import java.util.Arrays;
  * <p>
  * An ArrayBuffer is a raw binary data buffer of a fixed length.
  * It cannot be read or written directly - use TypedArrays or DataView.
+ * <p>
+ * The backing store is a heap buffer by default. Hosts can also wrap an existing
+ * direct or memory-mapped buffer with zero copy. Resizable buffers commit heap memory
+ * as they grow rather than reserving maxByteLength up front.
  */
 public final class JSArrayBuffer extends JSObject implements IJSArrayBuffer {
     public static final String NAME = "ArrayBuffer";
-    private final ByteBuffer buffer;
     private final int maxByteLength;
     private final boolean resizable;
+    private ByteBuffer buffer;
     private boolean detached;
     private boolean immutable;
 
@@ -60,9 +64,9 @@ public final class JSArrayBuffer extends JSObject implements IJSArrayBuffer {
         if (maxByteLength != -1 && maxByteLength < byteLength) {
             throw new IllegalArgumentException("ArrayBuffer maxByteLength must be >= byteLength");
         }
-        int rawSize = maxByteLength != -1 ? maxByteLength : byteLength;
+        // Only commit the initial length; resize() grows the backing store on demand.
         // Pad to multiple of 4 so VarHandle int-width CAS works for short-typed atomics
-        this.buffer = ByteBuffer.allocate((rawSize + 3) & ~3);
+        this.buffer = ByteBuffer.allocate((byteLength + 3) & ~3);
         this.buffer.order(ByteOrder.LITTLE_ENDIAN); // JavaScript uses little-endian
         this.buffer.limit(byteLength);
         this.detached = false;
@@ -93,6 +97,27 @@ public final class JSArrayBuffer extends JSObject implements IJSArrayBuffer {
         this.maxByteLength = bytes.length;
     }
 
+    /**
+     * Create an ArrayBuffer that shares the bytes between the buffer's position and limit
+     * without copying, e.g. a direct buffer or a {@link java.nio.MappedByteBuffer}.
+     * Writes through either side are visible to the other. To expose a file without
+     * modifying it, map it with {@link java.nio.channels.FileChannel.MapMode#PRIVATE}.
+     *
+     * @param byteBuffer The buffer to wrap
+     * @throws IllegalArgumentException if the buffer is read-only
+     */
+    public JSArrayBuffer(JSContext context, ByteBuffer byteBuffer) {
+        super(context);
+        if (byteBuffer.isReadOnly()) {
+            throw new IllegalArgumentException("ArrayBuffer backing buffer must be writable");
+        }
+        this.buffer = byteBuffer.slice();
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.detached = false;
+        this.resizable = false;
+        this.maxByteLength = this.buffer.limit();
+    }
+
     /**
      * Allocate the ArrayBuffer with validated lengths.
      * Performs allocation limit checks (QuickJS INT32_MAX limit).
@@ -288,6 +313,16 @@ public final class JSArrayBuffer extends JSObject implements IJSArrayBuffer {
         }
 
         int oldByteLength = buffer.limit();
+        if (newByteLength > buffer.capacity()) {
+            // Grow geometrically up to maxByteLength; bytes past the old length start zeroed
+            int newCapacity = Math.max(newByteLength, (int) Math.min(2L * buffer.capacity(), maxByteLength));
+            ByteBuffer newBuffer = ByteBuffer.allocate((newCapacity + 3) & ~3);
+            newBuffer.order(ByteOrder.LITTLE_ENDIAN);
+            System.arraycopy(buffer.array(), 0, newBuffer.array(), 0, oldByteLength);
+            newBuffer.limit(newByteLength);
+            buffer = newBuffer;
+            return;
+        }
         buffer.limit(newByteLength);
         if (newByteLength > oldByteLength) {
             // Zero newly accessible bytes per ES2024 spec
@@ -20,7 +20,6 @@ import com.caoccao.qjs4j.exceptions.JSSyntaxErrorException;
 import com.caoccao.qjs4j.exceptions.JSTypeErrorException;
 
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
 
 /**
  * Represents a JavaScript BigInt64Array.
@@ -105,15 +104,19 @@ public final class JSBigInt64Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.getLong(index * BYTES_PER_ELEMENT);
+        return (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
     public JSValue getJSElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return new JSBigInt(BigInteger.valueOf(buf.getLong(index * BYTES_PER_ELEMENT)));
+        return new JSBigInt(BigInteger.valueOf((long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index))));
     }
 
     @Override
@@ -139,8 +142,7 @@ public final class JSBigInt64Array extends JSTypedArray {
             return;
         }
         if (!buffer.isDetached() && index >= 0 && index < getLength()) {
-            ByteBuffer buf = getByteBuffer();
-            buf.putLong(index * BYTES_PER_ELEMENT, longVal);
+            LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), longVal);
         }
     }
 
@@ -157,17 +159,21 @@ public final class JSBigInt64Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.putLong(index * BYTES_PER_ELEMENT, (long) value);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (long) value);
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), bits);
     }
 
     @Override
     protected void setJSElement(int index, JSValue value) {
         long longVal = JSTypeConversions.toBigInt64(context, value);
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
         // Write raw signed 64-bit value directly to avoid precision loss via double.
-        buf.putLong(index * BYTES_PER_ELEMENT, longVal);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), longVal);
     }
 
     @Override
@@ -20,7 +20,6 @@ import com.caoccao.qjs4j.exceptions.JSSyntaxErrorException;
 import com.caoccao.qjs4j.exceptions.JSTypeErrorException;
 
 import java.math.BigInteger;
-import java.nio.ByteBuffer;
 
 /**
  * Represents a JavaScript BigUint64Array.
@@ -105,19 +104,23 @@ public final class JSBigUint64Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        long value = buf.getLong(index * BYTES_PER_ELEMENT);
+        long value = (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
         // Convert unsigned long to double (may lose precision for very large values)
         return Long.compareUnsigned(value, 0) < 0 ?
                 (double) (value & Long.MAX_VALUE) + Math.pow(2, 63) :
                 (double) value;
     }
 
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
     @Override
     public JSValue getJSElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        long value = buf.getLong(index * BYTES_PER_ELEMENT);
+        long value = (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
         // Convert unsigned long to unsigned BigInteger
         BigInteger unsigned = value >= 0
                 ? BigInteger.valueOf(value)
@@ -148,8 +151,7 @@ public final class JSBigUint64Array extends JSTypedArray {
             return;
         }
         if (!buffer.isDetached() && index >= 0 && index < getLength()) {
-            ByteBuffer buf = getByteBuffer();
-            buf.putLong(index * BYTES_PER_ELEMENT, longVal);
+            LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), longVal);
         }
     }
 
@@ -166,19 +168,23 @@ public final class JSBigUint64Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
         // Convert double to unsigned long
         long longValue = (long) value;
-        buf.putLong(index * BYTES_PER_ELEMENT, longValue);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), longValue);
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), bits);
     }
 
     @Override
     protected void setJSElement(int index, JSValue value) {
         long longVal = JSTypeConversions.toBigInt64(context, value);
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
         // Write raw 64-bit modulo value directly to avoid precision loss via double.
-        buf.putLong(index * BYTES_PER_ELEMENT, longVal);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), longVal);
     }
 
     @Override
@@ -923,33 +923,23 @@ public final class JSBytecodeFunction extends JSFunction {
             JSPromise awaitedPromise = context.getVirtualMachine().consumeAwaitSuspensionPromise();
             if (awaitedPromise != null) {
                 awaitedPromise.addReactions(
-                        new JSPromise.ReactionRecord(
-                                new JSNativeFunction(context, "onAwaitResolve", 1, (childContext, callbackThisArg, callbackArgs) -> {
-                                    JSValue resolvedValue = callbackArgs.length > 0 ? callbackArgs[0] : JSUndefined.INSTANCE;
-                                    asyncFunctionState.setPendingResumeRecord(JSGeneratorState.ResumeKind.NEXT, resolvedValue);
-                                    resumeAsyncFunctionExecution(context, asyncFunctionState, outerPromise);
-                                    return JSUndefined.INSTANCE;
-                                }),
-                                null,
-                                context
-                        ),
-                        new JSPromise.ReactionRecord(
-                                new JSNativeFunction(context, "onAwaitReject", 1, (childContext, callbackThisArg, callbackArgs) -> {
-                                    JSValue rejectionValue = callbackArgs.length > 0 ? callbackArgs[0] : JSUndefined.INSTANCE;
-                                    // Fire the promise rejection callback (for unhandled rejection tracking)
-                                    IJSPromiseRejectCallback rejectCallback = context.getPromiseRejectCallback();
-                                    if (rejectCallback != null) {
-                                        rejectCallback.callback(
-                                                PromiseRejectEvent.PromiseRejectWithNoHandler,
-                                                awaitedPromise, rejectionValue);
-                                    }
-                                    asyncFunctionState.setPendingResumeRecord(JSGeneratorState.ResumeKind.THROW, rejectionValue);
-                                    resumeAsyncFunctionExecution(context, asyncFunctionState, outerPromise);
-                                    return JSUndefined.INSTANCE;
-                                }),
-                                null,
-                                context
-                        )
+                        new JSPromise.ReactionRecord((childContext, resolvedValue) -> {
+                            asyncFunctionState.setPendingResumeRecord(JSGeneratorState.ResumeKind.NEXT, resolvedValue);
+                            resumeAsyncFunctionExecution(context, asyncFunctionState, outerPromise);
+                            return JSUndefined.INSTANCE;
+                        }, context),
+                        new JSPromise.ReactionRecord((childContext, rejectionValue) -> {
+                            // Fire the promise rejection callback (for unhandled rejection tracking)
+                            IJSPromiseRejectCallback rejectCallback = context.getPromiseRejectCallback();
+                            if (rejectCallback != null) {
+                                rejectCallback.callback(
+                                        PromiseRejectEvent.PromiseRejectWithNoHandler,
+                                        awaitedPromise, rejectionValue);
+                            }
+                            asyncFunctionState.setPendingResumeRecord(JSGeneratorState.ResumeKind.THROW, rejectionValue);
+                            resumeAsyncFunctionExecution(context, asyncFunctionState, outerPromise);
+                            return JSUndefined.INSTANCE;
+                        }, context)
                 );
                 return;
             }
@@ -1344,91 +1334,53 @@ public final class JSBytecodeFunction extends JSFunction {
                             return promise;
                         }
                         awaitedPromise.addReactions(
-                                new JSPromise.ReactionRecord(
-                                        new JSNativeFunction(executionContext, "onAsyncGenAwaitResolve", 1, (childContext, callbackThisArg, callbackArgs) -> {
-                                            JSValue resolvedValue = callbackArgs.length > 0 ? callbackArgs[0] : JSUndefined.INSTANCE;
-                                            generatorState.setPendingResumeRecord(JSGeneratorState.ResumeKind.NEXT, resolvedValue);
-                                            JSPromise resumedPromise = asyncGeneratorRequestExecutorHolder[0]
-                                                    .executeNext(JSUndefined.INSTANCE, requestKind);
-                                            // Per QuickJS: resolve the request synchronously when the
-                                            // resumed execution completes, avoiding extra microtask ticks.
-                                            if (resumedPromise.getState() == JSPromise.PromiseState.FULFILLED) {
-                                                asyncGeneratorHolder[0].completeCurrentRequest(resumedPromise.getResult());
-                                            } else if (resumedPromise.getState() == JSPromise.PromiseState.REJECTED) {
-                                                promise.reject(resumedPromise.getResult());
-                                            } else {
-                                                // Still pending (nested await or complex case) — use reaction chain
-                                                resumedPromise.addReactions(
-                                                        new JSPromise.ReactionRecord(
-                                                                new JSNativeFunction(executionContext, "onResumeResolve", 1, (resumeContext, resumeThisArg, resumeArgs) -> {
-                                                                    JSValue resumedResult = resumeArgs.length > 0
-                                                                            ? resumeArgs[0]
-                                                                            : JSUndefined.INSTANCE;
-                                                                    asyncGeneratorHolder[0].completeCurrentRequest(resumedResult);
-                                                                    return JSUndefined.INSTANCE;
-                                                                }),
-                                                                null,
-                                                                executionContext
-                                                        ),
-                                                        new JSPromise.ReactionRecord(
-                                                                new JSNativeFunction(executionContext, "onResumeReject", 1, (resumeContext, resumeThisArg, resumeArgs) -> {
-                                                                    JSValue resumedError = resumeArgs.length > 0
-                                                                            ? resumeArgs[0]
-                                                                            : JSUndefined.INSTANCE;
-                                                                    promise.reject(resumedError);
-                                                                    return JSUndefined.INSTANCE;
-                                                                }),
-                                                                null,
-                                                                executionContext
-                                                        )
-                                                );
-                                            }
-                                            return JSUndefined.INSTANCE;
-                                        }),
-                                        null,
-                                        executionContext
-                                ),
-                                new JSPromise.ReactionRecord(
-                                        new JSNativeFunction(executionContext, "onAsyncGenAwaitReject", 1, (childContext, callbackThisArg, callbackArgs) -> {
-                                            JSValue rejectionValue = callbackArgs.length > 0 ? callbackArgs[0] : JSUndefined.INSTANCE;
-                                            generatorState.setPendingResumeRecord(JSGeneratorState.ResumeKind.THROW, rejectionValue);
-                                            JSPromise resumedPromise = asyncGeneratorRequestExecutorHolder[0]
-                                                    .executeNext(JSUndefined.INSTANCE, requestKind);
-                                            if (resumedPromise.getState() == JSPromise.PromiseState.FULFILLED) {
-                                                asyncGeneratorHolder[0].completeCurrentRequest(resumedPromise.getResult());
-                                            } else if (resumedPromise.getState() == JSPromise.PromiseState.REJECTED) {
-                                                promise.reject(resumedPromise.getResult());
-                                            } else {
-                                                resumedPromise.addReactions(
-                                                        new JSPromise.ReactionRecord(
-                                                                new JSNativeFunction(executionContext, "onResumeResolve", 1, (resumeContext, resumeThisArg, resumeArgs) -> {
-                                                                    JSValue resumedResult = resumeArgs.length > 0
-                                                                            ? resumeArgs[0]
-                                                                            : JSUndefined.INSTANCE;
-                                                                    asyncGeneratorHolder[0].completeCurrentRequest(resumedResult);
-                                                                    return JSUndefined.INSTANCE;
-                                                                }),
-                                                                null,
-                                                                executionContext
-                                                        ),
-                                                        new JSPromise.ReactionRecord(
-                                                                new JSNativeFunction(executionContext, "onResumeReject", 1, (resumeContext, resumeThisArg, resumeArgs) -> {
-                                                                    JSValue resumedError = resumeArgs.length > 0
-                                                                            ? resumeArgs[0]
-                                                                            : JSUndefined.INSTANCE;
-                                                                    promise.reject(resumedError);
-                                                                    return JSUndefined.INSTANCE;
-                                                                }),
-                                                                null,
-                                                                executionContext
-                                                        )
-                                                );
-                                            }
-                                            return JSUndefined.INSTANCE;
-                                        }),
-                                        null,
-                                        executionContext
-                                )
+                                new JSPromise.ReactionRecord((childContext, resolvedValue) -> {
+                                    generatorState.setPendingResumeRecord(JSGeneratorState.ResumeKind.NEXT, resolvedValue);
+                                    JSPromise resumedPromise = asyncGeneratorRequestExecutorHolder[0]
+                                            .executeNext(JSUndefined.INSTANCE, requestKind);
+                                    // Per QuickJS: resolve the request synchronously when the
+                                    // resumed execution completes, avoiding extra microtask ticks.
+                                    if (resumedPromise.getState() == JSPromise.PromiseState.FULFILLED) {
+                                        asyncGeneratorHolder[0].completeCurrentRequest(resumedPromise.getResult());
+                                    } else if (resumedPromise.getState() == JSPromise.PromiseState.REJECTED) {
+                                        promise.reject(resumedPromise.getResult());
+                                    } else {
+                                        // Still pending (nested await or complex case) — use reaction chain
+                                        resumedPromise.addReactions(
+                                                new JSPromise.ReactionRecord((resumeContext, resumedResult) -> {
+                                                    asyncGeneratorHolder[0].completeCurrentRequest(resumedResult);
+                                                    return JSUndefined.INSTANCE;
+                                                }, executionContext),
+                                                new JSPromise.ReactionRecord((resumeContext, resumedError) -> {
+                                                    promise.reject(resumedError);
+                                                    return JSUndefined.INSTANCE;
+                                                }, executionContext)
+                                        );
+                                    }
+                                    return JSUndefined.INSTANCE;
+                                }, executionContext),
+                                new JSPromise.ReactionRecord((childContext, rejectionValue) -> {
+                                    generatorState.setPendingResumeRecord(JSGeneratorState.ResumeKind.THROW, rejectionValue);
+                                    JSPromise resumedPromise = asyncGeneratorRequestExecutorHolder[0]
+                                            .executeNext(JSUndefined.INSTANCE, requestKind);
+                                    if (resumedPromise.getState() == JSPromise.PromiseState.FULFILLED) {
+                                        asyncGeneratorHolder[0].completeCurrentRequest(resumedPromise.getResult());
+                                    } else if (resumedPromise.getState() == JSPromise.PromiseState.REJECTED) {
+                                        promise.reject(resumedPromise.getResult());
+                                    } else {
+                                        resumedPromise.addReactions(
+                                                new JSPromise.ReactionRecord((resumeContext, resumedResult) -> {
+                                                    asyncGeneratorHolder[0].completeCurrentRequest(resumedResult);
+                                                    return JSUndefined.INSTANCE;
+                                                }, executionContext),
+                                                new JSPromise.ReactionRecord((resumeContext, resumedError) -> {
+                                                    promise.reject(resumedError);
+                                                    return JSUndefined.INSTANCE;
+                                                }, executionContext)
+                                        );
+                                    }
+                                    return JSUndefined.INSTANCE;
+                                }, executionContext)
                         );
                         return promise;
                     }
@@ -2077,6 +2029,9 @@ public final class JSBytecodeFunction extends JSFunction {
     }
 
     public void setEvalDynamicScopeFrame(StackFrame evalDynamicScopeFrame) {
+        if (evalDynamicScopeFrame != null) {
+            evalDynamicScopeFrame.markEscaped();
+        }
         this.evalDynamicScopeFrame = evalDynamicScopeFrame;
     }
 
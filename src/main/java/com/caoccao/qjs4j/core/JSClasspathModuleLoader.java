@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Module loader that serves modules from class loader resources, e.g. from a jar.
+ * <p>
+ * Resolved specifiers are absolute virtual paths such as {@code /app/main.js}; they map to
+ * the resource {@code <basePath>/app/main.js}. Relative specifiers are resolved against the
+ * referrer's virtual directory.
+ */
+public final class JSClasspathModuleLoader implements IJSModuleLoader {
+    private final String basePath;
+    private final ClassLoader classLoader;
+
+    /**
+     * Create a loader for resources under the given base path.
+     *
+     * @param classLoader the class loader to read resources from
+     * @param basePath    the resource directory that virtual path "/" maps to, e.g. "js" or ""
+     */
+    public JSClasspathModuleLoader(ClassLoader classLoader, String basePath) {
+        this.classLoader = Objects.requireNonNull(classLoader);
+        String normalizedBasePath = Objects.requireNonNull(basePath).replace('\\', '/');
+        while (normalizedBasePath.startsWith("/")) {
+            normalizedBasePath = normalizedBasePath.substring(1);
+        }
+        while (normalizedBasePath.endsWith("/")) {
+            normalizedBasePath = normalizedBasePath.substring(0, normalizedBasePath.length() - 1);
+        }
+        this.basePath = normalizedBasePath;
+    }
+
+    @Override
+    public byte[] fetch(String resolvedSpecifier) throws IOException {
+        try (InputStream inputStream = classLoader.getResourceAsStream(getResourceName(resolvedSpecifier))) {
+            if (inputStream == null) {
+                throw new IOException("Cannot find module resource '" + resolvedSpecifier + "'");
+            }
+            return inputStream.readAllBytes();
+        }
+    }
+
+    public String getBasePath() {
+        return basePath;
+    }
+
+    private String getResourceName(String resolvedSpecifier) {
+        String relativePath = resolvedSpecifier.startsWith("/") ? resolvedSpecifier.substring(1) : resolvedSpecifier;
+        return basePath.isEmpty() ? relativePath : basePath + "/" + relativePath;
+    }
+
+    @Override
+    public String resolve(String specifier, String referrer) {
+        String resolvedSpecifier = IJSModuleLoader.resolveVirtualPath(specifier, referrer);
+        if (classLoader.getResource(getResourceName(resolvedSpecifier)) == null) {
+            return null;
+        }
+        return resolvedSpecifier;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.compilation.ast.Program;
+import com.caoccao.qjs4j.compilation.compiler.Compiler;
+
+import java.util.List;
+
+/**
+ * Context-independent result of compiling a module source: its export bindings,
+ * static imports and the transformed source that a context evaluates.
+ * <p>
+ * Compiled modules are cached per {@link JSRuntime} by resolved specifier and content hash,
+ * so contexts importing the same module reuse one record instead of re-scanning the source.
+ * The export binding name is assigned once per record, so the transformed source is the same
+ * in every context and its parsed program is shared too; a module that needs no transform
+ * reuses the program its source was parsed into. Only bytecode generation runs per context,
+ * because the bytecode references objects owned by the context.
+ */
+final class JSCompiledModule {
+    private final String exportBindingName;
+    private final boolean hasExportSyntax;
+    private final boolean hasTLA;
+    private final List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedFunctionExportBindings;
+    private final List<JSDynamicImportModule.LocalExportBinding> localExportBindings;
+    private final String rawSource;
+    private final List<JSDynamicImportModule.ReExportBinding> reExportBindings;
+    private final String resolvedSpecifier;
+    private final List<StaticImport> staticImports;
+    private final String transformedSource;
+    private volatile Program transformedProgram;
+
+    JSCompiledModule(
+            String resolvedSpecifier,
+            String rawSource,
+            boolean hasExportSyntax,
+            boolean hasTLA,
+            List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedFunctionExportBindings,
+            List<JSDynamicImportModule.LocalExportBinding> localExportBindings,
+            List<JSDynamicImportModule.ReExportBinding> reExportBindings,
+            List<StaticImport> staticImports,
+            String exportBindingName,
+            String transformedSource,
+            Program transformedProgram) {
+        this.exportBindingName = exportBindingName;
+        this.hasExportSyntax = hasExportSyntax;
+        this.hasTLA = hasTLA;
+        this.hoistedFunctionExportBindings = hoistedFunctionExportBindings;
+        this.localExportBindings = localExportBindings;
+        this.rawSource = rawSource;
+        this.reExportBindings = reExportBindings;
+        this.resolvedSpecifier = resolvedSpecifier;
+        this.staticImports = staticImports;
+        this.transformedProgram = transformedProgram;
+        this.transformedSource = transformedSource;
+    }
+
+    /**
+     * Get the name of the global binding that holds the module namespace while the
+     * transformed source runs, or null if the module has no export syntax.
+     */
+    String exportBindingName() {
+        return exportBindingName;
+    }
+
+    boolean hasExportSyntax() {
+        return hasExportSyntax;
+    }
+
+    boolean hasTLA() {
+        return hasTLA;
+    }
+
+    List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedFunctionExportBindings() {
+        return hoistedFunctionExportBindings;
+    }
+
+    List<JSDynamicImportModule.LocalExportBinding> localExportBindings() {
+        return localExportBindings;
+    }
+
+    String rawSource() {
+        return rawSource;
+    }
+
+    List<JSDynamicImportModule.ReExportBinding> reExportBindings() {
+        return reExportBindings;
+    }
+
+    String resolvedSpecifier() {
+        return resolvedSpecifier;
+    }
+
+    List<StaticImport> staticImports() {
+        return staticImports;
+    }
+
+    /**
+     * Get the parsed program of the transformed source, parsing it on first use.
+     * Bytecode generation fills lazily computed fields of the AST, so contexts that share
+     * the program compile it while holding its lock.
+     */
+    Program transformedProgram() {
+        Program program = transformedProgram;
+        if (program == null) {
+            program = new Compiler(transformedSource, resolvedSpecifier).parse(true);
+            transformedProgram = program;
+        }
+        return program;
+    }
+
+    String transformedSource() {
+        return transformedSource;
+    }
+
+    record StaticImport(String specifier, boolean deferred) {
+    }
+}
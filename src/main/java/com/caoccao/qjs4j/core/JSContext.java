@@ -25,7 +25,14 @@ import com.caoccao.qjs4j.vm.VarRef;
 import com.caoccao.qjs4j.vm.VirtualMachine;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -47,6 +54,7 @@ import java.util.regex.Pattern;
  * from the others (separate globals, separate module namespaces).
  */
 public final class JSContext implements AutoCloseable {
+    private static final int DEFAULT_INTL_FORMATTER_CACHE_SIZE = 32;
     private static final int DEFAULT_MAX_STACK_DEPTH = 1000;
     private static final Pattern DYNAMIC_IMPORT_EXPORT_CLASS_NAME_PATTERN =
             Pattern.compile("^class\\s+([A-Za-z_$][A-Za-z0-9_$]*)\\b");
@@ -105,7 +113,10 @@ public final class JSContext implements AutoCloseable {
     private JSObject cachedDatePrototype;
     // Cached Object.prototype for fast internal object creation
     private JSObject cachedObjectPrototype;
+    // Intrinsic %Promise% and %Promise.prototype.then% for the promise reaction fast paths
+    private JSObject cachedPromiseConstructor;
     private JSObject cachedPromisePrototype;
+    private JSValue cachedPromiseThen;
     // Temporarily holds new.target during native constructor calls
     // so native constructors can check if called directly vs from subclass
     private JSValue constructorNewTarget;
@@ -118,6 +129,8 @@ public final class JSContext implements AutoCloseable {
     // (which should throw TypeError) from property-based writes (which should succeed).
     private boolean inBareVariableAssignment;
     private boolean inCatchHandler;
+    // Formatters created implicitly by toLocaleString() / localeCompare(), keyed by locale and kind
+    private Map<String, JSObject> intlFormatterCache;
     private int maxStackDepth;
     private JSValue nativeConstructorNewTarget;
     private boolean pendingClassFieldEval;
@@ -584,6 +597,7 @@ public final class JSContext implements AutoCloseable {
         clearCallStack();
         clearPendingException();
         clearErrorStackTrace();
+        microtaskQueue.clear();
         // Remove from runtime
         runtime.destroyContext(this);
     }
@@ -841,6 +855,32 @@ public final class JSContext implements AutoCloseable {
         return jsArrayBuffer;
     }
 
+    /**
+     * Create a JSArrayBuffer that shares the given byte array without copying.
+     * Typed arrays of any element type can view it, e.g.
+     * {@code createJSFloat64Array(createJSArrayBuffer(bytes), 0, -1)}.
+     *
+     * @param bytes The byte array to wrap
+     * @return A new JSArrayBuffer instance with prototype set
+     */
+    public JSArrayBuffer createJSArrayBuffer(byte[] bytes) {
+        return createJSArrayBuffer(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Create a JSArrayBuffer that shares the bytes between the buffer's position and limit
+     * without copying, e.g. a direct buffer or a memory-mapped file region.
+     *
+     * @param byteBuffer The writable buffer to wrap
+     * @return A new JSArrayBuffer instance with prototype set
+     * @throws IllegalArgumentException if the buffer is read-only
+     */
+    public JSArrayBuffer createJSArrayBuffer(ByteBuffer byteBuffer) {
+        JSArrayBuffer jsArrayBuffer = new JSArrayBuffer(this, byteBuffer);
+        transferPrototype(jsArrayBuffer, JSArrayBuffer.NAME);
+        return jsArrayBuffer;
+    }
+
     /**
      * ES2024 7.3.34 ArraySpeciesCreate(originalArray, length).
      * Following QuickJS JS_ArraySpeciesCreate.
@@ -1301,68 +1341,515 @@ public final class JSContext implements AutoCloseable {
         return jsWeakSet;
     }
 
-    private String createModuleExportBindingName(String resolvedSpecifier) {
-        return "__qjs4jDynamicImportExports$" + Math.abs(resolvedSpecifier.hashCode()) + "$"
-                + dynamicImportModuleCache.size();
-    }
-
-    private JSImportNamespaceObject createModuleNamespaceObject() {
-        return new JSImportNamespaceObject(this);
-    }
+    /**
+     * Compile a module source into a context-independent record: export bindings,
+     * static import specifiers and the transformed source with a placeholder for the
+     * per-context export binding name. The result is cached per runtime.
+     */
+    private JSCompiledModule compileDynamicImportModuleSource(String resolvedSpecifier, String sourceCode) {
+        String scanSourceCode = maskModuleComments(sourceCode);
+        StringBuilder importPreambleBuilder = new StringBuilder();
+        StringBuilder transformedSourceBuilder = new StringBuilder(sourceCode.length() + 128);
+        List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedFunctionExportBindings = new ArrayList<>();
+        List<JSDynamicImportModule.LocalExportBinding> localExportBindings = new ArrayList<>();
+        List<JSDynamicImportModule.ReExportBinding> reExportBindings = new ArrayList<>();
+        Map<String, ImportBinding> importedBindings = new HashMap<>();
+        Set<String> importedBindingNames = new HashSet<>();
+        boolean hasExportSyntax = false;
+        int defaultExportIndex = 0;
+        StringBuilder defaultExportNameFixups = new StringBuilder();
 
-    private String decodeIdentifierEscapes(String text) {
-        if (text == null || text.indexOf('\\') < 0) {
-            return text;
-        }
-        StringBuilder decodedTextBuilder = new StringBuilder(text.length());
-        for (int index = 0; index < text.length(); index++) {
-            char ch = text.charAt(index);
-            if (ch != '\\' || index + 1 >= text.length() || text.charAt(index + 1) != 'u') {
-                decodedTextBuilder.append(ch);
+        String[] lines = sourceCode.split("\n", -1);
+        String[] scanLines = scanSourceCode.split("\n", -1);
+        for (int lineIndex = 0; lineIndex < lines.length; lineIndex++) {
+            String line = lines[lineIndex];
+            String normalizedLine = line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+            String scanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
+            String parseLine = scanLine.endsWith("\r") ? scanLine.substring(0, scanLine.length() - 1) : scanLine;
+            String trimmedLine = parseLine.stripLeading();
+            // Extract import lines to be placed before the IIFE wrapper
+            if (isStaticImportLine(trimmedLine)) {
+                StringBuilder importStatementBuilder = new StringBuilder(normalizedLine);
+                StringBuilder importStatementScanBuilder = new StringBuilder(parseLine);
+                while (!isCompleteStaticImportStatement(importStatementScanBuilder.toString())
+                        && lineIndex + 1 < lines.length) {
+                    lineIndex++;
+                    String nextLine = lines[lineIndex];
+                    String normalizedNextLine = nextLine.endsWith("\r")
+                            ? nextLine.substring(0, nextLine.length() - 1)
+                            : nextLine;
+                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
+                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
+                            ? nextScanLine.substring(0, nextScanLine.length() - 1)
+                            : nextScanLine;
+                    importStatementBuilder.append('\n').append(normalizedNextLine);
+                    importStatementScanBuilder.append('\n').append(normalizedNextScanLine);
+                }
+                String importStatementSource = importStatementBuilder.toString();
+                String importStatementForScan = importStatementScanBuilder.toString().strip();
+                importPreambleBuilder.append(importStatementSource).append('\n');
+                collectImportBindings(importStatementForScan, importedBindingNames, importedBindings);
                 continue;
             }
-            int escapeStart = index;
-            index += 2;
-            if (index < text.length() && text.charAt(index) == '{') {
-                int braceEnd = text.indexOf('}', index + 1);
-                if (braceEnd < 0) {
-                    decodedTextBuilder.append(text, escapeStart, index + 1);
-                    index = escapeStart;
-                    continue;
+            if (!trimmedLine.startsWith("export ") && !trimmedLine.startsWith("export{")
+                    && !trimmedLine.startsWith("export*") && !trimmedLine.equals("export")) {
+                transformedSourceBuilder.append(normalizedLine).append('\n');
+                continue;
+            }
+
+            hasExportSyntax = true;
+            String exportClause;
+            if (trimmedLine.startsWith("export ")) {
+                exportClause = trimmedLine.substring("export ".length()).trim();
+            } else if (trimmedLine.equals("export") || trimmedLine.startsWith("export") && trimmedLine.substring("export".length()).isBlank()) {
+                exportClause = "";
+            } else {
+                // export{ or export* — no space after 'export'
+                exportClause = trimmedLine.substring("export".length()).trim();
+            }
+            // If the export clause is empty (bare 'export', 'export' with trailing comments/whitespace),
+            // look ahead to subsequent lines for the continuation.
+            if (exportClause.isEmpty()) {
+                StringBuilder exportContinuation = new StringBuilder();
+                while (lineIndex + 1 < lines.length) {
+                    lineIndex++;
+                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
+                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
+                            ? nextScanLine.substring(0, nextScanLine.length() - 1) : nextScanLine;
+                    exportContinuation.append(normalizedNextScanLine.stripLeading());
+                    if (exportContinuation.toString().contains("}") || exportContinuation.toString().contains("*")) {
+                        break;
+                    }
                 }
-                String codePointText = text.substring(index + 1, braceEnd);
-                int codePoint = parseHex(codePointText);
-                if (codePoint >= 0) {
-                    decodedTextBuilder.appendCodePoint(codePoint);
-                    index = braceEnd;
+                exportClause = exportContinuation.toString().trim();
+            }
+            if (exportClause.startsWith("default ")) {
+                String defaultClause = exportClause.substring("default ".length()).trim();
+                if (isDynamicImportDefaultDeclarationClause(defaultClause)) {
+                    String declarationName = extractExportedFunctionOrClassName(defaultClause);
+                    String declarationLine = normalizedLine.replaceFirst("^(\\s*)export\\s+default\\s+", "$1");
+                    // For multi-line declarations (class/function body spans multiple lines),
+                    // accumulate subsequent lines until the body is complete.
+                    while (findEndOfDeclarationBody(declarationLine) < 0 && lineIndex + 1 < lines.length) {
+                        lineIndex++;
+                        String nextLine = lines[lineIndex];
+                        String normalizedNext = nextLine.endsWith("\r") ? nextLine.substring(0, nextLine.length() - 1) : nextLine;
+                        declarationLine = declarationLine + "\n" + normalizedNext;
+                    }
+                    boolean anonymousDefaultDeclaration = false;
+                    if (declarationName == null || declarationName.isEmpty()) {
+                        String defaultLocalName = "__qjs4jDefaultExport$" + defaultExportIndex++;
+                        declarationName = defaultLocalName;
+                        // Use var assignment instead of renaming the declaration.
+                        // var hoists to the IIFE function scope, so the getter in the
+                        // export preamble can reference it before this line executes.
+                        // Split the declaration from any trailing statements on the same line
+                        // (e.g., `export default class {} if (...) { ... }`).
+                        int bodyEnd = findEndOfDeclarationBody(declarationLine);
+                        String declarationPart;
+                        String remainingCode;
+                        if (bodyEnd >= 0 && bodyEnd < declarationLine.length()) {
+                            declarationPart = declarationLine.substring(0, bodyEnd);
+                            remainingCode = declarationLine.substring(bodyEnd).trim();
+                        } else {
+                            declarationPart = declarationLine;
+                            remainingCode = "";
+                        }
+                        // For anonymous default class exports, insert a static block
+                        // at the start of the class body to set .name = "default" before
+                        // any static field initializers run. ES2024 specifies that
+                        // default-exported anonymous classes get the name "default" during
+                        // ClassDefinitionEvaluation, before static elements are evaluated.
+                        if (defaultClause.startsWith("class")) {
+                            int openBrace = findLikelyClassBodyOpenBrace(declarationPart);
+                            if (openBrace >= 0) {
+                                // ES2024 15.2.3.11: Only set name to "default" if the class
+                                // doesn't already have a "name" own property (e.g. static name method).
+                                declarationPart = declarationPart.substring(0, openBrace + 1)
+                                        + " static { if (!Object.prototype.hasOwnProperty.call(this, 'name')"
+                                        + " || this.name === ''"
+                                        + " || this.name === '" + defaultLocalName + "') { "
+                                        + "Object.defineProperty(this, 'name', {value: 'default', configurable: true}); } }"
+                                        + declarationPart.substring(openBrace + 1);
+                            }
+                        }
+                        if (defaultClause.startsWith("class")) {
+                            transformedSourceBuilder.append("let ")
+                                    .append(defaultLocalName)
+                                    .append(" = ")
+                                    .append(declarationPart)
+                                    .append(";\n");
+                            appendDynamicImportDefaultExportNameFixup(transformedSourceBuilder, declarationName);
+                        } else {
+                            String renamedDeclaration = renameAnonymousDefaultExportDeclaration(
+                                    declarationPart, defaultLocalName);
+                            transformedSourceBuilder.append(renamedDeclaration).append('\n');
+                            appendDynamicImportDefaultExportNameFixup(defaultExportNameFixups, declarationName);
+                        }
+                        if (!remainingCode.isEmpty()) {
+                            transformedSourceBuilder.append(remainingCode).append('\n');
+                        }
+                        anonymousDefaultDeclaration = true;
+                    }
+                    if (!anonymousDefaultDeclaration) {
+                        // Named default exports (e.g., export default class Foo { ... })
+                        // need var hoisting so the export preamble getter can reference
+                        // the name before the declaration executes during self-import.
+                        if (defaultClause.startsWith("class")) {
+                            int bodyEnd = findEndOfDeclarationBody(declarationLine);
+                            String declarationPart;
+                            String remainingCode;
+                            if (bodyEnd >= 0 && bodyEnd < declarationLine.length()) {
+                                declarationPart = declarationLine.substring(0, bodyEnd);
+                                remainingCode = declarationLine.substring(bodyEnd).trim();
+                            } else {
+                                declarationPart = declarationLine;
+                                remainingCode = "";
+                            }
+                            transformedSourceBuilder.append("let ")
+                                    .append(declarationName)
+                                    .append(" = ")
+                                    .append(declarationPart)
+                                    .append(";\n");
+                            if (!remainingCode.isEmpty()) {
+                                transformedSourceBuilder.append(remainingCode).append('\n');
+                            }
+                        } else {
+                            transformedSourceBuilder.append(declarationLine).append('\n');
+                        }
+                    }
+                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, "default"));
                 } else {
-                    decodedTextBuilder.append(text, escapeStart, braceEnd + 1);
-                    index = braceEnd;
+                    String defaultExpression = defaultClause;
+                    while (defaultExpression.endsWith(";")) {
+                        defaultExpression = defaultExpression.substring(0, defaultExpression.length() - 1).trim();
+                    }
+                    String defaultLocalName = "__qjs4jDefaultExport$" + defaultExportIndex++;
+                    transformedSourceBuilder.append("let ")
+                            .append(defaultLocalName)
+                            .append(" = (0, ")
+                            .append(defaultExpression)
+                            .append(");\n");
+                    appendDynamicImportDefaultExportNameFixup(transformedSourceBuilder, defaultLocalName);
+                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(defaultLocalName, "default"));
                 }
                 continue;
             }
-            if (index + 3 >= text.length()) {
-                decodedTextBuilder.append(text, escapeStart, text.length());
-                break;
-            }
-            String hexText = text.substring(index, index + 4);
-            int codePoint = parseHex(hexText);
-            if (codePoint >= 0) {
-                decodedTextBuilder.append((char) codePoint);
-                index += 3;
-            } else {
-                decodedTextBuilder.append(text, escapeStart, index + 4);
-                index += 3;
+
+            if (exportClause.startsWith("var ")
+                    || exportClause.startsWith("let ")
+                    || exportClause.startsWith("const ")) {
+                transformedSourceBuilder.append(normalizedLine.replaceFirst("export\\s+", "")).append('\n');
+                for (String declarationName : extractSimpleDeclarationNames(exportClause)) {
+                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, declarationName));
+                }
+                continue;
             }
-        }
-        return decodedTextBuilder.toString();
-    }
 
-    private void defineDynamicImportNamespaceForwardingBinding(
-            JSDynamicImportModule moduleRecord,
-            String exportName,
-            JSDynamicImportModule targetModuleRecord,
-            String targetSpecifier,
+            if (exportClause.startsWith("function ")
+                    || exportClause.startsWith("function*")
+                    || exportClause.startsWith("async function ")
+                    || exportClause.startsWith("async function*")
+                    || exportClause.startsWith("class ")) {
+                String declarationLine = normalizedLine.replaceFirst("^(\\s*)export\\s+", "$1");
+                while (findEndOfDeclarationBody(declarationLine) < 0 && lineIndex + 1 < lines.length) {
+                    lineIndex++;
+                    String nextLine = lines[lineIndex];
+                    String normalizedNextLine = nextLine.endsWith("\r")
+                            ? nextLine.substring(0, nextLine.length() - 1)
+                            : nextLine;
+                    declarationLine = declarationLine + "\n" + normalizedNextLine;
+                }
+                int declarationBodyEnd = findEndOfDeclarationBody(declarationLine);
+                String declarationPart = declarationLine;
+                String remainingCode = "";
+                if (declarationBodyEnd >= 0 && declarationBodyEnd < declarationLine.length()) {
+                    declarationPart = declarationLine.substring(0, declarationBodyEnd);
+                    remainingCode = declarationLine.substring(declarationBodyEnd).trim();
+                }
+                transformedSourceBuilder.append(declarationPart).append('\n');
+                if (!remainingCode.isEmpty()) {
+                    transformedSourceBuilder.append(remainingCode).append('\n');
+                }
+                String declarationName = extractExportedFunctionOrClassName(exportClause);
+                if (declarationName == null || declarationName.isEmpty()) {
+                    throw new JSException(throwSyntaxError("Invalid export statement"));
+                }
+                localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, declarationName));
+                if (exportClause.startsWith("function ")
+                        || exportClause.startsWith("function*")
+                        || exportClause.startsWith("async function ")
+                        || exportClause.startsWith("async function*")) {
+                    hoistedFunctionExportBindings.add(new JSDynamicImportModule.HoistedFunctionExportBinding(
+                            declarationName,
+                            declarationName,
+                            declarationPart));
+                }
+                continue;
+            }
+
+            if (exportClause.startsWith("{")) {
+                String exportSpecifiersText = exportClause;
+                while (findMatchingCloseBrace(exportSpecifiersText, 0) < 0 && lineIndex + 1 < lines.length) {
+                    lineIndex++;
+                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
+                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
+                            ? nextScanLine.substring(0, nextScanLine.length() - 1)
+                            : nextScanLine;
+                    exportSpecifiersText = exportSpecifiersText + "\n" + normalizedNextScanLine.stripLeading();
+                }
+
+                int closeBraceIndex = findMatchingCloseBrace(exportSpecifiersText, 0);
+                if (closeBraceIndex < 0) {
+                    throw new JSException(throwSyntaxError("Invalid export statement"));
+                }
+                String exportListText = exportSpecifiersText.substring(1, closeBraceIndex).trim();
+                String afterBraceText = exportSpecifiersText.substring(closeBraceIndex + 1).trim();
+                while (afterBraceText.endsWith(";")) {
+                    afterBraceText = afterBraceText.substring(0, afterBraceText.length() - 1).trim();
+                }
+                String sourceSpecifier = null;
+                if (!afterBraceText.isEmpty()) {
+                    if (!afterBraceText.startsWith("from ")) {
+                        throw new JSException(throwSyntaxError("Invalid export statement"));
+                    }
+                    String fromText = afterBraceText.substring("from ".length()).trim();
+                    sourceSpecifier = stripQuotedSpecifier(fromText);
+                    // Add side-effect import to ensure source-order evaluation.
+                    // ES2024 requires all module dependencies (imports AND re-exports)
+                    // to be evaluated in source order before the requesting module.
+                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
+                }
+                int localBindingStartIndex = localExportBindings.size();
+                parseDynamicImportExportList(exportListText, sourceSpecifier, localExportBindings, reExportBindings);
+                if (sourceSpecifier == null && localBindingStartIndex < localExportBindings.size()) {
+                    for (int localBindingIndex = localExportBindings.size() - 1;
+                         localBindingIndex >= localBindingStartIndex;
+                         localBindingIndex--) {
+                        JSDynamicImportModule.LocalExportBinding localExportBinding =
+                                localExportBindings.get(localBindingIndex);
+                        ImportBinding importBinding = importedBindings.get(localExportBinding.localName());
+                        if (importBinding == null || importBinding.deferredImport()) {
+                            continue;
+                        }
+                        localExportBindings.remove(localBindingIndex);
+                        reExportBindings.add(new JSDynamicImportModule.ReExportBinding(
+                                importBinding.sourceSpecifier(),
+                                importBinding.importedName(),
+                                localExportBinding.exportedName(),
+                                false));
+                    }
+                }
+                continue;
+            }
+
+            if (exportClause.startsWith("*")) {
+                String afterStarText = exportClause.substring(1).trim();
+                if (afterStarText.startsWith("as ")) {
+                    // Handle both identifier and string literal export names:
+                    // export * as name from '...'
+                    // export * as "name" from '...'
+                    String afterAs = afterStarText.substring(3).trim();
+                    String exportedName;
+                    String remainingAfterName;
+                    if (afterAs.startsWith("\"") || afterAs.startsWith("'")) {
+                        char quote = afterAs.charAt(0);
+                        int closeQuote = afterAs.indexOf(quote, 1);
+                        if (closeQuote < 0) {
+                            throw new JSException(throwSyntaxError("Invalid export statement"));
+                        }
+                        exportedName = afterAs.substring(1, closeQuote);
+                        remainingAfterName = afterAs.substring(closeQuote + 1).trim();
+                    } else {
+                        Matcher identMatcher = Pattern.compile("^([A-Za-z_$][A-Za-z0-9_$]*)\\s+(.*)$")
+                                .matcher(afterAs);
+                        if (!identMatcher.find()) {
+                            throw new JSException(throwSyntaxError("Invalid export statement"));
+                        }
+                        exportedName = identMatcher.group(1);
+                        remainingAfterName = identMatcher.group(2).trim();
+                    }
+                    if (!remainingAfterName.startsWith("from ")) {
+                        throw new JSException(throwSyntaxError("Invalid export statement"));
+                    }
+                    String fromText = remainingAfterName.substring(5).trim();
+                    while (fromText.endsWith(";")) {
+                        fromText = fromText.substring(0, fromText.length() - 1).trim();
+                    }
+                    String sourceSpecifier = stripQuotedSpecifier(fromText);
+                    reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, "*namespace*", exportedName, false));
+                    // Add side-effect import for source-order evaluation
+                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
+                    continue;
+                }
+                if (afterStarText.startsWith("from ")) {
+                    String fromText = afterStarText.substring("from ".length()).trim();
+                    while (fromText.endsWith(";")) {
+                        fromText = fromText.substring(0, fromText.length() - 1).trim();
+                    }
+                    String sourceSpecifier = stripQuotedSpecifier(fromText);
+                    reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, "*", "*", true));
+                    // Add side-effect import for source-order evaluation
+                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
+                    continue;
+                }
+                throw new JSException(throwSyntaxError("Invalid export statement"));
+            }
+
+            throw new JSException(throwSyntaxError("Unexpected export syntax"));
+        }
+
+        boolean hasTLA = MODULE_TOP_LEVEL_AWAIT_PATTERN.matcher(transformedSourceBuilder).find()
+                || Pattern.compile("\\bawait\\b").matcher(scanSourceCode).find();
+
+        String exportBindingName = hasExportSyntax ? createModuleExportBindingName(resolvedSpecifier) : null;
+        String transformedSource;
+        if (hasExportSyntax) {
+            // Build the export assignment preamble separately — it goes at the START
+            // of the IIFE body so self-import getters can read from the namespace
+            // before user code executes. Getter functions are lazy (not called at
+            // definition time), so TDZ for const/class locals is not violated.
+            StringBuilder exportPreamble = new StringBuilder();
+            appendDynamicImportExportAssignments(
+                    exportPreamble, exportBindingName,
+                    localExportBindings, importedBindingNames);
+            if (!defaultExportNameFixups.isEmpty()) {
+                exportPreamble.append(defaultExportNameFixups);
+            }
+            LinkedHashSet<String> importedBindingsToCapture = new LinkedHashSet<>();
+            for (JSDynamicImportModule.LocalExportBinding localExportBinding : localExportBindings) {
+                ImportBinding importBinding = importedBindings.get(localExportBinding.localName());
+                if (importBinding != null && importBinding.deferredImport()) {
+                    importedBindingsToCapture.add(localExportBinding.localName());
+                }
+            }
+            if (hasTLA) {
+                // For TLA export modules, capture only exportBindingName.
+                // Imported bindings from self-imports stay live to preserve TDZ behavior.
+                // Other imported bindings are captured so they remain available after
+                // import-overlay cleanup while async module evaluation continues.
+                LinkedHashSet<String> tlaImportedBindingsToCapture = new LinkedHashSet<>();
+                for (String importedBindingName : importedBindingNames) {
+                    ImportBinding importBinding = importedBindings.get(importedBindingName);
+                    if (importBinding == null
+                            || isSelfImportBinding(importBinding, resolvedSpecifier)) {
+                        continue;
+                    }
+                    tlaImportedBindingsToCapture.add(importedBindingName);
+                }
+                List<String> paramNames = new ArrayList<>();
+                paramNames.add(exportBindingName);
+                paramNames.addAll(tlaImportedBindingsToCapture);
+                String paramList = String.join(", ", paramNames);
+                transformedSource = importPreambleBuilder
+                        + "(async function(" + paramList + ") {\n"
+                        + exportPreamble
+                        + transformedSourceBuilder
+                        + "})(" + paramList + ");\n";
+            } else {
+                if (importedBindingsToCapture.isEmpty()) {
+                    transformedSource = importPreambleBuilder
+                            + "(function () {\n"
+                            + exportPreamble
+                            + transformedSourceBuilder
+                            + "})();\n";
+                } else {
+                    String paramList = String.join(", ", importedBindingsToCapture);
+                    transformedSource = importPreambleBuilder
+                            + "(function (" + paramList + ") {\n"
+                            + exportPreamble
+                            + transformedSourceBuilder
+                            + "})(" + paramList + ");\n";
+                }
+            }
+        } else if (!importedBindingNames.isEmpty() || hasTLA) {
+            // Wrap non-export modules in an IIFE to capture imported bindings in closure.
+            String paramList = String.join(", ", importedBindingNames);
+            transformedSource = importPreambleBuilder
+                    + (hasTLA ? "(async function(" : "(function(")
+                    + paramList + ") {\n"
+                    + transformedSourceBuilder
+                    + "})(" + paramList + ");\n";
+        } else {
+            transformedSource = sourceCode;
+        }
+        JSParsedModule parsedModule = parseModuleSourceIfValid(resolvedSpecifier, sourceCode);
+        return new JSCompiledModule(
+                resolvedSpecifier,
+                sourceCode,
+                hasExportSyntax,
+                hasTLA,
+                List.copyOf(hoistedFunctionExportBindings),
+                List.copyOf(localExportBindings),
+                List.copyOf(reExportBindings),
+                parsedModule != null ? parsedModule.staticImports() : List.copyOf(scanStaticImports(sourceCode)),
+                exportBindingName,
+                transformedSource,
+                parsedModule != null && transformedSource.equals(sourceCode) ? parsedModule.program() : null);
+    }
+
+    private String createModuleExportBindingName(String resolvedSpecifier) {
+        return "__qjs4jDynamicImportExports$" + Math.abs(resolvedSpecifier.hashCode()) + "$"
+                + runtime.nextCompiledModuleId();
+    }
+
+    private JSImportNamespaceObject createModuleNamespaceObject() {
+        return new JSImportNamespaceObject(this);
+    }
+
+    private String decodeIdentifierEscapes(String text) {
+        if (text == null || text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder decodedTextBuilder = new StringBuilder(text.length());
+        for (int index = 0; index < text.length(); index++) {
+            char ch = text.charAt(index);
+            if (ch != '\\' || index + 1 >= text.length() || text.charAt(index + 1) != 'u') {
+                decodedTextBuilder.append(ch);
+                continue;
+            }
+            int escapeStart = index;
+            index += 2;
+            if (index < text.length() && text.charAt(index) == '{') {
+                int braceEnd = text.indexOf('}', index + 1);
+                if (braceEnd < 0) {
+                    decodedTextBuilder.append(text, escapeStart, index + 1);
+                    index = escapeStart;
+                    continue;
+                }
+                String codePointText = text.substring(index + 1, braceEnd);
+                int codePoint = parseHex(codePointText);
+                if (codePoint >= 0) {
+                    decodedTextBuilder.appendCodePoint(codePoint);
+                    index = braceEnd;
+                } else {
+                    decodedTextBuilder.append(text, escapeStart, braceEnd + 1);
+                    index = braceEnd;
+                }
+                continue;
+            }
+            if (index + 3 >= text.length()) {
+                decodedTextBuilder.append(text, escapeStart, text.length());
+                break;
+            }
+            String hexText = text.substring(index, index + 4);
+            int codePoint = parseHex(hexText);
+            if (codePoint >= 0) {
+                decodedTextBuilder.append((char) codePoint);
+                index += 3;
+            } else {
+                decodedTextBuilder.append(text, escapeStart, index + 4);
+                index += 3;
+            }
+        }
+        return decodedTextBuilder.toString();
+    }
+
+    private void defineDynamicImportNamespaceForwardingBinding(
+            JSDynamicImportModule moduleRecord,
+            String exportName,
+            JSDynamicImportModule targetModuleRecord,
+            String targetSpecifier,
             String importedName) {
         JSImportNamespaceObject namespace = moduleRecord.namespace();
         PropertyKey exportKey = PropertyKey.fromString(exportName);
@@ -1488,6 +1975,7 @@ public final class JSContext implements AutoCloseable {
         JSDynamicImportModule.Status selfModulePreviousStatus = null;
         boolean removeSelfModuleRecordAfterEval = false;
         boolean skipEvaluatedDynamicImportModule = false;
+        JSCompiledModule sharedCompiledModule = null;
         boolean shouldTrackDynamicImportModule = isModule
                 && !isDirectEval
                 && filename != null
@@ -1517,13 +2005,20 @@ public final class JSContext implements AutoCloseable {
                     dynamicImportEvalModuleRecord.setRawSource(code);
                     // Validate the original source for early errors (duplicate exports,
                     // unresolvable bindings, etc.) before doing IIFE transformation.
-                    new Compiler(code, filename).setContext(this).parse(true);
+                    preloadModuleGraph(parseModuleSource(resolvedModuleSpecifier, code));
                     parseDynamicImportModuleSource(dynamicImportEvalModuleRecord);
                     dynamicImportModuleCache.put(resolvedModuleSpecifier, dynamicImportEvalModuleRecord);
                 } else if (dynamicImportEvalModuleRecord.status() == JSDynamicImportModule.Status.EVALUATED) {
                     skipEvaluatedDynamicImportModule = true;
                 }
             }
+            JSDynamicImportModule codeModuleRecord =
+                    executingTransformedModuleSource ? existingRecord : dynamicImportEvalModuleRecord;
+            if (codeModuleRecord != null
+                    && codeModuleRecord.compiledModule() != null
+                    && code.equals(codeModuleRecord.compiledModule().transformedSource())) {
+                sharedCompiledModule = codeModuleRecord.compiledModule();
+            }
         }
         boolean evaluatingRawDynamicImportModule =
                 dynamicImportEvalModuleRecord != null
@@ -1546,6 +2041,9 @@ public final class JSContext implements AutoCloseable {
         StackFrame directEvalCallerFrame = isDirectEval && useDirectEvalCallerFrame
                 ? virtualMachine.getCurrentFrame()
                 : null;
+        if (directEvalCallerFrame != null) {
+            directEvalCallerFrame.markEscaped();
+        }
         boolean allowNewTargetInEval = false;
         boolean allowSuperPropertyInEval = false;
         boolean allowSuperCallInEval = false;
@@ -1626,7 +2124,29 @@ public final class JSContext implements AutoCloseable {
 
             // Phase 1-3: Lexer → Parser → Compiler (compile to bytecode)
             JSBytecodeFunction func;
-            Compiler.CompileResult compileResult = compiler.compile(isModule);
+            Program sharedProgram = null;
+            if (sharedCompiledModule != null) {
+                // Contexts share the parsed transformed source; only bytecode is generated here.
+                sharedProgram = sharedCompiledModule.transformedProgram();
+            } else if (evaluatingRawDynamicImportModule) {
+                JSParsedModule parsedModule =
+                        runtime.getParsedModule(dynamicImportEvalModuleRecord.resolvedSpecifier(), code);
+                if (parsedModule != null) {
+                    sharedProgram = parsedModule.program();
+                }
+            }
+            Compiler.CompileResult compileResult;
+            if (sharedProgram != null) {
+                // Compiling fills lazily computed fields of the AST, so contexts on different
+                // threads compile a shared program one at a time. The global declarations are
+                // computed under the lock too, so they are only read after it.
+                synchronized (sharedProgram) {
+                    compileResult = compiler.setProgram(sharedProgram).compile(isModule);
+                    sharedProgram.getGlobalDeclarations();
+                }
+            } else {
+                compileResult = compiler.compile(isModule);
+            }
             func = compileResult.function();
             Set<String> globalScriptFunctionNames = null;
             if (!isModule && !isDirectEval && !skipGlobalDeclarationTracking) {
@@ -2048,15 +2568,24 @@ public final class JSContext implements AutoCloseable {
             validateModuleScriptEarlyErrors(moduleRecord.rawSource());
             return eval(moduleRecord.transformedSource(), moduleRecord.resolvedSpecifier(), true);
         }
-        String exportBindingName = moduleRecord.exportBindingName();
+        PropertyKey exportBindingKey = PropertyKey.fromString(moduleRecord.exportBindingName());
         JSObject globalObject = getGlobalObject();
         JSObject moduleNamespace = moduleRecord.namespace();
-        globalObject.set(PropertyKey.fromString(exportBindingName), moduleNamespace);
+        // The binding name belongs to the shared compiled module, so a record evaluated while
+        // another record of the same module is running must restore the outer binding.
+        JSValue previousNamespace = globalObject.hasOwnProperty(exportBindingKey)
+                ? globalObject.get(exportBindingKey)
+                : null;
+        globalObject.set(exportBindingKey, moduleNamespace);
         try {
             String transformedSource = moduleRecord.transformedSource();
             return eval(transformedSource, moduleRecord.resolvedSpecifier(), true);
         } finally {
-            globalObject.delete(PropertyKey.fromString(exportBindingName));
+            if (previousNamespace != null) {
+                globalObject.set(exportBindingKey, previousNamespace);
+            } else {
+                globalObject.delete(exportBindingKey);
+            }
         }
     }
 
@@ -2441,6 +2970,32 @@ public final class JSContext implements AutoCloseable {
         }
     }
 
+    /**
+     * Fetch the source of a JavaScript module. A module this runtime has parsed before is
+     * served from the runtime's parsed module cache without fetching it again. Otherwise,
+     * when the module loader is a {@link JSModuleGraphLoader}, the graph below the module is
+     * loaded in parallel first, and a module that the graph load has parsed is taken over
+     * into the runtime's parsed module cache.
+     */
+    private String fetchModuleSource(String resolvedSpecifier) throws IOException {
+        String parsedModuleSource = runtime.getParsedModuleSource(resolvedSpecifier);
+        if (parsedModuleSource != null) {
+            return parsedModuleSource;
+        }
+        IJSModuleLoader moduleLoader = runtime.getModuleLoader();
+        if (moduleLoader instanceof JSModuleGraphLoader graphLoader) {
+            if (!graphLoader.isLoaded(resolvedSpecifier)) {
+                graphLoader.preload(List.of(resolvedSpecifier), runtime::hasParsedModule);
+            }
+            JSParsedModule parsedModule = graphLoader.takeParsedModule(resolvedSpecifier);
+            if (parsedModule != null) {
+                runtime.putParsedModule(parsedModule);
+                return parsedModule.rawSource();
+            }
+        }
+        return moduleLoader.fetchSource(resolvedSpecifier);
+    }
+
     /**
      * Find the end of a function/class declaration body in the given text.
      * Scans for the first '{' and its matching '}', returning the index
@@ -2747,9 +3302,8 @@ public final class JSContext implements AutoCloseable {
             asyncDependencySpecifiers.add(resolvedSpecifier);
             return;
         }
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSourceCode);
-        while (matcher.find()) {
-            String childSpecifier = matcher.group(1);
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(resolvedSpecifier, sourceCode)) {
+            String childSpecifier = staticImport.specifier();
             String resolvedChildSpecifier = resolveDynamicImportSpecifier(
                     childSpecifier,
                     resolvedSpecifier,
@@ -2760,7 +3314,7 @@ public final class JSContext implements AutoCloseable {
                 if (childRecord != null && childRecord.rawSource() != null && !childRecord.rawSource().isEmpty()) {
                     childSourceCode = childRecord.rawSource();
                 } else {
-                    childSourceCode = Files.readString(Path.of(resolvedChildSpecifier));
+                    childSourceCode = fetchModuleSource(resolvedChildSpecifier);
                 }
             } catch (IOException ioException) {
                 throw new JSException(throwTypeError("Cannot find module '" + childSpecifier + "'"));
@@ -2855,14 +3409,12 @@ public final class JSContext implements AutoCloseable {
     }
 
     private List<JSPromise> getEvaluatingAsyncDependencyPromises(JSDynamicImportModule moduleRecord) {
-        String scanSource = maskModuleComments(moduleRecord.rawSource());
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSource);
         List<JSPromise> dependencyPromises = new ArrayList<>();
         Set<String> seenSpecifiers = new HashSet<>();
         JSDynamicImportModule moduleCycleRoot =
                 moduleRecord.cycleRoot() != null ? moduleRecord.cycleRoot() : moduleRecord;
-        while (matcher.find()) {
-            String specifier = matcher.group(1);
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(moduleRecord)) {
+            String specifier = staticImport.specifier();
             try {
                 String resolved = resolveDynamicImportSpecifier(
                         specifier, moduleRecord.resolvedSpecifier(), specifier);
@@ -2929,6 +3481,22 @@ public final class JSContext implements AutoCloseable {
         return jsGlobalObject.getGlobalObject();
     }
 
+    /**
+     * Get the bounded LRU cache of formatters created implicitly by
+     * toLocaleString() / localeCompare(). The cached formatters are never exposed to scripts.
+     */
+    public Map<String, JSObject> getIntlFormatterCache() {
+        if (intlFormatterCache == null) {
+            intlFormatterCache = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, JSObject> eldest) {
+                    return size() > DEFAULT_INTL_FORMATTER_CACHE_SIZE;
+                }
+            };
+        }
+        return intlFormatterCache;
+    }
+
     public String getIntrinsicDefaultPrototypeName(JSFunction function) {
         JSConstructorType constructorType = function.getConstructorType();
         if (constructorType != null) {
@@ -3087,10 +3655,24 @@ public final class JSContext implements AutoCloseable {
         return pendingException;
     }
 
+    /**
+     * Get the intrinsic %Promise% constructor of this realm, regardless of later changes to the global object.
+     */
+    public JSObject getPromiseConstructor() {
+        return cachedPromiseConstructor;
+    }
+
     public IJSPromiseRejectCallback getPromiseRejectCallback() {
         return promiseRejectCallback;
     }
 
+    /**
+     * Get the intrinsic %Promise.prototype.then% of this realm.
+     */
+    public JSValue getPromiseThen() {
+        return cachedPromiseThen;
+    }
+
     public JSObject getPrototypeFromConstructor(JSObject constructor, String intrinsicDefaultPrototypeName) {
         JSValue prototype = constructor.get(PropertyKey.PROTOTYPE);
         if (hasPendingException()) {
@@ -3150,6 +3732,27 @@ public final class JSContext implements AutoCloseable {
         return stackDepth;
     }
 
+    /**
+     * Get the static imports of a module, reusing the compiled module record when the
+     * module source has not changed since it was compiled.
+     */
+    private List<JSCompiledModule.StaticImport> getStaticImports(JSDynamicImportModule moduleRecord) {
+        JSCompiledModule compiledModule = moduleRecord.compiledModule();
+        if (compiledModule != null && compiledModule.rawSource().equals(moduleRecord.rawSource())) {
+            return compiledModule.staticImports();
+        }
+        return getStaticImports(moduleRecord.resolvedSpecifier(), moduleRecord.rawSource());
+    }
+
+    /**
+     * Get the static imports of a module source from its parsed program. A source that does
+     * not parse is scanned instead, so that its syntax error is reported when it is evaluated.
+     */
+    private List<JSCompiledModule.StaticImport> getStaticImports(String resolvedSpecifier, String sourceCode) {
+        JSParsedModule parsedModule = parseModuleSourceIfValid(resolvedSpecifier, sourceCode);
+        return parsedModule != null ? parsedModule.staticImports() : scanStaticImports(sourceCode);
+    }
+
     /**
      * Get the %ThrowTypeError% intrinsic function.
      * This is the single shared function used for Function.prototype caller/arguments
@@ -3191,10 +3794,8 @@ public final class JSContext implements AutoCloseable {
     }
 
     private boolean hasEvaluatingAsyncDependency(JSDynamicImportModule moduleRecord) {
-        String scanSource = maskModuleComments(moduleRecord.rawSource());
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSource);
-        while (matcher.find()) {
-            String specifier = matcher.group(1);
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(moduleRecord)) {
+            String specifier = staticImport.specifier();
             try {
                 String resolved = resolveDynamicImportSpecifier(
                         specifier, moduleRecord.resolvedSpecifier(), specifier);
@@ -3258,1298 +3859,925 @@ public final class JSContext implements AutoCloseable {
             String importedName = parts[0].trim();
             if (!"default".equals(importedName)) {
                 return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Check if there's a pending exception.
-     */
-    public boolean hasPendingException() {
-        return pendingException != null;
-    }
-
-    /**
-     * Initialize the global object with built-in properties.
-     * Delegates to JSGlobalObject to set up all global functions and properties.
-     */
-    private void initializeGlobalObject() {
-        jsGlobalObject.initialize();
-        // Cache Object.prototype for fast access in hot paths (e.g., iteratorResult, createJSObject)
-        JSValue objectCtor = jsGlobalObject.getGlobalObject().get(JSObject.NAME);
-        if (objectCtor instanceof JSObject objCtorObj) {
-            JSValue proto = objCtorObj.get(PropertyKey.PROTOTYPE);
-            if (proto instanceof JSObject protoObj) {
-                this.cachedObjectPrototype = protoObj;
-            }
-        }
-        JSValue dateCtor = jsGlobalObject.getGlobalObject().get(JSDate.NAME);
-        if (dateCtor instanceof JSObject dateCtorObj) {
-            JSValue proto = dateCtorObj.get(PropertyKey.PROTOTYPE);
-            if (proto instanceof JSObject protoObj) {
-                this.cachedDatePrototype = protoObj;
-            }
-        }
-        JSValue promiseCtor = jsGlobalObject.getGlobalObject().get(JSPromise.NAME);
-        if (promiseCtor instanceof JSObject promiseCtorObject) {
-            JSValue proto = promiseCtorObject.get(PropertyKey.PROTOTYPE);
-            if (proto instanceof JSObject protoObj) {
-                this.cachedPromisePrototype = protoObj;
-            }
-        }
-    }
-
-    private void initializeHoistedFunctionExportBindings(JSDynamicImportModule moduleRecord) {
-        if (moduleRecord == null
-                || moduleRecord.hoistedFunctionExportBindingsInitialized()) {
-            return;
-        }
-        List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedBindings =
-                moduleRecord.hoistedFunctionExportBindings();
-        if (hoistedBindings.isEmpty()) {
-            moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
-            return;
-        }
-
-        StringBuilder sourceBuilder = new StringBuilder();
-        sourceBuilder.append("(function () {\n");
-        for (JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding : hoistedBindings) {
-            sourceBuilder.append(hoistedBinding.functionDeclarationSource()).append('\n');
-        }
-        sourceBuilder.append("return {");
-        for (int bindingIndex = 0; bindingIndex < hoistedBindings.size(); bindingIndex++) {
-            JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding = hoistedBindings.get(bindingIndex);
-            if (bindingIndex > 0) {
-                sourceBuilder.append(", ");
-            }
-            sourceBuilder.append("\"")
-                    .append(escapeJavaScriptString(hoistedBinding.localName()))
-                    .append("\": ")
-                    .append(hoistedBinding.localName());
-        }
-        sourceBuilder.append("};\n})();");
-
-        JSValue bindingsValue = eval(
-                sourceBuilder.toString(),
-                "<hoisted-export-init>",
-                true,
-                false);
-        if (!(bindingsValue instanceof JSObject functionBindingsObject)) {
-            moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
-            return;
-        }
-
-        JSImportNamespaceObject namespaceObject = moduleRecord.namespace();
-        for (JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding : hoistedBindings) {
-            PropertyKey localKey = PropertyKey.fromString(hoistedBinding.localName());
-            JSValue functionValue = functionBindingsObject.get(localKey);
-            if (hasPendingException()) {
-                JSValue pendingError = getPendingException();
-                clearPendingException();
-                throw new JSException(pendingError);
-            }
-            if (!(functionValue instanceof JSFunction)) {
-                continue;
-            }
-            namespaceObject.setEarlyExportBinding(hoistedBinding.exportedName(), functionValue);
-        }
-        moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
-    }
-
-    private <T extends JSTypedArray> T initializeTypedArray(T typedArray, String constructorName) {
-        transferPrototype(typedArray, constructorName);
-        var buffer = typedArray.getBuffer();
-        if (buffer instanceof JSObject jsObject && jsObject.getPrototype() == null) {
-            transferPrototype(jsObject, buffer.isShared() ? JSSharedArrayBuffer.NAME : JSArrayBuffer.NAME);
-        }
-        return typedArray;
-    }
-
-    public boolean isActiveGlobalFunctionBindingConfigurable() {
-        return activeGlobalFunctionBindingConfigurable;
-    }
-
-    private boolean isCompleteStaticImportStatement(String importStatement) {
-        if (importStatement == null || importStatement.isBlank()) {
-            return false;
-        }
-        String normalizedImportStatement = importStatement.strip();
-        if (MODULE_NAMESPACE_IMPORT_PATTERN.matcher(normalizedImportStatement).matches()) {
-            return true;
-        }
-        if (MODULE_BINDING_IMPORT_PATTERN.matcher(normalizedImportStatement).matches()) {
-            return true;
-        }
-        return MODULE_SIDE_EFFECT_IMPORT_PATTERN.matcher(normalizedImportStatement).matches();
-    }
-
-    private boolean isDynamicImportDefaultDeclarationClause(String defaultClause) {
-        return defaultClause.startsWith("function")
-                || defaultClause.startsWith("async function")
-                || defaultClause.startsWith("class");
-    }
-
-    private boolean isExpressionContinuationCharacter(char ch) {
-        return ch == ')' || ch == ']' || ch == '}'
-                || ch == ',' || ch == '.' || ch == ':'
-                || ch == '?' || ch == '+'
-                || ch == '-' || ch == '*'
-                || ch == '/' || ch == '%'
-                || ch == '<' || ch == '>'
-                || ch == '=' || ch == '&'
-                || ch == '|' || ch == '^';
-    }
-
-    public boolean isGlobalLexicalBindingInitialized(String name) {
-        JSValue value = globalLexicalBindings.get(name);
-        return value != null && value != GLOBAL_LEXICAL_UNINITIALIZED;
-    }
-
-    public boolean isInBareVariableAssignment() {
-        return inBareVariableAssignment;
-    }
-
-    private boolean isSelfImportBinding(ImportBinding importBinding, String moduleSpecifier) {
-        if (importBinding == null
-                || importBinding.sourceSpecifier() == null
-                || importBinding.sourceSpecifier().isEmpty()) {
-            return false;
-        }
-        try {
-            String resolvedImportSpecifier = resolveDynamicImportSpecifier(
-                    importBinding.sourceSpecifier(),
-                    moduleSpecifier,
-                    importBinding.sourceSpecifier());
-            Path resolvedImportPath = Path.of(resolvedImportSpecifier).normalize().toAbsolutePath();
-            Path modulePath = Path.of(moduleSpecifier).normalize().toAbsolutePath();
-            String resolvedImportPathString = resolvedImportPath.toString();
-            String modulePathString = modulePath.toString();
-            if (resolvedImportPathString.equals(modulePathString)) {
-                return true;
-            }
-            return resolvedImportPathString.equalsIgnoreCase(modulePathString);
-        } catch (JSException ignored) {
-            return false;
-        } catch (Exception ignored) {
-            return false;
-        }
-    }
-
-    private boolean isStaticImportLine(String trimmedLine) {
-        if (trimmedLine == null || !trimmedLine.startsWith("import")) {
-            return false;
-        }
-        if (trimmedLine.startsWith("import(") || trimmedLine.startsWith("import.")) {
-            return false;
-        }
-        if (trimmedLine.length() == "import".length()) {
-            return false;
+            }
         }
-        char nextChar = trimmedLine.charAt("import".length());
-        return !Character.isLetterOrDigit(nextChar) && nextChar != '_' && nextChar != '$';
+        return false;
     }
 
     /**
-     * Check if in strict mode.
+     * Check if there's a pending exception.
      */
-    public boolean isStrictMode() {
-        return strictMode;
-    }
-
-    public boolean isWaitable() {
-        return waitable;
-    }
-
-    public JSObject loadDynamicImportModule(String specifier, String referrerFilename) {
-        return loadDynamicImportModule(specifier, referrerFilename, null);
-    }
-
-    public JSObject loadDynamicImportModule(
-            String specifier,
-            String referrerFilename,
-            Map<String, String> importAttributes) {
-        return loadDynamicImportModule(specifier, referrerFilename, importAttributes, null, null);
+    public boolean hasPendingException() {
+        return pendingException != null;
     }
 
     /**
-     * Load a dynamic import module. When importPromise and resolveState are provided
-     * (from a dynamic import() expression), the method chains the import promise onto
-     * the module's async evaluation promise if the module has TLA.
-     * Returns null when the import promise is handled internally.
+     * Initialize the global object with built-in properties.
+     * Delegates to JSGlobalObject to set up all global functions and properties.
      */
-    public JSObject loadDynamicImportModule(
-            String specifier,
-            String referrerFilename,
-            Map<String, String> importAttributes,
-            JSPromise importPromise,
-            JSPromise.ResolveState resolveState) {
-        String resolvedSpecifier = resolveDynamicImportSpecifier(specifier, referrerFilename, specifier);
-        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
-        // Check if the module was pre-loaded (deferred) but not yet evaluated.
-        JSDynamicImportModule preloaded = dynamicImportModuleCache.get(moduleCacheKey);
-        if (preloaded != null && preloaded.status() == JSDynamicImportModule.Status.LOADING
-                && preloaded.deferredPreload()) {
-            try {
-                evaluateDynamicImportModule(preloaded);
-                resolveDynamicImportReExports(preloaded, new HashSet<>());
-                preloaded.namespace().finalizeNamespace();
-                preloaded.setStatus(JSDynamicImportModule.Status.EVALUATED);
-            } catch (JSException jsException) {
-                preloaded.setEvaluationError(jsException.getErrorValue());
-                preloaded.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
-                throw jsException;
+    private void initializeGlobalObject() {
+        jsGlobalObject.initialize();
+        // Cache Object.prototype for fast access in hot paths (e.g., iteratorResult, createJSObject)
+        JSValue objectCtor = jsGlobalObject.getGlobalObject().get(JSObject.NAME);
+        if (objectCtor instanceof JSObject objCtorObj) {
+            JSValue proto = objCtorObj.get(PropertyKey.PROTOTYPE);
+            if (proto instanceof JSObject protoObj) {
+                this.cachedObjectPrototype = protoObj;
             }
-            return preloaded.namespace();
-        }
-        JSDynamicImportModule moduleRecord =
-                loadJSDynamicImportModule(resolvedSpecifier, new HashSet<>(), importAttributes);
-        // If the module is still completing async evaluation, chain the import promise
-        // onto the module's async evaluation promise instead of resolving immediately.
-        if (importPromise != null && resolveState != null
-                && moduleRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC
-                && moduleRecord.asyncEvaluationPromise() != null) {
-            chainImportPromiseOntoAsyncModule(moduleRecord, importPromise, resolveState);
-            return null;
         }
-        if (importPromise != null && resolveState != null
-                && moduleRecord.status() != JSDynamicImportModule.Status.EVALUATED_ERROR) {
-            List<JSPromise> asyncDependencyPromises = getEvaluatingAsyncDependencyPromises(moduleRecord);
-            if (!asyncDependencyPromises.isEmpty()) {
-                chainImportPromiseOntoAsyncDependencies(
-                        asyncDependencyPromises,
-                        moduleRecord.namespace(),
-                        importPromise,
-                        resolveState);
-                return null;
+        JSValue dateCtor = jsGlobalObject.getGlobalObject().get(JSDate.NAME);
+        if (dateCtor instanceof JSObject dateCtorObj) {
+            JSValue proto = dateCtorObj.get(PropertyKey.PROTOTYPE);
+            if (proto instanceof JSObject protoObj) {
+                this.cachedDatePrototype = protoObj;
             }
         }
-        // If the module evaluation failed, throw so the import() promise gets rejected
-        if (moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
-            throw new JSException(moduleRecord.evaluationError());
+        JSValue promiseCtor = jsGlobalObject.getGlobalObject().get(JSPromise.NAME);
+        if (promiseCtor instanceof JSObject promiseCtorObject) {
+            this.cachedPromiseConstructor = promiseCtorObject;
+            JSValue proto = promiseCtorObject.get(PropertyKey.PROTOTYPE);
+            if (proto instanceof JSObject protoObj) {
+                this.cachedPromisePrototype = protoObj;
+                this.cachedPromiseThen = protoObj.get(PropertyKey.THEN);
+            }
         }
-        return moduleRecord.namespace();
     }
 
-    public JSObject loadDynamicImportModuleDeferred(
-            String specifier,
-            String referrerFilename,
-            Map<String, String> importAttributes) {
-        return loadDynamicImportModuleDeferred(specifier, referrerFilename, importAttributes, null, null);
-    }
-
-    /**
-     * Load a module in deferred mode. When importPromise and resolveState are provided
-     * (dynamic import.defer() case), the method handles resolving the import promise
-     * internally — chaining it onto TLA evaluation promises if needed.
-     * Returns null when the import promise is handled internally.
-     */
-    public JSObject loadDynamicImportModuleDeferred(
-            String specifier,
-            String referrerFilename,
-            Map<String, String> importAttributes,
-            JSPromise importPromise,
-            JSPromise.ResolveState resolveState) {
-        String resolvedSpecifier = resolveDynamicImportSpecifier(specifier, referrerFilename, specifier);
-        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
-        JSDynamicImportModule moduleRecord = dynamicImportModuleCache.get(moduleCacheKey);
-        if (moduleRecord == null) {
-            moduleRecord = new JSDynamicImportModule(resolvedSpecifier, createModuleNamespaceObject());
-            moduleRecord.setStatus(JSDynamicImportModule.Status.LOADING);
-            moduleRecord.setDeferredPreload(true);
-            dynamicImportModuleCache.put(moduleCacheKey, moduleRecord);
-            try {
-                String importType = importAttributes != null ? importAttributes.get("type") : null;
-                // Handle type: 'text' import attribute
-                if ("text".equals(importType)) {
-                    String sourceCode = Files.readString(Path.of(resolvedSpecifier));
-                    moduleRecord.setRawSource(sourceCode);
-                    defineDynamicImportNamespaceValue(moduleRecord, "default", new JSString(sourceCode));
-                    moduleRecord.explicitExportNames().add("default");
-                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                    moduleRecord.namespace().finalizeNamespace();
-                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                    return moduleRecord.namespace();
-                }
-                // Handle type: 'bytes' import attribute
-                if ("bytes".equals(importType)) {
-                    byte[] fileBytes = Files.readAllBytes(Path.of(resolvedSpecifier));
-                    moduleRecord.setRawSource("");
-                    JSArrayBuffer arrayBuffer = new JSArrayBuffer(this, fileBytes);
-                    transferPrototype(arrayBuffer, JSArrayBuffer.NAME);
-                    arrayBuffer.setImmutable(true);
-                    JSUint8Array uint8Array = createJSUint8Array(arrayBuffer, 0, fileBytes.length);
-                    defineDynamicImportNamespaceValue(moduleRecord, "default", uint8Array);
-                    moduleRecord.explicitExportNames().add("default");
-                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                    moduleRecord.namespace().finalizeNamespace();
-                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                    return moduleRecord.namespace();
-                }
-                String sourceCode = Files.readString(Path.of(resolvedSpecifier));
-                moduleRecord.setRawSource(sourceCode);
-                if (resolvedSpecifier.endsWith(".json")) {
-                    if (!"json".equals(importType)) {
-                        throw new JSException(throwTypeError("Import attribute type must be 'json'"));
-                    }
-                    JSValue jsonDefaultValue = parseJsonModuleSource(sourceCode);
-                    defineDynamicImportNamespaceValue(moduleRecord, "default", jsonDefaultValue);
-                    moduleRecord.explicitExportNames().add("default");
-                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                    moduleRecord.namespace().finalizeNamespace();
-                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                    return moduleRecord.namespace();
-                }
-                parseDynamicImportModuleSource(moduleRecord);
-                // Eagerly validate syntax of deferred modules per spec.
-                // SyntaxErrors are not deferred — they must be detected at linking time.
-                try {
-                    new Compiler(sourceCode, resolvedSpecifier).setContext(this).parse(true);
-                } catch (JSSyntaxErrorException syntaxError) {
-                    dynamicImportModuleCache.remove(moduleCacheKey);
-                    throw new JSException(throwSyntaxError(syntaxError.getMessage()));
-                } catch (JSCompilerException compilerError) {
-                    dynamicImportModuleCache.remove(moduleCacheKey);
-                    throw new JSException(throwSyntaxError(compilerError.getMessage()));
-                }
-            } catch (IOException ioException) {
-                dynamicImportModuleCache.remove(moduleCacheKey);
-                throw new JSException(throwTypeError("Cannot find module '" + resolvedSpecifier + "'"));
-            } catch (JSException jsException) {
-                dynamicImportModuleCache.remove(moduleCacheKey);
-                throw jsException;
-            }
+    private void initializeHoistedFunctionExportBindings(JSDynamicImportModule moduleRecord) {
+        if (moduleRecord == null
+                || moduleRecord.hoistedFunctionExportBindingsInitialized()) {
+            return;
         }
-
-        if (moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED
-                || moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
-            // Even for already-evaluated (or error) modules, return the deferred namespace wrapper.
-            // Deferred namespaces are distinct objects from eager namespaces per spec.
-            // For EVALUATED_ERROR, ensureEvaluated() will rethrow the cached error.
-            if (moduleRecord.deferredNamespace() == null) {
-                moduleRecord.setDeferredNamespace(new JSDeferredModuleNamespace(this, moduleRecord));
-            }
-            return moduleRecord.deferredNamespace();
+        List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedBindings =
+                moduleRecord.hoistedFunctionExportBindings();
+        if (hoistedBindings.isEmpty()) {
+            moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
+            return;
         }
 
-        LinkedHashSet<String> asyncDependencySpecifiers = new LinkedHashSet<>();
-        gatherDeferredAsyncDependencySpecifiers(
-                resolvedSpecifier,
-                moduleRecord.rawSource(),
-                new HashSet<>(),
-                asyncDependencySpecifiers);
-        List<JSPromise> tlaEvaluationPromises = new ArrayList<>();
-        boolean prevSuppress = suppressEvalMicrotaskProcessing;
-        suppressEvalMicrotaskProcessing = true;
-        try {
-            for (String asyncDependencySpecifier : asyncDependencySpecifiers) {
-                if (asyncDependencySpecifier.equals(resolvedSpecifier)
-                        && moduleRecord.status() == JSDynamicImportModule.Status.LOADING) {
-                    // Self-module with TLA: set EVALUATING before eval so nested
-                    // deferred imports of this module see the correct state.
-                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING);
-                    JSValue evalResult = evaluateDynamicImportModule(moduleRecord);
-                    if (moduleRecord.hasTLA() && evalResult instanceof JSPromise asyncPromise) {
-                        moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
-                        moduleRecord.setAsyncEvaluationPromise(asyncPromise);
-                        registerAsyncModuleCompletion(moduleRecord, asyncPromise, new HashSet<>());
-                        tlaEvaluationPromises.add(asyncPromise);
-                    } else {
-                        resolveDynamicImportReExports(moduleRecord, new HashSet<>());
-                        moduleRecord.namespace().finalizeNamespace();
-                        moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                    }
-                } else {
-                    JSDynamicImportModule depRecord =
-                            loadJSDynamicImportModule(asyncDependencySpecifier, new HashSet<>(), importAttributes);
-                    if (depRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC
-                            && depRecord.asyncEvaluationPromise() != null) {
-                        tlaEvaluationPromises.add(depRecord.asyncEvaluationPromise());
-                    }
-                }
+        StringBuilder sourceBuilder = new StringBuilder();
+        sourceBuilder.append("(function () {\n");
+        for (JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding : hoistedBindings) {
+            sourceBuilder.append(hoistedBinding.functionDeclarationSource()).append('\n');
+        }
+        sourceBuilder.append("return {");
+        for (int bindingIndex = 0; bindingIndex < hoistedBindings.size(); bindingIndex++) {
+            JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding = hoistedBindings.get(bindingIndex);
+            if (bindingIndex > 0) {
+                sourceBuilder.append(", ");
             }
-        } finally {
-            suppressEvalMicrotaskProcessing = prevSuppress;
+            sourceBuilder.append("\"")
+                    .append(escapeJavaScriptString(hoistedBinding.localName()))
+                    .append("\": ")
+                    .append(hoistedBinding.localName());
         }
+        sourceBuilder.append("};\n})();");
 
-        if (moduleRecord.deferredNamespace() == null) {
-            moduleRecord.setDeferredNamespace(new JSDeferredModuleNamespace(this, moduleRecord));
+        JSValue bindingsValue = eval(
+                sourceBuilder.toString(),
+                "<hoisted-export-init>",
+                true,
+                false);
+        if (!(bindingsValue instanceof JSObject functionBindingsObject)) {
+            moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
+            return;
         }
 
-        // When called from dynamic import.defer() (importPromise != null) and there are
-        // pending TLA evaluation promises, chain the import promise resolution onto them
-        // using a Promise.all-like counter. This avoids relying on processMicrotasks()
-        // which is a no-op when called re-entrantly from within a microtask.
-        if (importPromise != null && !tlaEvaluationPromises.isEmpty()) {
-            JSObject deferredNs = moduleRecord.deferredNamespace();
-            int[] remaining = {tlaEvaluationPromises.size()};
-            for (JSPromise tlaPromise : tlaEvaluationPromises) {
-                JSNativeFunction onFulfill = new JSNativeFunction(this, "", 0,
-                        (ctx, thisArg, args) -> {
-                            remaining[0]--;
-                            if (remaining[0] == 0 && !resolveState.alreadyResolved) {
-                                resolveState.alreadyResolved = true;
-                                importPromise.resolve(ctx, deferredNs);
-                            }
-                            return JSUndefined.INSTANCE;
-                        });
-                onFulfill.initializePrototypeChain(this);
-                JSNativeFunction onReject = new JSNativeFunction(this, "", 1,
-                        (ctx, thisArg, args) -> {
-                            if (!resolveState.alreadyResolved) {
-                                resolveState.alreadyResolved = true;
-                                JSValue reason = args.length > 0 ? args[0] : JSUndefined.INSTANCE;
-                                importPromise.reject(reason);
-                            }
-                            return JSUndefined.INSTANCE;
-                        });
-                onReject.initializePrototypeChain(this);
-                tlaPromise.addReactions(
-                        new JSPromise.ReactionRecord(onFulfill, this, null, null),
-                        new JSPromise.ReactionRecord(onReject, this, null, null));
+        JSImportNamespaceObject namespaceObject = moduleRecord.namespace();
+        for (JSDynamicImportModule.HoistedFunctionExportBinding hoistedBinding : hoistedBindings) {
+            PropertyKey localKey = PropertyKey.fromString(hoistedBinding.localName());
+            JSValue functionValue = functionBindingsObject.get(localKey);
+            if (hasPendingException()) {
+                JSValue pendingError = getPendingException();
+                clearPendingException();
+                throw new JSException(pendingError);
             }
-            return null; // Import promise will be resolved via TLA promise chain
+            if (!(functionValue instanceof JSFunction)) {
+                continue;
+            }
+            namespaceObject.setEarlyExportBinding(hoistedBinding.exportedName(), functionValue);
         }
+        moduleRecord.setHoistedFunctionExportBindingsInitialized(true);
+    }
 
-        // Static import defer case: drain microtasks to complete EVALUATING_ASYNC modules.
-        // Only drain when not called from evaluateModuleImportsInOrder
-        // (which has its own drain after all imports are processed).
-        if (!suppressEvalMicrotaskProcessing && !asyncDependencySpecifiers.isEmpty()) {
-            processMicrotasks();
+    private <T extends JSTypedArray> T initializeTypedArray(T typedArray, String constructorName) {
+        transferPrototype(typedArray, constructorName);
+        var buffer = typedArray.getBuffer();
+        if (buffer instanceof JSObject jsObject && jsObject.getPrototype() == null) {
+            transferPrototype(jsObject, buffer.isShared() ? JSSharedArrayBuffer.NAME : JSArrayBuffer.NAME);
         }
+        return typedArray;
+    }
 
-        return moduleRecord.deferredNamespace();
+    public boolean isActiveGlobalFunctionBindingConfigurable() {
+        return activeGlobalFunctionBindingConfigurable;
     }
 
-    private JSDynamicImportModule loadJSDynamicImportModule(
-            String resolvedSpecifier,
-            Set<String> importResolutionStack,
-            Map<String, String> importAttributes) {
-        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
-        JSDynamicImportModule cachedRecord = dynamicImportModuleCache.get(moduleCacheKey);
-        if (cachedRecord != null) {
-            if (cachedRecord.status() == JSDynamicImportModule.Status.EVALUATED) {
-                return cachedRecord;
-            }
-            if (cachedRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
-                throw new JSException(cachedRecord.evaluationError());
-            }
-            if (cachedRecord.status() == JSDynamicImportModule.Status.LOADING
-                    || cachedRecord.status() == JSDynamicImportModule.Status.EVALUATING
-                    || cachedRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC) {
-                return cachedRecord;
-            }
+    private boolean isCompleteStaticImportStatement(String importStatement) {
+        if (importStatement == null || importStatement.isBlank()) {
+            return false;
+        }
+        String normalizedImportStatement = importStatement.strip();
+        if (MODULE_NAMESPACE_IMPORT_PATTERN.matcher(normalizedImportStatement).matches()) {
+            return true;
+        }
+        if (MODULE_BINDING_IMPORT_PATTERN.matcher(normalizedImportStatement).matches()) {
+            return true;
         }
+        return MODULE_SIDE_EFFECT_IMPORT_PATTERN.matcher(normalizedImportStatement).matches();
+    }
 
-        JSDynamicImportModule moduleRecord =
-                new JSDynamicImportModule(resolvedSpecifier, createModuleNamespaceObject());
-        moduleRecord.setStatus(JSDynamicImportModule.Status.LOADING);
-        dynamicImportModuleCache.put(moduleCacheKey, moduleRecord);
+    private boolean isDynamicImportDefaultDeclarationClause(String defaultClause) {
+        return defaultClause.startsWith("function")
+                || defaultClause.startsWith("async function")
+                || defaultClause.startsWith("class");
+    }
+
+    private boolean isExpressionContinuationCharacter(char ch) {
+        return ch == ')' || ch == ']' || ch == '}'
+                || ch == ',' || ch == '.' || ch == ':'
+                || ch == '?' || ch == '+'
+                || ch == '-' || ch == '*'
+                || ch == '/' || ch == '%'
+                || ch == '<' || ch == '>'
+                || ch == '=' || ch == '&'
+                || ch == '|' || ch == '^';
+    }
+
+    public boolean isGlobalLexicalBindingInitialized(String name) {
+        JSValue value = globalLexicalBindings.get(name);
+        return value != null && value != GLOBAL_LEXICAL_UNINITIALIZED;
+    }
+
+    public boolean isInBareVariableAssignment() {
+        return inBareVariableAssignment;
+    }
 
+    private boolean isSelfImportBinding(ImportBinding importBinding, String moduleSpecifier) {
+        if (importBinding == null
+                || importBinding.sourceSpecifier() == null
+                || importBinding.sourceSpecifier().isEmpty()) {
+            return false;
+        }
         try {
-            String importType = importAttributes != null ? importAttributes.get("type") : null;
-            // Handle type: 'text' import attribute
-            if ("text".equals(importType)) {
-                String sourceCode = Files.readString(Path.of(resolvedSpecifier));
-                moduleRecord.setRawSource(sourceCode);
-                defineDynamicImportNamespaceValue(moduleRecord, "default", new JSString(sourceCode));
-                moduleRecord.explicitExportNames().add("default");
-                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                moduleRecord.namespace().finalizeNamespace();
-                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                return moduleRecord;
-            }
-            // Handle type: 'bytes' import attribute
-            if ("bytes".equals(importType)) {
-                byte[] fileBytes = Files.readAllBytes(Path.of(resolvedSpecifier));
-                moduleRecord.setRawSource("");
-                JSArrayBuffer arrayBuffer = new JSArrayBuffer(this, fileBytes);
-                transferPrototype(arrayBuffer, JSArrayBuffer.NAME);
-                arrayBuffer.setImmutable(true);
-                JSUint8Array uint8Array = createJSUint8Array(arrayBuffer, 0, fileBytes.length);
-                defineDynamicImportNamespaceValue(moduleRecord, "default", uint8Array);
-                moduleRecord.explicitExportNames().add("default");
-                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                moduleRecord.namespace().finalizeNamespace();
-                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                return moduleRecord;
-            }
-            String sourceCode = Files.readString(Path.of(resolvedSpecifier));
-            moduleRecord.setRawSource(sourceCode);
-            if (resolvedSpecifier.endsWith(".json")) {
-                if (!"json".equals(importType)) {
-                    throw new JSException(throwTypeError("Import attribute type must be 'json'"));
-                }
-                JSValue jsonDefaultValue = parseJsonModuleSource(sourceCode);
-                defineDynamicImportNamespaceValue(moduleRecord, "default", jsonDefaultValue);
-                moduleRecord.explicitExportNames().add("default");
-                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
-                moduleRecord.namespace().finalizeNamespace();
-                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-                return moduleRecord;
-            }
-            parseDynamicImportModuleSource(moduleRecord);
-            resolveDynamicImportReExports(moduleRecord, importResolutionStack);
-            // Pre-load all static imports so we can detect EVALUATING_ASYNC dependencies.
-            // Without this, a module's deps aren't loaded until eval() → evaluateModuleImportsInOrder,
-            // which is too late for the hasEvaluatingAsyncDependency check.
-            if (suppressEvalMicrotaskProcessing) {
-                preloadStaticImports(moduleRecord, importResolutionStack, importAttributes);
-            }
-            if (suppressEvalMicrotaskProcessing
-                    && hasEvaluatingAsyncDependency(moduleRecord)) {
-                // ES2024 16.2.1.5.2.1: Module depends on an EVALUATING_ASYNC module.
-                // Don't evaluate yet; register as a pending dependent.
-                // Set EVALUATING_ASYNC so transitive dependents also defer.
-                moduleRecord.setAsyncEvaluationOrder(asyncEvaluationOrderCounter++);
-                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
-                registerPendingDependent(moduleRecord);
-                return moduleRecord;
-            }
-            if (moduleRecord.hasTLA()) {
-                // Set EVALUATING before eval so nested deferred imports see correct state.
-                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING);
-                // Suppress microtasks during eval so we can register the completion
-                // callback before the microtask drain.
-                boolean prevSuppress = suppressEvalMicrotaskProcessing;
-                suppressEvalMicrotaskProcessing = true;
-                JSValue evalResult;
-                try {
-                    evalResult = evaluateDynamicImportModule(moduleRecord);
-                } finally {
-                    suppressEvalMicrotaskProcessing = prevSuppress;
-                }
-                if (evalResult instanceof JSPromise asyncPromise) {
-                    moduleRecord.setAsyncEvaluationOrder(asyncEvaluationOrderCounter++);
-                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
-                    moduleRecord.setAsyncEvaluationPromise(asyncPromise);
-                    registerAsyncModuleCompletion(moduleRecord, asyncPromise, importResolutionStack);
-                    if (!suppressEvalMicrotaskProcessing) {
-                        // Not in a suppressed context — drain microtasks now to
-                        // let the async module complete before returning.
-                        processMicrotasks();
-                    }
-                    return moduleRecord;
-                }
-                // TLA module but eval didn't return a promise (e.g., no actual await hit).
-                // Fall through to normal completion.
-            } else {
-                evaluateDynamicImportModule(moduleRecord);
+            String resolvedImportSpecifier = resolveDynamicImportSpecifier(
+                    importBinding.sourceSpecifier(),
+                    moduleSpecifier,
+                    importBinding.sourceSpecifier());
+            Path resolvedImportPath = Path.of(resolvedImportSpecifier).normalize().toAbsolutePath();
+            Path modulePath = Path.of(moduleSpecifier).normalize().toAbsolutePath();
+            String resolvedImportPathString = resolvedImportPath.toString();
+            String modulePathString = modulePath.toString();
+            if (resolvedImportPathString.equals(modulePathString)) {
+                return true;
             }
-            moduleRecord.namespace().finalizeNamespace();
-            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
-            return moduleRecord;
-        } catch (IOException ioException) {
-            throw new JSException(throwTypeError("Cannot find module '" + resolvedSpecifier + "'"));
-        } catch (JSSyntaxErrorException syntaxErrorException) {
-            JSValue error = throwSyntaxError(syntaxErrorException.getMessage());
-            moduleRecord.setEvaluationError(error);
-            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
-            throw new JSException(error);
-        } catch (JSCompilerException compilerException) {
-            JSValue error = throwSyntaxError(compilerException.getMessage());
-            moduleRecord.setEvaluationError(error);
-            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
-            throw new JSException(error);
-        } catch (JSException jsException) {
-            // Keep the module in cache with EVALUATED_ERROR status so that subsequent
-            // deferred imports can rethrow the same error object (per spec).
-            moduleRecord.setEvaluationError(jsException.getErrorValue());
-            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
-            throw jsException;
-        } catch (Exception exception) {
-            dynamicImportModuleCache.remove(moduleCacheKey);
-            throw new JSException(throwError(exception.getMessage() != null ? exception.getMessage() : "Module load error"));
+            return resolvedImportPathString.equalsIgnoreCase(modulePathString);
+        } catch (JSException ignored) {
+            return false;
+        } catch (Exception ignored) {
+            return false;
+        }
+    }
+
+    private boolean isStaticImportLine(String trimmedLine) {
+        if (trimmedLine == null || !trimmedLine.startsWith("import")) {
+            return false;
+        }
+        if (trimmedLine.startsWith("import(") || trimmedLine.startsWith("import.")) {
+            return false;
         }
+        if (trimmedLine.length() == "import".length()) {
+            return false;
+        }
+        char nextChar = trimmedLine.charAt("import".length());
+        return !Character.isLetterOrDigit(nextChar) && nextChar != '_' && nextChar != '$';
     }
 
     /**
-     * Load and cache a JavaScript module.
-     *
-     * @param specifier Module specifier (file path or URL)
-     * @return The loaded module
-     * @throws JSModule.ModuleLinkingException    if module cannot be loaded or linked
-     * @throws JSModule.ModuleEvaluationException if module evaluation fails
+     * Check if in strict mode.
      */
-    public JSModule loadModule(String specifier) throws JSModule.ModuleLinkingException, JSModule.ModuleEvaluationException {
-        // Check cache first
-        JSModule cached = moduleCache.get(specifier);
-        return cached;
+    public boolean isStrictMode() {
+        return strictMode;
+    }
 
-        // In full implementation:
-        // 1. Resolve the module specifier to absolute path
-        // 2. Load the module source code
-        // 3. Parse and compile as module
-        // 4. Link imported/exported bindings
-        // 5. Execute module code (if not already executed)
-        // 6. Cache and return the module
+    public boolean isWaitable() {
+        return waitable;
+    }
 
-        // For now, return null to indicate module not found
-        // A full implementation would load from filesystem or URL
+    public JSObject loadDynamicImportModule(String specifier, String referrerFilename) {
+        return loadDynamicImportModule(specifier, referrerFilename, null);
     }
 
-    private String maskModuleComments(String sourceCode) {
-        if (sourceCode == null || sourceCode.isEmpty()) {
-            return "";
-        }
-        StringBuilder maskedBuilder = new StringBuilder(sourceCode.length());
-        boolean inLineComment = false;
-        boolean inBlockComment = false;
-        boolean inSingleQuote = false;
-        boolean inDoubleQuote = false;
-        boolean inTemplateLiteral = false;
-        for (int index = 0; index < sourceCode.length(); index++) {
-            char currentChar = sourceCode.charAt(index);
-            char nextChar = index + 1 < sourceCode.length() ? sourceCode.charAt(index + 1) : '\0';
+    public JSObject loadDynamicImportModule(
+            String specifier,
+            String referrerFilename,
+            Map<String, String> importAttributes) {
+        return loadDynamicImportModule(specifier, referrerFilename, importAttributes, null, null);
+    }
 
-            if (inLineComment) {
-                if (currentChar == '\n' || currentChar == '\r') {
-                    inLineComment = false;
-                    maskedBuilder.append(currentChar);
-                } else {
-                    maskedBuilder.append(' ');
-                }
-                continue;
+    /**
+     * Load a dynamic import module. When importPromise and resolveState are provided
+     * (from a dynamic import() expression), the method chains the import promise onto
+     * the module's async evaluation promise if the module has TLA.
+     * Returns null when the import promise is handled internally.
+     */
+    public JSObject loadDynamicImportModule(
+            String specifier,
+            String referrerFilename,
+            Map<String, String> importAttributes,
+            JSPromise importPromise,
+            JSPromise.ResolveState resolveState) {
+        String resolvedSpecifier = resolveDynamicImportSpecifier(specifier, referrerFilename, specifier);
+        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
+        // Check if the module was pre-loaded (deferred) but not yet evaluated.
+        JSDynamicImportModule preloaded = dynamicImportModuleCache.get(moduleCacheKey);
+        if (preloaded != null && preloaded.status() == JSDynamicImportModule.Status.LOADING
+                && preloaded.deferredPreload()) {
+            try {
+                evaluateDynamicImportModule(preloaded);
+                resolveDynamicImportReExports(preloaded, new HashSet<>());
+                preloaded.namespace().finalizeNamespace();
+                preloaded.setStatus(JSDynamicImportModule.Status.EVALUATED);
+            } catch (JSException jsException) {
+                preloaded.setEvaluationError(jsException.getErrorValue());
+                preloaded.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
+                throw jsException;
             }
-            if (inBlockComment) {
-                if (currentChar == '*' && nextChar == '/') {
-                    maskedBuilder.append(' ');
-                    maskedBuilder.append(' ');
-                    index++;
-                    inBlockComment = false;
-                    continue;
-                }
-                if (currentChar == '\n' || currentChar == '\r') {
-                    maskedBuilder.append(currentChar);
-                } else {
-                    maskedBuilder.append(' ');
-                }
-                continue;
+            return preloaded.namespace();
+        }
+        JSDynamicImportModule moduleRecord =
+                loadJSDynamicImportModule(resolvedSpecifier, new HashSet<>(), importAttributes);
+        // If the module is still completing async evaluation, chain the import promise
+        // onto the module's async evaluation promise instead of resolving immediately.
+        if (importPromise != null && resolveState != null
+                && moduleRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC
+                && moduleRecord.asyncEvaluationPromise() != null) {
+            chainImportPromiseOntoAsyncModule(moduleRecord, importPromise, resolveState);
+            return null;
+        }
+        if (importPromise != null && resolveState != null
+                && moduleRecord.status() != JSDynamicImportModule.Status.EVALUATED_ERROR) {
+            List<JSPromise> asyncDependencyPromises = getEvaluatingAsyncDependencyPromises(moduleRecord);
+            if (!asyncDependencyPromises.isEmpty()) {
+                chainImportPromiseOntoAsyncDependencies(
+                        asyncDependencyPromises,
+                        moduleRecord.namespace(),
+                        importPromise,
+                        resolveState);
+                return null;
             }
-            if (inSingleQuote) {
-                maskedBuilder.append(currentChar);
-                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
-                    index++;
-                    maskedBuilder.append(sourceCode.charAt(index));
-                } else if (currentChar == '\'') {
-                    inSingleQuote = false;
+        }
+        // If the module evaluation failed, throw so the import() promise gets rejected
+        if (moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
+            throw new JSException(moduleRecord.evaluationError());
+        }
+        return moduleRecord.namespace();
+    }
+
+    public JSObject loadDynamicImportModuleDeferred(
+            String specifier,
+            String referrerFilename,
+            Map<String, String> importAttributes) {
+        return loadDynamicImportModuleDeferred(specifier, referrerFilename, importAttributes, null, null);
+    }
+
+    /**
+     * Load a module in deferred mode. When importPromise and resolveState are provided
+     * (dynamic import.defer() case), the method handles resolving the import promise
+     * internally — chaining it onto TLA evaluation promises if needed.
+     * Returns null when the import promise is handled internally.
+     */
+    public JSObject loadDynamicImportModuleDeferred(
+            String specifier,
+            String referrerFilename,
+            Map<String, String> importAttributes,
+            JSPromise importPromise,
+            JSPromise.ResolveState resolveState) {
+        String resolvedSpecifier = resolveDynamicImportSpecifier(specifier, referrerFilename, specifier);
+        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
+        JSDynamicImportModule moduleRecord = dynamicImportModuleCache.get(moduleCacheKey);
+        if (moduleRecord == null) {
+            moduleRecord = new JSDynamicImportModule(resolvedSpecifier, createModuleNamespaceObject());
+            moduleRecord.setStatus(JSDynamicImportModule.Status.LOADING);
+            moduleRecord.setDeferredPreload(true);
+            dynamicImportModuleCache.put(moduleCacheKey, moduleRecord);
+            try {
+                String importType = importAttributes != null ? importAttributes.get("type") : null;
+                // Handle type: 'text' import attribute
+                if ("text".equals(importType)) {
+                    String sourceCode = runtime.getModuleLoader().fetchSource(resolvedSpecifier);
+                    moduleRecord.setRawSource(sourceCode);
+                    defineDynamicImportNamespaceValue(moduleRecord, "default", new JSString(sourceCode));
+                    moduleRecord.explicitExportNames().add("default");
+                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                    moduleRecord.namespace().finalizeNamespace();
+                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                    return moduleRecord.namespace();
                 }
-                continue;
-            }
-            if (inDoubleQuote) {
-                maskedBuilder.append(currentChar);
-                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
-                    index++;
-                    maskedBuilder.append(sourceCode.charAt(index));
-                } else if (currentChar == '"') {
-                    inDoubleQuote = false;
+                // Handle type: 'bytes' import attribute
+                if ("bytes".equals(importType)) {
+                    byte[] fileBytes = runtime.getModuleLoader().fetch(resolvedSpecifier);
+                    moduleRecord.setRawSource("");
+                    JSArrayBuffer arrayBuffer = new JSArrayBuffer(this, fileBytes);
+                    transferPrototype(arrayBuffer, JSArrayBuffer.NAME);
+                    arrayBuffer.setImmutable(true);
+                    JSUint8Array uint8Array = createJSUint8Array(arrayBuffer, 0, fileBytes.length);
+                    defineDynamicImportNamespaceValue(moduleRecord, "default", uint8Array);
+                    moduleRecord.explicitExportNames().add("default");
+                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                    moduleRecord.namespace().finalizeNamespace();
+                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                    return moduleRecord.namespace();
                 }
-                continue;
-            }
-            if (inTemplateLiteral) {
-                maskedBuilder.append(currentChar);
-                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
-                    index++;
-                    maskedBuilder.append(sourceCode.charAt(index));
-                } else if (currentChar == '`') {
-                    inTemplateLiteral = false;
+                String sourceCode = fetchModuleSource(resolvedSpecifier);
+                moduleRecord.setRawSource(sourceCode);
+                if (resolvedSpecifier.endsWith(".json")) {
+                    if (!"json".equals(importType)) {
+                        throw new JSException(throwTypeError("Import attribute type must be 'json'"));
+                    }
+                    JSValue jsonDefaultValue = parseJsonModuleSource(sourceCode);
+                    defineDynamicImportNamespaceValue(moduleRecord, "default", jsonDefaultValue);
+                    moduleRecord.explicitExportNames().add("default");
+                    moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                    moduleRecord.namespace().finalizeNamespace();
+                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                    return moduleRecord.namespace();
                 }
-                continue;
-            }
-
-            if (currentChar == '/' && nextChar == '/') {
-                maskedBuilder.append(' ');
-                maskedBuilder.append(' ');
-                index++;
-                inLineComment = true;
-                continue;
-            }
-            if (currentChar == '/' && nextChar == '*') {
-                maskedBuilder.append(' ');
-                maskedBuilder.append(' ');
-                index++;
-                inBlockComment = true;
-                continue;
-            }
-            if (currentChar == '\'') {
-                inSingleQuote = true;
-            } else if (currentChar == '"') {
-                inDoubleQuote = true;
-            } else if (currentChar == '`') {
-                inTemplateLiteral = true;
+                parseDynamicImportModuleSource(moduleRecord);
+                // Eagerly validate syntax of deferred modules per spec.
+                // SyntaxErrors are not deferred — they must be detected at linking time.
+                try {
+                    parseModuleSource(resolvedSpecifier, sourceCode);
+                } catch (JSSyntaxErrorException syntaxError) {
+                    dynamicImportModuleCache.remove(moduleCacheKey);
+                    throw new JSException(throwSyntaxError(syntaxError.getMessage()));
+                } catch (JSCompilerException compilerError) {
+                    dynamicImportModuleCache.remove(moduleCacheKey);
+                    throw new JSException(throwSyntaxError(compilerError.getMessage()));
+                }
+            } catch (IOException ioException) {
+                dynamicImportModuleCache.remove(moduleCacheKey);
+                throw new JSException(throwTypeError("Cannot find module '" + resolvedSpecifier + "'"));
+            } catch (JSException jsException) {
+                dynamicImportModuleCache.remove(moduleCacheKey);
+                throw jsException;
             }
-            maskedBuilder.append(currentChar);
         }
-        return maskedBuilder.toString();
-    }
 
-    private void mergeStarReExport(
-            JSDynamicImportModule moduleRecord,
-            JSDynamicImportModule targetModuleRecord,
-            Map<String, String> exportOrigins,
-            String targetSpecifier) {
-        Set<String> candidateExportNames = new TreeSet<>();
-        for (PropertyKey key : targetModuleRecord.namespace().getOwnPropertyKeys()) {
-            if (key.isString()) {
-                candidateExportNames.add(key.asString());
+        if (moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED
+                || moduleRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
+            // Even for already-evaluated (or error) modules, return the deferred namespace wrapper.
+            // Deferred namespaces are distinct objects from eager namespaces per spec.
+            // For EVALUATED_ERROR, ensureEvaluated() will rethrow the cached error.
+            if (moduleRecord.deferredNamespace() == null) {
+                moduleRecord.setDeferredNamespace(new JSDeferredModuleNamespace(this, moduleRecord));
             }
+            return moduleRecord.deferredNamespace();
         }
-        candidateExportNames.addAll(targetModuleRecord.explicitExportNames());
-        for (JSDynamicImportModule.ReExportBinding reExportBinding : targetModuleRecord.reExportBindings()) {
-            if (!reExportBinding.starExport()) {
-                candidateExportNames.add(reExportBinding.exportedName());
+
+        LinkedHashSet<String> asyncDependencySpecifiers = new LinkedHashSet<>();
+        gatherDeferredAsyncDependencySpecifiers(
+                resolvedSpecifier,
+                moduleRecord.rawSource(),
+                new HashSet<>(),
+                asyncDependencySpecifiers);
+        List<JSPromise> tlaEvaluationPromises = new ArrayList<>();
+        boolean prevSuppress = suppressEvalMicrotaskProcessing;
+        suppressEvalMicrotaskProcessing = true;
+        try {
+            for (String asyncDependencySpecifier : asyncDependencySpecifiers) {
+                if (asyncDependencySpecifier.equals(resolvedSpecifier)
+                        && moduleRecord.status() == JSDynamicImportModule.Status.LOADING) {
+                    // Self-module with TLA: set EVALUATING before eval so nested
+                    // deferred imports of this module see the correct state.
+                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING);
+                    JSValue evalResult = evaluateDynamicImportModule(moduleRecord);
+                    if (moduleRecord.hasTLA() && evalResult instanceof JSPromise asyncPromise) {
+                        moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
+                        moduleRecord.setAsyncEvaluationPromise(asyncPromise);
+                        registerAsyncModuleCompletion(moduleRecord, asyncPromise, new HashSet<>());
+                        tlaEvaluationPromises.add(asyncPromise);
+                    } else {
+                        resolveDynamicImportReExports(moduleRecord, new HashSet<>());
+                        moduleRecord.namespace().finalizeNamespace();
+                        moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                    }
+                } else {
+                    JSDynamicImportModule depRecord =
+                            loadJSDynamicImportModule(asyncDependencySpecifier, new HashSet<>(), importAttributes);
+                    if (depRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC
+                            && depRecord.asyncEvaluationPromise() != null) {
+                        tlaEvaluationPromises.add(depRecord.asyncEvaluationPromise());
+                    }
+                }
             }
+        } finally {
+            suppressEvalMicrotaskProcessing = prevSuppress;
         }
 
-        for (String exportName : candidateExportNames) {
-            if ("default".equals(exportName)) {
-                continue;
-            }
-            // Skip names already known to be ambiguous in this module
-            // (from a previous incremental or full re-export resolution pass).
-            if (moduleRecord.ambiguousExportNames().contains(exportName)) {
-                continue;
-            }
-            if (targetModuleRecord.ambiguousExportNames().contains(exportName)) {
-                moduleRecord.ambiguousExportNames().add(exportName);
-                moduleRecord.namespace().removeExportBinding(exportName);
-                exportOrigins.remove(exportName);
-                continue;
-            }
-            if (moduleRecord.explicitExportNames().contains(exportName)) {
-                continue;
-            }
-            DynamicImportExportResolution resolution = resolveDynamicImportExport(
-                    targetModuleRecord,
-                    exportName,
-                    new HashSet<>(),
-                    new HashSet<>());
-            if (resolution.ambiguous()) {
-                moduleRecord.ambiguousExportNames().add(exportName);
-                moduleRecord.namespace().removeExportBinding(exportName);
-                exportOrigins.remove(exportName);
-                continue;
-            }
-            if (!resolution.found()) {
-                continue;
-            }
-            String existingOrigin = exportOrigins.get(exportName);
-            String candidateOrigin = resolution.moduleRecord().resolvedSpecifier();
-            if (existingOrigin == null) {
-                defineDynamicImportNamespaceForwardingBinding(
-                        moduleRecord,
-                        exportName,
-                        resolution.moduleRecord(),
-                        candidateOrigin,
-                        resolution.bindingName());
-                exportOrigins.put(exportName, candidateOrigin);
-                continue;
-            }
-            if (!existingOrigin.equals(candidateOrigin)) {
-                moduleRecord.ambiguousExportNames().add(exportName);
-                moduleRecord.namespace().removeExportBinding(exportName);
-                exportOrigins.remove(exportName);
-            }
+        if (moduleRecord.deferredNamespace() == null) {
+            moduleRecord.setDeferredNamespace(new JSDeferredModuleNamespace(this, moduleRecord));
         }
-    }
 
-    private String normalizeModuleSpecifier(String specifier) {
-        if (specifier == null || specifier.isEmpty()) {
-            return "";
+        // When called from dynamic import.defer() (importPromise != null) and there are
+        // pending TLA evaluation promises, chain the import promise resolution onto them
+        // using a Promise.all-like counter. This avoids relying on processMicrotasks()
+        // which is a no-op when called re-entrantly from within a microtask.
+        if (importPromise != null && !tlaEvaluationPromises.isEmpty()) {
+            JSObject deferredNs = moduleRecord.deferredNamespace();
+            int[] remaining = {tlaEvaluationPromises.size()};
+            for (JSPromise tlaPromise : tlaEvaluationPromises) {
+                JSNativeFunction onFulfill = new JSNativeFunction(this, "", 0,
+                        (ctx, thisArg, args) -> {
+                            remaining[0]--;
+                            if (remaining[0] == 0 && !resolveState.alreadyResolved) {
+                                resolveState.alreadyResolved = true;
+                                importPromise.resolve(ctx, deferredNs);
+                            }
+                            return JSUndefined.INSTANCE;
+                        });
+                onFulfill.initializePrototypeChain(this);
+                JSNativeFunction onReject = new JSNativeFunction(this, "", 1,
+                        (ctx, thisArg, args) -> {
+                            if (!resolveState.alreadyResolved) {
+                                resolveState.alreadyResolved = true;
+                                JSValue reason = args.length > 0 ? args[0] : JSUndefined.INSTANCE;
+                                importPromise.reject(reason);
+                            }
+                            return JSUndefined.INSTANCE;
+                        });
+                onReject.initializePrototypeChain(this);
+                tlaPromise.addReactions(
+                        new JSPromise.ReactionRecord(onFulfill, this, null, null),
+                        new JSPromise.ReactionRecord(onReject, this, null, null));
+            }
+            return null; // Import promise will be resolved via TLA promise chain
         }
-        try {
-            return Paths.get(specifier).normalize().toString();
-        } catch (InvalidPathException invalidPathException) {
-            return specifier;
+
+        // Static import defer case: drain microtasks to complete EVALUATING_ASYNC modules.
+        // Only drain when not called from evaluateModuleImportsInOrder
+        // (which has its own drain after all imports are processed).
+        if (!suppressEvalMicrotaskProcessing && !asyncDependencySpecifiers.isEmpty()) {
+            processMicrotasks();
         }
+
+        return moduleRecord.deferredNamespace();
     }
 
-    private void parseDynamicImportExportList(
-            String exportListText,
-            String sourceSpecifier,
-            List<JSDynamicImportModule.LocalExportBinding> localExportBindings,
-            List<JSDynamicImportModule.ReExportBinding> reExportBindings) {
-        // Split on commas at the top level only (not inside quoted strings)
-        List<String> exportEntries = splitOnTopLevelCommas(exportListText);
-        for (String exportEntry : exportEntries) {
-            String exportText = exportEntry.trim();
-            if (exportText.isEmpty()) {
-                continue;
+    private JSDynamicImportModule loadJSDynamicImportModule(
+            String resolvedSpecifier,
+            Set<String> importResolutionStack,
+            Map<String, String> importAttributes) {
+        String moduleCacheKey = getDynamicImportCacheKey(resolvedSpecifier, importAttributes);
+        JSDynamicImportModule cachedRecord = dynamicImportModuleCache.get(moduleCacheKey);
+        if (cachedRecord != null) {
+            if (cachedRecord.status() == JSDynamicImportModule.Status.EVALUATED) {
+                return cachedRecord;
             }
-            String localName;
-            String exportedName;
-            // Parse "localName as exportedName" with support for string literals
-            int asIndex = findTopLevelAs(exportText);
-            if (asIndex >= 0) {
-                String rawLocal = exportText.substring(0, asIndex).trim();
-                String rawExported = exportText.substring(asIndex + 2).trim();
-                localName = parseModuleExportNameValue(rawLocal);
-                exportedName = parseModuleExportNameValue(rawExported);
-            } else {
-                localName = parseModuleExportNameValue(exportText);
-                exportedName = localName;
+            if (cachedRecord.status() == JSDynamicImportModule.Status.EVALUATED_ERROR) {
+                throw new JSException(cachedRecord.evaluationError());
             }
-            if (sourceSpecifier == null) {
-                localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(localName, exportedName));
-            } else {
-                reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, localName, exportedName, false));
+            if (cachedRecord.status() == JSDynamicImportModule.Status.LOADING
+                    || cachedRecord.status() == JSDynamicImportModule.Status.EVALUATING
+                    || cachedRecord.status() == JSDynamicImportModule.Status.EVALUATING_ASYNC) {
+                return cachedRecord;
             }
         }
-    }
-
-    private void parseDynamicImportModuleSource(JSDynamicImportModule moduleRecord) {
-        String sourceCode = moduleRecord.rawSource();
-        String scanSourceCode = maskModuleComments(sourceCode);
-        StringBuilder importPreambleBuilder = new StringBuilder();
-        StringBuilder transformedSourceBuilder = new StringBuilder(sourceCode.length() + 128);
-        List<JSDynamicImportModule.HoistedFunctionExportBinding> hoistedFunctionExportBindings = new ArrayList<>();
-        List<JSDynamicImportModule.LocalExportBinding> localExportBindings = new ArrayList<>();
-        List<JSDynamicImportModule.ReExportBinding> reExportBindings = new ArrayList<>();
-        Map<String, ImportBinding> importedBindings = new HashMap<>();
-        Set<String> importedBindingNames = new HashSet<>();
-        boolean hasExportSyntax = false;
-        int defaultExportIndex = 0;
-        StringBuilder defaultExportNameFixups = new StringBuilder();
-
-        String[] lines = sourceCode.split("\n", -1);
-        String[] scanLines = scanSourceCode.split("\n", -1);
-        for (int lineIndex = 0; lineIndex < lines.length; lineIndex++) {
-            String line = lines[lineIndex];
-            String normalizedLine = line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
-            String scanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
-            String parseLine = scanLine.endsWith("\r") ? scanLine.substring(0, scanLine.length() - 1) : scanLine;
-            String trimmedLine = parseLine.stripLeading();
-            // Extract import lines to be placed before the IIFE wrapper
-            if (isStaticImportLine(trimmedLine)) {
-                StringBuilder importStatementBuilder = new StringBuilder(normalizedLine);
-                StringBuilder importStatementScanBuilder = new StringBuilder(parseLine);
-                while (!isCompleteStaticImportStatement(importStatementScanBuilder.toString())
-                        && lineIndex + 1 < lines.length) {
-                    lineIndex++;
-                    String nextLine = lines[lineIndex];
-                    String normalizedNextLine = nextLine.endsWith("\r")
-                            ? nextLine.substring(0, nextLine.length() - 1)
-                            : nextLine;
-                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
-                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
-                            ? nextScanLine.substring(0, nextScanLine.length() - 1)
-                            : nextScanLine;
-                    importStatementBuilder.append('\n').append(normalizedNextLine);
-                    importStatementScanBuilder.append('\n').append(normalizedNextScanLine);
+
+        JSDynamicImportModule moduleRecord =
+                new JSDynamicImportModule(resolvedSpecifier, createModuleNamespaceObject());
+        moduleRecord.setStatus(JSDynamicImportModule.Status.LOADING);
+        dynamicImportModuleCache.put(moduleCacheKey, moduleRecord);
+
+        try {
+            String importType = importAttributes != null ? importAttributes.get("type") : null;
+            // Handle type: 'text' import attribute
+            if ("text".equals(importType)) {
+                String sourceCode = runtime.getModuleLoader().fetchSource(resolvedSpecifier);
+                moduleRecord.setRawSource(sourceCode);
+                defineDynamicImportNamespaceValue(moduleRecord, "default", new JSString(sourceCode));
+                moduleRecord.explicitExportNames().add("default");
+                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                moduleRecord.namespace().finalizeNamespace();
+                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                return moduleRecord;
+            }
+            // Handle type: 'bytes' import attribute
+            if ("bytes".equals(importType)) {
+                byte[] fileBytes = runtime.getModuleLoader().fetch(resolvedSpecifier);
+                moduleRecord.setRawSource("");
+                JSArrayBuffer arrayBuffer = new JSArrayBuffer(this, fileBytes);
+                transferPrototype(arrayBuffer, JSArrayBuffer.NAME);
+                arrayBuffer.setImmutable(true);
+                JSUint8Array uint8Array = createJSUint8Array(arrayBuffer, 0, fileBytes.length);
+                defineDynamicImportNamespaceValue(moduleRecord, "default", uint8Array);
+                moduleRecord.explicitExportNames().add("default");
+                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                moduleRecord.namespace().finalizeNamespace();
+                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                return moduleRecord;
+            }
+            String sourceCode = fetchModuleSource(resolvedSpecifier);
+            moduleRecord.setRawSource(sourceCode);
+            if (resolvedSpecifier.endsWith(".json")) {
+                if (!"json".equals(importType)) {
+                    throw new JSException(throwTypeError("Import attribute type must be 'json'"));
                 }
-                String importStatementSource = importStatementBuilder.toString();
-                String importStatementForScan = importStatementScanBuilder.toString().strip();
-                importPreambleBuilder.append(importStatementSource).append('\n');
-                collectImportBindings(importStatementForScan, importedBindingNames, importedBindings);
-                continue;
+                JSValue jsonDefaultValue = parseJsonModuleSource(sourceCode);
+                defineDynamicImportNamespaceValue(moduleRecord, "default", jsonDefaultValue);
+                moduleRecord.explicitExportNames().add("default");
+                moduleRecord.exportOrigins().put("default", resolvedSpecifier);
+                moduleRecord.namespace().finalizeNamespace();
+                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+                return moduleRecord;
             }
-            if (!trimmedLine.startsWith("export ") && !trimmedLine.startsWith("export{")
-                    && !trimmedLine.startsWith("export*") && !trimmedLine.equals("export")) {
-                transformedSourceBuilder.append(normalizedLine).append('\n');
-                continue;
+            parseDynamicImportModuleSource(moduleRecord);
+            resolveDynamicImportReExports(moduleRecord, importResolutionStack);
+            // Pre-load all static imports so we can detect EVALUATING_ASYNC dependencies.
+            // Without this, a module's deps aren't loaded until eval() → evaluateModuleImportsInOrder,
+            // which is too late for the hasEvaluatingAsyncDependency check.
+            if (suppressEvalMicrotaskProcessing) {
+                preloadStaticImports(moduleRecord, importResolutionStack, importAttributes);
             }
-
-            hasExportSyntax = true;
-            String exportClause;
-            if (trimmedLine.startsWith("export ")) {
-                exportClause = trimmedLine.substring("export ".length()).trim();
-            } else if (trimmedLine.equals("export") || trimmedLine.startsWith("export") && trimmedLine.substring("export".length()).isBlank()) {
-                exportClause = "";
-            } else {
-                // export{ or export* — no space after 'export'
-                exportClause = trimmedLine.substring("export".length()).trim();
+            if (suppressEvalMicrotaskProcessing
+                    && hasEvaluatingAsyncDependency(moduleRecord)) {
+                // ES2024 16.2.1.5.2.1: Module depends on an EVALUATING_ASYNC module.
+                // Don't evaluate yet; register as a pending dependent.
+                // Set EVALUATING_ASYNC so transitive dependents also defer.
+                moduleRecord.setAsyncEvaluationOrder(asyncEvaluationOrderCounter++);
+                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
+                registerPendingDependent(moduleRecord);
+                return moduleRecord;
             }
-            // If the export clause is empty (bare 'export', 'export' with trailing comments/whitespace),
-            // look ahead to subsequent lines for the continuation.
-            if (exportClause.isEmpty()) {
-                StringBuilder exportContinuation = new StringBuilder();
-                while (lineIndex + 1 < lines.length) {
-                    lineIndex++;
-                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
-                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
-                            ? nextScanLine.substring(0, nextScanLine.length() - 1) : nextScanLine;
-                    exportContinuation.append(normalizedNextScanLine.stripLeading());
-                    if (exportContinuation.toString().contains("}") || exportContinuation.toString().contains("*")) {
-                        break;
+            if (moduleRecord.hasTLA()) {
+                // Set EVALUATING before eval so nested deferred imports see correct state.
+                moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING);
+                // Suppress microtasks during eval so we can register the completion
+                // callback before the microtask drain.
+                boolean prevSuppress = suppressEvalMicrotaskProcessing;
+                suppressEvalMicrotaskProcessing = true;
+                JSValue evalResult;
+                try {
+                    evalResult = evaluateDynamicImportModule(moduleRecord);
+                } finally {
+                    suppressEvalMicrotaskProcessing = prevSuppress;
+                }
+                if (evalResult instanceof JSPromise asyncPromise) {
+                    moduleRecord.setAsyncEvaluationOrder(asyncEvaluationOrderCounter++);
+                    moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATING_ASYNC);
+                    moduleRecord.setAsyncEvaluationPromise(asyncPromise);
+                    registerAsyncModuleCompletion(moduleRecord, asyncPromise, importResolutionStack);
+                    if (!suppressEvalMicrotaskProcessing) {
+                        // Not in a suppressed context — drain microtasks now to
+                        // let the async module complete before returning.
+                        processMicrotasks();
                     }
+                    return moduleRecord;
                 }
-                exportClause = exportContinuation.toString().trim();
+                // TLA module but eval didn't return a promise (e.g., no actual await hit).
+                // Fall through to normal completion.
+            } else {
+                evaluateDynamicImportModule(moduleRecord);
             }
-            if (exportClause.startsWith("default ")) {
-                String defaultClause = exportClause.substring("default ".length()).trim();
-                if (isDynamicImportDefaultDeclarationClause(defaultClause)) {
-                    String declarationName = extractExportedFunctionOrClassName(defaultClause);
-                    String declarationLine = normalizedLine.replaceFirst("^(\\s*)export\\s+default\\s+", "$1");
-                    // For multi-line declarations (class/function body spans multiple lines),
-                    // accumulate subsequent lines until the body is complete.
-                    while (findEndOfDeclarationBody(declarationLine) < 0 && lineIndex + 1 < lines.length) {
-                        lineIndex++;
-                        String nextLine = lines[lineIndex];
-                        String normalizedNext = nextLine.endsWith("\r") ? nextLine.substring(0, nextLine.length() - 1) : nextLine;
-                        declarationLine = declarationLine + "\n" + normalizedNext;
-                    }
-                    boolean anonymousDefaultDeclaration = false;
-                    if (declarationName == null || declarationName.isEmpty()) {
-                        String defaultLocalName = "__qjs4jDefaultExport$" + defaultExportIndex++;
-                        declarationName = defaultLocalName;
-                        // Use var assignment instead of renaming the declaration.
-                        // var hoists to the IIFE function scope, so the getter in the
-                        // export preamble can reference it before this line executes.
-                        // Split the declaration from any trailing statements on the same line
-                        // (e.g., `export default class {} if (...) { ... }`).
-                        int bodyEnd = findEndOfDeclarationBody(declarationLine);
-                        String declarationPart;
-                        String remainingCode;
-                        if (bodyEnd >= 0 && bodyEnd < declarationLine.length()) {
-                            declarationPart = declarationLine.substring(0, bodyEnd);
-                            remainingCode = declarationLine.substring(bodyEnd).trim();
-                        } else {
-                            declarationPart = declarationLine;
-                            remainingCode = "";
-                        }
-                        // For anonymous default class exports, insert a static block
-                        // at the start of the class body to set .name = "default" before
-                        // any static field initializers run. ES2024 specifies that
-                        // default-exported anonymous classes get the name "default" during
-                        // ClassDefinitionEvaluation, before static elements are evaluated.
-                        if (defaultClause.startsWith("class")) {
-                            int openBrace = findLikelyClassBodyOpenBrace(declarationPart);
-                            if (openBrace >= 0) {
-                                // ES2024 15.2.3.11: Only set name to "default" if the class
-                                // doesn't already have a "name" own property (e.g. static name method).
-                                declarationPart = declarationPart.substring(0, openBrace + 1)
-                                        + " static { if (!Object.prototype.hasOwnProperty.call(this, 'name')"
-                                        + " || this.name === ''"
-                                        + " || this.name === '" + defaultLocalName + "') { "
-                                        + "Object.defineProperty(this, 'name', {value: 'default', configurable: true}); } }"
-                                        + declarationPart.substring(openBrace + 1);
-                            }
-                        }
-                        if (defaultClause.startsWith("class")) {
-                            transformedSourceBuilder.append("let ")
-                                    .append(defaultLocalName)
-                                    .append(" = ")
-                                    .append(declarationPart)
-                                    .append(";\n");
-                            appendDynamicImportDefaultExportNameFixup(transformedSourceBuilder, declarationName);
-                        } else {
-                            String renamedDeclaration = renameAnonymousDefaultExportDeclaration(
-                                    declarationPart, defaultLocalName);
-                            transformedSourceBuilder.append(renamedDeclaration).append('\n');
-                            appendDynamicImportDefaultExportNameFixup(defaultExportNameFixups, declarationName);
-                        }
-                        if (!remainingCode.isEmpty()) {
-                            transformedSourceBuilder.append(remainingCode).append('\n');
-                        }
-                        anonymousDefaultDeclaration = true;
-                    }
-                    if (!anonymousDefaultDeclaration) {
-                        // Named default exports (e.g., export default class Foo { ... })
-                        // need var hoisting so the export preamble getter can reference
-                        // the name before the declaration executes during self-import.
-                        if (defaultClause.startsWith("class")) {
-                            int bodyEnd = findEndOfDeclarationBody(declarationLine);
-                            String declarationPart;
-                            String remainingCode;
-                            if (bodyEnd >= 0 && bodyEnd < declarationLine.length()) {
-                                declarationPart = declarationLine.substring(0, bodyEnd);
-                                remainingCode = declarationLine.substring(bodyEnd).trim();
-                            } else {
-                                declarationPart = declarationLine;
-                                remainingCode = "";
-                            }
-                            transformedSourceBuilder.append("let ")
-                                    .append(declarationName)
-                                    .append(" = ")
-                                    .append(declarationPart)
-                                    .append(";\n");
-                            if (!remainingCode.isEmpty()) {
-                                transformedSourceBuilder.append(remainingCode).append('\n');
-                            }
-                        } else {
-                            transformedSourceBuilder.append(declarationLine).append('\n');
-                        }
-                    }
-                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, "default"));
+            moduleRecord.namespace().finalizeNamespace();
+            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED);
+            return moduleRecord;
+        } catch (IOException ioException) {
+            throw new JSException(throwTypeError("Cannot find module '" + resolvedSpecifier + "'"));
+        } catch (JSSyntaxErrorException syntaxErrorException) {
+            JSValue error = throwSyntaxError(syntaxErrorException.getMessage());
+            moduleRecord.setEvaluationError(error);
+            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
+            throw new JSException(error);
+        } catch (JSCompilerException compilerException) {
+            JSValue error = throwSyntaxError(compilerException.getMessage());
+            moduleRecord.setEvaluationError(error);
+            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
+            throw new JSException(error);
+        } catch (JSException jsException) {
+            // Keep the module in cache with EVALUATED_ERROR status so that subsequent
+            // deferred imports can rethrow the same error object (per spec).
+            moduleRecord.setEvaluationError(jsException.getErrorValue());
+            moduleRecord.setStatus(JSDynamicImportModule.Status.EVALUATED_ERROR);
+            throw jsException;
+        } catch (Exception exception) {
+            dynamicImportModuleCache.remove(moduleCacheKey);
+            throw new JSException(throwError(exception.getMessage() != null ? exception.getMessage() : "Module load error"));
+        }
+    }
+
+    /**
+     * Load and cache a JavaScript module.
+     *
+     * @param specifier Module specifier (file path or URL)
+     * @return The loaded module
+     * @throws JSModule.ModuleLinkingException    if module cannot be loaded or linked
+     * @throws JSModule.ModuleEvaluationException if module evaluation fails
+     */
+    public JSModule loadModule(String specifier) throws JSModule.ModuleLinkingException, JSModule.ModuleEvaluationException {
+        // Check cache first
+        JSModule cached = moduleCache.get(specifier);
+        return cached;
+
+        // In full implementation:
+        // 1. Resolve the module specifier to absolute path
+        // 2. Load the module source code
+        // 3. Parse and compile as module
+        // 4. Link imported/exported bindings
+        // 5. Execute module code (if not already executed)
+        // 6. Cache and return the module
+
+        // For now, return null to indicate module not found
+        // A full implementation would load from filesystem or URL
+    }
+
+    private String maskModuleComments(String sourceCode) {
+        if (sourceCode == null || sourceCode.isEmpty()) {
+            return "";
+        }
+        StringBuilder maskedBuilder = new StringBuilder(sourceCode.length());
+        boolean inLineComment = false;
+        boolean inBlockComment = false;
+        boolean inSingleQuote = false;
+        boolean inDoubleQuote = false;
+        boolean inTemplateLiteral = false;
+        for (int index = 0; index < sourceCode.length(); index++) {
+            char currentChar = sourceCode.charAt(index);
+            char nextChar = index + 1 < sourceCode.length() ? sourceCode.charAt(index + 1) : '\0';
+
+            if (inLineComment) {
+                if (currentChar == '\n' || currentChar == '\r') {
+                    inLineComment = false;
+                    maskedBuilder.append(currentChar);
                 } else {
-                    String defaultExpression = defaultClause;
-                    while (defaultExpression.endsWith(";")) {
-                        defaultExpression = defaultExpression.substring(0, defaultExpression.length() - 1).trim();
-                    }
-                    String defaultLocalName = "__qjs4jDefaultExport$" + defaultExportIndex++;
-                    transformedSourceBuilder.append("let ")
-                            .append(defaultLocalName)
-                            .append(" = (0, ")
-                            .append(defaultExpression)
-                            .append(");\n");
-                    appendDynamicImportDefaultExportNameFixup(transformedSourceBuilder, defaultLocalName);
-                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(defaultLocalName, "default"));
+                    maskedBuilder.append(' ');
                 }
                 continue;
             }
-
-            if (exportClause.startsWith("var ")
-                    || exportClause.startsWith("let ")
-                    || exportClause.startsWith("const ")) {
-                transformedSourceBuilder.append(normalizedLine.replaceFirst("export\\s+", "")).append('\n');
-                for (String declarationName : extractSimpleDeclarationNames(exportClause)) {
-                    localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, declarationName));
+            if (inBlockComment) {
+                if (currentChar == '*' && nextChar == '/') {
+                    maskedBuilder.append(' ');
+                    maskedBuilder.append(' ');
+                    index++;
+                    inBlockComment = false;
+                    continue;
+                }
+                if (currentChar == '\n' || currentChar == '\r') {
+                    maskedBuilder.append(currentChar);
+                } else {
+                    maskedBuilder.append(' ');
                 }
                 continue;
             }
-
-            if (exportClause.startsWith("function ")
-                    || exportClause.startsWith("function*")
-                    || exportClause.startsWith("async function ")
-                    || exportClause.startsWith("async function*")
-                    || exportClause.startsWith("class ")) {
-                String declarationLine = normalizedLine.replaceFirst("^(\\s*)export\\s+", "$1");
-                while (findEndOfDeclarationBody(declarationLine) < 0 && lineIndex + 1 < lines.length) {
-                    lineIndex++;
-                    String nextLine = lines[lineIndex];
-                    String normalizedNextLine = nextLine.endsWith("\r")
-                            ? nextLine.substring(0, nextLine.length() - 1)
-                            : nextLine;
-                    declarationLine = declarationLine + "\n" + normalizedNextLine;
-                }
-                int declarationBodyEnd = findEndOfDeclarationBody(declarationLine);
-                String declarationPart = declarationLine;
-                String remainingCode = "";
-                if (declarationBodyEnd >= 0 && declarationBodyEnd < declarationLine.length()) {
-                    declarationPart = declarationLine.substring(0, declarationBodyEnd);
-                    remainingCode = declarationLine.substring(declarationBodyEnd).trim();
-                }
-                transformedSourceBuilder.append(declarationPart).append('\n');
-                if (!remainingCode.isEmpty()) {
-                    transformedSourceBuilder.append(remainingCode).append('\n');
+            if (inSingleQuote) {
+                maskedBuilder.append(currentChar);
+                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
+                    index++;
+                    maskedBuilder.append(sourceCode.charAt(index));
+                } else if (currentChar == '\'') {
+                    inSingleQuote = false;
                 }
-                String declarationName = extractExportedFunctionOrClassName(exportClause);
-                if (declarationName == null || declarationName.isEmpty()) {
-                    throw new JSException(throwSyntaxError("Invalid export statement"));
+                continue;
+            }
+            if (inDoubleQuote) {
+                maskedBuilder.append(currentChar);
+                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
+                    index++;
+                    maskedBuilder.append(sourceCode.charAt(index));
+                } else if (currentChar == '"') {
+                    inDoubleQuote = false;
                 }
-                localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(declarationName, declarationName));
-                if (exportClause.startsWith("function ")
-                        || exportClause.startsWith("function*")
-                        || exportClause.startsWith("async function ")
-                        || exportClause.startsWith("async function*")) {
-                    hoistedFunctionExportBindings.add(new JSDynamicImportModule.HoistedFunctionExportBinding(
-                            declarationName,
-                            declarationName,
-                            declarationPart));
+                continue;
+            }
+            if (inTemplateLiteral) {
+                maskedBuilder.append(currentChar);
+                if (currentChar == '\\' && index + 1 < sourceCode.length()) {
+                    index++;
+                    maskedBuilder.append(sourceCode.charAt(index));
+                } else if (currentChar == '`') {
+                    inTemplateLiteral = false;
                 }
                 continue;
             }
 
-            if (exportClause.startsWith("{")) {
-                String exportSpecifiersText = exportClause;
-                while (findMatchingCloseBrace(exportSpecifiersText, 0) < 0 && lineIndex + 1 < lines.length) {
-                    lineIndex++;
-                    String nextScanLine = lineIndex < scanLines.length ? scanLines[lineIndex] : "";
-                    String normalizedNextScanLine = nextScanLine.endsWith("\r")
-                            ? nextScanLine.substring(0, nextScanLine.length() - 1)
-                            : nextScanLine;
-                    exportSpecifiersText = exportSpecifiersText + "\n" + normalizedNextScanLine.stripLeading();
-                }
+            if (currentChar == '/' && nextChar == '/') {
+                maskedBuilder.append(' ');
+                maskedBuilder.append(' ');
+                index++;
+                inLineComment = true;
+                continue;
+            }
+            if (currentChar == '/' && nextChar == '*') {
+                maskedBuilder.append(' ');
+                maskedBuilder.append(' ');
+                index++;
+                inBlockComment = true;
+                continue;
+            }
+            if (currentChar == '\'') {
+                inSingleQuote = true;
+            } else if (currentChar == '"') {
+                inDoubleQuote = true;
+            } else if (currentChar == '`') {
+                inTemplateLiteral = true;
+            }
+            maskedBuilder.append(currentChar);
+        }
+        return maskedBuilder.toString();
+    }
 
-                int closeBraceIndex = findMatchingCloseBrace(exportSpecifiersText, 0);
-                if (closeBraceIndex < 0) {
-                    throw new JSException(throwSyntaxError("Invalid export statement"));
-                }
-                String exportListText = exportSpecifiersText.substring(1, closeBraceIndex).trim();
-                String afterBraceText = exportSpecifiersText.substring(closeBraceIndex + 1).trim();
-                while (afterBraceText.endsWith(";")) {
-                    afterBraceText = afterBraceText.substring(0, afterBraceText.length() - 1).trim();
-                }
-                String sourceSpecifier = null;
-                if (!afterBraceText.isEmpty()) {
-                    if (!afterBraceText.startsWith("from ")) {
-                        throw new JSException(throwSyntaxError("Invalid export statement"));
-                    }
-                    String fromText = afterBraceText.substring("from ".length()).trim();
-                    sourceSpecifier = stripQuotedSpecifier(fromText);
-                    // Add side-effect import to ensure source-order evaluation.
-                    // ES2024 requires all module dependencies (imports AND re-exports)
-                    // to be evaluated in source order before the requesting module.
-                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
-                }
-                int localBindingStartIndex = localExportBindings.size();
-                parseDynamicImportExportList(exportListText, sourceSpecifier, localExportBindings, reExportBindings);
-                if (sourceSpecifier == null && localBindingStartIndex < localExportBindings.size()) {
-                    for (int localBindingIndex = localExportBindings.size() - 1;
-                         localBindingIndex >= localBindingStartIndex;
-                         localBindingIndex--) {
-                        JSDynamicImportModule.LocalExportBinding localExportBinding =
-                                localExportBindings.get(localBindingIndex);
-                        ImportBinding importBinding = importedBindings.get(localExportBinding.localName());
-                        if (importBinding == null || importBinding.deferredImport()) {
-                            continue;
-                        }
-                        localExportBindings.remove(localBindingIndex);
-                        reExportBindings.add(new JSDynamicImportModule.ReExportBinding(
-                                importBinding.sourceSpecifier(),
-                                importBinding.importedName(),
-                                localExportBinding.exportedName(),
-                                false));
-                    }
-                }
+    private void mergeStarReExport(
+            JSDynamicImportModule moduleRecord,
+            JSDynamicImportModule targetModuleRecord,
+            Map<String, String> exportOrigins,
+            String targetSpecifier) {
+        Set<String> candidateExportNames = new TreeSet<>();
+        for (PropertyKey key : targetModuleRecord.namespace().getOwnPropertyKeys()) {
+            if (key.isString()) {
+                candidateExportNames.add(key.asString());
+            }
+        }
+        candidateExportNames.addAll(targetModuleRecord.explicitExportNames());
+        for (JSDynamicImportModule.ReExportBinding reExportBinding : targetModuleRecord.reExportBindings()) {
+            if (!reExportBinding.starExport()) {
+                candidateExportNames.add(reExportBinding.exportedName());
+            }
+        }
+
+        for (String exportName : candidateExportNames) {
+            if ("default".equals(exportName)) {
+                continue;
+            }
+            // Skip names already known to be ambiguous in this module
+            // (from a previous incremental or full re-export resolution pass).
+            if (moduleRecord.ambiguousExportNames().contains(exportName)) {
+                continue;
+            }
+            if (targetModuleRecord.ambiguousExportNames().contains(exportName)) {
+                moduleRecord.ambiguousExportNames().add(exportName);
+                moduleRecord.namespace().removeExportBinding(exportName);
+                exportOrigins.remove(exportName);
+                continue;
+            }
+            if (moduleRecord.explicitExportNames().contains(exportName)) {
+                continue;
+            }
+            DynamicImportExportResolution resolution = resolveDynamicImportExport(
+                    targetModuleRecord,
+                    exportName,
+                    new HashSet<>(),
+                    new HashSet<>());
+            if (resolution.ambiguous()) {
+                moduleRecord.ambiguousExportNames().add(exportName);
+                moduleRecord.namespace().removeExportBinding(exportName);
+                exportOrigins.remove(exportName);
+                continue;
+            }
+            if (!resolution.found()) {
+                continue;
+            }
+            String existingOrigin = exportOrigins.get(exportName);
+            String candidateOrigin = resolution.moduleRecord().resolvedSpecifier();
+            if (existingOrigin == null) {
+                defineDynamicImportNamespaceForwardingBinding(
+                        moduleRecord,
+                        exportName,
+                        resolution.moduleRecord(),
+                        candidateOrigin,
+                        resolution.bindingName());
+                exportOrigins.put(exportName, candidateOrigin);
                 continue;
             }
-
-            if (exportClause.startsWith("*")) {
-                String afterStarText = exportClause.substring(1).trim();
-                if (afterStarText.startsWith("as ")) {
-                    // Handle both identifier and string literal export names:
-                    // export * as name from '...'
-                    // export * as "name" from '...'
-                    String afterAs = afterStarText.substring(3).trim();
-                    String exportedName;
-                    String remainingAfterName;
-                    if (afterAs.startsWith("\"") || afterAs.startsWith("'")) {
-                        char quote = afterAs.charAt(0);
-                        int closeQuote = afterAs.indexOf(quote, 1);
-                        if (closeQuote < 0) {
-                            throw new JSException(throwSyntaxError("Invalid export statement"));
-                        }
-                        exportedName = afterAs.substring(1, closeQuote);
-                        remainingAfterName = afterAs.substring(closeQuote + 1).trim();
-                    } else {
-                        Matcher identMatcher = Pattern.compile("^([A-Za-z_$][A-Za-z0-9_$]*)\\s+(.*)$")
-                                .matcher(afterAs);
-                        if (!identMatcher.find()) {
-                            throw new JSException(throwSyntaxError("Invalid export statement"));
-                        }
-                        exportedName = identMatcher.group(1);
-                        remainingAfterName = identMatcher.group(2).trim();
-                    }
-                    if (!remainingAfterName.startsWith("from ")) {
-                        throw new JSException(throwSyntaxError("Invalid export statement"));
-                    }
-                    String fromText = remainingAfterName.substring(5).trim();
-                    while (fromText.endsWith(";")) {
-                        fromText = fromText.substring(0, fromText.length() - 1).trim();
-                    }
-                    String sourceSpecifier = stripQuotedSpecifier(fromText);
-                    reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, "*namespace*", exportedName, false));
-                    // Add side-effect import for source-order evaluation
-                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
-                    continue;
-                }
-                if (afterStarText.startsWith("from ")) {
-                    String fromText = afterStarText.substring("from ".length()).trim();
-                    while (fromText.endsWith(";")) {
-                        fromText = fromText.substring(0, fromText.length() - 1).trim();
-                    }
-                    String sourceSpecifier = stripQuotedSpecifier(fromText);
-                    reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, "*", "*", true));
-                    // Add side-effect import for source-order evaluation
-                    importPreambleBuilder.append("import '").append(sourceSpecifier).append("';\n");
-                    continue;
-                }
-                throw new JSException(throwSyntaxError("Invalid export statement"));
+            if (!existingOrigin.equals(candidateOrigin)) {
+                moduleRecord.ambiguousExportNames().add(exportName);
+                moduleRecord.namespace().removeExportBinding(exportName);
+                exportOrigins.remove(exportName);
             }
+        }
+    }
 
-            throw new JSException(throwSyntaxError("Unexpected export syntax"));
+    private String normalizeModuleSpecifier(String specifier) {
+        if (specifier == null || specifier.isEmpty()) {
+            return "";
         }
+        try {
+            return Paths.get(specifier).normalize().toString();
+        } catch (InvalidPathException invalidPathException) {
+            return specifier;
+        }
+    }
+
+    private void parseDynamicImportExportList(
+            String exportListText,
+            String sourceSpecifier,
+            List<JSDynamicImportModule.LocalExportBinding> localExportBindings,
+            List<JSDynamicImportModule.ReExportBinding> reExportBindings) {
+        // Split on commas at the top level only (not inside quoted strings)
+        List<String> exportEntries = splitOnTopLevelCommas(exportListText);
+        for (String exportEntry : exportEntries) {
+            String exportText = exportEntry.trim();
+            if (exportText.isEmpty()) {
+                continue;
+            }
+            String localName;
+            String exportedName;
+            // Parse "localName as exportedName" with support for string literals
+            int asIndex = findTopLevelAs(exportText);
+            if (asIndex >= 0) {
+                String rawLocal = exportText.substring(0, asIndex).trim();
+                String rawExported = exportText.substring(asIndex + 2).trim();
+                localName = parseModuleExportNameValue(rawLocal);
+                exportedName = parseModuleExportNameValue(rawExported);
+            } else {
+                localName = parseModuleExportNameValue(exportText);
+                exportedName = localName;
+            }
+            if (sourceSpecifier == null) {
+                localExportBindings.add(new JSDynamicImportModule.LocalExportBinding(localName, exportedName));
+            } else {
+                reExportBindings.add(new JSDynamicImportModule.ReExportBinding(sourceSpecifier, localName, exportedName, false));
+            }
+        }
+    }
 
-        moduleRecord.setHasExportSyntax(hasExportSyntax);
+    private void parseDynamicImportModuleSource(JSDynamicImportModule moduleRecord) {
+        String resolvedSpecifier = moduleRecord.resolvedSpecifier();
+        String sourceCode = moduleRecord.rawSource();
+        JSCompiledModule compiledModule = runtime.getCompiledModule(resolvedSpecifier, sourceCode);
+        if (compiledModule == null) {
+            compiledModule = compileDynamicImportModuleSource(resolvedSpecifier, sourceCode);
+            runtime.putCompiledModule(compiledModule);
+        }
+        moduleRecord.setCompiledModule(compiledModule);
+        moduleRecord.setHasExportSyntax(compiledModule.hasExportSyntax());
         moduleRecord.hoistedFunctionExportBindings().clear();
-        moduleRecord.hoistedFunctionExportBindings().addAll(hoistedFunctionExportBindings);
+        moduleRecord.hoistedFunctionExportBindings().addAll(compiledModule.hoistedFunctionExportBindings());
         moduleRecord.setHoistedFunctionExportBindingsInitialized(false);
-        moduleRecord.localExportBindings().addAll(localExportBindings);
-        moduleRecord.reExportBindings().addAll(reExportBindings);
-        for (JSDynamicImportModule.LocalExportBinding localExportBinding : localExportBindings) {
+        moduleRecord.localExportBindings().addAll(compiledModule.localExportBindings());
+        moduleRecord.reExportBindings().addAll(compiledModule.reExportBindings());
+        for (JSDynamicImportModule.LocalExportBinding localExportBinding : compiledModule.localExportBindings()) {
             moduleRecord.explicitExportNames().add(localExportBinding.exportedName());
-            moduleRecord.exportOrigins().put(localExportBinding.exportedName(), moduleRecord.resolvedSpecifier());
+            moduleRecord.exportOrigins().put(localExportBinding.exportedName(), resolvedSpecifier);
             moduleRecord.namespace().registerExportName(localExportBinding.exportedName());
         }
-        for (JSDynamicImportModule.ReExportBinding reExportBinding : reExportBindings) {
+        for (JSDynamicImportModule.ReExportBinding reExportBinding : compiledModule.reExportBindings()) {
             if (reExportBinding.starExport()) {
                 continue;
             }
             moduleRecord.explicitExportNames().add(reExportBinding.exportedName());
             moduleRecord.namespace().registerExportName(reExportBinding.exportedName());
         }
+        moduleRecord.setHasTLA(compiledModule.hasTLA());
+        moduleRecord.setTransformedSource(compiledModule.transformedSource());
+        moduleRecord.setExportBindingName(compiledModule.exportBindingName());
+    }
 
-        boolean hasTLA = MODULE_TOP_LEVEL_AWAIT_PATTERN.matcher(transformedSourceBuilder).find()
-                || Pattern.compile("\\bawait\\b").matcher(scanSourceCode).find();
-        moduleRecord.setHasTLA(hasTLA);
+    /**
+     * Parse UTF-8 encoded JSON text between the buffer's position and limit.
+     * The buffer's position is not modified.
+     *
+     * @throws JSException wrapping a SyntaxError if the text is not valid JSON
+     */
+    public JSValue parseJSON(ByteBuffer byteBuffer) {
+        try {
+            return JSONStreamParser.parse(this, byteBuffer);
+        } catch (JSONObject.JSONParseException e) {
+            throw parseJSONException(e);
+        }
+    }
 
-        if (hasExportSyntax) {
-            String exportBindingName = createModuleExportBindingName(moduleRecord.resolvedSpecifier());
-            // Build the export assignment preamble separately — it goes at the START
-            // of the IIFE body so self-import getters can read from the namespace
-            // before user code executes. Getter functions are lazy (not called at
-            // definition time), so TDZ for const/class locals is not violated.
-            StringBuilder exportPreamble = new StringBuilder();
-            appendDynamicImportExportAssignments(
-                    exportPreamble, exportBindingName,
-                    localExportBindings, importedBindingNames);
-            if (!defaultExportNameFixups.isEmpty()) {
-                exportPreamble.append(defaultExportNameFixups);
-            }
-            LinkedHashSet<String> importedBindingsToCapture = new LinkedHashSet<>();
-            for (JSDynamicImportModule.LocalExportBinding localExportBinding : localExportBindings) {
-                ImportBinding importBinding = importedBindings.get(localExportBinding.localName());
-                if (importBinding != null && importBinding.deferredImport()) {
-                    importedBindingsToCapture.add(localExportBinding.localName());
-                }
-            }
-            String transformedSource;
-            if (hasTLA) {
-                // For TLA export modules, capture only exportBindingName.
-                // Imported bindings from self-imports stay live to preserve TDZ behavior.
-                // Other imported bindings are captured so they remain available after
-                // import-overlay cleanup while async module evaluation continues.
-                LinkedHashSet<String> tlaImportedBindingsToCapture = new LinkedHashSet<>();
-                for (String importedBindingName : importedBindingNames) {
-                    ImportBinding importBinding = importedBindings.get(importedBindingName);
-                    if (importBinding == null
-                            || isSelfImportBinding(importBinding, moduleRecord.resolvedSpecifier())) {
-                        continue;
-                    }
-                    tlaImportedBindingsToCapture.add(importedBindingName);
-                }
-                List<String> paramNames = new ArrayList<>();
-                paramNames.add(exportBindingName);
-                paramNames.addAll(tlaImportedBindingsToCapture);
-                String paramList = String.join(", ", paramNames);
-                transformedSource = importPreambleBuilder
-                        + "(async function(" + paramList + ") {\n"
-                        + exportPreamble
-                        + transformedSourceBuilder
-                        + "})(" + paramList + ");\n";
-            } else {
-                if (importedBindingsToCapture.isEmpty()) {
-                    transformedSource = importPreambleBuilder
-                            + "(function () {\n"
-                            + exportPreamble
-                            + transformedSourceBuilder
-                            + "})();\n";
-                } else {
-                    String paramList = String.join(", ", importedBindingsToCapture);
-                    transformedSource = importPreambleBuilder
-                            + "(function (" + paramList + ") {\n"
-                            + exportPreamble
-                            + transformedSourceBuilder
-                            + "})(" + paramList + ");\n";
-                }
-            }
-            moduleRecord.setTransformedSource(transformedSource);
-            moduleRecord.setExportBindingName(exportBindingName);
-        } else if (!importedBindingNames.isEmpty() || hasTLA) {
-            // Wrap non-export modules in an IIFE to capture imported bindings in closure.
-            String paramList = String.join(", ", importedBindingNames);
-            String transformedSource = importPreambleBuilder
-                    + (hasTLA ? "(async function(" : "(function(")
-                    + paramList + ") {\n"
-                    + transformedSourceBuilder
-                    + "})(" + paramList + ");\n";
-            moduleRecord.setTransformedSource(transformedSource);
-        } else {
-            moduleRecord.setTransformedSource(sourceCode);
+    /**
+     * Parse UTF-8 encoded JSON text from a stream without first reading it into a String.
+     * The stream is not closed.
+     *
+     * @throws IOException if reading fails
+     * @throws JSException wrapping a SyntaxError if the text is not valid JSON
+     */
+    public JSValue parseJSON(InputStream inputStream) throws IOException {
+        return parseJSON(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse JSON text from a reader without first reading it into a String.
+     * Equivalent to JSON.parse without a reviver. The reader is not closed.
+     *
+     * @throws IOException if reading fails
+     * @throws JSException wrapping a SyntaxError if the text is not valid JSON
+     */
+    public JSValue parseJSON(Reader reader) throws IOException {
+        try {
+            return JSONStreamParser.parse(this, reader);
+        } catch (JSONObject.JSONParseException e) {
+            throw parseJSONException(e);
         }
     }
 
+    private JSException parseJSONException(JSONObject.JSONParseException e) {
+        JSValue error = throwSyntaxError(e.getMessage());
+        clearPendingException();
+        return new JSException(error);
+    }
+
     private JSValue parseJsonModuleSource(String sourceCode) {
         JSValue jsonValue = getGlobalObject().get(PropertyKey.fromString("JSON"));
         if (hasPendingException()) {
@@ -4598,6 +4826,28 @@ public final class JSContext implements AutoCloseable {
         return decodeIdentifierEscapes(trimmed);
     }
 
+    /**
+     * Parse a module source, reusing the program this runtime parsed it into before.
+     *
+     * @throws JSSyntaxErrorException if the source is not a valid module
+     */
+    private JSParsedModule parseModuleSource(String resolvedSpecifier, String sourceCode) {
+        JSParsedModule parsedModule = runtime.getParsedModule(resolvedSpecifier, sourceCode);
+        if (parsedModule == null) {
+            parsedModule = JSParsedModule.parse(resolvedSpecifier, sourceCode);
+            runtime.putParsedModule(parsedModule);
+        }
+        return parsedModule;
+    }
+
+    private JSParsedModule parseModuleSourceIfValid(String resolvedSpecifier, String sourceCode) {
+        try {
+            return parseModuleSource(resolvedSpecifier, sourceCode);
+        } catch (JSSyntaxErrorException | JSCompilerException e) {
+            return null;
+        }
+    }
+
     void pollFinalizationRegistries() {
         for (int registryIndex = 0; registryIndex < finalizationRegistries.size(); registryIndex++) {
             finalizationRegistries.get(registryIndex).pollCleanups();
@@ -4627,6 +4877,26 @@ public final class JSContext implements AutoCloseable {
         return callStack.pop();
     }
 
+    /**
+     * Load the graph below a parsed entry module in parallel when the module loader is a
+     * {@link JSModuleGraphLoader}, so that linking finds its dependencies already parsed.
+     */
+    private void preloadModuleGraph(JSParsedModule parsedModule) {
+        if (!(runtime.getModuleLoader() instanceof JSModuleGraphLoader graphLoader)) {
+            return;
+        }
+        List<String> resolvedSpecifiers = new ArrayList<>(parsedModule.moduleRequests().size());
+        for (String moduleRequest : parsedModule.moduleRequests()) {
+            String resolvedSpecifier = graphLoader.resolve(moduleRequest, parsedModule.resolvedSpecifier());
+            if (resolvedSpecifier != null) {
+                resolvedSpecifiers.add(resolvedSpecifier);
+            }
+        }
+        if (!resolvedSpecifiers.isEmpty()) {
+            graphLoader.preload(resolvedSpecifiers, runtime::hasParsedModule);
+        }
+    }
+
     /**
      * Pre-load all static imports of a module so that EVALUATING_ASYNC dependencies
      * are discovered before we decide whether to defer or evaluate the module.
@@ -4634,18 +4904,12 @@ public final class JSContext implements AutoCloseable {
     private void preloadStaticImports(JSDynamicImportModule moduleRecord,
                                       Set<String> importResolutionStack,
                                       Map<String, String> importAttributes) {
-        String scanSource = maskModuleComments(moduleRecord.rawSource());
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSource);
-        while (matcher.find()) {
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(moduleRecord)) {
             // Skip import defer statements — deferred modules must not be eagerly evaluated
-            String fullMatch = matcher.group(0).stripLeading();
-            if (fullMatch.startsWith("import") && fullMatch.length() > 6) {
-                String afterImport = fullMatch.substring(6).stripLeading();
-                if (afterImport.startsWith("defer")) {
-                    continue;
-                }
+            if (staticImport.deferred()) {
+                continue;
             }
-            String specifier = matcher.group(1);
+            String specifier = staticImport.specifier();
             try {
                 String resolved = resolveDynamicImportSpecifier(
                         specifier, moduleRecord.resolvedSpecifier(), specifier);
@@ -4730,7 +4994,7 @@ public final class JSContext implements AutoCloseable {
             sourceCode = record.rawSource();
         } else {
             try {
-                sourceCode = Files.readString(Path.of(resolvedSpecifier));
+                sourceCode = fetchModuleSource(resolvedSpecifier);
             } catch (IOException ioException) {
                 return true;
             }
@@ -4739,9 +5003,8 @@ public final class JSContext implements AutoCloseable {
         if (MODULE_TOP_LEVEL_AWAIT_PATTERN.matcher(scanSourceCode).find()) {
             return false;
         }
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSourceCode);
-        while (matcher.find()) {
-            String childSpecifier = matcher.group(1);
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(resolvedSpecifier, sourceCode)) {
+            String childSpecifier = staticImport.specifier();
             String resolvedChildSpecifier;
             try {
                 resolvedChildSpecifier = resolveDynamicImportSpecifier(
@@ -4839,15 +5102,13 @@ public final class JSContext implements AutoCloseable {
     }
 
     private void registerPendingDependent(JSDynamicImportModule moduleRecord) {
-        String scanSource = maskModuleComments(moduleRecord.rawSource());
-        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(scanSource);
         int asyncDepCount = 0;
         Set<String> registeredOnSpecifiers = new HashSet<>();
         // Determine this module's effective cycle root for same-cycle detection.
         JSDynamicImportModule moduleCycleRoot =
                 moduleRecord.cycleRoot() != null ? moduleRecord.cycleRoot() : moduleRecord;
-        while (matcher.find()) {
-            String specifier = matcher.group(1);
+        for (JSCompiledModule.StaticImport staticImport : getStaticImports(moduleRecord)) {
+            String specifier = staticImport.specifier();
             try {
                 String resolved = resolveDynamicImportSpecifier(
                         specifier, moduleRecord.resolvedSpecifier(), specifier);
@@ -5052,29 +5313,11 @@ public final class JSContext implements AutoCloseable {
             String specifier,
             String referrerFilename,
             String errorSpecifier) {
-        final Path rawSpecifierPath;
-        try {
-            rawSpecifierPath = Paths.get(specifier);
-        } catch (InvalidPathException invalidPathException) {
-            throw new JSException(throwTypeError("Cannot find module '" + errorSpecifier + "'"));
-        }
-
-        Path resolvedPath = rawSpecifierPath;
-        if (!resolvedPath.isAbsolute()
-                && referrerFilename != null
-                && !referrerFilename.isEmpty()
-                && !referrerFilename.startsWith("<")) {
-            Path referrerPath = Paths.get(referrerFilename);
-            Path parentPath = referrerPath.getParent();
-            if (parentPath != null) {
-                resolvedPath = parentPath.resolve(resolvedPath);
-            }
-        }
-        resolvedPath = resolvedPath.normalize();
-        if (!Files.exists(resolvedPath)) {
+        String resolvedSpecifier = runtime.getModuleLoader().resolve(specifier, referrerFilename);
+        if (resolvedSpecifier == null) {
             throw new JSException(throwTypeError("Cannot find module '" + errorSpecifier + "'"));
         }
-        return resolvedPath.toString();
+        return resolvedSpecifier;
     }
 
     /**
@@ -5181,6 +5424,20 @@ public final class JSContext implements AutoCloseable {
         }
     }
 
+    private List<JSCompiledModule.StaticImport> scanStaticImports(String sourceCode) {
+        Matcher matcher = MODULE_STATIC_IMPORT_PATTERN.matcher(maskModuleComments(sourceCode));
+        List<JSCompiledModule.StaticImport> staticImports = new ArrayList<>();
+        while (matcher.find()) {
+            boolean deferred = false;
+            String fullMatch = matcher.group(0).stripLeading();
+            if (fullMatch.startsWith("import") && fullMatch.length() > 6) {
+                deferred = fullMatch.substring(6).stripLeading().startsWith("defer");
+            }
+            staticImports.add(new JSCompiledModule.StaticImport(matcher.group(1), deferred));
+        }
+        return staticImports;
+    }
+
     public void scheduleClassFieldEvalCall() {
         pendingClassFieldEval = true;
     }
@@ -5315,6 +5572,49 @@ public final class JSContext implements AutoCloseable {
         return result;
     }
 
+    /**
+     * Serialize a value like JSON.stringify, writing UTF-8 text to the stream in bounded chunks.
+     * The stream is flushed but not closed.
+     *
+     * @return false if the value serializes to undefined and nothing was written
+     * @throws IOException if writing fails
+     * @throws JSException if serialization throws
+     */
+    public boolean stringifyJSON(JSValue value, OutputStream outputStream) throws IOException {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        boolean written = stringifyJSON(value, JSUndefined.INSTANCE, JSUndefined.INSTANCE, writer);
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Serialize a value like JSON.stringify(value, replacer, space), writing the text to the writer
+     * in bounded chunks instead of building one String. The writer is neither flushed nor closed.
+     * If serialization throws, part of the text may already have been written.
+     *
+     * @return false if the value serializes to undefined and nothing was written
+     * @throws IOException if writing fails
+     * @throws JSException if serialization throws
+     */
+    public boolean stringifyJSON(JSValue value, JSValue replacer, JSValue space, Writer writer) throws IOException {
+        boolean written = jsGlobalObject.getJSONObject().stringify(new JSValue[]{value, replacer, space}, writer);
+        if (hasPendingException()) {
+            JSValue error = getPendingException();
+            clearPendingException();
+            throw new JSException(error);
+        }
+        return written;
+    }
+
+    /**
+     * Serialize a value like JSON.stringify, writing the text to the writer in bounded chunks.
+     *
+     * @see #stringifyJSON(JSValue, JSValue, JSValue, Writer)
+     */
+    public boolean stringifyJSON(JSValue value, Writer writer) throws IOException {
+        return stringifyJSON(value, JSUndefined.INSTANCE, JSUndefined.INSTANCE, writer);
+    }
+
     private String stripQuotedSpecifier(String text) {
         String specifierText = text.trim();
         if (specifierText.length() < 2) {
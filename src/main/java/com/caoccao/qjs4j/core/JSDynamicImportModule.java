@@ -33,6 +33,7 @@ final class JSDynamicImportModule {
     private final String resolvedSpecifier;
     private int asyncEvaluationOrder;
     private JSPromise asyncEvaluationPromise;
+    private JSCompiledModule compiledModule;
     private JSDynamicImportModule cycleRoot;
     private JSObject deferredNamespace;
     private boolean deferredPreload;
@@ -60,6 +61,7 @@ final class JSDynamicImportModule {
         this.resolvedSpecifier = resolvedSpecifier;
         this.status = Status.LOADING;
         this.asyncEvaluationPromise = null;
+        this.compiledModule = null;
         this.cycleRoot = null;
         this.deferredNamespace = null;
         this.deferredPreload = false;
@@ -84,6 +86,10 @@ final class JSDynamicImportModule {
         return asyncEvaluationPromise;
     }
 
+    JSCompiledModule compiledModule() {
+        return compiledModule;
+    }
+
     JSDynamicImportModule cycleRoot() {
         return cycleRoot;
     }
@@ -168,6 +174,10 @@ final class JSDynamicImportModule {
         this.asyncEvaluationPromise = promise;
     }
 
+    void setCompiledModule(JSCompiledModule compiledModule) {
+        this.compiledModule = compiledModule;
+    }
+
     void setCycleRoot(JSDynamicImportModule cycleRoot) {
         this.cycleRoot = cycleRoot;
     }
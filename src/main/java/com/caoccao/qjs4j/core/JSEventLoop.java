@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.exceptions.JSException;
+import com.caoccao.qjs4j.exceptions.JSVirtualMachineException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional host event loop for a context: a timer heap behind setTimeout/setInterval,
+ * host-completable async tasks and an inbox for work submitted from other threads.
+ * <p>
+ * The loop runs macrotasks one at a time and drains the job and microtask queues after each.
+ * {@link #run()} returns once no timers, host tasks or submitted work remain, and parks the
+ * calling thread while it waits, so embedders no longer poll {@link JSRuntime#hasPendingJobs()}.
+ * {@link #start(Executor)} runs the same loop on an executor, e.g. a virtual thread per task executor.
+ * <p>
+ * Only the loop thread may touch the context. {@link #execute(Runnable)} and {@link HostTask}
+ * are the thread-safe entry points.
+ */
+public final class JSEventLoop implements Executor {
+    private final Map<Integer, Timer> activeTimers;
+    private final JSContext context;
+    private final Queue<Runnable> inbox;
+    private final AtomicBoolean running;
+    private final PriorityQueue<Timer> timerHeap;
+    private final Condition wakeCondition;
+    private final ReentrantLock wakeLock;
+    private long lastLagNanos;
+    private long maxLagNanos;
+    private int nextTimerId;
+    private int pendingHostTasks;
+    private volatile boolean stopRequested;
+    private long taskCount;
+    private long timerSequence;
+    private long timersFired;
+
+    /**
+     * Create an event loop for the given context.
+     * Call {@link #install()} to expose the timer functions to scripts.
+     */
+    public JSEventLoop(JSContext context) {
+        this.context = context;
+        activeTimers = new HashMap<>();
+        inbox = new ConcurrentLinkedQueue<>();
+        running = new AtomicBoolean(false);
+        timerHeap = new PriorityQueue<>();
+        wakeLock = new ReentrantLock();
+        wakeCondition = wakeLock.newCondition();
+        nextTimerId = 1;
+    }
+
+    private static long toDelayNanos(JSContext context, JSValue[] args, int index) {
+        if (args.length <= index) {
+            return 0L;
+        }
+        int delayMillis = JSTypeConversions.toInt32(context, args[index]);
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+    }
+
+    private JSValue clearTimer(JSContext context, JSValue thisArg, JSValue[] args) {
+        if (args.length > 0 && args[0] instanceof JSNumber id && id.value() == (int) id.value()) {
+            Timer timer = activeTimers.remove((int) id.value());
+            if (timer != null) {
+                timer.cancelled = true;
+            }
+        }
+        return JSUndefined.INSTANCE;
+    }
+
+    /**
+     * Create a promise that a host thread settles later through the returned task.
+     * The loop stays alive until the task is resolved or rejected.
+     * Must be called on the loop thread, typically from a native function.
+     */
+    public HostTask createHostTask() {
+        pendingHostTasks++;
+        return new HostTask(context.createJSPromise());
+    }
+
+    private void drainJobs() {
+        JSRuntime runtime = context.getRuntime();
+        do {
+            context.processMicrotasks();
+        } while (runtime.hasPendingJobs());
+    }
+
+    /**
+     * Run a task on the loop thread. Safe to call from any thread.
+     */
+    @Override
+    public void execute(Runnable task) {
+        inbox.offer(task);
+        wakeUp();
+    }
+
+    private void fireTimer(Timer timer, long now) {
+        lastLagNanos = now - timer.deadline;
+        maxLagNanos = Math.max(maxLagNanos, lastLagNanos);
+        timersFired++;
+        if (timer.intervalNanos >= 0) {
+            // Reschedule first so that clearInterval() inside the callback cancels the next run
+            timer.deadline = Math.max(timer.deadline + timer.intervalNanos, now);
+            timer.sequence = timerSequence++;
+            timerHeap.offer(timer);
+        } else {
+            activeTimers.remove(timer.id);
+        }
+        invoke(timer.callback, timer.args);
+    }
+
+    /**
+     * Get a snapshot of the loop metrics. Call it on the loop thread or after the loop finished.
+     */
+    public Metrics getMetrics() {
+        return new Metrics(taskCount, timersFired, lastLagNanos, maxLagNanos);
+    }
+
+    /**
+     * Check if timers, host tasks or submitted work keep the loop alive.
+     */
+    public boolean hasPendingWork() {
+        return !activeTimers.isEmpty() || pendingHostTasks > 0 || !inbox.isEmpty();
+    }
+
+    /**
+     * Define setTimeout, setInterval, clearTimeout and clearInterval on the global object.
+     *
+     * @return this event loop
+     */
+    public JSEventLoop install() {
+        JSObject globalObject = context.getGlobalObject();
+        globalObject.defineProperty(PropertyKey.fromString("clearInterval"),
+                new JSNativeFunction(context, "clearInterval", 1, this::clearTimer), PropertyDescriptor.DataState.ConfigurableWritable);
+        globalObject.defineProperty(PropertyKey.fromString("clearTimeout"),
+                new JSNativeFunction(context, "clearTimeout", 1, this::clearTimer), PropertyDescriptor.DataState.ConfigurableWritable);
+        globalObject.defineProperty(PropertyKey.fromString("setInterval"),
+                new JSNativeFunction(context, "setInterval", 2, this::setInterval), PropertyDescriptor.DataState.ConfigurableWritable);
+        globalObject.defineProperty(PropertyKey.fromString("setTimeout"),
+                new JSNativeFunction(context, "setTimeout", 2, this::setTimeout), PropertyDescriptor.DataState.ConfigurableWritable);
+        return this;
+    }
+
+    private void invoke(JSFunction callback, JSValue[] args) {
+        try {
+            callback.call(context, JSUndefined.INSTANCE, args);
+        } catch (JSVirtualMachineException e) {
+            JSValue error = e.getJsValue();
+            if (error == null) {
+                error = context.hasPendingException() ? context.getPendingException() : context.throwError(e.getMessage());
+            }
+            context.clearPendingException();
+            throw new JSException(error);
+        }
+        if (context.hasPendingException()) {
+            JSValue error = context.getPendingException();
+            context.clearPendingException();
+            throw new JSException(error);
+        }
+    }
+
+    /**
+     * Run the loop on the calling thread until no work remains or {@link #stop()} is called.
+     *
+     * @throws JSException           if a timer callback or submitted task throws; the loop can be resumed
+     * @throws IllegalStateException if the loop is already running
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Event loop is already running");
+        }
+        stopRequested = false;
+        try {
+            drainJobs();
+            while (!stopRequested) {
+                Runnable task = inbox.poll();
+                if (task != null) {
+                    taskCount++;
+                    task.run();
+                    drainJobs();
+                    continue;
+                }
+                Timer timer = timerHeap.peek();
+                if (timer != null && timer.cancelled) {
+                    timerHeap.poll();
+                    continue;
+                }
+                long now = System.nanoTime();
+                if (timer != null && timer.deadline - now <= 0) {
+                    timerHeap.poll();
+                    taskCount++;
+                    fireTimer(timer, now);
+                    drainJobs();
+                    continue;
+                }
+                if (!hasPendingWork()) {
+                    break;
+                }
+                waitForWork(timer == null ? -1L : timer.deadline - now);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private JSValue schedule(JSContext context, JSValue[] args, boolean repeat) {
+        if (args.length == 0 || !(args[0] instanceof JSFunction callback)) {
+            return context.throwTypeError("The \"callback\" argument must be a function");
+        }
+        long delayNanos = toDelayNanos(context, args, 1);
+        if (context.hasPendingException()) {
+            return context.getPendingException();
+        }
+        JSValue[] callbackArgs = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : JSValue.NO_ARGS;
+        int id = nextTimerId++;
+        if (nextTimerId <= 0) {
+            nextTimerId = 1;
+        }
+        Timer timer = new Timer(id, callback, callbackArgs, repeat ? delayNanos : -1L);
+        timer.deadline = System.nanoTime() + delayNanos;
+        timer.sequence = timerSequence++;
+        activeTimers.put(id, timer);
+        timerHeap.offer(timer);
+        return JSNumber.of(id);
+    }
+
+    private JSValue setInterval(JSContext context, JSValue thisArg, JSValue[] args) {
+        return schedule(context, args, true);
+    }
+
+    private JSValue setTimeout(JSContext context, JSValue thisArg, JSValue[] args) {
+        return schedule(context, args, false);
+    }
+
+    /**
+     * Run the loop on the given executor.
+     *
+     * @return a future completed when the loop finishes, or completed exceptionally if it fails
+     */
+    public CompletableFuture<Void> start(Executor executor) {
+        return CompletableFuture.runAsync(this::run, executor);
+    }
+
+    /**
+     * Ask the loop to return after the current task. Safe to call from any thread.
+     */
+    public void stop() {
+        stopRequested = true;
+        wakeUp();
+    }
+
+    private void waitForWork(long timeoutNanos) {
+        wakeLock.lock();
+        try {
+            if (!inbox.isEmpty() || stopRequested) {
+                return;
+            }
+            if (timeoutNanos < 0) {
+                wakeCondition.await();
+            } else {
+                wakeCondition.awaitNanos(timeoutNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stopRequested = true;
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    private void wakeUp() {
+        wakeLock.lock();
+        try {
+            wakeCondition.signalAll();
+        } finally {
+            wakeLock.unlock();
+        }
+    }
+
+    /**
+     * Loop metrics. Lag is how late a timer fired relative to its deadline.
+     *
+     * @param taskCount    macrotasks run, timers and submitted tasks together
+     * @param timersFired  timer callbacks run
+     * @param lastLagNanos lag of the most recent timer
+     * @param maxLagNanos  largest timer lag observed
+     */
+    public record Metrics(long taskCount, long timersFired, long lastLagNanos, long maxLagNanos) {
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+        private final JSValue[] args;
+        private final JSFunction callback;
+        private final int id;
+        private final long intervalNanos;
+        private boolean cancelled;
+        private long deadline;
+        private long sequence;
+
+        private Timer(int id, JSFunction callback, JSValue[] args, long intervalNanos) {
+            this.id = id;
+            this.callback = callback;
+            this.args = args;
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int result = Long.compare(deadline - other.deadline, 0L);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * A promise settled by the host. {@link #resolve(JSValue)} and {@link #reject(JSValue)}
+     * may be called from any thread; the promise settles on the loop thread.
+     */
+    public final class HostTask {
+        private final AtomicBoolean completed;
+        private final JSPromise promise;
+
+        private HostTask(JSPromise promise) {
+            this.promise = promise;
+            completed = new AtomicBoolean(false);
+        }
+
+        private void complete(boolean fulfilled, JSValue value) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            execute(() -> {
+                pendingHostTasks--;
+                if (fulfilled) {
+                    promise.resolve(context, value);
+                } else {
+                    promise.reject(value);
+                }
+            });
+        }
+
+        public JSPromise getPromise() {
+            return promise;
+        }
+
+        /**
+         * Reject the promise. Later completions are ignored.
+         */
+        public void reject(JSValue reason) {
+            complete(false, reason);
+        }
+
+        /**
+         * Resolve the promise. Later completions are ignored.
+         */
+        public void resolve(JSValue value) {
+            complete(true, value);
+        }
+    }
+}
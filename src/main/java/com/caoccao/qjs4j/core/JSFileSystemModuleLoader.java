@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Module loader that resolves specifiers as file system paths.
+ * Relative specifiers are resolved against the referrer's directory.
+ * This is the default loader of a {@link JSRuntime}.
+ */
+public final class JSFileSystemModuleLoader implements IJSModuleLoader {
+    public static final JSFileSystemModuleLoader INSTANCE = new JSFileSystemModuleLoader();
+
+    private JSFileSystemModuleLoader() {
+    }
+
+    @Override
+    public byte[] fetch(String resolvedSpecifier) throws IOException {
+        return Files.readAllBytes(Path.of(resolvedSpecifier));
+    }
+
+    @Override
+    public String fetchSource(String resolvedSpecifier) throws IOException {
+        return Files.readString(Path.of(resolvedSpecifier));
+    }
+
+    @Override
+    public String resolve(String specifier, String referrer) {
+        Path resolvedPath;
+        try {
+            resolvedPath = Paths.get(specifier);
+            if (!resolvedPath.isAbsolute()
+                    && referrer != null
+                    && !referrer.isEmpty()
+                    && !referrer.startsWith("<")) {
+                Path parentPath = Paths.get(referrer).getParent();
+                if (parentPath != null) {
+                    resolvedPath = parentPath.resolve(resolvedPath);
+                }
+            }
+        } catch (InvalidPathException invalidPathException) {
+            return null;
+        }
+        resolvedPath = resolvedPath.normalize();
+        if (!Files.exists(resolvedPath)) {
+            return null;
+        }
+        return resolvedPath.toString();
+    }
+}
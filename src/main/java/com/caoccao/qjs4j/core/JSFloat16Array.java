@@ -18,8 +18,6 @@ package com.caoccao.qjs4j.core;
 
 import com.caoccao.qjs4j.utils.Float16;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Float16Array.
  * 16-bit half-precision floating point array.
@@ -103,9 +101,13 @@ public final class JSFloat16Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        short halfFloat = buf.getShort(index * BYTES_PER_ELEMENT);
-        return Float16.toFloat(halfFloat);
+        return Float16.toFloat((short) SHORT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index)));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (short) SHORT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
@@ -131,9 +133,13 @@ public final class JSFloat16Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        short halfFloat = Float16.toHalf(value);
-        buf.putShort(index * BYTES_PER_ELEMENT, halfFloat);
+        SHORT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), Float16.toHalf(value));
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        SHORT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (short) bits);
     }
 
     @Override
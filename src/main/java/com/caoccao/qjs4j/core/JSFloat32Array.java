@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Float32Array.
  * 32-bit floating point array.
@@ -101,8 +99,13 @@ public final class JSFloat32Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.getFloat(index * BYTES_PER_ELEMENT);
+        return (float) FLOAT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (int) INT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
@@ -128,8 +131,13 @@ public final class JSFloat32Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.putFloat(index * BYTES_PER_ELEMENT, (float) value);
+        FLOAT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (float) value);
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        INT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (int) bits);
     }
 
     @Override
@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Float64Array.
  * 64-bit floating point array.
@@ -101,8 +99,13 @@ public final class JSFloat64Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.getDouble(index * BYTES_PER_ELEMENT);
+        return (double) DOUBLE_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (long) LONG_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
@@ -128,8 +131,13 @@ public final class JSFloat64Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.putDouble(index * BYTES_PER_ELEMENT, value);
+        DOUBLE_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), value);
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        LONG_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), bits);
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.caoccao.qjs4j.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,75 +25,159 @@ import java.util.Set;
 /**
  * Enumerator for for-in loops.
  * Iterates over enumerable properties of an object.
+ * <p>
+ * The dense elements of an array are enumerated lazily by index, so no key strings are created
+ * before the first iteration. Objects whose properties all live in the shape supply their keys
+ * from the shape cache, and the keys are only deduplicated when more than one object
+ * of the prototype chain has enumerable keys.
  */
 public class JSForInEnumerator {
-    private final List<String> keys;
+    private static final PropertyKey[] NO_KEYS = new PropertyKey[0];
+    private final int indexCount;
+    private final JSArray indexedArray;
+    private final PropertyKey[] keys;
     private final JSObject rootObject;
+    // Index keys below indexCount that come from the prototype chain because the root array had a hole
+    private Set<Long> deferredIndexKeys;
     private int index;
+    private int keyIndex;
 
     public JSForInEnumerator(JSValue obj) {
-        this.keys = new ArrayList<>();
-        this.index = 0;
         this.rootObject = obj instanceof JSObject jsObject ? jsObject : null;
+        int denseLength = rootObject instanceof JSArray jsArray ? jsArray.getDenseEnumerationLength() : -1;
+        this.indexedArray = denseLength >= 0 ? (JSArray) rootObject : null;
+        this.indexCount = Math.max(denseLength, 0);
+        this.index = 0;
+        this.keyIndex = 0;
 
         // Collect all enumerable property keys
-        if (rootObject != null) {
-            collectKeys(rootObject, new HashSet<>(), new HashSet<>());
+        this.keys = rootObject != null ? collectKeys() : NO_KEYS;
+    }
+
+    private static boolean isCurrentlyEnumerable(JSObject obj, PropertyKey key) {
+        JSObject currentObject = obj;
+        while (currentObject != null) {
+            if (currentObject.hasShapeOnlyOwnKeys()) {
+                int offset = currentObject.getOwnPropertyOffset(key);
+                if (offset >= 0) {
+                    return (currentObject.shape.getPropertyFlagsAt(offset) & JSShape.PROP_ENUMERABLE) != 0;
+                }
+            } else {
+                PropertyDescriptor descriptor = currentObject.getOwnPropertyDescriptor(key);
+                if (descriptor != null) {
+                    return descriptor.isEnumerable();
+                }
+            }
+            currentObject = currentObject.getPrototype();
+        }
+        return false;
+    }
+
+    private PropertyKey[] collectKeys() {
+        List<OwnKeys> chainOwnKeys = new ArrayList<>();
+        int lastEnumerableObjectIndex = -1;
+        Set<JSObject> visitedObjects = new HashSet<>();
+        JSObject currentObject = rootObject;
+        while (currentObject != null && visitedObjects.add(currentObject)) {
+            OwnKeys ownKeys = getOwnKeys(currentObject);
+            if (ownKeys.enumerableKeys().length > 0) {
+                lastEnumerableObjectIndex = chainOwnKeys.size();
+            }
+            chainOwnKeys.add(ownKeys);
+            // Walk up the prototype chain
+            currentObject = currentObject.getPrototype();
+        }
+        if (lastEnumerableObjectIndex < 0) {
+            return NO_KEYS;
+        }
+        if (lastEnumerableObjectIndex == 0) {
+            // Only the root object has enumerable keys, so none of them can be shadowed
+            return chainOwnKeys.get(0).enumerableKeys();
+        }
+        List<PropertyKey> enumerableKeys = new ArrayList<>();
+        Set<String> seenPropertyNames = new HashSet<>();
+        for (int objectIndex = 0; objectIndex <= lastEnumerableObjectIndex; objectIndex++) {
+            OwnKeys ownKeys = chainOwnKeys.get(objectIndex);
+            for (int position = 0; position < ownKeys.keys().length; position++) {
+                PropertyKey key = ownKeys.keys()[position];
+                if (objectIndex > 0 && indexCount > 0) {
+                    long arrayIndex = key.toArrayIndex();
+                    if (arrayIndex >= 0 && arrayIndex < indexCount) {
+                        if (indexedArray.hasDenseElement((int) arrayIndex)) {
+                            // Shadowed by an own element of the root array
+                            continue;
+                        }
+                        if (deferredIndexKeys == null) {
+                            deferredIndexKeys = new HashSet<>();
+                        }
+                        deferredIndexKeys.add(arrayIndex);
+                    }
+                }
+                if (seenPropertyNames.add(key.toPropertyString()) && ownKeys.enumerable()[position]) {
+                    enumerableKeys.add(key);
+                }
+            }
         }
+        return enumerableKeys.toArray(NO_KEYS);
     }
 
-    private void collectKeys(JSObject obj, Set<JSObject> visitedObjects, Set<String> seenPropertyNames) {
-        if (!visitedObjects.add(obj)) {
-            return;
+    private OwnKeys getOwnKeys(JSObject obj) {
+        // The array index keys of the root array are enumerated lazily, its shape holds the other keys
+        JSShape.StringKeys stringKeys = obj == indexedArray ? obj.shape.getStringKeys() : obj.getShapeStringKeys();
+        if (stringKeys != null) {
+            return new OwnKeys(stringKeys.keys(), stringKeys.enumerable(), stringKeys.enumerableKeys());
         }
 
         // EnumerateObjectProperties uses [[OwnPropertyKeys]] and then [[GetOwnProperty]].
         // getOwnPropertyKeys() is the object-internal implementation point for exotics.
-        List<PropertyKey> ownKeys = obj.getOwnPropertyKeys();
-        for (PropertyKey key : ownKeys) {
+        List<PropertyKey> propertyKeys = obj.getOwnPropertyKeys();
+        PropertyKey[] ownKeys = new PropertyKey[propertyKeys.size()];
+        boolean[] enumerable = new boolean[ownKeys.length];
+        List<PropertyKey> enumerableKeys = new ArrayList<>();
+        int keyCount = 0;
+        for (PropertyKey key : propertyKeys) {
             // For-in includes string keys (array index keys are emitted as strings), but not symbols.
             if (key.isSymbol()) {
                 continue;
             }
             PropertyDescriptor descriptor = obj.getOwnPropertyDescriptor(key);
-            String propertyName = key.toPropertyString();
-            if (!seenPropertyNames.add(propertyName)) {
-                continue;
-            }
+            ownKeys[keyCount] = key;
             if (descriptor != null && descriptor.isEnumerable()) {
-                keys.add(propertyName);
+                enumerable[keyCount] = true;
+                enumerableKeys.add(key);
             }
+            keyCount++;
         }
-
-        // Walk up the prototype chain
-        JSObject prototype = obj.getPrototype();
-        if (prototype != null) {
-            collectKeys(prototype, visitedObjects, seenPropertyNames);
-        }
-    }
-
-    private boolean isCurrentlyEnumerable(JSObject obj, PropertyKey key) {
-        JSObject currentObject = obj;
-        while (currentObject != null) {
-            PropertyDescriptor descriptor = currentObject.getOwnPropertyDescriptor(key);
-            if (descriptor != null) {
-                return descriptor.isEnumerable();
-            }
-            currentObject = currentObject.getPrototype();
-        }
-        return false;
+        return new OwnKeys(
+                Arrays.copyOf(ownKeys, keyCount),
+                Arrays.copyOf(enumerable, keyCount),
+                enumerableKeys.toArray(NO_KEYS));
     }
 
     /**
      * Get the next property key, or null if iteration is complete.
      */
     public JSValue next() {
-        while (index < keys.size()) {
-            String key = keys.get(index++);
-            if (rootObject == null || isCurrentlyEnumerable(rootObject, PropertyKey.fromString(key))) {
-                return new JSString(key);
+        while (index < indexCount) {
+            int elementIndex = index++;
+            if (indexedArray.hasDenseElement(elementIndex)) {
+                return new JSString(Integer.toString(elementIndex));
+            }
+            // An element deleted during the loop may still be inherited, unless the inherited key comes later
+            if ((deferredIndexKeys == null || !deferredIndexKeys.contains((long) elementIndex))
+                    && isCurrentlyEnumerable(indexedArray, PropertyKey.fromIndex(elementIndex))) {
+                return new JSString(Integer.toString(elementIndex));
+            }
+        }
+        while (keyIndex < keys.length) {
+            PropertyKey key = keys[keyIndex++];
+            if (isCurrentlyEnumerable(rootObject, key)) {
+                return new JSString(key.toPropertyString());
             }
         }
         return JSUndefined.INSTANCE;
     }
+
+    private record OwnKeys(PropertyKey[] keys, boolean[] enumerable, PropertyKey[] enumerableKeys) {
+    }
 }
@@ -166,6 +166,9 @@ public final class JSGeneratorState {
     }
 
     public void saveSuspendedExecutionState(StackFrame frame, int programCounter, JSStackValue[] stackValues) {
+        if (frame != null) {
+            frame.markEscaped();
+        }
         this.suspendedFrame = frame;
         this.suspendedProgramCounter = programCounter;
         this.suspendedStackValues = stackValues;
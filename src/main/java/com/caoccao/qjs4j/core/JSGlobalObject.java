@@ -66,16 +66,32 @@ public final class JSGlobalObject {
 
     private final JSConsole console;
     private final JSContext context;
-    private final JSObject globalObject;
+    private final JSGlobalThis globalObject;
     private final JSONObject jsonObject;
 
     public JSGlobalObject(JSContext context) {
         this.context = context;
         this.console = new JSConsole();
-        this.globalObject = new JSObject(context);
+        this.globalObject = new JSGlobalThis(context);
         this.jsonObject = new JSONObject(context);
     }
 
+    /**
+     * Register intrinsics that are materialized on first access instead of during {@link #initialize()}.
+     * Once materialized, the new built-in functions get their prototype chains like the eager ones.
+     * Their walk starts from Object.prototype as visited, because the eager walk already covered it.
+     */
+    private void defineLazyGlobals(Runnable initializer, String... names) {
+        globalObject.defineLazyProperties(() -> {
+            initializer.run();
+            Set<JSObject> visitedObjectSet = new HashSet<>();
+            visitedObjectSet.add(context.getObjectPrototype());
+            for (String name : names) {
+                initializeFunctionPrototypeChainsForValue(globalObject.get(name), visitedObjectSet);
+            }
+        }, names);
+    }
+
     private void defineTemporalGetter(JSObject prototype, String name, JSNativeCallback getter) {
         JSNativeFunction getterFunc = new JSNativeFunction(context, "get " + name, 0, getter);
         prototype.defineProperty(
@@ -87,7 +103,7 @@ public final class JSGlobalObject {
         return console;
     }
 
-    public JSObject getGlobalObject() {
+    public JSGlobalThis getGlobalObject() {
         return globalObject;
     }
 
@@ -117,32 +133,36 @@ public final class JSGlobalObject {
         initializeSetConstructor();
         initializeWeakMapConstructor();
         initializeWeakSetConstructor();
-        initializeWeakRefConstructor();
-        initializeFinalizationRegistryConstructor();
+        defineLazyGlobals(this::initializeWeakRefConstructor, JSWeakRef.NAME);
+        defineLazyGlobals(this::initializeFinalizationRegistryConstructor, JSFinalizationRegistry.NAME);
         initializeMathObject();
         initializeJSONObject();
-        initializeIntlObject();
+        defineLazyGlobals(this::initializeIntlObject, "Intl");
         if (context.getRuntime().getOptions().isTemporalEnabled()) {
-            initializeTemporalObject();
+            defineLazyGlobals(this::initializeTemporalObject, "Temporal");
         }
         initializeReflectObject();
         initializeProxyConstructor();
         initializePromiseConstructor();
         if (context.getRuntime().getOptions().isShadowRealmEnabled()) {
-            initializeShadowRealmConstructor();
+            defineLazyGlobals(this::initializeShadowRealmConstructor, JSShadowRealm.NAME);
         }
-        initializeDisposableStackConstructor();
-        initializeAsyncDisposableStackConstructor();
+        defineLazyGlobals(this::initializeDisposableStackConstructor, JSDisposableStack.NAME);
+        defineLazyGlobals(this::initializeAsyncDisposableStackConstructor, JSAsyncDisposableStack.NAME);
         initializeIteratorConstructor();
         initializeGeneratorPrototype();
         initializeAsyncGeneratorPrototype();
 
         // Binary data constructors
         initializeArrayBufferConstructor();
-        initializeSharedArrayBufferConstructor();
-        initializeDataViewConstructor();
-        initializeTypedArrayConstructors();
-        initializeAtomicsObject();
+        defineLazyGlobals(this::initializeSharedArrayBufferConstructor, JSSharedArrayBuffer.NAME);
+        defineLazyGlobals(this::initializeDataViewConstructor, JSDataView.NAME);
+        defineLazyGlobals(this::initializeTypedArrayConstructors,
+                JSInt8Array.NAME, JSUint8Array.NAME, JSUint8ClampedArray.NAME,
+                JSInt16Array.NAME, JSUint16Array.NAME, JSInt32Array.NAME, JSUint32Array.NAME,
+                JSFloat16Array.NAME, JSFloat32Array.NAME, JSFloat64Array.NAME,
+                JSBigInt64Array.NAME, JSBigUint64Array.NAME);
+        defineLazyGlobals(this::initializeAtomicsObject, "Atomics");
 
         // Error constructors
         initializeErrorConstructors();
@@ -762,6 +782,10 @@ public final class JSGlobalObject {
 
         List<PropertyKey> keys = obj.getOwnPropertyKeys();
         for (PropertyKey key : keys) {
+            if (obj == globalObject && globalObject.isLazyProperty(key)) {
+                // Lazy intrinsics are walked when they are materialized
+                continue;
+            }
             PropertyDescriptor descriptor = obj.getOwnPropertyDescriptor(key);
             if (descriptor == null) {
                 continue;
@@ -3080,6 +3104,10 @@ public final class JSGlobalObject {
             // Scope overlay: capture enclosing function's local variables onto the global
             // object so that eval code's GET_VAR/PUT_VAR can access them.
             StackFrame callerFrame = callerContext.getVirtualMachine().getCurrentFrame();
+            if (callerFrame != null) {
+                // Eval overlays read and write the caller's locals; keep the frame out of the pool.
+                callerFrame.markEscaped();
+            }
             boolean hasSameRealmCallerFrame = isSameRealm && callerFrame != null;
             // Eval is "inside a function" only if same-realm and the callerFrame is NOT the top-level program.
             boolean isEvalInFunction = shouldUseCallerFrameSemantics
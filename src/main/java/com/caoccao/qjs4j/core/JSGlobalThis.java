@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The globalThis object of a context.
+ * <p>
+ * Rarely used intrinsics (Intl, Temporal, typed arrays, ...) are registered as lazy properties:
+ * a non-enumerable placeholder holding undefined keeps the global key order, and the first
+ * own-property lookup of any key of a group runs the group's initializer, which redefines
+ * the placeholders with the real values. Every own-slot access of {@link JSObject} goes through
+ * {@link #getOwnPropertyOffset(PropertyKey)} or {@link #getOwnShapeKey(PropertyKey)},
+ * so scripts and internal lookups through the global object never observe a placeholder.
+ */
+public final class JSGlobalThis extends JSObject {
+    private Map<PropertyKey, Runnable> lazyInitializers;
+
+    public JSGlobalThis(JSContext context) {
+        super(context);
+    }
+
+    /**
+     * Register a group of lazy properties sharing one initializer.
+     * The initializer must define all the given keys on this object.
+     *
+     * @param initializer the initializer
+     * @param names       the property names
+     */
+    public void defineLazyProperties(Runnable initializer, String... names) {
+        if (lazyInitializers == null) {
+            lazyInitializers = new HashMap<>();
+        }
+        for (String name : names) {
+            PropertyKey key = PropertyKey.fromString(name);
+            defineProperty(key, JSUndefined.INSTANCE, PropertyDescriptor.DataState.ConfigurableWritable);
+            lazyInitializers.put(key, initializer);
+        }
+    }
+
+    @Override
+    public void freeze() {
+        materializeAll();
+        super.freeze();
+    }
+
+    @Override
+    protected int getOwnPropertyOffset(PropertyKey key) {
+        int offset = super.getOwnPropertyOffset(key);
+        if (offset >= 0 && lazyInitializers != null && propertyValues[offset] == JSUndefined.INSTANCE
+                && materialize(key)) {
+            offset = super.getOwnPropertyOffset(key);
+        }
+        return offset;
+    }
+
+    @Override
+    protected PropertyKey getOwnShapeKey(PropertyKey key) {
+        if (lazyInitializers != null) {
+            materialize(key);
+        }
+        return super.getOwnShapeKey(key);
+    }
+
+    /**
+     * Check if any lazy property has not been materialized yet.
+     */
+    public boolean hasLazyProperties() {
+        return lazyInitializers != null;
+    }
+
+    /**
+     * Check if a key is a lazy property that has not been materialized yet.
+     */
+    public boolean isLazyProperty(PropertyKey key) {
+        return lazyInitializers != null && lazyInitializers.containsKey(key);
+    }
+
+    private boolean materialize(PropertyKey key) {
+        Runnable initializer = lazyInitializers.get(key);
+        if (initializer == null) {
+            return false;
+        }
+        // Unregister the whole group first so that the initializer's own lookups see the placeholders
+        lazyInitializers.values().removeIf(registeredInitializer -> registeredInitializer == initializer);
+        if (lazyInitializers.isEmpty()) {
+            lazyInitializers = null;
+        }
+        initializer.run();
+        return true;
+    }
+
+    /**
+     * Materialize all lazy properties, e.g. before the object stops accepting redefinitions.
+     */
+    public void materializeAll() {
+        while (lazyInitializers != null) {
+            materialize(lazyInitializers.keySet().iterator().next());
+        }
+    }
+
+    @Override
+    public void preventExtensions() {
+        materializeAll();
+        super.preventExtensions();
+    }
+
+    @Override
+    public void seal() {
+        materializeAll();
+        super.seal();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Module loader backed by an in-memory map from virtual paths to module sources.
+ * <p>
+ * Modules are registered under absolute virtual paths such as {@code /app/main.js};
+ * relative specifiers are resolved against the referrer's virtual directory.
+ */
+public final class JSInMemoryModuleLoader implements IJSModuleLoader {
+    private final Map<String, byte[]> modules;
+
+    public JSInMemoryModuleLoader() {
+        modules = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register or replace a module's raw bytes.
+     *
+     * @param path  the module path, normalized to an absolute virtual path
+     * @param bytes the module bytes
+     * @return self
+     */
+    public JSInMemoryModuleLoader addModule(String path, byte[] bytes) {
+        modules.put(IJSModuleLoader.resolveVirtualPath(path, null), bytes.clone());
+        return this;
+    }
+
+    /**
+     * Register or replace a module's source text.
+     *
+     * @param path       the module path, normalized to an absolute virtual path
+     * @param sourceCode the module source
+     * @return self
+     */
+    public JSInMemoryModuleLoader addModule(String path, String sourceCode) {
+        modules.put(IJSModuleLoader.resolveVirtualPath(path, null), sourceCode.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    @Override
+    public byte[] fetch(String resolvedSpecifier) throws IOException {
+        byte[] bytes = modules.get(resolvedSpecifier);
+        if (bytes == null) {
+            throw new IOException("Cannot find module '" + resolvedSpecifier + "'");
+        }
+        return bytes.clone();
+    }
+
+    @Override
+    public String fetchSource(String resolvedSpecifier) throws IOException {
+        byte[] bytes = modules.get(resolvedSpecifier);
+        if (bytes == null) {
+            throw new IOException("Cannot find module '" + resolvedSpecifier + "'");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public boolean removeModule(String path) {
+        return modules.remove(IJSModuleLoader.resolveVirtualPath(path, null)) != null;
+    }
+
+    @Override
+    public String resolve(String specifier, String referrer) {
+        String resolvedSpecifier = IJSModuleLoader.resolveVirtualPath(specifier, referrer);
+        return modules.containsKey(resolvedSpecifier) ? resolvedSpecifier : null;
+    }
+}
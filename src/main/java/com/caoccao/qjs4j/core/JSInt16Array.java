@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Int16Array.
  * 16-bit signed integer array.
@@ -101,8 +99,13 @@ public final class JSInt16Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.getShort(index * BYTES_PER_ELEMENT);
+        return (short) SHORT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (short) SHORT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
@@ -128,8 +131,13 @@ public final class JSInt16Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.putShort(index * BYTES_PER_ELEMENT, (short) JSTypeConversions.toInt32(value));
+        SHORT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (short) JSTypeConversions.toInt32(value));
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        SHORT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (short) bits);
     }
 
     @Override
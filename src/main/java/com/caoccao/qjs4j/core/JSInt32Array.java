@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Int32Array.
  * 32-bit signed integer array.
@@ -101,8 +99,13 @@ public final class JSInt32Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.getInt(index * BYTES_PER_ELEMENT);
+        return (int) INT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return (int) INT_HANDLE.get(getBackingBuffer(), getElementByteOffset(index));
     }
 
     @Override
@@ -128,8 +131,13 @@ public final class JSInt32Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.putInt(index * BYTES_PER_ELEMENT, JSTypeConversions.toInt32(value));
+        INT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), JSTypeConversions.toInt32(value));
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        INT_HANDLE.set(getBackingBuffer(), getElementByteOffset(index), (int) bits);
     }
 
     @Override
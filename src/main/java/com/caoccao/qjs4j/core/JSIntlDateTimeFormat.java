@@ -26,8 +26,10 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Intl.DateTimeFormat instance object.
@@ -78,6 +80,8 @@ public final class JSIntlDateTimeFormat extends JSObject {
     private final String weekdayOption;
     private final String yearOption;
     private JSFunction boundFormatFunction;
+    // Field patterns are parsed once per instance, DateTimeFormatter is immutable
+    private Map<String, DateTimeFormatter> fieldFormatterCache;
 
     public JSIntlDateTimeFormat(JSContext context, Locale locale, FormatStyle dateStyle, FormatStyle timeStyle,
                                 String calendar, String numberingSystem, String timeZone,
@@ -800,7 +804,7 @@ public final class JSIntlDateTimeFormat extends JSObject {
             }
         }
         String pattern = String.valueOf(field).repeat(width);
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(pattern, locale).withZone(zoneId);
+        DateTimeFormatter dateTimeFormatter = getFieldFormatter(pattern).withZone(zoneId);
         if (chronology != null) {
             dateTimeFormatter = dateTimeFormatter.withChronology(chronology);
         }
@@ -810,7 +814,7 @@ public final class JSIntlDateTimeFormat extends JSObject {
             if (field == 'G' && eraOption != null) {
                 return resolveEraValue(dateTime.getYear());
             }
-            DateTimeFormatter isoFormatter = DateTimeFormatter.ofPattern(pattern, locale).withZone(zoneId);
+            DateTimeFormatter isoFormatter = getFieldFormatter(pattern).withZone(zoneId);
             return isoFormatter.format(dateTime);
         }
     }
@@ -857,6 +861,16 @@ public final class JSIntlDateTimeFormat extends JSObject {
         return eraOption;
     }
 
+    /**
+     * Get the formatter of a field pattern, cached per pattern.
+     */
+    private DateTimeFormatter getFieldFormatter(String pattern) {
+        if (fieldFormatterCache == null) {
+            fieldFormatterCache = new HashMap<>();
+        }
+        return fieldFormatterCache.computeIfAbsent(pattern, key -> DateTimeFormatter.ofPattern(key, locale));
+    }
+
     /**
      * Get the replacement pattern for a field character, or null if the field is not requested.
      */
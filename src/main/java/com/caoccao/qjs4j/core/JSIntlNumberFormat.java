@@ -134,6 +134,11 @@ public final class JSIntlNumberFormat extends JSObject {
     private final String useGroupingMode;
     private final boolean useSignificantDigits;
     private JSFunction boundFormatFunction;
+    // Formatters and symbols are built on first use and reused by later format calls
+    private DecimalFormatSymbols formatSymbols;
+    private NumberFormat groupingFormatter;
+    private NumberFormat localizedNumberFormat;
+    private NumberFormat nonGroupingFormatter;
 
     public JSIntlNumberFormat(JSContext context, Locale locale, String style, String currency) {
         this(context, locale, style, currency, "auto", 1, -1, -1, false, 0,
@@ -672,8 +677,12 @@ public final class JSIntlNumberFormat extends JSObject {
     }
 
     private NumberFormat createFormatterForNotation(boolean enableGrouping) {
+        NumberFormat format = enableGrouping ? groupingFormatter : nonGroupingFormatter;
+        if (format != null) {
+            // Significant digits mode adjusts the fraction digits per value, so hand out a copy
+            return useSignificantDigits ? (NumberFormat) format.clone() : format;
+        }
         Locale formatLocale = createCurrencySignLocale();
-        NumberFormat format;
         if ("compact".equals(notation)) {
             NumberFormat.Style compactStyle = "long".equals(compactDisplay)
                     ? NumberFormat.Style.LONG
@@ -720,7 +729,12 @@ public final class JSIntlNumberFormat extends JSObject {
         if (format instanceof DecimalFormat decimalFormat) {
             decimalFormat.setRoundingMode(mapToJavaRoundingMode(roundingMode));
         }
-        return format;
+        if (enableGrouping) {
+            groupingFormatter = format;
+        } else {
+            nonGroupingFormatter = format;
+        }
+        return useSignificantDigits ? (NumberFormat) format.clone() : format;
     }
 
     private String ensureIndianGrouping(String text, boolean enableGrouping, int minimumGroupingDigits) {
@@ -920,7 +934,10 @@ public final class JSIntlNumberFormat extends JSObject {
 
     private String formatLocalizedNumber(BigDecimal value, int minimumFractionDigits,
                                          int maximumFractionDigits, boolean grouping) {
-        NumberFormat numberFormat = NumberFormat.getNumberInstance(locale);
+        if (localizedNumberFormat == null) {
+            localizedNumberFormat = NumberFormat.getNumberInstance(locale);
+        }
+        NumberFormat numberFormat = localizedNumberFormat;
         if (numberFormat instanceof DecimalFormat decimalFormat) {
             decimalFormat.setGroupingUsed(grouping);
             decimalFormat.setMinimumFractionDigits(Math.max(0, minimumFractionDigits));
@@ -989,7 +1006,10 @@ public final class JSIntlNumberFormat extends JSObject {
     }
 
     private JSArray formatToPartsFromFormatted(JSContext context, String formatted) {
-        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(createCurrencySignLocale());
+        if (formatSymbols == null) {
+            formatSymbols = DecimalFormatSymbols.getInstance(createCurrencySignLocale());
+        }
+        DecimalFormatSymbols symbols = formatSymbols;
         List<PartToken> tokens = new ArrayList<>();
         String body = formatted;
 
@@ -27,6 +27,7 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.FormatStyle;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -1435,6 +1436,39 @@ public final class JSIntlObject {
         return start.substring(0, i);
     }
 
+    /**
+     * Get or create the formatter behind an implicit locale-sensitive call such as
+     * Number.prototype.toLocaleString() or String.prototype.localeCompare().
+     * Only calls with undefined options and undefined or string locales are cached,
+     * because reading any other argument is observable. The key also captures the default
+     * locale and time zone, which the formatter resolves at creation.
+     *
+     * @param context the context
+     * @param kind    the formatter kind, including any creation parameters not in the arguments
+     * @param args    the locales and options arguments
+     * @param factory creates the formatter on a cache miss
+     * @return the formatter, or the pending exception value
+     */
+    public static JSValue createCachedFormatter(
+            JSContext context, String kind, JSValue[] args, Supplier<JSValue> factory) {
+        JSValue locales = args.length > 0 ? args[0] : JSUndefined.INSTANCE;
+        JSValue options = args.length > 1 ? args[1] : JSUndefined.INSTANCE;
+        String cacheKey = null;
+        if (options.isUndefined() && (locales.isUndefined() || locales instanceof JSString)) {
+            cacheKey = kind + '\0' + (locales instanceof JSString localesString ? "s" + localesString.value() : "u")
+                    + '\0' + Locale.getDefault().toLanguageTag() + '\0' + TimeZone.getDefault().getID();
+            JSObject cachedFormatter = context.getIntlFormatterCache().get(cacheKey);
+            if (cachedFormatter != null) {
+                return cachedFormatter;
+            }
+        }
+        JSValue formatter = factory.get();
+        if (cacheKey != null && !context.hasPendingException() && formatter instanceof JSObject formatterObject) {
+            context.getIntlFormatterCache().put(cacheKey, formatterObject);
+        }
+        return formatter;
+    }
+
     public static JSValue createCollator(JSContext context, JSObject prototype, JSValue[] args) {
         try {
             Locale locale = resolveLocale(context, args, 0);
@@ -254,14 +254,7 @@ public class JSIterator extends JSObject {
         public JSObject toObject() {
             JSValue doneValue = JSBoolean.valueOf(done);
             JSObject obj = context.createJSObject();
-            obj.initProperties(
-                    RESULT_KEYS.clone(),
-                    new PropertyDescriptor[]{
-                            PropertyDescriptor.defaultData(value),
-                            PropertyDescriptor.defaultData(doneValue)
-                    },
-                    new JSValue[]{value, doneValue}
-            );
+            obj.initProperties(RESULT_KEYS.clone(), new JSValue[]{value, doneValue});
             return obj;
         }
     }
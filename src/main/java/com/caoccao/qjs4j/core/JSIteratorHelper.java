@@ -197,7 +197,7 @@ public final class JSIteratorHelper {
             JSArray result = context.createJSArray();
             String s = jsString.value();
             for (int i = 0; i < s.length(); i++) {
-                result.push(new JSString(String.valueOf(s.charAt(i))));
+                result.push(JSString.of(s.charAt(i)));
             }
             return result;
         }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.exceptions.JSException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The job queue of a runtime: promise reactions, queueMicrotask() callbacks and host jobs
+ * of all its contexts, run in FIFO order. Based on the QuickJS runtime job list.
+ * <p>
+ * The queue has a single consumer, the thread that drains it. Jobs enqueued on that thread
+ * go into an array-backed ring without locking. Jobs from any other thread, or enqueued through
+ * {@link #enqueueFromAnyThread(JSContext, JSMicrotaskQueue.Microtask)}, go into a lock-free inbox
+ * that the consumer moves into the ring before it runs out of work.
+ */
+public final class JSJobQueue {
+    private static final int INITIAL_CAPACITY = 64;
+    private final Queue<Entry> inbox;
+    private JSContext[] contexts;
+    private boolean executing;
+    private int head;
+    private JSMicrotaskQueue.Microtask[] jobs;
+    private int mask;
+    private volatile Thread ownerThread;
+    private int tail;
+
+    JSJobQueue() {
+        contexts = new JSContext[INITIAL_CAPACITY];
+        jobs = new JSMicrotaskQueue.Microtask[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        inbox = new ConcurrentLinkedQueue<>();
+        ownerThread = Thread.currentThread();
+    }
+
+    /**
+     * Drop all pending jobs.
+     */
+    public void clear() {
+        while (head != tail) {
+            jobs[head] = null;
+            contexts[head] = null;
+            head = (head + 1) & mask;
+        }
+        inbox.clear();
+    }
+
+    /**
+     * Drop the pending jobs of a context, e.g. when the context is closed.
+     */
+    public void clear(JSContext context) {
+        int writeIndex = head;
+        for (int readIndex = head; readIndex != tail; readIndex = (readIndex + 1) & mask) {
+            if (contexts[readIndex] != context) {
+                jobs[writeIndex] = jobs[readIndex];
+                contexts[writeIndex] = contexts[readIndex];
+                writeIndex = (writeIndex + 1) & mask;
+            }
+        }
+        for (int index = writeIndex; index != tail; index = (index + 1) & mask) {
+            jobs[index] = null;
+            contexts[index] = null;
+        }
+        tail = writeIndex;
+        inbox.removeIf(entry -> entry.context == context);
+    }
+
+    /**
+     * Run pending jobs until the queue is empty, including jobs enqueued while draining.
+     * The calling thread becomes the consumer. A nested call while draining returns immediately.
+     * <p>
+     * Exceptions thrown by a context's job are reported to that context's promise reject callback.
+     * Exceptions thrown by a runtime job without context propagate to the caller.
+     *
+     * @return the number of jobs run
+     */
+    public int drain() {
+        if (executing) {
+            return 0;
+        }
+        executing = true;
+        ownerThread = Thread.currentThread();
+        int count = 0;
+        try {
+            transferInbox();
+            while (head != tail || transferInbox()) {
+                int index = head;
+                JSMicrotaskQueue.Microtask job = jobs[index];
+                JSContext context = contexts[index];
+                jobs[index] = null;
+                contexts[index] = null;
+                head = (index + 1) & mask;
+                count++;
+                if (context == null) {
+                    job.execute();
+                    continue;
+                }
+                try {
+                    job.execute();
+                } catch (Exception e) {
+                    // Trigger unhandled rejection handler if set
+                    IJSPromiseRejectCallback callback = context.getPromiseRejectCallback();
+                    if (callback != null && e instanceof JSException jsException) {
+                        JSValue reason = jsException.getErrorValue();
+                        callback.callback(PromiseRejectEvent.PromiseRejectWithNoHandler, null, reason);
+                    }
+                }
+            }
+        } finally {
+            executing = false;
+        }
+        return count;
+    }
+
+    /**
+     * Enqueue a job. On the consumer thread this appends to the ring without locking,
+     * on any other thread it falls back to {@link #enqueueFromAnyThread(JSContext, JSMicrotaskQueue.Microtask)}.
+     *
+     * @param context the context whose promise reject callback receives the job's errors, or null
+     * @param job     the job
+     */
+    public void enqueue(JSContext context, JSMicrotaskQueue.Microtask job) {
+        if (Thread.currentThread() != ownerThread) {
+            enqueueFromAnyThread(context, job);
+            return;
+        }
+        jobs[tail] = job;
+        contexts[tail] = context;
+        tail = (tail + 1) & mask;
+        if (tail == head) {
+            grow();
+        }
+    }
+
+    /**
+     * Enqueue a job from any thread, e.g. a host callback completing off the script thread.
+     * The job runs on the consumer thread during its next {@link #drain()}.
+     *
+     * @param context the context whose promise reject callback receives the job's errors, or null
+     * @param job     the job
+     */
+    public void enqueueFromAnyThread(JSContext context, JSMicrotaskQueue.Microtask job) {
+        inbox.offer(new Entry(context, job));
+    }
+
+    private void grow() {
+        // The ring is full with head == tail, unroll it into arrays twice as large
+        int capacity = jobs.length;
+        JSMicrotaskQueue.Microtask[] newJobs = new JSMicrotaskQueue.Microtask[capacity << 1];
+        JSContext[] newContexts = new JSContext[capacity << 1];
+        int headLength = capacity - head;
+        System.arraycopy(jobs, head, newJobs, 0, headLength);
+        System.arraycopy(jobs, 0, newJobs, headLength, head);
+        System.arraycopy(contexts, head, newContexts, 0, headLength);
+        System.arraycopy(contexts, 0, newContexts, headLength, head);
+        jobs = newJobs;
+        contexts = newContexts;
+        mask = newJobs.length - 1;
+        head = 0;
+        tail = capacity;
+    }
+
+    /**
+     * Check if there are pending jobs.
+     */
+    public boolean hasPendingJobs() {
+        return head != tail || !inbox.isEmpty();
+    }
+
+    /**
+     * Get the number of pending jobs.
+     */
+    public int size() {
+        return ((tail - head) & mask) + inbox.size();
+    }
+
+    private boolean transferInbox() {
+        boolean transferred = false;
+        Entry entry;
+        while ((entry = inbox.poll()) != null) {
+            jobs[tail] = entry.job;
+            contexts[tail] = entry.context;
+            tail = (tail + 1) & mask;
+            if (tail == head) {
+                grow();
+            }
+            transferred = true;
+        }
+        return transferred;
+    }
+
+    private record Entry(JSContext context, JSMicrotaskQueue.Microtask job) {
+    }
+}
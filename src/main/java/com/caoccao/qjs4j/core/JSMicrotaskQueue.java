@@ -16,26 +16,19 @@
 
 package com.caoccao.qjs4j.core;
 
-import com.caoccao.qjs4j.exceptions.JSException;
-
-import java.util.ArrayDeque;
-
 /**
- * Manages the microtask queue for promise resolution and async operations.
+ * The microtask view of a context.
  * Based on ES2020 Jobs and Job Queues specification.
  * <p>
  * Microtasks are executed after the current script completes and before
  * returning to the event loop. This ensures promise handlers run at the
  * right time.
  * <p>
- * The queue is synchronized because some host integrations (for example, Atomics.waitAsync)
- * can enqueue microtasks from helper threads.
+ * All contexts of a runtime share the runtime's {@link JSJobQueue}, so jobs of different
+ * contexts run in the order they were enqueued, and draining from any context drains them all.
  */
 public final class JSMicrotaskQueue {
     private final JSContext context;
-    private final ArrayDeque<Microtask> queue;
-    private final Object queueLock;
-    private boolean executing;
 
     /**
      * Create a new microtask queue.
@@ -44,41 +37,42 @@ public final class JSMicrotaskQueue {
      */
     public JSMicrotaskQueue(JSContext context) {
         this.context = context;
-        this.queueLock = new Object();
-        this.queue = new ArrayDeque<>();
-        this.executing = false;
     }
 
     /**
-     * Clear all pending microtasks.
+     * Clear the pending microtasks of this context.
      * This is used for cleanup or testing.
      */
     public void clear() {
-        synchronized (queueLock) {
-            queue.clear();
-        }
+        context.getRuntime().getJobQueue().clear(context);
     }
 
     /**
      * Enqueue a microtask to be executed.
+     * Must be called on the thread running the context, see {@link #enqueueFromAnyThread(Microtask)}.
      *
      * @param microtask The microtask to enqueue
      */
     public void enqueue(Microtask microtask) {
-        synchronized (queueLock) {
-            queue.offer(microtask);
-        }
+        context.getRuntime().getJobQueue().enqueue(context, microtask);
+    }
+
+    /**
+     * Enqueue a microtask from any thread. It runs on the thread that next processes microtasks.
+     *
+     * @param microtask The microtask to enqueue
+     */
+    public void enqueueFromAnyThread(Microtask microtask) {
+        context.getRuntime().getJobQueue().enqueueFromAnyThread(context, microtask);
     }
 
     /**
      * Check if there are pending microtasks.
      *
-     * @return true if the queue is not empty
+     * @return true if the runtime job queue is not empty
      */
     public boolean hasPendingMicrotasks() {
-        synchronized (queueLock) {
-            return !queue.isEmpty();
-        }
+        return context.getRuntime().getJobQueue().hasPendingJobs();
     }
 
     /**
@@ -88,48 +82,16 @@ public final class JSMicrotaskQueue {
      * Microtasks can enqueue more microtasks, so this runs until the queue is empty.
      */
     public void processMicrotasks() {
-        synchronized (queueLock) {
-            if (executing) {
-                return;
-            }
-            executing = true;
-        }
-        try {
-            Microtask microtask;
-            while (true) {
-                synchronized (queueLock) {
-                    microtask = queue.poll();
-                    if (microtask == null) {
-                        break;
-                    }
-                }
-                try {
-                    microtask.execute();
-                } catch (Exception e) {
-                    // Trigger unhandled rejection handler if set
-                    IJSPromiseRejectCallback callback = context.getPromiseRejectCallback();
-                    if (callback != null && e instanceof JSException jsException) {
-                        JSValue reason = jsException.getErrorValue();
-                        callback.callback(PromiseRejectEvent.PromiseRejectWithNoHandler, null, reason);
-                    }
-                }
-            }
-        } finally {
-            synchronized (queueLock) {
-                executing = false;
-            }
-        }
+        context.getRuntime().getJobQueue().drain();
     }
 
     /**
      * Get the number of pending microtasks.
      *
-     * @return The queue size
+     * @return The runtime job queue size
      */
     public int size() {
-        synchronized (queueLock) {
-            return queue.size();
-        }
+        return context.getRuntime().getJobQueue().size();
     }
 
     /**
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Module loader decorator that fetches and parses a whole static module graph concurrently.
+ * <p>
+ * A context linking a module through this loader first loads the graph below it: every
+ * module is fetched and parsed on the configured executor as soon as its importer has been
+ * parsed, so independent modules are processed in parallel. Static dependencies are taken
+ * from the parsed import and export-from declarations rather than by scanning source text.
+ * The context then links and evaluates the graph on its own thread in spec order and takes
+ * over each parsed module instead of parsing it again. A loaded module is held only until
+ * it is taken or fetched once.
+ * <p>
+ * Modules that fail to fetch or parse and specifiers that do not resolve are not reported
+ * while a context preloads; its own fetch and evaluation report them in the usual form.
+ */
+public final class JSModuleGraphLoader implements IJSModuleLoader {
+    private final IJSModuleLoader delegate;
+    private final Executor executor;
+    private final Map<String, LoadedModule> modules;
+
+    public JSModuleGraphLoader(IJSModuleLoader delegate) {
+        this(delegate, ForkJoinPool.commonPool());
+    }
+
+    public JSModuleGraphLoader(IJSModuleLoader delegate, Executor executor) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.executor = Objects.requireNonNull(executor);
+        modules = new ConcurrentHashMap<>();
+    }
+
+    private static void collectEvaluationOrder(
+            String resolvedSpecifier,
+            Map<String, List<String>> dependencies,
+            Set<String> visitedSpecifiers,
+            List<String> evaluationOrder) {
+        if (!visitedSpecifiers.add(resolvedSpecifier)) {
+            return;
+        }
+        for (String dependency : dependencies.getOrDefault(resolvedSpecifier, List.of())) {
+            collectEvaluationOrder(dependency, dependencies, visitedSpecifiers, evaluationOrder);
+        }
+        evaluationOrder.add(resolvedSpecifier);
+    }
+
+    /**
+     * Drop all preloaded modules so the next fetch goes to the delegate.
+     */
+    public void clear() {
+        modules.clear();
+    }
+
+    @Override
+    public byte[] fetch(String resolvedSpecifier) throws IOException {
+        LoadedModule loadedModule = modules.remove(resolvedSpecifier);
+        return loadedModule != null ? loadedModule.bytes : delegate.fetch(resolvedSpecifier);
+    }
+
+    @Override
+    public String fetchSource(String resolvedSpecifier) throws IOException {
+        LoadedModule loadedModule = modules.remove(resolvedSpecifier);
+        return loadedModule != null
+                ? new String(loadedModule.bytes, StandardCharsets.UTF_8)
+                : delegate.fetchSource(resolvedSpecifier);
+    }
+
+    public IJSModuleLoader getDelegate() {
+        return delegate;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public boolean isLoaded(String resolvedSpecifier) {
+        return modules.containsKey(resolvedSpecifier);
+    }
+
+    /**
+     * Fetch and parse the module graph rooted at the given specifier.
+     *
+     * @param specifier the entry module specifier
+     * @param referrer  the referrer of the entry module, may be null
+     * @return the resolved specifiers of the graph in evaluation order (dependencies first)
+     * @throws IOException if the entry module cannot be resolved or any module cannot be fetched
+     */
+    public List<String> load(String specifier, String referrer) throws IOException {
+        String resolvedSpecifier = delegate.resolve(specifier, referrer);
+        if (resolvedSpecifier == null) {
+            throw new IOException("Cannot find module '" + specifier + "'");
+        }
+        Map<String, List<String>> dependencies = loadGraph(List.of(resolvedSpecifier), null);
+        List<String> evaluationOrder = new ArrayList<>(dependencies.size());
+        collectEvaluationOrder(resolvedSpecifier, dependencies, new HashSet<>(), evaluationOrder);
+        return evaluationOrder;
+    }
+
+    private Map<String, List<String>> loadGraph(
+            Collection<String> rootSpecifiers, Predicate<String> skippedSpecifierPredicate) throws IOException {
+        GraphLoad graphLoad = new GraphLoad(skippedSpecifierPredicate);
+        // Hold one pending count while scheduling, so a graph whose roots are all skipped completes.
+        graphLoad.pendingCount.incrementAndGet();
+        for (String rootSpecifier : rootSpecifiers) {
+            graphLoad.schedule(rootSpecifier);
+        }
+        graphLoad.finishTask();
+        try {
+            graphLoad.completion.join();
+        } catch (CompletionException completionException) {
+            Throwable cause = completionException.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw completionException;
+        }
+        return graphLoad.dependencies;
+    }
+
+    private List<String> loadModule(String resolvedSpecifier, boolean preloading) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = delegate.fetch(resolvedSpecifier);
+        } catch (IOException e) {
+            if (preloading) {
+                return List.of();
+            }
+            throw e;
+        }
+        JSParsedModule parsedModule;
+        try {
+            parsedModule = JSParsedModule.parse(resolvedSpecifier, new String(bytes, StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            modules.put(resolvedSpecifier, new LoadedModule(bytes, null));
+            return List.of();
+        }
+        modules.put(resolvedSpecifier, new LoadedModule(bytes, parsedModule));
+        Set<String> dependencies = new LinkedHashSet<>();
+        for (String dependencySpecifier : parsedModule.moduleRequests()) {
+            String resolvedDependency = delegate.resolve(dependencySpecifier, resolvedSpecifier);
+            if (resolvedDependency != null) {
+                dependencies.add(resolvedDependency);
+            }
+        }
+        return List.copyOf(dependencies);
+    }
+
+    /**
+     * Fetch and parse the graphs below the given modules for a context that is about to link
+     * them. Modules that are already loaded or match the predicate are skipped together with
+     * their dependencies, and failures are left for the context to report.
+     */
+    void preload(Collection<String> resolvedSpecifiers, Predicate<String> skippedSpecifierPredicate) {
+        try {
+            loadGraph(resolvedSpecifiers, skippedSpecifierPredicate);
+        } catch (IOException | RuntimeException ignored) {
+            // The context fetches the module itself and reports the failure.
+        }
+    }
+
+    @Override
+    public String resolve(String specifier, String referrer) {
+        return delegate.resolve(specifier, referrer);
+    }
+
+    /**
+     * Remove a loaded module that parsed and return its parsed form. A module that did not
+     * parse stays loaded for the fetch that reads it as data or reports its error.
+     */
+    JSParsedModule takeParsedModule(String resolvedSpecifier) {
+        LoadedModule loadedModule = modules.get(resolvedSpecifier);
+        if (loadedModule == null || loadedModule.parsedModule == null
+                || !modules.remove(resolvedSpecifier, loadedModule)) {
+            return null;
+        }
+        return loadedModule.parsedModule;
+    }
+
+    private record LoadedModule(byte[] bytes, JSParsedModule parsedModule) {
+    }
+
+    /**
+     * State of one graph load. Completion fires when the last scheduled module has been
+     * parsed; a module's dependencies are scheduled before its own task finishes, so the
+     * pending count cannot drop to zero early. A null predicate means a public load, which
+     * reloads every module and reports fetch failures.
+     */
+    private final class GraphLoad {
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final Map<String, List<String>> dependencies = new ConcurrentHashMap<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final Set<String> scheduledSpecifiers = ConcurrentHashMap.newKeySet();
+        private final Predicate<String> skippedSpecifierPredicate;
+
+        private GraphLoad(Predicate<String> skippedSpecifierPredicate) {
+            this.skippedSpecifierPredicate = skippedSpecifierPredicate;
+        }
+
+        private void finishTask() {
+            if (pendingCount.decrementAndGet() == 0) {
+                completion.complete(null);
+            }
+        }
+
+        private void schedule(String resolvedSpecifier) {
+            if (completion.isDone()
+                    || (skippedSpecifierPredicate != null
+                    && (modules.containsKey(resolvedSpecifier) || skippedSpecifierPredicate.test(resolvedSpecifier)))
+                    || !scheduledSpecifiers.add(resolvedSpecifier)) {
+                return;
+            }
+            pendingCount.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        List<String> moduleDependencies =
+                                loadModule(resolvedSpecifier, skippedSpecifierPredicate != null);
+                        dependencies.put(resolvedSpecifier, moduleDependencies);
+                        for (String dependency : moduleDependencies) {
+                            schedule(dependency);
+                        }
+                    } catch (IOException e) {
+                        completion.completeExceptionally(new UncheckedIOException(e));
+                    } catch (Throwable t) {
+                        completion.completeExceptionally(t);
+                    } finally {
+                        finishTask();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                completion.completeExceptionally(e);
+                finishTask();
+            }
+        }
+    }
+}
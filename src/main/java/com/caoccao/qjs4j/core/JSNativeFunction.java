@@ -48,28 +48,11 @@ public final class JSNativeFunction extends JSFunction {
 
         // Set up function properties on the object
         // Functions are objects in JavaScript and have these standard properties
-        // Per ES spec, "length" comes before "name" in property order
-
-        // Per ECMAScript spec, the "length" property has attributes:
-        // { [[Writable]]: false, [[Enumerable]]: false, [[Configurable]]: true }
-        this.defineProperty(
-                PropertyKey.LENGTH,
-                PropertyDescriptor.dataDescriptor(
-                        JSNumber.of(this.length),
-                        PropertyDescriptor.DataState.Configurable
-                )
-        );
-
-        // Per ECMAScript spec, the "name" property has attributes:
-        // { [[Writable]]: false, [[Enumerable]]: false, [[Configurable]]: true }
-        // Use empty string for name property if name is null (e.g., Function.prototype)
-        this.defineProperty(
-                PropertyKey.NAME,
-                PropertyDescriptor.dataDescriptor(
-                        new JSString(this.name != null ? this.name : ""),
-                        PropertyDescriptor.DataState.Configurable
-                )
-        );
+        // Per ES spec, "length" comes before "name" in property order, both are
+        // { [[Writable]]: false, [[Enumerable]]: false, [[Configurable]]: true }.
+        // The shape is shared by all native functions of the runtime with the same name and length.
+        Template template = context.getRuntime().getNativeFunctionTemplate(name, length);
+        initProperties(template.shape(), template.propertyValues().clone());
 
         // Native functions have a prototype property only if they are constructors
         if (isConstructor) {
@@ -142,4 +125,19 @@ public final class JSNativeFunction extends JSFunction {
         return JSValueType.FUNCTION;
     }
 
+    /**
+     * The immutable length and name properties of native functions with the same name and length.
+     * Objects share the shape and copy the values.
+     */
+    record Template(JSShape shape, JSValue[] propertyValues) {
+        static Template create(String name, int length) {
+            // Use empty string for name property if name is null (e.g., Function.prototype)
+            return new Template(
+                    JSShape.createShared(
+                            new PropertyKey[]{PropertyKey.LENGTH, PropertyKey.NAME},
+                            new int[]{JSShape.PROP_CONFIGURABLE, JSShape.PROP_CONFIGURABLE}),
+                    new JSValue[]{JSNumber.of(length), new JSString(name != null ? name : "")});
+        }
+    }
+
 }
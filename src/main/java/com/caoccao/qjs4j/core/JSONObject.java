@@ -19,6 +19,9 @@ package com.caoccao.qjs4j.core;
 import com.caoccao.qjs4j.exceptions.JSException;
 import com.caoccao.qjs4j.exceptions.JSVirtualMachineException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
 
 /**
@@ -26,6 +29,7 @@ import java.util.*;
  * Based on ES2024 JSON specification and QuickJS implementation.
  */
 public final class JSONObject {
+    private static final int STRINGIFY_CHUNK_SIZE = 8192;
     private final JSContext context;
 
     /**
@@ -129,6 +133,37 @@ public final class JSONObject {
         return "Object";
     }
 
+    /**
+     * Write the buffered text to the stringify writer and reset the buffer.
+     */
+    private void flushStringifyChunk(StringifyContext stringifyContext, StringBuilder sb) {
+        int length = sb.length();
+        if (length == 0) {
+            return;
+        }
+        if (stringifyContext.chunk == null) {
+            stringifyContext.chunk = new char[STRINGIFY_CHUNK_SIZE];
+        }
+        char[] chunk = stringifyContext.chunk;
+        try {
+            for (int start = 0; start < length; start += chunk.length) {
+                int end = Math.min(length, start + chunk.length);
+                sb.getChars(start, end, chunk, 0);
+                stringifyContext.writer.write(chunk, 0, end - start);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        stringifyContext.flushedLength += length;
+        sb.setLength(0);
+    }
+
+    private void flushStringifyChunkIfFull(StringifyContext stringifyContext, StringBuilder sb) {
+        if (stringifyContext.writer != null && sb.length() >= STRINGIFY_CHUNK_SIZE) {
+            flushStringifyChunk(stringifyContext, sb);
+        }
+    }
+
     /**
      * Get enumerable own string property names from an object.
      * Uses getOwnPropertyKeys() which goes through proxy ownKeys trap,
@@ -356,6 +391,31 @@ public final class JSONObject {
         return JSBoolean.valueOf(isRawJSONObject(obj));
     }
 
+    /**
+     * Check if an object is an ordinary object with only string-keyed data properties,
+     * so that its members can be read straight from the shape.
+     */
+    private boolean isPlainDataObject(JSObject object) {
+        if (object.getClass() != JSObject.class || object.sparseProperties != null) {
+            return false;
+        }
+        JSShape shape = object.shape;
+        if (shape.getDeletedPropCount() != 0) {
+            return false;
+        }
+        int propertyCount = shape.getPropertyCount();
+        for (int index = 0; index < propertyCount; index++) {
+            PropertyKey key = shape.getPropertyKeyAt(index);
+            if (key == null || key.isSymbol() || key.toArrayIndex() >= 0) {
+                return false;
+            }
+            if ((shape.getPropertyFlagsAt(index) & JSShape.PROP_GETSET) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Check if an object was created by JSON.rawJSON
      */
@@ -380,7 +440,7 @@ public final class JSONObject {
             StringifyContext stringifyContext,
             JSValue holder,
             JSValue value,
-            JSValue key) {
+            String key) {
         // Check for toJSON method - applies to both Objects and BigInt
         if (value instanceof JSObject || value instanceof JSBigInt) {
             if (value instanceof JSFunction) {
@@ -388,7 +448,7 @@ public final class JSONObject {
             } else {
                 JSValue toJSON = null;
                 if (value instanceof JSObject obj) {
-                    toJSON = getSafe(obj, "toJSON");
+                    toJSON = getSafe(obj, PropertyKey.TO_JSON);
                     if (context.hasPendingException()) {
                         return null;
                     }
@@ -398,7 +458,7 @@ public final class JSONObject {
                     JSObject boxed = JSTypeConversions.toObject(context, value);
                     if (boxed != null) {
                         try {
-                            toJSON = boxed.get(PropertyKey.fromString("toJSON"), value);
+                            toJSON = boxed.get(PropertyKey.TO_JSON, value);
                         } catch (JSVirtualMachineException e) {
                             convertVMException(e);
                             return null;
@@ -412,7 +472,7 @@ public final class JSONObject {
                     }
                 }
                 if (toJSON instanceof JSFunction toJSONFunc) {
-                    value = callSafe(toJSONFunc, value, new JSValue[]{key});
+                    value = callSafe(toJSONFunc, value, new JSValue[]{new JSString(key)});
                     if (value == null) {
                         return null;
                     }
@@ -422,7 +482,7 @@ public final class JSONObject {
 
         // Apply replacer function
         if (stringifyContext.replacerFunc != null) {
-            value = callSafe(stringifyContext.replacerFunc, holder, new JSValue[]{key, value});
+            value = callSafe(stringifyContext.replacerFunc, holder, new JSValue[]{new JSString(key), value});
             if (value == null) {
                 return null;
             }
@@ -520,7 +580,7 @@ public final class JSONObject {
         }
 
         if (jsValue instanceof JSString jsString) {
-            sb.append(stringifyString(jsString.value()));
+            stringifyString(sb, jsString.value());
             return true;
         }
 
@@ -596,6 +656,15 @@ public final class JSONObject {
         }
         String text = textString.value();
 
+        if (args.length < 2 || !(args[1] instanceof JSFunction)) {
+            // Without a reviver no source text is needed, so use the streaming parser.
+            try {
+                return JSONStreamParser.parse(context, text);
+            } catch (JSONParseException e) {
+                return context.throwSyntaxError(e.getMessage());
+            }
+        }
+
         JSValue jsValue;
         ParseContext parseContext;
         try {
@@ -771,7 +840,7 @@ public final class JSONObject {
         while (i < parseContext.text.length()) {
             // Parse key (must be string)
             ParseResult keyResult = parsePropertyName(parseContext, i, propertyCount);
-            String key = ((JSString) keyResult.value).value();
+            String key = context.getRuntime().getAtoms().internKey(((JSString) keyResult.value).value());
             i = skipWhitespace(parseContext.text, keyResult.endIndex);
 
             // Expect colon
@@ -1052,14 +1121,39 @@ public final class JSONObject {
      * Based on QuickJS JS_JSONStringify.
      */
     public JSValue stringify(JSValue thisArg, JSValue[] args) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            if (stringify(args, sb, null)) {
+                return new JSString(sb.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return JSUndefined.INSTANCE;
+    }
+
+    /**
+     * Serialize like JSON.stringify(value, replacer, space), writing the text to the writer
+     * in bounded chunks instead of building one String. The writer is neither flushed nor closed.
+     * If an exception is thrown part of the text may already have been written.
+     *
+     * @return false if nothing was serialized, either because the value serializes to undefined
+     * or because an exception is pending on the context
+     */
+    boolean stringify(JSValue[] args, Writer writer) throws IOException {
+        return stringify(args, new StringBuilder(STRINGIFY_CHUNK_SIZE), writer);
+    }
+
+    private boolean stringify(JSValue[] args, StringBuilder sb, Writer writer) throws IOException {
         if (args.length == 0) {
-            return JSUndefined.INSTANCE;
+            return false;
         }
 
         JSValue value = args[0];
 
         // Create stringify context
         StringifyContext stringifyContext = new StringifyContext();
+        stringifyContext.writer = writer;
 
         // Process replacer parameter
         if (args.length > 1 && !(args[1] instanceof JSUndefined)) {
@@ -1070,7 +1164,7 @@ public final class JSONObject {
                 // Use IsArray with proxy unwrapping
                 int isReplacerArray = JSTypeChecking.isArray(context, replacer);
                 if (isReplacerArray < 0) {
-                    return JSUndefined.INSTANCE; // exception (e.g., revoked proxy)
+                    return false; // exception (e.g., revoked proxy)
                 }
                 if (isReplacerArray == 1) {
                     // Build property list from array
@@ -1079,15 +1173,15 @@ public final class JSONObject {
                     try {
                         JSValue lengthVal = ((JSObject) replacer).get(PropertyKey.LENGTH);
                         if (context.hasPendingException()) {
-                            return JSUndefined.INSTANCE;
+                            return false;
                         }
                         replacerLength = JSTypeConversions.toLength(context, lengthVal);
                         if (context.hasPendingException()) {
-                            return JSUndefined.INSTANCE;
+                            return false;
                         }
                     } catch (JSVirtualMachineException e) {
                         convertVMException(e);
-                        return JSUndefined.INSTANCE;
+                        return false;
                     }
                     for (long i = 0; i < replacerLength; i++) {
                         JSValue item;
@@ -1095,10 +1189,10 @@ public final class JSONObject {
                             item = ((JSObject) replacer).get(PropertyKey.fromString(Long.toString(i)));
                         } catch (JSVirtualMachineException e) {
                             convertVMException(e);
-                            return JSUndefined.INSTANCE;
+                            return false;
                         }
                         if (context.hasPendingException()) {
-                            return JSUndefined.INSTANCE;
+                            return false;
                         }
                         String propName = null;
 
@@ -1109,7 +1203,7 @@ public final class JSONObject {
                                 propName = JSTypeConversions.toString(context, item).value();
                             } catch (JSVirtualMachineException e) {
                                 convertVMException(e);
-                                return JSUndefined.INSTANCE;
+                                return false;
                             }
                         } else if (item instanceof JSObject itemObj) {
                             if (itemObj instanceof JSStringObject || itemObj instanceof JSNumberObject) {
@@ -1117,10 +1211,10 @@ public final class JSONObject {
                                     propName = JSTypeConversions.toString(context, item).value();
                                 } catch (JSVirtualMachineException e) {
                                     convertVMException(e);
-                                    return JSUndefined.INSTANCE;
+                                    return false;
                                 }
                                 if (context.hasPendingException()) {
-                                    return JSUndefined.INSTANCE;
+                                    return false;
                                 }
                             }
                             // Other objects are skipped
@@ -1149,20 +1243,20 @@ public final class JSONObject {
                         space = JSTypeConversions.toNumber(context, space);
                     } catch (JSVirtualMachineException e) {
                         convertVMException(e);
-                        return JSUndefined.INSTANCE;
+                        return false;
                     }
                     if (context.hasPendingException()) {
-                        return JSUndefined.INSTANCE;
+                        return false;
                     }
                 } else if (space instanceof JSStringObject) {
                     try {
                         space = JSTypeConversions.toString(context, space);
                     } catch (JSVirtualMachineException e) {
                         convertVMException(e);
-                        return JSUndefined.INSTANCE;
+                        return false;
                     }
                     if (context.hasPendingException()) {
-                        return JSUndefined.INSTANCE;
+                        return false;
                     }
                 }
             }
@@ -1181,29 +1275,33 @@ public final class JSONObject {
         wrapper.defineProperty(PropertyKey.fromString(""), value, PropertyDescriptor.DataState.All);
 
         // Apply initial check (handles toJSON and replacer)
-        JSValue processedValue = jsonCheck(stringifyContext, wrapper, value, new JSString(""));
+        JSValue processedValue = jsonCheck(stringifyContext, wrapper, value, "");
         if (processedValue == null || context.hasPendingException()) {
-            return JSUndefined.INSTANCE;
+            return false;
         }
 
         if (processedValue instanceof JSUndefined) {
-            return JSUndefined.INSTANCE;
+            return false;
         }
 
         try {
-            StringBuilder sb = new StringBuilder();
             stringifyContext.stack = new IdentityHashMap<>();
             stringifyContext.cyclePath = new ArrayList<>();
             if (jsonToStr(stringifyContext, sb, wrapper, processedValue, "", "")) {
-                return new JSString(sb.toString());
+                if (writer != null) {
+                    flushStringifyChunk(stringifyContext, sb);
+                }
+                return true;
             }
-            return JSUndefined.INSTANCE;
+            return false;
         } catch (JSVirtualMachineException e) {
             convertVMException(e);
-            return JSUndefined.INSTANCE;
+            return false;
         } catch (JSException e) {
             convertJSException(e);
-            return JSUndefined.INSTANCE;
+            return false;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
@@ -1250,7 +1348,7 @@ public final class JSONObject {
                 elem = JSUndefined.INSTANCE;
             }
 
-            JSString indexKey = new JSString(String.valueOf(i));
+            String indexKey = String.valueOf(i);
             JSValue processedElem = jsonCheck(stringifyContext, array, elem, indexKey);
             if (processedElem == null || context.hasPendingException()) {
                 return false;
@@ -1259,13 +1357,14 @@ public final class JSONObject {
             if (processedElem instanceof JSUndefined) {
                 sb.append("null");
             } else {
-                if (!jsonToStr(stringifyContext, sb, array, processedElem, newIndent, String.valueOf(i))) {
+                if (!jsonToStr(stringifyContext, sb, array, processedElem, newIndent, indexKey)) {
                     if (context.hasPendingException()) {
                         return false;
                     }
                     sb.append("null");
                 }
             }
+            flushStringifyChunkIfFull(stringifyContext, sb);
         }
 
         if (arrayLength > 0 && !stringifyContext.gap.isEmpty()) {
@@ -1285,6 +1384,11 @@ public final class JSONObject {
             JSObject object,
             String currentIndent,
             String newIndent) {
+        if (stringifyContext.propertyList == null
+                && stringifyContext.replacerFunc == null
+                && isPlainDataObject(object)) {
+            return stringifyPlainDataObject(stringifyContext, sb, object, currentIndent, newIndent);
+        }
         sb.append('{');
         boolean hasContent = false;
 
@@ -1313,32 +1417,96 @@ public final class JSONObject {
                 propValue = JSUndefined.INSTANCE;
             }
 
-            JSValue processedValue = jsonCheck(stringifyContext, object, propValue, new JSString(key));
+            JSValue processedValue = jsonCheck(stringifyContext, object, propValue, key);
             if (processedValue == null || context.hasPendingException()) {
                 return false;
             }
 
             if (!(processedValue instanceof JSUndefined)) {
-                // Try stringifying the value
-                StringBuilder tempSb = new StringBuilder();
-                if (jsonToStr(stringifyContext, tempSb, object, processedValue, newIndent, key)) {
-                    // Successfully stringified, add to output
-                    if (hasContent) {
-                        sb.append(',');
-                    }
+                if (stringifyProperty(stringifyContext, sb, object, key, processedValue, hasContent, newIndent)) {
+                    hasContent = true;
+                } else if (context.hasPendingException()) {
+                    return false;
+                }
+            }
+        }
 
-                    if (!stringifyContext.gap.isEmpty()) {
-                        sb.append('\n').append(newIndent);
-                    }
+        if (hasContent && !stringifyContext.gap.isEmpty()) {
+            sb.append('\n').append(currentIndent);
+        }
+        sb.append('}');
+        return true;
+    }
 
-                    sb.append(stringifyString(key));
-                    sb.append(':');
+    /**
+     * Stringify an ordinary object whose own properties are all string-keyed data properties.
+     * Walks the shape directly instead of building key lists and descriptors. Enumerable keys are
+     * snapshotted before the first value that could run user code (toJSON), and values are read
+     * from the property slots only while the shape is unchanged; otherwise [[Get]] is used.
+     */
+    private boolean stringifyPlainDataObject(
+            StringifyContext stringifyContext,
+            StringBuilder sb,
+            JSObject object,
+            String currentIndent,
+            String newIndent) {
+        sb.append('{');
+        boolean hasContent = false;
+        JSShape shape = object.shape;
+        int shapeVersion = shape.getShapeVersion();
+        int propertyCount = shape.getPropertyCount();
+        PropertyKey[] keySnapshot = null;
+
+        for (int index = 0; index < propertyCount; index++) {
+            PropertyKey key;
+            if (keySnapshot != null) {
+                key = keySnapshot[index];
+                if (key == null) {
+                    continue;
+                }
+            } else {
+                key = shape.getPropertyKeyAt(index);
+                if ((shape.getPropertyFlagsAt(index) & JSShape.PROP_ENUMERABLE) == 0) {
+                    continue;
+                }
+            }
 
-                    if (!stringifyContext.gap.isEmpty()) {
-                        sb.append(' ');
+            JSValue propValue = null;
+            if (object.shape == shape && shape.getShapeVersion() == shapeVersion) {
+                if (shape.getPropertyKeyAt(index) != null
+                        && (shape.getPropertyFlagsAt(index) & JSShape.PROP_GETSET) == 0) {
+                    propValue = index < object.propertyValues.length ? object.propertyValues[index] : null;
+                    if (propValue == null) {
+                        propValue = JSUndefined.INSTANCE;
                     }
+                }
+            }
+            if (propValue == null) {
+                propValue = getSafe(object, key);
+                if (context.hasPendingException()) {
+                    return false;
+                }
+                if (propValue == null) {
+                    propValue = JSUndefined.INSTANCE;
+                }
+            }
+            if (keySnapshot == null && (propValue instanceof JSObject || propValue instanceof JSBigInt)) {
+                keySnapshot = new PropertyKey[propertyCount];
+                for (int snapshotIndex = index + 1; snapshotIndex < propertyCount; snapshotIndex++) {
+                    if ((shape.getPropertyFlagsAt(snapshotIndex) & JSShape.PROP_ENUMERABLE) != 0) {
+                        keySnapshot[snapshotIndex] = shape.getPropertyKeyAt(snapshotIndex);
+                    }
+                }
+            }
+
+            String keyString = key.asString();
+            JSValue processedValue = jsonCheck(stringifyContext, object, propValue, keyString);
+            if (processedValue == null || context.hasPendingException()) {
+                return false;
+            }
 
-                    sb.append(tempSb);
+            if (!(processedValue instanceof JSUndefined)) {
+                if (stringifyProperty(stringifyContext, sb, object, keyString, processedValue, hasContent, newIndent)) {
                     hasContent = true;
                 } else if (context.hasPendingException()) {
                     return false;
@@ -1354,15 +1522,56 @@ public final class JSONObject {
     }
 
     /**
-     * Escape a string for JSON output.
+     * Append one object member. The member is dropped again if its value cannot be serialized,
+     * unless part of it has already been flushed to the writer.
+     */
+    private boolean stringifyProperty(
+            StringifyContext stringifyContext,
+            StringBuilder sb,
+            JSObject object,
+            String key,
+            JSValue processedValue,
+            boolean hasContent,
+            String newIndent) {
+        int mark = sb.length();
+        long flushedLength = stringifyContext.flushedLength;
+        if (hasContent) {
+            sb.append(',');
+        }
+        if (!stringifyContext.gap.isEmpty()) {
+            sb.append('\n').append(newIndent);
+        }
+        stringifyString(sb, key);
+        sb.append(':');
+        if (!stringifyContext.gap.isEmpty()) {
+            sb.append(' ');
+        }
+        if (jsonToStr(stringifyContext, sb, object, processedValue, newIndent, key)) {
+            flushStringifyChunkIfFull(stringifyContext, sb);
+            return true;
+        }
+        if (stringifyContext.flushedLength == flushedLength) {
+            sb.setLength(mark);
+        }
+        return false;
+    }
+
+    /**
+     * Append a string quoted and escaped for JSON output.
      * Based on QuickJS JS_ToQuotedString.
      * Escapes lone surrogates (0xD800-0xDFFF) as unicode escape sequences.
+     * Runs of characters that need no escaping are copied in one append.
      */
-    private String stringifyString(String str) {
-        StringBuilder sb = new StringBuilder("\"");
+    private void stringifyString(StringBuilder sb, String str) {
+        sb.append('"');
         int len = str.length();
+        int runStart = 0;
         for (int i = 0; i < len; i++) {
             char ch = str.charAt(i);
+            if (ch >= 0x20 && ch != '"' && ch != '\\' && !isSurrogate(ch)) {
+                continue;
+            }
+            sb.append(str, runStart, i);
             switch (ch) {
                 case '"' -> sb.append("\\\"");
                 case '\\' -> sb.append("\\\\");
@@ -1372,27 +1581,22 @@ public final class JSONObject {
                 case '\r' -> sb.append("\\r");
                 case '\t' -> sb.append("\\t");
                 default -> {
-                    if (ch < 0x20) {
-                        sb.append(String.format("\\u%04x", (int) ch));
-                    } else if (isSurrogate(ch)) {
-                        // Check if this is a proper surrogate pair
-                        if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
-                            // Valid surrogate pair - output both characters as-is
-                            sb.append(ch);
-                            sb.append(str.charAt(i + 1));
-                            i++;
-                        } else {
-                            // Lone surrogate - escape it
-                            sb.append(String.format("\\u%04x", (int) ch));
-                        }
+                    if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                        // Valid surrogate pair - output both characters as-is
+                        sb.append(ch).append(str.charAt(i + 1));
+                        i++;
                     } else {
-                        sb.append(ch);
+                        // Control character or lone surrogate - escape it
+                        sb.append("\\u");
+                        for (int shift = 12; shift >= 0; shift -= 4) {
+                            sb.append(Character.forDigit((ch >> shift) & 0xF, 16));
+                        }
                     }
                 }
             }
+            runStart = i + 1;
         }
-        sb.append("\"");
-        return sb.toString();
+        sb.append(str, runStart, len).append('"');
     }
 
     private JSValue throwRawJSONInvalidJson(String text) {
@@ -1421,7 +1625,7 @@ public final class JSONObject {
     /**
      * Custom exception for JSON parsing errors with position information
      */
-    private static class JSONParseException extends RuntimeException {
+    static class JSONParseException extends RuntimeException {
         JSONParseException(String message) {
             super(message);
         }
@@ -1578,11 +1782,15 @@ public final class JSONObject {
      * Context for JSON stringification
      */
     private static class StringifyContext {
+        char[] chunk = null;
         // Ordered list of objects in the current stringify path for cycle error messages
         List<CycleEntry> cyclePath = null;
+        // Number of chars already written to the writer
+        long flushedLength = 0;
         String gap = "";
         List<String> propertyList = null;
         JSFunction replacerFunc = null;
         IdentityHashMap<JSValue, Boolean> stack = null;
+        Writer writer = null;
     }
 }
@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.utils.AtomTable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental JSON parser that builds JS values directly from a character stream.
+ * <p>
+ * Characters are pulled from the reader into a fixed-size buffer, so large payloads never
+ * have to be materialized as one String. Object keys are tracked in a per-parse key trie:
+ * every distinct key sequence owns one shared {@link JSShape}, and objects with that key set
+ * (such as the records of an array) start out on that shape through
+ * {@link JSObject#initProperties} instead of one defineProperty call per key.
+ * <p>
+ * Error messages and positions match {@link JSONObject#parse(JSValue, JSValue[])}.
+ */
+final class JSONStreamParser {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_FAST_INTEGER_DIGITS = 15;
+    private static final int MAX_KEY_NODE_COUNT = 4096;
+    private final AtomTable atomTable;
+    private final char[] buffer;
+    private final JSContext context;
+    private final Reader reader;
+    private final KeyNode rootKeyNode;
+    private final StringBuilder stringBuilder;
+    private int bufferLimit;
+    private int bufferPosition;
+    private int column;
+    private int keyNodeCount;
+    private String[] keyStack;
+    private int keyStackSize;
+    private int line;
+    private long position;
+    private JSValue[] valueStack;
+    private int valueStackSize;
+
+    private JSONStreamParser(JSContext context, Reader reader, char[] buffer, int bufferLimit) {
+        this.atomTable = context.getRuntime().getAtoms();
+        this.context = context;
+        this.reader = reader;
+        this.buffer = buffer;
+        this.bufferLimit = bufferLimit;
+        bufferPosition = 0;
+        column = 1;
+        keyNodeCount = 0;
+        keyStack = new String[16];
+        keyStackSize = 0;
+        line = 1;
+        position = 0;
+        rootKeyNode = new KeyNode(null, null, false);
+        stringBuilder = new StringBuilder();
+        valueStack = new JSValue[16];
+        valueStackSize = 0;
+    }
+
+    /**
+     * Parse UTF-8 JSON bytes between the buffer's position and limit.
+     * The buffer's position is left unchanged.
+     */
+    static JSValue parse(JSContext context, ByteBuffer byteBuffer) {
+        try {
+            return parse(context, new InputStreamReader(
+                    new ByteBufferInputStream(byteBuffer.duplicate()), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static JSValue parse(JSContext context, Reader reader) throws IOException {
+        return new JSONStreamParser(context, reader, new char[BUFFER_SIZE], 0).parse();
+    }
+
+    static JSValue parse(JSContext context, String text) {
+        try {
+            return new JSONStreamParser(context, null, text.toCharArray(), text.length()).parse();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void advance() {
+        if (buffer[bufferPosition++] == '\n') {
+            line++;
+            column = 1;
+        } else {
+            column++;
+        }
+        position++;
+    }
+
+    private JSObject createObject(int keyBase, int valueBase, int propertyCount) {
+        KeyNode keyNode = rootKeyNode;
+        for (int i = 0; i < propertyCount && keyNode != null; i++) {
+            keyNode = getChildKeyNode(keyNode, keyBase, i);
+        }
+        JSObject jsObject = context.createJSObject();
+        if (keyNode != null && !keyNode.duplicate) {
+            JSValue[] values = Arrays.copyOfRange(valueStack, valueBase, valueBase + propertyCount);
+            jsObject.initProperties(keyNode.getShape(propertyCount), values);
+        } else {
+            // Duplicate keys (last one wins) or too many distinct key sets: use [[DefineOwnProperty]].
+            for (int i = 0; i < propertyCount; i++) {
+                jsObject.defineProperty(
+                        PropertyKey.fromString(keyStack[keyBase + i]),
+                        valueStack[valueBase + i],
+                        PropertyDescriptor.DataState.All);
+            }
+        }
+        return jsObject;
+    }
+
+    private JSONObject.JSONParseException error(String message) {
+        return new JSONObject.JSONParseException(message + getPositionInfo());
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        int count;
+        do {
+            count = reader.read(buffer, 0, buffer.length);
+        } while (count == 0);
+        if (count < 0) {
+            return false;
+        }
+        bufferPosition = 0;
+        bufferLimit = count;
+        return true;
+    }
+
+    private KeyNode getChildKeyNode(KeyNode parentKeyNode, int keyBase, int index) {
+        String key = keyStack[keyBase + index];
+        KeyNode childKeyNode = parentKeyNode.children == null ? null : parentKeyNode.children.get(key);
+        if (childKeyNode == null) {
+            if (keyNodeCount >= MAX_KEY_NODE_COUNT) {
+                return null;
+            }
+            boolean duplicate = parentKeyNode.duplicate;
+            for (int i = 0; i < index && !duplicate; i++) {
+                duplicate = key.equals(keyStack[keyBase + i]);
+            }
+            childKeyNode = new KeyNode(parentKeyNode, PropertyKey.fromString(key), duplicate);
+            if (parentKeyNode.children == null) {
+                parentKeyNode.children = new HashMap<>();
+            }
+            parentKeyNode.children.put(key, childKeyNode);
+            keyNodeCount++;
+        }
+        return childKeyNode;
+    }
+
+    private String getPositionInfo() {
+        return getPositionInfo(position, line, column);
+    }
+
+    private String getPositionInfo(long position, int line, int column) {
+        return "at position " + position + " (line " + line + " column " + column + ")";
+    }
+
+    private JSValue parse() throws IOException {
+        JSValue value = parseValue();
+        skipWhitespace();
+        if (peek() >= 0) {
+            throw error("Unexpected data after JSON ");
+        }
+        return value;
+    }
+
+    private JSValue parseArray() throws IOException {
+        advance(); // '['
+        skipWhitespace();
+        if (peek() == ']') {
+            advance();
+            return context.createJSArray();
+        }
+        int valueBase = valueStackSize;
+        while (true) {
+            if (peek() < 0) {
+                throw error("Unterminated array in JSON ");
+            }
+            pushValue(parseValue());
+            skipWhitespace();
+            int ch = peek();
+            if (ch == ']') {
+                advance();
+                break;
+            }
+            if (ch != ',') {
+                throw error("Expected ',' or ']' after array element in JSON ");
+            }
+            advance();
+            skipWhitespace();
+        }
+        JSValue[] values = Arrays.copyOfRange(valueStack, valueBase, valueStackSize);
+        popValues(valueBase);
+        return context.createJSArray(values, true);
+    }
+
+    private int parseHexDigit(String escapePositionInfo, String message) throws IOException {
+        int ch = peek();
+        int digit = ch < 0 ? -1 : Character.digit(ch, 16);
+        if (digit < 0) {
+            throw new JSONObject.JSONParseException(message + escapePositionInfo);
+        }
+        advance();
+        return digit;
+    }
+
+    private JSValue parseLiteral(String literal, JSValue value) throws IOException {
+        long startPosition = position;
+        int startLine = line;
+        int startColumn = column;
+        for (int i = 0; i < literal.length(); i++) {
+            if (peek() != literal.charAt(i)) {
+                throw new JSONObject.JSONParseException(
+                        "Invalid literal " + getPositionInfo(startPosition, startLine, startColumn));
+            }
+            advance();
+        }
+        return value;
+    }
+
+    private JSValue parseNumber() throws IOException {
+        stringBuilder.setLength(0);
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            stringBuilder.append('-');
+            advance();
+        }
+        int ch = peek();
+        if (!isDigit(ch)) {
+            throw error("Invalid number in JSON ");
+        }
+        int digitCount = 0;
+        long integerValue = 0;
+        if (ch == '0') {
+            stringBuilder.append('0');
+            advance();
+            digitCount = 1;
+            if (isDigit(peek())) {
+                throw error("Unexpected number in JSON ");
+            }
+        } else {
+            while (isDigit(ch = peek())) {
+                stringBuilder.append((char) ch);
+                integerValue = integerValue * 10 + (ch - '0');
+                digitCount++;
+                advance();
+            }
+        }
+        boolean fastInteger = digitCount <= MAX_FAST_INTEGER_DIGITS;
+        if (peek() == '.') {
+            fastInteger = false;
+            stringBuilder.append('.');
+            advance();
+            if (!isDigit(peek())) {
+                throw error("Invalid number in JSON ");
+            }
+            while (isDigit(ch = peek())) {
+                stringBuilder.append((char) ch);
+                advance();
+            }
+        }
+        ch = peek();
+        if (ch == 'e' || ch == 'E') {
+            fastInteger = false;
+            stringBuilder.append((char) ch);
+            advance();
+            ch = peek();
+            if (ch == '+' || ch == '-') {
+                stringBuilder.append((char) ch);
+                advance();
+            }
+            if (!isDigit(peek())) {
+                throw error("Invalid number in JSON ");
+            }
+            while (isDigit(ch = peek())) {
+                stringBuilder.append((char) ch);
+                advance();
+            }
+        }
+        if (fastInteger) {
+            return JSNumber.of(negative ? -(double) integerValue : (double) integerValue);
+        }
+        return JSNumber.of(Double.parseDouble(stringBuilder.toString()));
+    }
+
+    private JSValue parseObject() throws IOException {
+        advance(); // '{'
+        skipWhitespace();
+        if (peek() == '}') {
+            advance();
+            return context.createJSObject();
+        }
+        int keyBase = keyStackSize;
+        int valueBase = valueStackSize;
+        int propertyCount = 0;
+        while (true) {
+            int ch = peek();
+            if (ch < 0) {
+                throw error("Unterminated object in JSON ");
+            }
+            if (ch != '"') {
+                throw error(propertyCount > 0
+                        ? "Expected double-quoted property name in JSON "
+                        : "Expected property name or '}' in JSON ");
+            }
+            pushKey(parseString(true));
+            skipWhitespace();
+            if (peek() != ':') {
+                throw error("Expected ':' after property name in JSON ");
+            }
+            advance();
+            skipWhitespace();
+            pushValue(parseValue());
+            propertyCount++;
+            skipWhitespace();
+            ch = peek();
+            if (ch == '}') {
+                advance();
+                break;
+            }
+            if (ch != ',') {
+                throw error("Expected ',' or '}' after property value in JSON ");
+            }
+            advance();
+            skipWhitespace();
+        }
+        JSObject jsObject = createObject(keyBase, valueBase, propertyCount);
+        Arrays.fill(keyStack, keyBase, keyStackSize, null);
+        keyStackSize = keyBase;
+        popValues(valueBase);
+        return jsObject;
+    }
+
+    private String parseString(boolean propertyName) throws IOException {
+        advance(); // '"'
+        stringBuilder.setLength(0);
+        while (true) {
+            // Copy runs of plain characters straight out of the buffer.
+            int runStart = bufferPosition;
+            while (bufferPosition < bufferLimit) {
+                char ch = buffer[bufferPosition];
+                if (ch == '"' || ch == '\\' || ch <= 0x1F) {
+                    break;
+                }
+                bufferPosition++;
+            }
+            int runLength = bufferPosition - runStart;
+            if (runLength > 0) {
+                stringBuilder.append(buffer, runStart, runLength);
+                position += runLength;
+                column += runLength;
+            }
+            int ch = peek();
+            if (ch < 0) {
+                throw error(propertyName ? "Unterminated property name in JSON " : "Unterminated string in JSON ");
+            }
+            if (ch == '"') {
+                advance();
+                // Property names resolve to runtime atoms, so repeated keys are not copied again.
+                return propertyName ? atomTable.internKey(stringBuilder) : stringBuilder.toString();
+            }
+            if (ch == '\\') {
+                advance();
+                int escaped = peek();
+                if (escaped < 0) {
+                    throw error(propertyName ? "Unexpected end in property name " : "Unexpected end in string ");
+                }
+                switch (escaped) {
+                    case '"' -> stringBuilder.append('"');
+                    case '\\' -> stringBuilder.append('\\');
+                    case '/' -> stringBuilder.append('/');
+                    case 'b' -> stringBuilder.append('\b');
+                    case 'f' -> stringBuilder.append('\f');
+                    case 'n' -> stringBuilder.append('\n');
+                    case 'r' -> stringBuilder.append('\r');
+                    case 't' -> stringBuilder.append('\t');
+                    case 'u' -> {
+                        String escapePositionInfo = getPositionInfo();
+                        String message = propertyName
+                                ? "Invalid unicode escape in property name "
+                                : "Invalid unicode escape ";
+                        advance();
+                        int codeUnit = parseHexDigit(escapePositionInfo, message);
+                        codeUnit = (codeUnit << 4) | parseHexDigit(escapePositionInfo, message);
+                        codeUnit = (codeUnit << 4) | parseHexDigit(escapePositionInfo, message);
+                        codeUnit = (codeUnit << 4) | parseHexDigit(escapePositionInfo, message);
+                        stringBuilder.append((char) codeUnit);
+                        continue;
+                    }
+                    default -> throw error((propertyName
+                            ? "Invalid escape in property name: \\"
+                            : "Invalid escape: \\") + (char) escaped);
+                }
+                advance();
+            } else if (ch <= 0x1F) {
+                throw error("Bad control character in string literal in JSON ");
+            }
+            // Otherwise the run stopped at the end of the buffer and peek() refilled it.
+        }
+    }
+
+    private JSValue parseValue() throws IOException {
+        skipWhitespace();
+        int ch = peek();
+        if (ch < 0) {
+            throw new JSONObject.JSONParseException("Unexpected end of JSON input");
+        }
+        return switch (ch) {
+            case '"' -> new JSString(parseString(false));
+            case '{' -> parseObject();
+            case '[' -> parseArray();
+            case 't' -> parseLiteral("true", JSBoolean.TRUE);
+            case 'f' -> parseLiteral("false", JSBoolean.FALSE);
+            case 'n' -> parseLiteral("null", JSNull.INSTANCE);
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> parseNumber();
+            default -> throw error("Unexpected character: " + (char) ch);
+        };
+    }
+
+    private int peek() throws IOException {
+        if (bufferPosition < bufferLimit || fill()) {
+            return buffer[bufferPosition];
+        }
+        return -1;
+    }
+
+    private void popValues(int valueBase) {
+        Arrays.fill(valueStack, valueBase, valueStackSize, null);
+        valueStackSize = valueBase;
+    }
+
+    private void pushKey(String key) {
+        if (keyStackSize == keyStack.length) {
+            keyStack = Arrays.copyOf(keyStack, keyStackSize << 1);
+        }
+        keyStack[keyStackSize++] = key;
+    }
+
+    private void pushValue(JSValue value) {
+        if (valueStackSize == valueStack.length) {
+            valueStack = Arrays.copyOf(valueStack, valueStackSize << 1);
+        }
+        valueStack[valueStackSize++] = value;
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            int ch = peek();
+            if (ch == ' ' || ch == '\t' || ch == '\r' || ch == '\n') {
+                advance();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    /**
+     * Minimal InputStream view over a ByteBuffer so heap and direct buffers decode the same way.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer byteBuffer;
+
+        ByteBufferInputStream(ByteBuffer byteBuffer) {
+            this.byteBuffer = byteBuffer;
+        }
+
+        @Override
+        public int available() {
+            return byteBuffer.remaining();
+        }
+
+        @Override
+        public int read() {
+            return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!byteBuffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, byteBuffer.remaining());
+            byteBuffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+
+    /**
+     * Node of the per-parse key trie. The path from the root spells an object's key sequence.
+     */
+    private static final class KeyNode {
+        private final boolean duplicate;
+        private final KeyNode parent;
+        private final PropertyKey propertyKey;
+        private Map<String, KeyNode> children;
+        private JSShape shape;
+
+        KeyNode(KeyNode parent, PropertyKey propertyKey, boolean duplicate) {
+            this.parent = parent;
+            this.propertyKey = propertyKey;
+            this.duplicate = duplicate;
+            children = null;
+            shape = null;
+        }
+
+        JSShape getShape(int propertyCount) {
+            if (shape == null) {
+                PropertyKey[] propertyKeys = new PropertyKey[propertyCount];
+                KeyNode keyNode = this;
+                for (int i = propertyCount - 1; i >= 0; i--) {
+                    propertyKeys[i] = keyNode.propertyKey;
+                    keyNode = keyNode.parent;
+                }
+                int[] flags = new int[propertyCount];
+                Arrays.fill(flags, JSShape.PROP_C_W_E);
+                shape = JSShape.createShared(propertyKeys, flags);
+            }
+            return shape;
+        }
+    }
+}
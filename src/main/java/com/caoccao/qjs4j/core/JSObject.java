@@ -34,7 +34,7 @@ import java.util.*;
  */
 public non-sealed class JSObject implements JSValue {
     public static final String NAME = "Object";
-    private static final JSShape EMPTY_SHAPE = new JSShape();
+    private static final JSShape EMPTY_SHAPE = JSShape.createShared(new PropertyKey[0], new int[0]);
     private static final int INITIAL_PROPERTY_VALUE_CAPACITY = 4;
     private static final int MAX_PROTOTYPE_DEPTH = 10000;
     protected final JSContext context;
@@ -49,7 +49,7 @@ public non-sealed class JSObject implements JSValue {
     protected JSObject prototype;
     protected boolean sealed = false;
     protected JSShape shape;
-    protected Map<Integer, JSValue> sparseProperties; // For array indices
+    protected SparseElements sparseProperties; // For array indices
     private boolean superConstructorCalled; // Tracks whether super() has been called in derived constructor
 
     /**
@@ -121,13 +121,13 @@ public non-sealed class JSObject implements JSValue {
         }
 
         // Collect values for non-deleted properties before compacting the shape.
-        // Deleted properties have null descriptors (shape key set to null).
+        // Deleted properties have null shape keys.
         int propCount = shape.getPropertyCount();
         int kept = propCount - shape.getDeletedPropCount();
         JSValue[] newValues = new JSValue[kept];
         int j = 0;
         for (int i = 0; i < propCount; i++) {
-            if (shape.getDescriptorAt(i) != null) {
+            if (shape.getPropertyKeyAt(i) != null) {
                 newValues[j++] = propertyValues[i];
             }
         }
@@ -255,16 +255,43 @@ public non-sealed class JSObject implements JSValue {
         // so the shape-based property takes precedence in get().
         if (sparseProperties != null) {
             long arrayIndex = key.toArrayIndex();
-            if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE) {
-                sparseProperties.remove((int) arrayIndex);
+            if (arrayIndex >= 0) {
+                sparseProperties.remove(arrayIndex);
             }
         }
 
         // Use getOwnPropertyOffset to handle integer/string key equivalence (e.g., 0 vs "0")
         int existingOffset = getOwnPropertyOffset(key);
+        ensureUnsharedShape();
         if (existingOffset >= 0) {
-            // Property exists, merge descriptor and update value
-            shape.getDescriptorAt(existingOffset).mergeFrom(descriptor);
+            // Property exists, merge only the explicitly specified attributes and update value
+            int flags = shape.getPropertyFlagsAt(existingOffset);
+            JSShape.Accessor accessor = shape.getAccessorAt(existingOffset);
+            if (descriptor.isAccessorDescriptor()) {
+                if ((flags & JSShape.PROP_GETSET) == 0) {
+                    // Data -> accessor conversion drops the value and writable attribute
+                    flags = (flags & ~JSShape.PROP_WRITABLE) | JSShape.PROP_GETSET;
+                    propertyValues[existingOffset] = JSUndefined.INSTANCE;
+                }
+                JSFunction getter = descriptor.hasGetter() ? descriptor.getGetter() : accessor != null ? accessor.getter() : null;
+                JSFunction setter = descriptor.hasSetter() ? descriptor.getSetter() : accessor != null ? accessor.setter() : null;
+                shape.setAccessorAt(existingOffset, new JSShape.Accessor(getter, setter));
+            } else if (descriptor.isDataDescriptor() && (flags & JSShape.PROP_GETSET) != 0) {
+                // Accessor -> data conversion drops the getter and setter
+                flags &= ~JSShape.PROP_GETSET;
+                shape.setAccessorAt(existingOffset, null);
+                propertyValues[existingOffset] = JSUndefined.INSTANCE;
+            }
+            if (descriptor.hasWritable() && (flags & JSShape.PROP_GETSET) == 0) {
+                flags = descriptor.isWritable() ? flags | JSShape.PROP_WRITABLE : flags & ~JSShape.PROP_WRITABLE;
+            }
+            if (descriptor.hasEnumerable()) {
+                flags = descriptor.isEnumerable() ? flags | JSShape.PROP_ENUMERABLE : flags & ~JSShape.PROP_ENUMERABLE;
+            }
+            if (descriptor.hasConfigurable()) {
+                flags = descriptor.isConfigurable() ? flags | JSShape.PROP_CONFIGURABLE : flags & ~JSShape.PROP_CONFIGURABLE;
+            }
+            shape.setPropertyFlagsAt(existingOffset, flags);
             if (descriptor.hasValue()) {
                 propertyValues[existingOffset] = descriptor.getValue();
             }
@@ -272,14 +299,10 @@ public non-sealed class JSObject implements JSValue {
         }
 
         // Add new property to shape
-        if (shape == EMPTY_SHAPE) {
-            shape = new JSShape();
-        }
-        shape.addProperty(key, descriptor);
-
-        int newCount = shape.getPropertyCount();
-        ensurePropertyValueCapacity(newCount);
-        int newOffset = newCount - 1;
+        int newOffset = descriptor.isAccessorDescriptor()
+                ? shape.addProperty(key, descriptor.toPropertyFlags(), new JSShape.Accessor(descriptor.getGetter(), descriptor.getSetter()))
+                : shape.addProperty(key, descriptor.toPropertyFlags(), null);
+        ensurePropertyValueCapacity(newOffset + 1);
         if (descriptor.hasValue()) {
             propertyValues[newOffset] = descriptor.getValue();
         } else {
@@ -304,9 +327,8 @@ public non-sealed class JSObject implements JSValue {
         boolean strictMode = context.isStrictMode();
         // Check sparse properties first.
         long arrayIndex = key.toArrayIndex();
-        if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            int sparseIndex = (int) arrayIndex;
-            if (sparseProperties.containsKey(sparseIndex)) {
+        if (arrayIndex >= 0 && sparseProperties != null) {
+            if (sparseProperties.containsKey(arrayIndex)) {
                 if (sealed || frozen) {
                     if (strictMode) {
                         context.throwTypeError(
@@ -314,7 +336,7 @@ public non-sealed class JSObject implements JSValue {
                     }
                     return false;
                 }
-                sparseProperties.remove(sparseIndex);
+                sparseProperties.remove(arrayIndex);
                 return true;
             }
             // Not in sparse storage; continue checking shape-backed properties.
@@ -338,8 +360,7 @@ public non-sealed class JSObject implements JSValue {
         int offset = shape.getPropertyOffset(shapeKey);
 
         // Check if property is configurable before removing
-        PropertyDescriptor desc = shape.getDescriptorAt(offset);
-        if (!desc.isConfigurable()) {
+        if ((shape.getPropertyFlagsAt(offset) & JSShape.PROP_CONFIGURABLE) == 0) {
             // In strict mode, throw TypeError when trying to delete non-configurable property
             if (strictMode) {
                 context.throwTypeError(
@@ -349,6 +370,7 @@ public non-sealed class JSObject implements JSValue {
         }
 
         // Remove from shape (checks configurability internally)
+        ensureUnsharedShape();
         boolean removed = shape.removeProperty(shapeKey);
         if (!removed) {
             return false; // Not configurable or other error
@@ -384,6 +406,15 @@ public non-sealed class JSObject implements JSValue {
         propertyValues = Arrays.copyOf(propertyValues, newCapacity);
     }
 
+    /**
+     * Copy a shared shape before this object mutates it.
+     */
+    protected void ensureUnsharedShape() {
+        if (shape.isShared()) {
+            shape = shape.copy();
+        }
+    }
+
     /**
      * Get own enumerable property keys.
      */
@@ -393,41 +424,11 @@ public non-sealed class JSObject implements JSValue {
 
     /**
      * Fast path for own enumerable string property names as JS strings.
-     * Returns null when generic property ordering or accessor semantics are required.
+     * Returns null when some own properties do not live in the shape.
      */
     public JSValue[] enumerableStringKeyValuesFastPath() {
-        if (getClass() != JSObject.class) {
-            return null;
-        }
-        if (sparseProperties != null || shape.getDeletedPropCount() != 0) {
-            return null;
-        }
-        int propertyCount = shape.getPropertyCount();
-        JSValue[] keyValues = new JSValue[propertyCount];
-        int keyCount = 0;
-        for (int index = 0; index < propertyCount; index++) {
-            PropertyKey propertyKey = shape.getPropertyKeyAt(index);
-            if (propertyKey == null) {
-                return null;
-            }
-            if (propertyKey.isSymbol() || propertyKey.toArrayIndex() >= 0) {
-                return null;
-            }
-            PropertyDescriptor descriptor = shape.getDescriptorAt(index);
-            if (descriptor == null) {
-                return null;
-            }
-            if (descriptor.isAccessorDescriptor()) {
-                return null;
-            }
-            if (descriptor.isEnumerable()) {
-                keyValues[keyCount++] = new JSString(propertyKey.asString());
-            }
-        }
-        if (keyCount == keyValues.length) {
-            return keyValues;
-        }
-        return Arrays.copyOf(keyValues, keyCount);
+        JSShape.StringKeys stringKeys = getShapeStringKeys();
+        return stringKeys != null ? stringKeys.enumerableNames().clone() : null;
     }
 
     /**
@@ -435,39 +436,18 @@ public non-sealed class JSObject implements JSValue {
      * Returns null when generic property ordering or accessor semantics are required.
      */
     public JSValue[] enumerableStringPropertyValuesFastPath() {
-        if (getClass() != JSObject.class) {
-            return null;
-        }
-        if (sparseProperties != null || shape.getDeletedPropCount() != 0) {
+        JSShape.StringKeys stringKeys = getShapeStringKeys();
+        if (stringKeys == null || stringKeys.enumerableAccessor()) {
             return null;
         }
-        int propertyCount = shape.getPropertyCount();
-        JSValue[] values = new JSValue[propertyCount];
-        int valueCount = 0;
-        for (int index = 0; index < propertyCount; index++) {
-            PropertyKey propertyKey = shape.getPropertyKeyAt(index);
-            if (propertyKey == null) {
-                return null;
-            }
-            if (propertyKey.isSymbol() || propertyKey.toArrayIndex() >= 0) {
-                return null;
-            }
-            PropertyDescriptor descriptor = shape.getDescriptorAt(index);
-            if (descriptor == null) {
-                return null;
-            }
-            if (descriptor.isAccessorDescriptor()) {
-                return null;
-            }
-            if (descriptor.isEnumerable()) {
-                JSValue propertyValue = index < propertyValues.length ? propertyValues[index] : null;
-                values[valueCount++] = propertyValue != null ? propertyValue : JSUndefined.INSTANCE;
-            }
-        }
-        if (valueCount == values.length) {
-            return values;
+        int[] offsets = stringKeys.enumerableOffsets();
+        JSValue[] values = new JSValue[offsets.length];
+        for (int index = 0; index < offsets.length; index++) {
+            int offset = offsets[index];
+            JSValue propertyValue = offset < propertyValues.length ? propertyValues[offset] : null;
+            values[index] = propertyValue != null ? propertyValue : JSUndefined.INSTANCE;
         }
-        return Arrays.copyOf(values, valueCount);
+        return values;
     }
 
     private boolean failSet(PropertyKey key, boolean throwOnFailure) {
@@ -587,8 +567,7 @@ public non-sealed class JSObject implements JSValue {
                     break;
                 }
                 if (enumerableOnly) {
-                    PropertyDescriptor descriptor = shape.getDescriptorAt(index);
-                    if (descriptor == null || !descriptor.isEnumerable()) {
+                    if ((shape.getPropertyFlagsAt(index) & JSShape.PROP_ENUMERABLE) == 0) {
                         fastPathEligible = false;
                         break;
                     }
@@ -605,8 +584,7 @@ public non-sealed class JSObject implements JSValue {
 
         List<PropertyKey> stringKeys = new ArrayList<>();
         List<PropertyKey> symbolKeys = new ArrayList<>();
-        List<Map.Entry<Long, PropertyKey>> numericKeys = new ArrayList<>();
-        Set<Long> seenNumericIndices = new HashSet<>();
+        List<PropertyKey> indexKeys = new ArrayList<>();
         Set<PropertyKey> seenPropertyKeys = new HashSet<>();
 
         int propCount = shape.getPropertyCount();
@@ -619,16 +597,12 @@ public non-sealed class JSObject implements JSValue {
                 continue;
             }
             if (enumerableOnly) {
-                PropertyDescriptor descriptor = shape.getDescriptorAt(i);
-                if (descriptor == null || !descriptor.isEnumerable()) {
+                if ((shape.getPropertyFlagsAt(i) & JSShape.PROP_ENUMERABLE) == 0) {
                     continue;
                 }
             }
-            long index = shapeKey.toArrayIndex();
-            if (index >= 0) {
-                if (seenNumericIndices.add(index)) {
-                    numericKeys.add(Map.entry(index, shapeKey));
-                }
+            if (shapeKey.toArrayIndex() >= 0) {
+                indexKeys.add(shapeKey);
             } else if (shapeKey.isSymbol()) {
                 if (seenPropertyKeys.add(shapeKey)) {
                     symbolKeys.add(shapeKey);
@@ -638,20 +612,35 @@ public non-sealed class JSObject implements JSValue {
             }
         }
 
-        if (sparseProperties != null) {
-            for (Integer index : sparseProperties.keySet()) {
-                long unsignedIndex = Integer.toUnsignedLong(index);
-                if (seenNumericIndices.add(unsignedIndex)) {
-                    numericKeys.add(Map.entry(unsignedIndex, PropertyKey.fromIndex(index)));
-                }
+        // The sparse indices are already ascending, only the few index keys in the shape are sorted.
+        indexKeys.sort(Comparator.comparingLong(PropertyKey::toArrayIndex));
+        long[] sparseIndices = sparseProperties != null ? sparseProperties.indices() : null;
+        int sparseCount = sparseIndices != null ? sparseIndices.length : 0;
+        int shapeIndexCount = indexKeys.size();
+        List<PropertyKey> ordered = new ArrayList<>(
+                sparseCount + shapeIndexCount + stringKeys.size() + symbolKeys.size());
+        int sparseCursor = 0;
+        int shapeCursor = 0;
+        long previousIndex = -1;
+        while (sparseCursor < sparseCount || shapeCursor < shapeIndexCount) {
+            long sparseIndex = sparseCursor < sparseCount ? sparseIndices[sparseCursor] : Long.MAX_VALUE;
+            long shapeIndex = shapeCursor < shapeIndexCount
+                    ? indexKeys.get(shapeCursor).toArrayIndex()
+                    : Long.MAX_VALUE;
+            PropertyKey key;
+            long index;
+            if (shapeIndex <= sparseIndex) {
+                key = indexKeys.get(shapeCursor++);
+                index = shapeIndex;
+            } else {
+                key = SparseElements.toPropertyKey(sparseIndex);
+                index = sparseIndex;
+                sparseCursor++;
+            }
+            if (index != previousIndex) {
+                ordered.add(key);
+                previousIndex = index;
             }
-        }
-
-        numericKeys.sort(Comparator.comparingLong(Map.Entry::getKey));
-
-        List<PropertyKey> ordered = new ArrayList<>(numericKeys.size() + stringKeys.size() + symbolKeys.size());
-        for (Map.Entry<Long, PropertyKey> entry : numericKeys) {
-            ordered.add(entry.getValue());
         }
         ordered.addAll(stringKeys);
         ordered.addAll(symbolKeys);
@@ -664,24 +653,16 @@ public non-sealed class JSObject implements JSValue {
     public PropertyDescriptor getOwnPropertyDescriptor(PropertyKey key) {
         int offset = getOwnPropertyOffset(key);
         if (offset >= 0) {
-            PropertyDescriptor desc = shape.getDescriptorAt(offset);
-            // Sync descriptor value with current propertyValues for data properties.
-            // propertyValues[offset] is the source of truth for current values,
-            // while the descriptor may hold a stale value from initialization.
-            if (desc != null && desc.isDataDescriptor()) {
-                if (offset < propertyValues.length && propertyValues[offset] != null) {
-                    JSValue currentValue = propertyValues[offset];
-                    if (desc.getValue() != currentValue) {
-                        desc.setValue(currentValue);
-                    }
-                }
-            }
-            return desc;
+            // The descriptor is a snapshot built from the shape flags and the property slot
+            return PropertyDescriptor.fromPropertyFlags(
+                    shape.getPropertyFlagsAt(offset),
+                    offset < propertyValues.length ? propertyValues[offset] : null,
+                    shape.getAccessorAt(offset));
         }
 
         long arrayIndex = key.toArrayIndex();
-        if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            JSValue sparseValue = sparseProperties.get((int) arrayIndex);
+        if (arrayIndex >= 0 && sparseProperties != null) {
+            JSValue sparseValue = sparseProperties.get(arrayIndex);
             if (sparseValue != null) {
                 return PropertyDescriptor.defaultData(sparseValue);
             }
@@ -752,14 +733,22 @@ public non-sealed class JSObject implements JSValue {
         return prototype;
     }
 
+    /**
+     * Get the cached ordered own string keys of the shape,
+     * or null if some own properties do not live in the shape.
+     */
+    JSShape.StringKeys getShapeStringKeys() {
+        return hasShapeOnlyOwnKeys() ? shape.getStringKeys() : null;
+    }
+
     /**
      * Internal get method with receiver tracking for prototype chain getter invocation.
      * Protected to allow JSProxy to override with proper trap handling.
      */
     protected JSValue getWithReceiver(PropertyKey key, JSValue receiver, int depth) {
         long arrayIndex = key.toArrayIndex();
-        if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            JSValue sparseValue = sparseProperties.get((int) arrayIndex);
+        if (arrayIndex >= 0 && sparseProperties != null) {
+            JSValue sparseValue = sparseProperties.get(arrayIndex);
             if (sparseValue != null) {
                 return sparseValue;
             }
@@ -769,16 +758,16 @@ public non-sealed class JSObject implements JSValue {
         if (primitiveValue instanceof JSString str && arrayIndex >= 0) {
             String s = str.value();
             if (arrayIndex < s.length()) {
-                return new JSString(String.valueOf(s.charAt((int) arrayIndex)));
+                return JSString.of(s.charAt((int) arrayIndex));
             }
         }
 
         // Look in own properties
         int offset = getOwnPropertyOffset(key);
         if (offset >= 0) {
-            PropertyDescriptor desc = shape.getDescriptorAt(offset);
-            if (desc != null && desc.isAccessorDescriptor()) {
-                JSFunction getter = desc.getGetter();
+            if ((shape.getPropertyFlagsAt(offset) & JSShape.PROP_GETSET) != 0) {
+                JSShape.Accessor accessor = shape.getAccessorAt(offset);
+                JSFunction getter = accessor != null ? accessor.getter() : null;
                 if (getter != null) {
                     JSContext propertyAccessContext = this.context;
                     try {
@@ -915,8 +904,8 @@ public non-sealed class JSObject implements JSValue {
             return true;
         }
         long arrayIndex = key.toArrayIndex();
-        if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            return sparseProperties.containsKey((int) arrayIndex);
+        if (arrayIndex >= 0 && sparseProperties != null) {
+            return sparseProperties.containsKey(arrayIndex);
         }
         return false;
     }
@@ -929,13 +918,33 @@ public non-sealed class JSObject implements JSValue {
     }
 
     /**
-     * Initialize properties in bulk on a freshly created object with no existing properties.
+     * Check if all own properties live in the shape, so that the own keys are the shape keys
+     * and looking them up runs no user code.
+     */
+    boolean hasShapeOnlyOwnKeys() {
+        return getClass() == JSObject.class && sparseProperties == null;
+    }
+
+    /**
+     * Initialize the properties of a freshly created object from a shared shape.
+     * The shape is copied on the first mutation, the values array is owned by this object.
+     */
+    void initProperties(JSShape sharedShape, JSValue[] values) {
+        this.shape = sharedShape;
+        this.propertyValues = values;
+    }
+
+    /**
+     * Initialize default data properties (writable, enumerable, configurable) in bulk
+     * on a freshly created object with no existing properties.
      * This is more efficient than calling defineProperty repeatedly because it avoids
      * the O(N²) cost of incremental shape growth (linear scans + array copies per property).
-     * The keys, descriptors, and values arrays must all have the same length.
+     * The keys and values arrays must have the same length.
      */
-    public void initProperties(PropertyKey[] keys, PropertyDescriptor[] descriptors, JSValue[] values) {
-        this.shape = new JSShape(keys, descriptors);
+    public void initProperties(PropertyKey[] keys, JSValue[] values) {
+        int[] flags = new int[keys.length];
+        Arrays.fill(flags, JSShape.PROP_C_W_E);
+        this.shape = new JSShape(keys, flags);
         this.propertyValues = values;
     }
 
@@ -1051,7 +1060,7 @@ public non-sealed class JSObject implements JSValue {
         // Use sparse storage for large indices
         if (index >= 100 || (sparseProperties != null && sparseProperties.containsKey(index))) {
             if (sparseProperties == null) {
-                sparseProperties = new HashMap<>();
+                sparseProperties = new SparseElements();
             }
             sparseProperties.put(index, value);
         } else {
@@ -1099,10 +1108,11 @@ public non-sealed class JSObject implements JSValue {
         // Check if property already exists
         int offset = getOwnPropertyOffset(key);
         if (offset >= 0) {
-            PropertyDescriptor descriptor = shape.getDescriptorAt(offset);
+            int flags = shape.getPropertyFlagsAt(offset);
 
-            if (descriptor != null && descriptor.isAccessorDescriptor()) {
-                JSFunction setter = descriptor.getSetter();
+            if ((flags & JSShape.PROP_GETSET) != 0) {
+                JSShape.Accessor accessor = shape.getAccessorAt(offset);
+                JSFunction setter = accessor != null ? accessor.setter() : null;
                 if (setter != null) {
                     boolean hadPendingException = context.hasPendingException();
                     setter.call(context, receiver, new JSValue[]{value});
@@ -1111,7 +1121,7 @@ public non-sealed class JSObject implements JSValue {
                 return failSet(key, throwOnFailure);
             }
 
-            if (descriptor == null || !descriptor.isWritable() || frozen) {
+            if ((flags & JSShape.PROP_WRITABLE) == 0 || frozen) {
                 return failSet(key, throwOnFailure);
             }
 
@@ -1143,9 +1153,10 @@ public non-sealed class JSObject implements JSValue {
             visited.add(proto);
             int protoOffset = proto.getOwnPropertyOffset(key);
             if (protoOffset >= 0) {
-                PropertyDescriptor protoDescriptor = proto.shape.getDescriptorAt(protoOffset);
-                if (protoDescriptor != null && protoDescriptor.isAccessorDescriptor()) {
-                    JSFunction setter = protoDescriptor.getSetter();
+                int protoFlags = proto.shape.getPropertyFlagsAt(protoOffset);
+                if ((protoFlags & JSShape.PROP_GETSET) != 0) {
+                    JSShape.Accessor accessor = proto.shape.getAccessorAt(protoOffset);
+                    JSFunction setter = accessor != null ? accessor.setter() : null;
                     if (setter != null) {
                         boolean hadPendingException = context.hasPendingException();
                         setter.call(context, receiver, new JSValue[]{value});
@@ -1153,7 +1164,7 @@ public non-sealed class JSObject implements JSValue {
                     }
                     return failSet(key, throwOnFailure);
                 }
-                if (protoDescriptor != null && !protoDescriptor.isWritable()) {
+                if ((protoFlags & JSShape.PROP_WRITABLE) == 0) {
                     return failSet(key, throwOnFailure);
                 }
                 break;
@@ -1230,20 +1241,13 @@ public non-sealed class JSObject implements JSValue {
         int offset = getOwnPropertyOffset(key);
         if (offset >= 0) {
             propertyValues[offset] = value;
-            PropertyDescriptor descriptor = shape.getDescriptorAt(offset);
-            if (descriptor != null && descriptor.isDataDescriptor()) {
-                descriptor.setValue(value);
-            }
             return;
         }
 
         long arrayIndex = key.toArrayIndex();
-        if (arrayIndex >= 0 && arrayIndex <= Integer.MAX_VALUE && sparseProperties != null) {
-            int sparseIndex = (int) arrayIndex;
-            if (sparseProperties.containsKey(sparseIndex)) {
-                sparseProperties.put(sparseIndex, value);
-                return;
-            }
+        if (arrayIndex >= 0 && sparseProperties != null && sparseProperties.containsKey(arrayIndex)) {
+            sparseProperties.put(arrayIndex, value);
+            return;
         }
 
         set(key, value);
@@ -1312,9 +1316,10 @@ public non-sealed class JSObject implements JSValue {
             visited.add(current);
             int propertyOffset = current.getOwnPropertyOffset(key);
             if (propertyOffset >= 0) {
-                PropertyDescriptor descriptor = current.shape.getDescriptorAt(propertyOffset);
-                if (descriptor != null && descriptor.isAccessorDescriptor()) {
-                    JSFunction setter = descriptor.getSetter();
+                int flags = current.shape.getPropertyFlagsAt(propertyOffset);
+                if ((flags & JSShape.PROP_GETSET) != 0) {
+                    JSShape.Accessor accessor = current.shape.getAccessorAt(propertyOffset);
+                    JSFunction setter = accessor != null ? accessor.setter() : null;
                     if (setter != null) {
                         boolean hadPendingException = context != null && context.hasPendingException();
                         setter.call(context, primitiveReceiver, new JSValue[]{value});
@@ -1323,7 +1328,7 @@ public non-sealed class JSObject implements JSValue {
                     // Accessor without setter
                     return false;
                 }
-                if (descriptor != null && !descriptor.isWritable()) {
+                if ((flags & JSShape.PROP_WRITABLE) == 0) {
                     return false;
                 }
                 // Writable data property found on prototype - would need to define on receiver,
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.compilation.ast.ExportDeclaration;
+import com.caoccao.qjs4j.compilation.ast.ImportDeclaration;
+import com.caoccao.qjs4j.compilation.ast.ModuleItem;
+import com.caoccao.qjs4j.compilation.ast.Program;
+import com.caoccao.qjs4j.compilation.compiler.Compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A module source parsed without a context: the program and its module requests.
+ * <p>
+ * Parsing does not touch a context, so {@link JSModuleGraphLoader} creates these on its
+ * executor and contexts take them over at link time. The runtime caches them by resolved
+ * specifier, so a module source is parsed once per runtime.
+ *
+ * @param resolvedSpecifier the resolved specifier of the module
+ * @param rawSource         the module source
+ * @param program           the parsed program
+ * @param staticImports     the import declarations in source order
+ * @param moduleRequests    the specifiers of all import declarations and export-from
+ *                          declarations in source order
+ */
+record JSParsedModule(
+        String resolvedSpecifier,
+        String rawSource,
+        Program program,
+        List<JSCompiledModule.StaticImport> staticImports,
+        List<String> moduleRequests) {
+    /**
+     * Parse a module source.
+     *
+     * @throws com.caoccao.qjs4j.exceptions.JSSyntaxErrorException if the source is not a valid module
+     */
+    static JSParsedModule parse(String resolvedSpecifier, String rawSource) {
+        Program program = new Compiler(rawSource, resolvedSpecifier).parse(true);
+        List<JSCompiledModule.StaticImport> staticImports = new ArrayList<>();
+        List<String> moduleRequests = new ArrayList<>();
+        for (ModuleItem moduleItem : program.getModuleItems()) {
+            if (moduleItem instanceof ImportDeclaration importDeclaration
+                    && importDeclaration.getSource() != null
+                    && importDeclaration.getSource().getValue() instanceof String specifier) {
+                staticImports.add(new JSCompiledModule.StaticImport(specifier, importDeclaration.isDeferred()));
+                moduleRequests.add(specifier);
+            } else if (moduleItem instanceof ExportDeclaration exportDeclaration
+                    && exportDeclaration.getSource() != null
+                    && exportDeclaration.getSource().getValue() instanceof String specifier) {
+                moduleRequests.add(specifier);
+            }
+        }
+        return new JSParsedModule(
+                resolvedSpecifier, rawSource, program, List.copyOf(staticImports), List.copyOf(moduleRequests));
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.caoccao.qjs4j.core;
 
+import com.caoccao.qjs4j.builtins.PromisePrototype;
 import com.caoccao.qjs4j.exceptions.JSException;
 import com.caoccao.qjs4j.exceptions.JSVirtualMachineException;
 
@@ -29,8 +30,8 @@ import java.util.List;
  */
 public final class JSPromise extends JSObject {
     public static final String NAME = "Promise";
-    private final List<ReactionRecord> fulfillReactions;
-    private final List<ReactionRecord> rejectReactions;
+    private List<ReactionRecord> fulfillReactions;
+    private List<ReactionRecord> rejectReactions;
     private volatile JSValue result;
     private volatile PromiseState state;
 
@@ -41,8 +42,6 @@ public final class JSPromise extends JSObject {
         super(context);
         this.state = PromiseState.PENDING;
         this.result = JSUndefined.INSTANCE;
-        this.fulfillReactions = new ArrayList<>();
-        this.rejectReactions = new ArrayList<>();
     }
 
     private static JSValue callCallable(JSContext context, JSValue callable, JSValue thisArg, JSValue[] args) {
@@ -166,10 +165,17 @@ public final class JSPromise extends JSObject {
         JSValue settledResult;
         synchronized (this) {
             if (state == PromiseState.PENDING) {
+                // Most promises get a single reaction pair, allocate the lists on first use
                 if (onFulfill != null) {
+                    if (fulfillReactions == null) {
+                        fulfillReactions = new ArrayList<>(2);
+                    }
                     fulfillReactions.add(onFulfill);
                 }
                 if (onReject != null) {
+                    if (rejectReactions == null) {
+                        rejectReactions = new ArrayList<>(2);
+                    }
                     rejectReactions.add(onReject);
                 }
                 return;
@@ -198,14 +204,16 @@ public final class JSPromise extends JSObject {
             }
             state = PromiseState.FULFILLED;
             result = value;
-            reactionsToTrigger = new ArrayList<>(fulfillReactions);
-            fulfillReactions.clear();
-            rejectReactions.clear();
+            reactionsToTrigger = fulfillReactions;
+            fulfillReactions = null;
+            rejectReactions = null;
         }
 
         // Trigger all fulfill reactions
-        for (ReactionRecord reaction : reactionsToTrigger) {
-            triggerReaction(reaction, value);
+        if (reactionsToTrigger != null) {
+            for (ReactionRecord reaction : reactionsToTrigger) {
+                triggerReaction(reaction, value);
+            }
         }
     }
 
@@ -235,14 +243,16 @@ public final class JSPromise extends JSObject {
             }
             state = PromiseState.REJECTED;
             result = reason;
-            reactionsToTrigger = new ArrayList<>(rejectReactions);
-            fulfillReactions.clear();
-            rejectReactions.clear();
+            reactionsToTrigger = rejectReactions;
+            fulfillReactions = null;
+            rejectReactions = null;
         }
 
         // Trigger all reject reactions
-        for (ReactionRecord reaction : reactionsToTrigger) {
-            triggerReaction(reaction, reason);
+        if (reactionsToTrigger != null) {
+            for (ReactionRecord reaction : reactionsToTrigger) {
+                triggerReaction(reaction, reason);
+            }
         }
     }
 
@@ -280,33 +290,53 @@ public final class JSPromise extends JSObject {
 
         ResolveState resolveState = new ResolveState();
         context.enqueueMicrotask(() -> {
-            JSNativeFunction resolveFunc = new JSNativeFunction(context, "", 1,
-                    (childContext, thisArg, funcArgs) -> {
-                        if (resolveState.alreadyResolved) {
-                            return JSUndefined.INSTANCE;
-                        }
-                        resolveState.alreadyResolved = true;
-                        JSValue value = funcArgs.length > 0 ? funcArgs[0] : JSUndefined.INSTANCE;
-                        resolve(context, value);
-                        return JSUndefined.INSTANCE;
-                    });
-            JSNativeFunction rejectFunc = new JSNativeFunction(context, "", 1,
-                    (childContext, thisArg, funcArgs) -> {
-                        if (resolveState.alreadyResolved) {
-                            return JSUndefined.INSTANCE;
-                        }
-                        resolveState.alreadyResolved = true;
-                        JSValue reason = funcArgs.length > 0 ? funcArgs[0] : JSUndefined.INSTANCE;
-                        reject(reason);
-                        return JSUndefined.INSTANCE;
-                    });
-            context.transferPrototype(resolveFunc, JSFunction.NAME);
-            context.transferPrototype(rejectFunc, JSFunction.NAME);
             try {
-                if (thenValue instanceof JSProxy thenProxy) {
-                    thenProxy.apply(context, resolutionObject, new JSValue[]{resolveFunc, rejectFunc});
+                if (resolutionObject instanceof JSPromise resolutionPromise && thenValue == context.getPromiseThen()) {
+                    // NewPromiseResolveThenableJob on a native promise with the intrinsic then:
+                    // same observable steps, but the resolving functions stay internal
+                    PromisePrototype.thenInternal(context, resolutionPromise,
+                            (childContext, value) -> {
+                                if (!resolveState.alreadyResolved) {
+                                    resolveState.alreadyResolved = true;
+                                    resolve(context, value);
+                                }
+                                return JSUndefined.INSTANCE;
+                            },
+                            (childContext, reason) -> {
+                                if (!resolveState.alreadyResolved) {
+                                    resolveState.alreadyResolved = true;
+                                    reject(reason);
+                                }
+                                return JSUndefined.INSTANCE;
+                            });
                 } else {
-                    ((JSFunction) thenValue).call(context, resolutionObject, new JSValue[]{resolveFunc, rejectFunc});
+                    JSNativeFunction resolveFunc = new JSNativeFunction(context, "", 1,
+                            (childContext, thisArg, funcArgs) -> {
+                                if (resolveState.alreadyResolved) {
+                                    return JSUndefined.INSTANCE;
+                                }
+                                resolveState.alreadyResolved = true;
+                                JSValue value = funcArgs.length > 0 ? funcArgs[0] : JSUndefined.INSTANCE;
+                                resolve(context, value);
+                                return JSUndefined.INSTANCE;
+                            });
+                    JSNativeFunction rejectFunc = new JSNativeFunction(context, "", 1,
+                            (childContext, thisArg, funcArgs) -> {
+                                if (resolveState.alreadyResolved) {
+                                    return JSUndefined.INSTANCE;
+                                }
+                                resolveState.alreadyResolved = true;
+                                JSValue reason = funcArgs.length > 0 ? funcArgs[0] : JSUndefined.INSTANCE;
+                                reject(reason);
+                                return JSUndefined.INSTANCE;
+                            });
+                    context.transferPrototype(resolveFunc, JSFunction.NAME);
+                    context.transferPrototype(rejectFunc, JSFunction.NAME);
+                    if (thenValue instanceof JSProxy thenProxy) {
+                        thenProxy.apply(context, resolutionObject, new JSValue[]{resolveFunc, rejectFunc});
+                    } else {
+                        ((JSFunction) thenValue).call(context, resolutionObject, new JSValue[]{resolveFunc, rejectFunc});
+                    }
                 }
                 if (context.hasPendingException() && !resolveState.alreadyResolved) {
                     JSValue error = context.getPendingException();
@@ -368,10 +398,11 @@ public final class JSPromise extends JSObject {
     private void triggerReaction(ReactionRecord reaction, JSValue value) {
         // Enqueue a microtask to execute the reaction
         reaction.context.enqueueMicrotask(() -> {
-            if (reaction.handler != null) {
+            if (reaction.handler != null || reaction.internalHandler != null) {
                 try {
-                    JSValue[] args = new JSValue[]{value};
-                    JSValue handlerResult = reaction.handler.call(reaction.context, JSUndefined.INSTANCE, args);
+                    JSValue handlerResult = reaction.internalHandler != null
+                            ? reaction.internalHandler.handle(reaction.context, value)
+                            : reaction.handler.call(reaction.context, JSUndefined.INSTANCE, new JSValue[]{value});
                     if (reaction.context.hasPendingException()) {
                         JSValue error = reaction.context.getPendingException();
                         reaction.context.clearPendingException();
@@ -421,21 +452,45 @@ public final class JSPromise extends JSObject {
         REJECTED
     }
 
+    /**
+     * An engine-internal reaction handler, e.g. the resumption of an async function after await.
+     * Unlike a {@link JSFunction} handler it is never visible to scripts, so no function object is created.
+     */
+    @FunctionalInterface
+    public interface ReactionHandler {
+        /**
+         * Handle the settled value. A pending exception or a thrown exception rejects the reaction target.
+         *
+         * @return the value that resolves the reaction target
+         */
+        JSValue handle(JSContext context, JSValue value);
+    }
+
     /**
      * A reaction record stores a callback and the promise it will affect.
+     * The callback is either a script-visible handler or an engine-internal handler.
      */
     public record ReactionRecord(
             JSFunction handler,
             JSPromise promise,
             JSContext context,
             JSValue capabilityResolve,
-            JSValue capabilityReject) {
+            JSValue capabilityReject,
+            ReactionHandler internalHandler) {
         public ReactionRecord(JSFunction handler, JSPromise promise, JSContext context) {
-            this(handler, promise, context, null, null);
+            this(handler, promise, context, null, null, null);
         }
 
         public ReactionRecord(JSFunction handler, JSContext context, JSValue capabilityResolve, JSValue capabilityReject) {
-            this(handler, null, context, capabilityResolve, capabilityReject);
+            this(handler, null, context, capabilityResolve, capabilityReject, null);
+        }
+
+        public ReactionRecord(JSFunction handler, JSPromise promise, JSContext context, JSValue capabilityResolve, JSValue capabilityReject) {
+            this(handler, promise, context, capabilityResolve, capabilityReject, null);
+        }
+
+        public ReactionRecord(ReactionHandler internalHandler, JSContext context) {
+            this(null, null, context, null, null, internalHandler);
         }
     }
 
@@ -19,7 +19,8 @@ package com.caoccao.qjs4j.core;
 import com.caoccao.qjs4j.utils.AtomTable;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a JavaScript runtime environment.
@@ -36,6 +37,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * - Atom table (interned strings)
  * - JVM garbage collection hints
  * - Job queue
+ * - Module loader and parsed/compiled module caches
  * <p>
  * But contexts have separate:
  * - Global objects
@@ -43,13 +45,20 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * - Stack traces
  */
 public final class JSRuntime implements AutoCloseable {
+    public static final int DEFAULT_COMPILED_MODULE_CACHE_SIZE = 1024;
+    public static final int MAX_NATIVE_FUNCTION_TEMPLATE_COUNT = 4096;
     private final AtomTable atoms;
+    private final Map<CompiledModuleKey, JSCompiledModule> compiledModuleCache;
+    private final AtomicInteger compiledModuleCount;
     private final List<JSContext> contexts;
     private final Map<String, JSSymbol> globalSymbolRegistry;
     private final Map<JSSymbol, String> globalSymbolReverseRegistry;
-    private final Queue<Job> jobQueue;
+    private final JSJobQueue jobQueue;
+    private final Map<NativeFunctionTemplateKey, JSNativeFunction.Template> nativeFunctionTemplates;
     private final JSRuntimeOptions options;
+    private final Map<String, JSParsedModule> parsedModuleCache;
     private JSContext currentExecutingContext;
+    private IJSModuleLoader moduleLoader;
 
     /**
      * Create a new runtime with default options.
@@ -67,15 +76,43 @@ public final class JSRuntime implements AutoCloseable {
     public JSRuntime(JSRuntimeOptions options) {
         this.contexts = Collections.synchronizedList(new ArrayList<>());
         this.atoms = new AtomTable();
-        this.jobQueue = new ConcurrentLinkedQueue<>();
+        this.jobQueue = new JSJobQueue();
+        this.nativeFunctionTemplates = new ConcurrentHashMap<>();
         this.globalSymbolRegistry = new HashMap<>();
         this.globalSymbolReverseRegistry = new HashMap<>();
         this.options = options;
+        this.moduleLoader = options.getModuleLoader();
+        this.compiledModuleCount = new AtomicInteger();
+        this.compiledModuleCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompiledModuleKey, JSCompiledModule> eldest) {
+                return size() > DEFAULT_COMPILED_MODULE_CACHE_SIZE;
+            }
+        };
+        this.parsedModuleCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JSParsedModule> eldest) {
+                return size() > DEFAULT_COMPILED_MODULE_CACHE_SIZE;
+            }
+        };
+    }
+
+    /**
+     * Drop all parsed and compiled module records cached by this runtime.
+     */
+    public void clearCompiledModuleCache() {
+        synchronized (compiledModuleCache) {
+            compiledModuleCache.clear();
+        }
+        synchronized (parsedModuleCache) {
+            parsedModuleCache.clear();
+        }
     }
 
     @Override
     public void close() {
         jobQueue.clear();
+        clearCompiledModuleCache();
         for (JSContext context : getContextSnapshot()) {
             if (context != null) {
                 context.close();
@@ -102,12 +139,22 @@ public final class JSRuntime implements AutoCloseable {
     }
 
     /**
-     * Enqueue a job to be executed later.
+     * Enqueue a job to be executed later on the thread running this runtime.
      * Used for promise reactions and queueMicrotask().
      */
     public void enqueueJob(Job job) {
         if (job != null) {
-            jobQueue.offer(job);
+            jobQueue.enqueue(null, job::run);
+        }
+    }
+
+    /**
+     * Enqueue a job from any thread, e.g. a host callback completing off the script thread.
+     * The job runs during the next {@link #runJobs()} on the thread running this runtime.
+     */
+    public void enqueueJobFromAnyThread(Job job) {
+        if (job != null) {
+            jobQueue.enqueueFromAnyThread(null, job::run);
         }
     }
 
@@ -130,6 +177,32 @@ public final class JSRuntime implements AutoCloseable {
         return atoms;
     }
 
+    /**
+     * Get a cached compiled module whose resolved specifier and source match.
+     *
+     * @return the compiled module, or null if it is not cached or the source changed
+     */
+    JSCompiledModule getCompiledModule(String resolvedSpecifier, String sourceCode) {
+        CompiledModuleKey key = new CompiledModuleKey(resolvedSpecifier, sourceCode.length(), sourceCode.hashCode());
+        JSCompiledModule compiledModule;
+        synchronized (compiledModuleCache) {
+            compiledModule = compiledModuleCache.get(key);
+        }
+        if (compiledModule != null && compiledModule.rawSource().equals(sourceCode)) {
+            return compiledModule;
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of compiled module records cached by this runtime.
+     */
+    public int getCompiledModuleCacheSize() {
+        synchronized (compiledModuleCache) {
+            return compiledModuleCache.size();
+        }
+    }
+
     private List<JSContext> getContextSnapshot() {
         synchronized (contexts) {
             return new ArrayList<>(contexts);
@@ -147,6 +220,13 @@ public final class JSRuntime implements AutoCloseable {
         return currentExecutingContext;
     }
 
+    /**
+     * Get the job queue shared by all contexts of this runtime.
+     */
+    public JSJobQueue getJobQueue() {
+        return jobQueue;
+    }
+
     /**
      * Get the key for a runtime-global symbol, or null if the symbol is not in the runtime registry.
      */
@@ -156,6 +236,29 @@ public final class JSRuntime implements AutoCloseable {
         }
     }
 
+    /**
+     * Get the module loader used to resolve and fetch imported modules.
+     */
+    public IJSModuleLoader getModuleLoader() {
+        return moduleLoader;
+    }
+
+    /**
+     * Get the length and name properties shared by the native functions of all contexts
+     * with the given name and length. Once the cache is full, an unshared template is returned.
+     */
+    JSNativeFunction.Template getNativeFunctionTemplate(String name, int length) {
+        NativeFunctionTemplateKey key = new NativeFunctionTemplateKey(name, length);
+        JSNativeFunction.Template template = nativeFunctionTemplates.get(key);
+        if (template == null) {
+            if (nativeFunctionTemplates.size() >= MAX_NATIVE_FUNCTION_TEMPLATE_COUNT) {
+                return JSNativeFunction.Template.create(name, length);
+            }
+            template = nativeFunctionTemplates.computeIfAbsent(key, k -> JSNativeFunction.Template.create(name, length));
+        }
+        return template;
+    }
+
     /**
      * Get runtime options.
      */
@@ -179,11 +282,71 @@ public final class JSRuntime implements AutoCloseable {
         }
     }
 
+    /**
+     * Get a cached parsed module whose resolved specifier and source match.
+     *
+     * @return the parsed module, or null if it is not cached or the source changed
+     */
+    JSParsedModule getParsedModule(String resolvedSpecifier, String sourceCode) {
+        JSParsedModule parsedModule;
+        synchronized (parsedModuleCache) {
+            parsedModule = parsedModuleCache.get(resolvedSpecifier);
+        }
+        if (parsedModule != null && parsedModule.rawSource().equals(sourceCode)) {
+            return parsedModule;
+        }
+        return null;
+    }
+
+    /**
+     * Get the source of the parsed module cached for the resolved specifier, so contexts
+     * link a module without fetching it again.
+     *
+     * @return the module source, or null if no parsed module is cached
+     */
+    String getParsedModuleSource(String resolvedSpecifier) {
+        synchronized (parsedModuleCache) {
+            JSParsedModule parsedModule = parsedModuleCache.get(resolvedSpecifier);
+            return parsedModule != null ? parsedModule.rawSource() : null;
+        }
+    }
+
+    /**
+     * Check if a parsed module is cached for the resolved specifier, whatever its source.
+     */
+    boolean hasParsedModule(String resolvedSpecifier) {
+        synchronized (parsedModuleCache) {
+            return parsedModuleCache.containsKey(resolvedSpecifier);
+        }
+    }
+
     /**
      * Check if there are pending jobs.
      */
     public boolean hasPendingJobs() {
-        return !jobQueue.isEmpty();
+        return jobQueue.hasPendingJobs();
+    }
+
+    /**
+     * Get a number that no other compiled module of this runtime has.
+     */
+    int nextCompiledModuleId() {
+        return compiledModuleCount.getAndIncrement();
+    }
+
+    void putCompiledModule(JSCompiledModule compiledModule) {
+        String sourceCode = compiledModule.rawSource();
+        CompiledModuleKey key = new CompiledModuleKey(
+                compiledModule.resolvedSpecifier(), sourceCode.length(), sourceCode.hashCode());
+        synchronized (compiledModuleCache) {
+            compiledModuleCache.put(key, compiledModule);
+        }
+    }
+
+    void putParsedModule(JSParsedModule parsedModule) {
+        synchronized (parsedModuleCache) {
+            parsedModuleCache.put(parsedModule.resolvedSpecifier(), parsedModule);
+        }
     }
 
     /**
@@ -193,15 +356,7 @@ public final class JSRuntime implements AutoCloseable {
      * @return Number of jobs executed
      */
     public int runJobs() {
-        int count = 0;
-        while (!jobQueue.isEmpty()) {
-            Job job = jobQueue.poll();
-            if (job != null) {
-                job.run();
-                count++;
-            }
-        }
-        return count;
+        return jobQueue.drain();
     }
 
     /**
@@ -212,6 +367,15 @@ public final class JSRuntime implements AutoCloseable {
         this.currentExecutingContext = context;
     }
 
+    /**
+     * Replace the module loader. Cached compiled modules are dropped because
+     * specifier resolution may differ under the new loader.
+     */
+    public void setModuleLoader(IJSModuleLoader moduleLoader) {
+        this.moduleLoader = Objects.requireNonNull(moduleLoader);
+        clearCompiledModuleCache();
+    }
+
     public boolean shouldInterrupt() {
         // In full implementation, this would check:
         // - Timeout limits
@@ -229,4 +393,10 @@ public final class JSRuntime implements AutoCloseable {
         void run();
     }
 
+    private record CompiledModuleKey(String resolvedSpecifier, int sourceLength, int sourceHashCode) {
+    }
+
+    private record NativeFunctionTemplateKey(String name, int length) {
+    }
+
 }
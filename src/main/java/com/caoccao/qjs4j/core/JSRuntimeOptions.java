@@ -29,6 +29,7 @@ public class JSRuntimeOptions {
     protected AtomicsObject atomicsObject;
     protected long maxMemoryUsage;
     protected long maxStackSize;
+    protected IJSModuleLoader moduleLoader;
     protected boolean shadowRealmEnabled;
     protected boolean temporalEnabled;
 
@@ -36,6 +37,7 @@ public class JSRuntimeOptions {
         atomicsObject = new AtomicsObject();
         maxMemoryUsage = DEFAULT_MAX_MEMORY_USAGE;
         maxStackSize = DEFAULT_MAX_STACK_SIZE;
+        moduleLoader = JSFileSystemModuleLoader.INSTANCE;
         shadowRealmEnabled = false;
         temporalEnabled = false;
     }
@@ -52,6 +54,10 @@ public class JSRuntimeOptions {
         return maxStackSize;
     }
 
+    public IJSModuleLoader getModuleLoader() {
+        return moduleLoader;
+    }
+
     public boolean isShadowRealmEnabled() {
         return shadowRealmEnabled;
     }
@@ -75,6 +81,11 @@ public class JSRuntimeOptions {
         return this;
     }
 
+    public JSRuntimeOptions setModuleLoader(IJSModuleLoader moduleLoader) {
+        this.moduleLoader = Objects.requireNonNull(moduleLoader);
+        return this;
+    }
+
     public JSRuntimeOptions setShadowRealmEnabled(boolean shadowRealmEnabled) {
         this.shadowRealmEnabled = shadowRealmEnabled;
         return this;
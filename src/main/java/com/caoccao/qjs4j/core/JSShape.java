@@ -17,6 +17,8 @@
 package com.caoccao.qjs4j.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,33 +30,55 @@ import java.util.Map;
  * Following QuickJS implementation:
  * - Shapes are mutable and can have properties removed
  * - Deleted properties are tracked and shape is compacted when threshold is reached
- * - Each object has its own shape instance (no sharing)
+ * - Each object owns its shape instance, except for the shared shapes described below
  * - Supports property addition, removal, and compaction
  * <p>
+ * Attributes are stored as a packed flags word per property, with QuickJS JS_PROP_* bit values.
+ * The getter/setter pair of an accessor property lives in an {@link Accessor} record,
+ * the value of a data property lives in the owning object's property values.
+ * {@link PropertyDescriptor} objects are only created at API boundaries.
+ * <p>
  * For shapes with more than INDEX_THRESHOLD properties, a HashMap index is maintained
  * for O(1) property offset lookups instead of O(N) linear scans.
+ * <p>
+ * A shared shape is an immutable template used by many objects, possibly across contexts,
+ * e.g. the length and name properties of native functions. It keeps no lookup cache,
+ * and an object copies it with {@link #copy()} before its first mutation.
+ * <p>
+ * The ordered own string keys used by for-in and Object.keys() are cached in a {@link StringKeys}
+ * record until the next mutation of the shape.
  */
 public final class JSShape {
-    private static final PropertyDescriptor[] EMPTY_DESCRIPTORS = new PropertyDescriptor[0];
+    public static final int PROP_CONFIGURABLE = 1;
+    public static final int PROP_WRITABLE = 1 << 1;
+    public static final int PROP_ENUMERABLE = 1 << 2;
+    public static final int PROP_C_W_E = PROP_CONFIGURABLE | PROP_WRITABLE | PROP_ENUMERABLE;
+    public static final int PROP_GETSET = 1 << 4;
+    private static final Accessor[] EMPTY_ACCESSORS = new Accessor[0];
+    private static final int[] EMPTY_FLAGS = new int[0];
     private static final PropertyKey[] EMPTY_KEYS = new PropertyKey[0];
     private static final int INDEX_THRESHOLD = 6;
     private static final int INITIAL_CAPACITY = 4;
+    private Accessor[] accessors;
     private int deletedPropCount;
-    private PropertyDescriptor[] descriptors;
     private Object lastLookupIndexKey;
     private int lastLookupOffset;
     private int lastLookupShapeVersion;
     private int propertyCount;
+    private int[] propertyFlags;
     private Map<Object, Integer> propertyIndex;
     private PropertyKey[] propertyKeys;
     private int shapeVersion;
+    private boolean shared;
+    private StringKeys stringKeys;
 
     /**
      * Create an empty shape (no properties).
      */
     public JSShape() {
+        this.accessors = EMPTY_ACCESSORS;
         this.propertyKeys = EMPTY_KEYS;
-        this.descriptors = EMPTY_DESCRIPTORS;
+        this.propertyFlags = EMPTY_FLAGS;
         this.propertyCount = 0;
         this.deletedPropCount = 0;
         this.shapeVersion = 0;
@@ -67,11 +91,13 @@ public final class JSShape {
      * Create a shape by copying from another shape.
      */
     private JSShape(JSShape other) {
+        this.accessors = other.accessors.length == 0 ? EMPTY_ACCESSORS : other.accessors.clone();
         this.propertyKeys = other.propertyKeys.clone();
-        this.descriptors = other.descriptors.clone();
+        this.propertyFlags = other.propertyFlags.clone();
         this.propertyCount = other.propertyCount;
         this.deletedPropCount = other.deletedPropCount;
         this.shapeVersion = other.shapeVersion;
+        this.stringKeys = other.stringKeys;
         this.lastLookupShapeVersion = -1;
         this.lastLookupOffset = -1;
         this.lastLookupIndexKey = null;
@@ -81,12 +107,13 @@ public final class JSShape {
     }
 
     /**
-     * Create a shape with pre-defined properties in bulk.
+     * Create a shape with pre-defined data properties in bulk.
      * Avoids the O(N²) cost of calling addProperty repeatedly on a fresh shape.
      */
-    JSShape(PropertyKey[] keys, PropertyDescriptor[] descriptors) {
+    JSShape(PropertyKey[] keys, int[] flags) {
+        this.accessors = EMPTY_ACCESSORS;
         this.propertyKeys = keys;
-        this.descriptors = descriptors;
+        this.propertyFlags = flags;
         this.propertyCount = keys.length;
         this.deletedPropCount = 0;
         this.shapeVersion = 0;
@@ -99,30 +126,43 @@ public final class JSShape {
     }
 
     /**
-     * Add a property to this shape.
-     * Modifies the shape in-place.
+     * Create a shared shape with pre-defined data properties.
+     * The shape may not be mutated afterwards, so its string keys are computed once here.
      */
-    public void addProperty(PropertyKey key, PropertyDescriptor descriptor) {
-        // Check if property already exists (might be deleted)
-        int existingOffset = getPropertyOffset(key);
-        if (existingOffset >= 0) {
-            // Property exists, merge only explicitly specified attributes
-            descriptors[existingOffset].mergeFrom(descriptor);
-            return;
-        }
+    static JSShape createShared(PropertyKey[] keys, int[] flags) {
+        JSShape shape = new JSShape(keys, flags);
+        shape.shared = true;
+        shape.stringKeys = shape.createStringKeys();
+        return shape;
+    }
 
+    /**
+     * Add a new property to this shape.
+     * Modifies the shape in-place.
+     *
+     * @param key      the property key, which must not be present
+     * @param flags    the PROP_* flags
+     * @param accessor the getter/setter pair if flags has PROP_GETSET, otherwise null
+     * @return the offset of the new property
+     */
+    public int addProperty(PropertyKey key, int flags, Accessor accessor) {
+        int offset = propertyCount;
         int newPropertyCount = propertyCount + 1;
         ensureCapacity(newPropertyCount);
-        propertyKeys[propertyCount] = key;
-        descriptors[propertyCount] = descriptor;
+        propertyKeys[offset] = key;
+        propertyFlags[offset] = flags;
+        if (accessor != null) {
+            setAccessorAt(offset, accessor);
+        }
         if (propertyIndex != null) {
-            propertyIndex.put(key.getValue(), propertyCount);
+            propertyIndex.put(key.getValue(), offset);
         }
         propertyCount = newPropertyCount;
         if (propertyIndex == null && propertyCount > INDEX_THRESHOLD) {
             buildIndex();
         }
         onShapeMutated();
+        return offset;
     }
 
     private void buildIndex() {
@@ -146,18 +186,23 @@ public final class JSShape {
 
         int keptPropertyCount = propertyCount - deletedPropCount;
         PropertyKey[] compactedPropertyKeys = new PropertyKey[keptPropertyCount];
-        PropertyDescriptor[] compactedPropertyDescriptors = new PropertyDescriptor[keptPropertyCount];
+        int[] compactedPropertyFlags = new int[keptPropertyCount];
+        Accessor[] compactedAccessors = accessors.length == 0 ? EMPTY_ACCESSORS : new Accessor[keptPropertyCount];
         int newOffset = 0;
         for (int i = 0; i < propertyCount; i++) {
             if (propertyKeys[i] != null) {
                 compactedPropertyKeys[newOffset] = propertyKeys[i];
-                compactedPropertyDescriptors[newOffset] = descriptors[i];
+                compactedPropertyFlags[newOffset] = propertyFlags[i];
+                if (i < accessors.length) {
+                    compactedAccessors[newOffset] = accessors[i];
+                }
                 newOffset++;
             }
         }
 
         propertyKeys = compactedPropertyKeys;
-        descriptors = compactedPropertyDescriptors;
+        propertyFlags = compactedPropertyFlags;
+        accessors = compactedAccessors;
         propertyCount = keptPropertyCount;
         this.deletedPropCount = 0;
         onShapeMutated();
@@ -171,12 +216,70 @@ public final class JSShape {
     }
 
     /**
-     * Create a copy of this shape.
+     * Create an unshared copy of this shape.
      */
     public JSShape copy() {
         return new JSShape(this);
     }
 
+    private StringKeys createStringKeys() {
+        PropertyKey[] keys = new PropertyKey[propertyCount - deletedPropCount];
+        int[] offsets = new int[keys.length];
+        int keyCount = 0;
+        boolean hasIndexKey = false;
+        for (int i = 0; i < propertyCount; i++) {
+            PropertyKey key = propertyKeys[i];
+            if (key != null && !key.isSymbol()) {
+                hasIndexKey |= key.toArrayIndex() >= 0;
+                keys[keyCount] = key;
+                offsets[keyCount++] = i;
+            }
+        }
+        if (hasIndexKey) {
+            // Array index keys come first in ascending order, the stable sort keeps the insertion order of the rest
+            Integer[] order = new Integer[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                order[i] = i;
+            }
+            PropertyKey[] unsortedKeys = keys;
+            Arrays.sort(order, Comparator.comparingLong(i -> {
+                long index = unsortedKeys[i].toArrayIndex();
+                return index >= 0 ? index : Long.MAX_VALUE;
+            }));
+            int[] unsortedOffsets = offsets;
+            keys = new PropertyKey[keyCount];
+            offsets = new int[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = unsortedKeys[order[i]];
+                offsets[i] = unsortedOffsets[order[i]];
+            }
+        } else if (keyCount < keys.length) {
+            keys = Arrays.copyOf(keys, keyCount);
+        }
+        boolean[] enumerable = new boolean[keyCount];
+        int enumerableCount = 0;
+        for (int i = 0; i < keyCount; i++) {
+            enumerable[i] = (propertyFlags[offsets[i]] & PROP_ENUMERABLE) != 0;
+            if (enumerable[i]) {
+                enumerableCount++;
+            }
+        }
+        PropertyKey[] enumerableKeys = new PropertyKey[enumerableCount];
+        JSValue[] enumerableNames = new JSValue[enumerableCount];
+        int[] enumerableOffsets = new int[enumerableCount];
+        boolean enumerableAccessor = false;
+        int enumerableIndex = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (enumerable[i]) {
+                enumerableKeys[enumerableIndex] = keys[i];
+                enumerableNames[enumerableIndex] = new JSString(keys[i].toPropertyString());
+                enumerableOffsets[enumerableIndex++] = offsets[i];
+                enumerableAccessor |= (propertyFlags[offsets[i]] & PROP_GETSET) != 0;
+            }
+        }
+        return new StringKeys(keys, enumerable, enumerableKeys, enumerableNames, enumerableOffsets, enumerableAccessor);
+    }
+
     private void ensureCapacity(int requiredCapacity) {
         int currentCapacity = propertyKeys.length;
         if (currentCapacity >= requiredCapacity) {
@@ -194,65 +297,43 @@ public final class JSShape {
                 newCapacity <<= 1;
             }
         }
-        PropertyKey[] newPropertyKeys = new PropertyKey[newCapacity];
-        PropertyDescriptor[] newPropertyDescriptors = new PropertyDescriptor[newCapacity];
-        if (propertyCount > 0) {
-            System.arraycopy(propertyKeys, 0, newPropertyKeys, 0, propertyCount);
-            System.arraycopy(descriptors, 0, newPropertyDescriptors, 0, propertyCount);
+        propertyKeys = Arrays.copyOf(propertyKeys, newCapacity);
+        propertyFlags = Arrays.copyOf(propertyFlags, newCapacity);
+        if (accessors.length > 0) {
+            accessors = Arrays.copyOf(accessors, newCapacity);
         }
-        propertyKeys = newPropertyKeys;
-        descriptors = newPropertyDescriptors;
     }
 
     /**
-     * Get the count of deleted properties.
+     * Get the getter/setter pair of an accessor property, or null for a data property.
      */
-    public int getDeletedPropCount() {
-        return deletedPropCount;
+    public Accessor getAccessorAt(int offset) {
+        return offset < accessors.length ? accessors[offset] : null;
     }
 
     /**
-     * Get the descriptor for a property.
-     * Returns null if property not found or deleted.
+     * Get the count of deleted properties.
      */
-    public PropertyDescriptor getDescriptor(PropertyKey key) {
-        int offset = getPropertyOffset(key);
-        return offset >= 0 ? descriptors[offset] : null;
+    public int getDeletedPropCount() {
+        return deletedPropCount;
     }
 
     /**
-     * Get the descriptor at a specific offset.
-     * Returns null if offset is invalid or property is deleted.
+     * Get the number of properties in this shape (including deleted).
      */
-    public PropertyDescriptor getDescriptorAt(int offset) {
-        if (offset < 0 || offset >= propertyCount) {
-            return null;
-        }
-        // Check if deleted
-        if (propertyKeys[offset] == null) {
-            return null;
-        }
-        return descriptors[offset];
+    public int getPropertyCount() {
+        return propertyCount;
     }
 
     /**
-     * Get all property descriptors in this shape (excluding deleted).
+     * Get the PROP_* flags of the property at a specific offset.
+     * Returns 0 if the offset is invalid or the property is deleted.
      */
-    public PropertyDescriptor[] getDescriptors() {
-        List<PropertyDescriptor> result = new ArrayList<>(propertyCount - deletedPropCount);
-        for (int i = 0; i < propertyCount; i++) {
-            if (propertyKeys[i] != null) {
-                result.add(descriptors[i]);
-            }
+    public int getPropertyFlagsAt(int offset) {
+        if (offset < 0 || offset >= propertyCount || propertyKeys[offset] == null) {
+            return 0;
         }
-        return result.toArray(new PropertyDescriptor[0]);
-    }
-
-    /**
-     * Get the number of properties in this shape (including deleted).
-     */
-    public int getPropertyCount() {
-        return propertyCount;
+        return propertyFlags[offset];
     }
 
     /**
@@ -299,7 +380,7 @@ public final class JSShape {
         if (indexKey == null) {
             return -1;
         }
-        if (lastLookupShapeVersion == shapeVersion && lastLookupIndexKey == indexKey) {
+        if (!shared && lastLookupShapeVersion == shapeVersion && lastLookupIndexKey == indexKey) {
             return lastLookupOffset;
         }
         int offset;
@@ -320,12 +401,35 @@ public final class JSShape {
                 }
             }
         }
-        lastLookupShapeVersion = shapeVersion;
-        lastLookupIndexKey = indexKey;
-        lastLookupOffset = offset;
+        if (!shared) {
+            lastLookupShapeVersion = shapeVersion;
+            lastLookupIndexKey = indexKey;
+            lastLookupOffset = offset;
+        }
         return offset;
     }
 
+    /**
+     * Get the mutation counter, bumped whenever properties are added, removed or compacted.
+     */
+    int getShapeVersion() {
+        return shapeVersion;
+    }
+
+    /**
+     * Get the ordered own string keys of this shape: array index keys in ascending order,
+     * then the other string keys in insertion order. Symbols are skipped.
+     * The result is cached until the shape is mutated and must not be modified.
+     */
+    StringKeys getStringKeys() {
+        StringKeys keys = stringKeys;
+        if (keys == null) {
+            keys = createStringKeys();
+            stringKeys = keys;
+        }
+        return keys;
+    }
+
     /**
      * Check if this shape has a property (not deleted).
      */
@@ -333,8 +437,16 @@ public final class JSShape {
         return getPropertyOffset(key) >= 0;
     }
 
+    /**
+     * Check if this shape is an immutable template shared by many objects.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
     private void onShapeMutated() {
         shapeVersion++;
+        stringKeys = null;
         lastLookupShapeVersion = -1;
         lastLookupIndexKey = null;
         lastLookupOffset = -1;
@@ -354,14 +466,16 @@ public final class JSShape {
         }
 
         // Check if configurable
-        PropertyDescriptor desc = descriptors[offset];
-        if (!desc.isConfigurable()) {
+        if ((propertyFlags[offset] & PROP_CONFIGURABLE) == 0) {
             return false; // Cannot delete non-configurable property
         }
 
         // Mark as deleted (QuickJS sets atom to JS_ATOM_NULL)
         propertyKeys[offset] = null;
-        descriptors[offset] = null;
+        propertyFlags[offset] = 0;
+        if (offset < accessors.length) {
+            accessors[offset] = null;
+        }
         deletedPropCount++;
         onShapeMutated();
 
@@ -373,6 +487,29 @@ public final class JSShape {
         return true;
     }
 
+    /**
+     * Set or clear the getter/setter pair of the property at a specific offset.
+     */
+    public void setAccessorAt(int offset, Accessor accessor) {
+        if (offset >= accessors.length) {
+            if (accessor == null) {
+                return;
+            }
+            accessors = Arrays.copyOf(accessors, propertyKeys.length);
+        }
+        accessors[offset] = accessor;
+    }
+
+    /**
+     * Set the PROP_* flags of the property at a specific offset.
+     */
+    public void setPropertyFlagsAt(int offset, int flags) {
+        if (propertyFlags[offset] != flags) {
+            propertyFlags[offset] = flags;
+            stringKeys = null;
+        }
+    }
+
     /**
      * Check if compaction should be performed.
      * Following QuickJS logic: compact if deleted >= 8 AND deleted >= prop_count/2
@@ -401,4 +538,29 @@ public final class JSShape {
         sb.append("}");
         return sb.toString();
     }
+
+    /**
+     * The getter/setter pair of an accessor property. A null function reads as undefined.
+     */
+    public record Accessor(JSFunction getter, JSFunction setter) {
+    }
+
+    /**
+     * The ordered own string keys of a shape.
+     *
+     * @param keys               all string keys, array index keys first
+     * @param enumerable         whether each of the keys is enumerable
+     * @param enumerableKeys     the enumerable keys
+     * @param enumerableNames    the enumerable keys as JS strings
+     * @param enumerableOffsets  the property offsets of the enumerable keys
+     * @param enumerableAccessor whether any enumerable key is an accessor property
+     */
+    record StringKeys(
+            PropertyKey[] keys,
+            boolean[] enumerable,
+            PropertyKey[] enumerableKeys,
+            JSValue[] enumerableNames,
+            int[] enumerableOffsets,
+            boolean enumerableAccessor) {
+    }
 }
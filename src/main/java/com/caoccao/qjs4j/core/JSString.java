@@ -19,14 +19,155 @@ package com.caoccao.qjs4j.core;
 /**
  * Represents a JavaScript string value.
  * Supports atom indexing for interned strings.
+ * <p>
+ * The array index, hash code, Latin-1 flag and property key are computed on first use and
+ * cached, so a string that is used as a key or scanned by builtins repeatedly is parsed once.
  */
-public record JSString(String value, int atomIndex) implements JSValue {
+public final class JSString implements JSValue {
     public static final String NAME = "String";
+    private static final long ARRAY_INDEX_NOT_COMPUTED = Long.MIN_VALUE;
+    private static final JSString[] LATIN1_CHARACTERS = new JSString[256];
+    private static final byte LATIN1_NO = 2;
+    private static final byte LATIN1_NOT_COMPUTED = 0;
+    private static final byte LATIN1_YES = 1;
+    private static final long MAX_ARRAY_INDEX = 0xFFFF_FFFEL;
+
+    static {
+        for (int i = 0; i < LATIN1_CHARACTERS.length; i++) {
+            LATIN1_CHARACTERS[i] = new JSString(String.valueOf((char) i));
+        }
+    }
+
+    private final int atomIndex;
+    private final String value;
+    private long cachedArrayIndex;
+    private int cachedHashCode;
+    private byte cachedLatin1;
+    private PropertyKey cachedPropertyKey;
 
     public JSString(String value) {
         this(value, -1);
     }
 
+    public JSString(String value, int atomIndex) {
+        this.atomIndex = atomIndex;
+        this.value = value;
+        cachedArrayIndex = ARRAY_INDEX_NOT_COMPUTED;
+        cachedHashCode = 0;
+        cachedLatin1 = LATIN1_NOT_COMPUTED;
+        cachedPropertyKey = null;
+    }
+
+    /**
+     * Returns a JSString of a single character.
+     * Uses a cache for Latin-1 characters to reduce allocation.
+     */
+    public static JSString of(char character) {
+        if (character < LATIN1_CHARACTERS.length) {
+            return LATIN1_CHARACTERS[character];
+        }
+        return new JSString(String.valueOf(character));
+    }
+
+    /**
+     * Parse a canonical array index (0..2^32-2) from a string.
+     * Returns -1 when the string is not a canonical array index.
+     */
+    static long parseArrayIndex(String string) {
+        int length = string.length();
+        if (length == 0 || length > 10) {
+            return -1;
+        }
+        if (string.charAt(0) == '0') {
+            return length == 1 ? 0 : -1;
+        }
+        long parsedValue = 0;
+        for (int characterIndex = 0; characterIndex < length; characterIndex++) {
+            char character = string.charAt(characterIndex);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            parsedValue = parsedValue * 10 + (character - '0');
+        }
+        return parsedValue <= MAX_ARRAY_INDEX ? parsedValue : -1;
+    }
+
+    public int atomIndex() {
+        return atomIndex;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof JSString other && atomIndex == other.atomIndex && value.equals(other.value);
+    }
+
+    /**
+     * Get the canonical array index (0..2^32-2) this string represents, or -1 if it is not one.
+     */
+    public long getArrayIndex() {
+        long arrayIndex = cachedArrayIndex;
+        if (arrayIndex == ARRAY_INDEX_NOT_COMPUTED) {
+            arrayIndex = parseArrayIndex(value);
+            cachedArrayIndex = arrayIndex;
+        }
+        return arrayIndex;
+    }
+
+    /**
+     * Get the property key of this string, which is created once per string.
+     * The cached Latin-1 characters are shared by the runtimes of all threads,
+     * so their keys are not cached.
+     */
+    PropertyKey getPropertyKey() {
+        PropertyKey propertyKey = cachedPropertyKey;
+        if (propertyKey == null) {
+            propertyKey = PropertyKey.fromString(value, getArrayIndex());
+            if (value.length() != 1 || LATIN1_CHARACTERS[value.charAt(0) & 0xFF] != this) {
+                cachedPropertyKey = propertyKey;
+            }
+        }
+        return propertyKey;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = cachedHashCode;
+        if (hashCode == 0) {
+            hashCode = 31 * value.hashCode() + atomIndex;
+            cachedHashCode = hashCode;
+        }
+        return hashCode;
+    }
+
+    /**
+     * Check if this string is a canonical array index.
+     */
+    public boolean isArrayIndex() {
+        return getArrayIndex() >= 0;
+    }
+
+    /**
+     * Check if every character of this string is in the Latin-1 range [U+0000, U+00FF].
+     * Such a string has no surrogates, so builtins can work on its chars as code points.
+     */
+    public boolean isLatin1() {
+        byte latin1 = cachedLatin1;
+        if (latin1 == LATIN1_NOT_COMPUTED) {
+            latin1 = LATIN1_YES;
+            for (int i = 0, length = value.length(); i < length; i++) {
+                if (value.charAt(i) > 0xFF) {
+                    latin1 = LATIN1_NO;
+                    break;
+                }
+            }
+            cachedLatin1 = latin1;
+        }
+        return latin1 == LATIN1_YES;
+    }
+
     @Override
     public Object toJavaObject() {
         return value;
@@ -41,4 +182,8 @@ public record JSString(String value, int atomIndex) implements JSValue {
     public JSValueType type() {
         return JSValueType.STRING;
     }
+
+    public String value() {
+        return value;
+    }
 }
@@ -131,7 +131,7 @@ public final class JSStringObject extends JSObject {
     public JSValue get(String propertyName) {
         int index = PropertyKey.fromString(propertyName).toIndex();
         if (index >= 0 && index < value.value().length()) {
-            return new JSString(String.valueOf(value.value().charAt(index)));
+            return JSString.of(value.value().charAt(index));
         }
         return super.get(propertyName);
     }
@@ -146,7 +146,7 @@ public final class JSStringObject extends JSObject {
     @Override
     public JSValue get(int index) {
         if (index >= 0 && index < value.value().length()) {
-            return new JSString(String.valueOf(value.value().charAt(index)));
+            return JSString.of(value.value().charAt(index));
         }
         return super.get(index);
     }
@@ -167,7 +167,7 @@ public final class JSStringObject extends JSObject {
     public PropertyDescriptor getOwnPropertyDescriptor(PropertyKey key) {
         int charIndex = key.toIndex();
         if (charIndex >= 0 && charIndex < value.value().length()) {
-            JSValue charValue = new JSString(String.valueOf(value.value().charAt(charIndex)));
+            JSValue charValue = JSString.of(value.value().charAt(charIndex));
             return PropertyDescriptor.dataDescriptor(
                     charValue,
                     PropertyDescriptor.DataState.Enumerable
@@ -20,7 +20,10 @@ import com.caoccao.qjs4j.exceptions.JSRangeErrorException;
 import com.caoccao.qjs4j.exceptions.JSTypeErrorException;
 import com.caoccao.qjs4j.utils.DtoaConverter;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -37,6 +40,12 @@ public sealed abstract class JSTypedArray extends JSObject permits
         JSFloat16Array, JSFloat32Array, JSFloat64Array,
         JSBigInt64Array, JSBigUint64Array {
     public static final String NAME = "TypedArray";
+    // Element accessors on the little-endian backing buffer, valid for heap, direct and mapped buffers alike.
+    protected static final VarHandle DOUBLE_HANDLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+    protected static final VarHandle FLOAT_HANDLE = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    protected static final VarHandle INT_HANDLE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    protected static final VarHandle LONG_HANDLE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    protected static final VarHandle SHORT_HANDLE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
     private static final int CANONICAL_NUMERIC_INDEX_INVALID = -1;
     private static final int CANONICAL_NUMERIC_INDEX_NOT_CANONICAL = Integer.MIN_VALUE;
     protected final IJSArrayBuffer buffer;
@@ -487,9 +496,18 @@ public sealed abstract class JSTypedArray extends JSObject permits
     }
 
     /**
-     * Get the ByteBuffer for direct access.
+     * Get the backing buffer of an attached typed array.
+     * Elements are addressed absolutely at {@link #getElementByteOffset(int)}.
      */
-    protected ByteBuffer getByteBuffer() {
+    protected ByteBuffer getBackingBuffer() {
+        return buffer.getBuffer();
+    }
+
+    /**
+     * Get a little-endian view of this typed array's bytes that shares memory with it.
+     * Hosts can read or fill elements in bulk through e.g. {@link ByteBuffer#asIntBuffer()}.
+     */
+    public ByteBuffer getByteBuffer() {
         if (buffer.isDetached()) {
             throw new IllegalStateException("TypedArray buffer is detached");
         }
@@ -541,6 +559,19 @@ public sealed abstract class JSTypedArray extends JSObject permits
      */
     public abstract double getElement(int index);
 
+    /**
+     * Get the raw stored bits of an element, sign-extended to 64 bits.
+     * Copying bits between arrays of the same type needs no numeric conversion.
+     */
+    public abstract long getElementBits(int index);
+
+    /**
+     * Get the absolute byte offset of an element within the backing buffer.
+     */
+    protected int getElementByteOffset(int index) {
+        return byteOffset + index * bytesPerElement;
+    }
+
     /**
      * Get an element as the appropriate JSValue type.
      * Regular typed arrays return JSNumber, BigInt typed arrays override to return JSBigInt.
@@ -684,6 +715,10 @@ public sealed abstract class JSTypedArray extends JSObject permits
 
     public abstract boolean isAtomicsWriteable();
 
+    private boolean isBigIntArray() {
+        return this instanceof JSBigInt64Array || this instanceof JSBigUint64Array;
+    }
+
     /**
      * Returns true if this TypedArray is length-tracking (auto-length)
      * on a resizable ArrayBuffer.
@@ -775,6 +810,18 @@ public sealed abstract class JSTypedArray extends JSObject permits
             if (offset + srcLength > currentLength) {
                 throw new JSRangeErrorException("Source array too large");
             }
+            if (srcTyped.getClass() == getClass()) {
+                for (int i = 0; i < srcLength; i++) {
+                    setElementBits(offset + i, srcTyped.getElementBits(i));
+                }
+                return;
+            }
+            if (!isBigIntArray() && !srcTyped.isBigIntArray()) {
+                for (int i = 0; i < srcLength; i++) {
+                    setElement(offset + i, srcTyped.getElement(i));
+                }
+                return;
+            }
             for (int i = 0; i < srcLength; i++) {
                 setJSElement(offset + i, srcTyped.getJSElement(i));
                 if (context.hasPendingException()) {
@@ -817,6 +864,11 @@ public sealed abstract class JSTypedArray extends JSObject permits
      */
     public abstract void setElement(int index, double value);
 
+    /**
+     * Set the raw stored bits of an element, truncated to the element size.
+     */
+    public abstract void setElementBits(int index, long bits);
+
     /**
      * Set an element from a JSValue, performing the appropriate type conversion.
      * Regular typed arrays convert to Number, BigInt typed arrays override to convert to BigInt.
@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Uint8Array.
  * 8-bit unsigned integer array.
@@ -101,8 +99,13 @@ public final class JSUint8Array extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.get(index) & 0xFF; // Convert to unsigned
+        return getBackingBuffer().get(getElementByteOffset(index)) & 0xFF;
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return getBackingBuffer().get(getElementByteOffset(index));
     }
 
     @Override
@@ -128,8 +131,13 @@ public final class JSUint8Array extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        buf.put(index, (byte) JSTypeConversions.toInt32(value));
+        getBackingBuffer().put(getElementByteOffset(index), (byte) JSTypeConversions.toInt32(value));
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        getBackingBuffer().put(getElementByteOffset(index), (byte) bits);
     }
 
     @Override
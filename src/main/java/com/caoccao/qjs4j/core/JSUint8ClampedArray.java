@@ -16,8 +16,6 @@
 
 package com.caoccao.qjs4j.core;
 
-import java.nio.ByteBuffer;
-
 /**
  * Represents a JavaScript Uint8ClampedArray.
  * 8-bit unsigned integer array with clamping (used for canvas pixel data).
@@ -102,8 +100,13 @@ public final class JSUint8ClampedArray extends JSTypedArray {
     @Override
     public double getElement(int index) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        return buf.get(index) & 0xFF; // Convert to unsigned
+        return getBackingBuffer().get(getElementByteOffset(index)) & 0xFF;
+    }
+
+    @Override
+    public long getElementBits(int index) {
+        checkIndex(index);
+        return getBackingBuffer().get(getElementByteOffset(index));
     }
 
     @Override
@@ -129,9 +132,13 @@ public final class JSUint8ClampedArray extends JSTypedArray {
     @Override
     public void setElement(int index, double value) {
         checkIndex(index);
-        ByteBuffer buf = getByteBuffer();
-        int clampedValue = JSTypeConversions.toUint8Clamp(value);
-        buf.put(index, (byte) clampedValue);
+        getBackingBuffer().put(getElementByteOffset(index), (byte) JSTypeConversions.toUint8Clamp(value));
+    }
+
+    @Override
+    public void setElementBits(int index, long bits) {
+        checkIndex(index);
+        getBackingBuffer().put(getElementByteOffset(index), (byte) bits);
     }
 
     @Override
@@ -88,6 +88,27 @@ public final class PropertyDescriptor {
         return dataDescriptor(value, DataState.All);
     }
 
+    /**
+     * Create a complete descriptor from the packed attributes of a shape property.
+     *
+     * @param flags    the JSShape.PROP_* flags
+     * @param value    the value of a data property
+     * @param accessor the getter/setter pair of an accessor property
+     */
+    public static PropertyDescriptor fromPropertyFlags(int flags, JSValue value, JSShape.Accessor accessor) {
+        PropertyDescriptor desc = new PropertyDescriptor();
+        if ((flags & JSShape.PROP_GETSET) != 0) {
+            desc.getter = accessor != null ? accessor.getter() : null;
+            desc.setter = accessor != null ? accessor.setter() : null;
+        } else {
+            desc.setValue(value != null ? value : JSUndefined.INSTANCE);
+            desc.setWritable((flags & JSShape.PROP_WRITABLE) != 0);
+        }
+        desc.setEnumerable((flags & JSShape.PROP_ENUMERABLE) != 0);
+        desc.setConfigurable((flags & JSShape.PROP_CONFIGURABLE) != 0);
+        return desc;
+    }
+
     /**
      * Complete this descriptor with default values for accessor.
      */
@@ -301,6 +322,26 @@ public final class PropertyDescriptor {
         this.writable = Optional.of(writable);
     }
 
+    /**
+     * Pack the attributes of this descriptor into JSShape.PROP_* flags.
+     * Absent attributes are false.
+     */
+    public int toPropertyFlags() {
+        int flags = 0;
+        if (isConfigurable()) {
+            flags |= JSShape.PROP_CONFIGURABLE;
+        }
+        if (isEnumerable()) {
+            flags |= JSShape.PROP_ENUMERABLE;
+        }
+        if (isAccessorDescriptor()) {
+            flags |= JSShape.PROP_GETSET;
+        } else if (isWritable()) {
+            flags |= JSShape.PROP_WRITABLE;
+        }
+        return flags;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("PropertyDescriptor{");
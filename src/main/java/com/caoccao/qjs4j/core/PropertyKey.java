@@ -84,6 +84,7 @@ public final class PropertyKey {
     public static final PropertyKey THEN = fromString("then");
     public static final PropertyKey THROW = fromString(JSKeyword.THROW);
     public static final PropertyKey TO_ISO_STRING = fromString("toISOString");
+    public static final PropertyKey TO_JSON = fromString("toJSON");
     public static final PropertyKey TO_STRING = fromString("toString");
     public static final PropertyKey VALUE = fromString("value");
     public static final PropertyKey WRITABLE = fromString("writable");
@@ -92,7 +93,6 @@ public final class PropertyKey {
     private static final int INDEX_CACHE_SIZE = 1024;
     private static final int INDEX_NOT_COMPUTED = Integer.MIN_VALUE;
     private static final PropertyKey[] INDEX_PROPERTY_KEYS = createIndexPropertyKeys();
-    private static final long MAX_ARRAY_INDEX = 0xFFFF_FFFEL;
     private final int atomIndex; // -1 if not interned
     private final Object value; // String, Integer, or JSSymbol
     private long cachedArrayIndex;
@@ -117,6 +117,14 @@ public final class PropertyKey {
         }
     }
 
+    private PropertyKey(String value, int atomIndex, long arrayIndex) {
+        this.value = value;
+        this.atomIndex = atomIndex;
+        cachedIndex = INDEX_NOT_COMPUTED;
+        cachedArrayIndex = arrayIndex;
+        cachedPropertyString = value;
+    }
+
     private static PropertyKey[] createIndexPropertyKeys() {
         PropertyKey[] cachedPropertyKeys = new PropertyKey[INDEX_CACHE_SIZE];
         for (int index = 0; index < INDEX_CACHE_SIZE; index++) {
@@ -149,6 +157,13 @@ public final class PropertyKey {
         return new PropertyKey(str, -1);
     }
 
+    /**
+     * Create a property key from a string whose array index has already been parsed.
+     */
+    static PropertyKey fromString(String str, long arrayIndex) {
+        return new PropertyKey(str, -1, arrayIndex);
+    }
+
     /**
      * Create a property key from a symbol.
      */
@@ -162,7 +177,8 @@ public final class PropertyKey {
      */
     public static PropertyKey fromValue(JSContext context, JSValue value) {
         if (value instanceof JSString s) {
-            return fromString(s.value());
+            // Reuse the key the string has cached, e.g. a for-in key used as obj[key].
+            return s.getPropertyKey();
         }
         if (value instanceof JSSymbol s) {
             return fromSymbol(s);
@@ -182,7 +198,7 @@ public final class PropertyKey {
                 return fromSymbol(sym);
             }
             if (primitive instanceof JSString s) {
-                return fromString(s.value());
+                return s.getPropertyKey();
             }
             // Continue with toString for other primitive results
             JSString str = JSTypeConversions.toString(context, primitive);
@@ -286,40 +302,8 @@ public final class PropertyKey {
             return cachedArrayIndex;
         }
 
-        String propertyName = (String) value;
-        if (propertyName.isEmpty()) {
-            cachedArrayIndex = -1;
-            return -1;
-        }
-        if ("0".equals(propertyName)) {
-            cachedArrayIndex = 0;
-            return 0;
-        }
-        if (propertyName.charAt(0) == '0') {
-            cachedArrayIndex = -1;
-            return -1;
-        }
-        if (propertyName.length() > 10) {
-            cachedArrayIndex = -1;
-            return -1;
-        }
-
-        long parsedValue = 0;
-        for (int characterIndex = 0; characterIndex < propertyName.length(); characterIndex++) {
-            char character = propertyName.charAt(characterIndex);
-            if (character < '0' || character > '9') {
-                cachedArrayIndex = -1;
-                return -1;
-            }
-            parsedValue = parsedValue * 10 + (character - '0');
-            if (parsedValue > MAX_ARRAY_INDEX) {
-                cachedArrayIndex = -1;
-                return -1;
-            }
-        }
-
-        cachedArrayIndex = parsedValue;
-        return parsedValue;
+        cachedArrayIndex = JSString.parseArrayIndex((String) value);
+        return cachedArrayIndex;
     }
 
     /**
@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import java.util.Arrays;
+
+/**
+ * Ordered storage for indexed elements that do not fit the dense storage of an object.
+ * <p>
+ * Indices cover the whole array index range [0, 2^32 - 2] and are kept as primitive ints
+ * in sorted chunks, so lookups are two binary searches and iteration is in ascending index
+ * order without boxing or sorting. Elements appended in ascending order fill each chunk
+ * completely, which is the common case for ID-indexed lookup tables.
+ */
+public final class SparseElements {
+    private static final int CHUNK_CAPACITY = 64;
+    private static final long[] EMPTY_INDICES = new long[0];
+    private static final int INITIAL_CHUNK_CAPACITY = 4;
+    private int chunkCount;
+    private Chunk[] chunks;
+    private int[] firstKeys;
+    private int lastChunkIndex;
+    private int size;
+
+    public SparseElements() {
+        chunkCount = 0;
+        chunks = new Chunk[INITIAL_CHUNK_CAPACITY];
+        firstKeys = new int[INITIAL_CHUNK_CAPACITY];
+        lastChunkIndex = 0;
+        size = 0;
+    }
+
+    private static int insertionPoint(Chunk chunk, int key) {
+        int position = Arrays.binarySearch(chunk.keys, 0, chunk.count, key);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    private static long toIndex(int key) {
+        return Integer.toUnsignedLong(key ^ Integer.MIN_VALUE);
+    }
+
+    /**
+     * Map an index to a key whose signed order is the unsigned order of the index.
+     */
+    private static int toKey(long index) {
+        return (int) index ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Create the property key of an array index, which is an integer key when it fits an int.
+     */
+    public static PropertyKey toPropertyKey(long index) {
+        return index <= Integer.MAX_VALUE
+                ? PropertyKey.fromIndex((int) index)
+                : PropertyKey.fromString(Long.toString(index));
+    }
+
+    /**
+     * Append an element whose index is greater than every stored index.
+     */
+    private void append(int key, JSValue value) {
+        Chunk chunk = chunkCount > 0 ? chunks[chunkCount - 1] : null;
+        if (chunk == null || chunk.count == CHUNK_CAPACITY) {
+            chunk = new Chunk();
+            insertChunk(chunkCount, chunk, key);
+        }
+        chunk.keys[chunk.count] = key;
+        chunk.values[chunk.count] = value;
+        chunk.count++;
+        size++;
+    }
+
+    public boolean containsKey(long index) {
+        return get(index) != null;
+    }
+
+    /**
+     * Find the last chunk whose first key is not greater than the key, or -1 if there is none.
+     * Consecutive accesses usually hit the same chunk, so the previous result is tried first.
+     */
+    private int findChunk(int key) {
+        int chunkIndex = lastChunkIndex;
+        if (chunkIndex < chunkCount
+                && firstKeys[chunkIndex] <= key
+                && (chunkIndex + 1 == chunkCount || firstKeys[chunkIndex + 1] > key)) {
+            return chunkIndex;
+        }
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (firstKeys[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (high >= 0) {
+            lastChunkIndex = high;
+        }
+        return high;
+    }
+
+    public JSValue get(long index) {
+        int key = toKey(index);
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+        Chunk chunk = chunks[chunkIndex];
+        int position = Arrays.binarySearch(chunk.keys, 0, chunk.count, key);
+        return position >= 0 ? chunk.values[position] : null;
+    }
+
+    /**
+     * Get all indices in ascending order.
+     */
+    public long[] indices() {
+        if (size == 0) {
+            return EMPTY_INDICES;
+        }
+        long[] indices = new long[size];
+        int count = 0;
+        for (int chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            Chunk chunk = chunks[chunkIndex];
+            for (int i = 0; i < chunk.count; i++) {
+                indices[count++] = toIndex(chunk.keys[i]);
+            }
+        }
+        return indices;
+    }
+
+    private void insertChunk(int chunkIndex, Chunk chunk, int firstKey) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            firstKeys = Arrays.copyOf(firstKeys, chunkCount * 2);
+        }
+        System.arraycopy(chunks, chunkIndex, chunks, chunkIndex + 1, chunkCount - chunkIndex);
+        System.arraycopy(firstKeys, chunkIndex, firstKeys, chunkIndex + 1, chunkCount - chunkIndex);
+        chunks[chunkIndex] = chunk;
+        firstKeys[chunkIndex] = firstKey;
+        chunkCount++;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int lastKey() {
+        Chunk chunk = chunks[chunkCount - 1];
+        return chunk.keys[chunk.count - 1];
+    }
+
+    /**
+     * Get the smallest stored index not less than the given index, or -1 if there is none.
+     */
+    public long nextIndex(long fromIndex) {
+        if (chunkCount == 0) {
+            return -1;
+        }
+        int key = toKey(fromIndex);
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return toIndex(firstKeys[0]);
+        }
+        Chunk chunk = chunks[chunkIndex];
+        int position = insertionPoint(chunk, key);
+        if (position < chunk.count) {
+            return toIndex(chunk.keys[position]);
+        }
+        return chunkIndex + 1 < chunkCount ? toIndex(firstKeys[chunkIndex + 1]) : -1;
+    }
+
+    /**
+     * Store an element and return the previous element at the index, or null if there was none.
+     */
+    public JSValue put(long index, JSValue value) {
+        int key = toKey(index);
+        if (chunkCount == 0 || key > lastKey()) {
+            append(key, value);
+            return null;
+        }
+        int chunkIndex = Math.max(findChunk(key), 0);
+        Chunk chunk = chunks[chunkIndex];
+        int position = Arrays.binarySearch(chunk.keys, 0, chunk.count, key);
+        if (position >= 0) {
+            JSValue previousValue = chunk.values[position];
+            chunk.values[position] = value;
+            return previousValue;
+        }
+        position = -position - 1;
+        if (chunk.count == CHUNK_CAPACITY) {
+            // Split the full chunk in halves and insert into the half that covers the key.
+            Chunk upperChunk = new Chunk();
+            int half = CHUNK_CAPACITY / 2;
+            upperChunk.count = CHUNK_CAPACITY - half;
+            System.arraycopy(chunk.keys, half, upperChunk.keys, 0, upperChunk.count);
+            System.arraycopy(chunk.values, half, upperChunk.values, 0, upperChunk.count);
+            Arrays.fill(chunk.values, half, CHUNK_CAPACITY, null);
+            chunk.count = half;
+            insertChunk(chunkIndex + 1, upperChunk, upperChunk.keys[0]);
+            if (position > half) {
+                chunk = upperChunk;
+                position -= half;
+            }
+        }
+        System.arraycopy(chunk.keys, position, chunk.keys, position + 1, chunk.count - position);
+        System.arraycopy(chunk.values, position, chunk.values, position + 1, chunk.count - position);
+        chunk.keys[position] = key;
+        chunk.values[position] = value;
+        chunk.count++;
+        if (position == 0) {
+            firstKeys[chunkIndex] = key;
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * Remove the element at the index and return it, or null if there was none.
+     */
+    public JSValue remove(long index) {
+        int key = toKey(index);
+        int chunkIndex = findChunk(key);
+        if (chunkIndex < 0) {
+            return null;
+        }
+        Chunk chunk = chunks[chunkIndex];
+        int position = Arrays.binarySearch(chunk.keys, 0, chunk.count, key);
+        if (position < 0) {
+            return null;
+        }
+        JSValue previousValue = chunk.values[position];
+        chunk.count--;
+        if (chunk.count == 0) {
+            removeChunks(chunkIndex, chunkIndex + 1);
+        } else {
+            System.arraycopy(chunk.keys, position + 1, chunk.keys, position, chunk.count - position);
+            System.arraycopy(chunk.values, position + 1, chunk.values, position, chunk.count - position);
+            chunk.values[chunk.count] = null;
+            firstKeys[chunkIndex] = chunk.keys[0];
+        }
+        size--;
+        return previousValue;
+    }
+
+    private void removeChunks(int fromChunkIndex, int toChunkIndex) {
+        System.arraycopy(chunks, toChunkIndex, chunks, fromChunkIndex, chunkCount - toChunkIndex);
+        System.arraycopy(firstKeys, toChunkIndex, firstKeys, fromChunkIndex, chunkCount - toChunkIndex);
+        int newChunkCount = chunkCount - (toChunkIndex - fromChunkIndex);
+        Arrays.fill(chunks, newChunkCount, chunkCount, null);
+        chunkCount = newChunkCount;
+    }
+
+    /**
+     * Remove every element whose index is not less than the given index.
+     */
+    public void removeFrom(long fromIndex) {
+        if (chunkCount == 0) {
+            return;
+        }
+        int key = toKey(fromIndex);
+        int chunkIndex = Math.max(findChunk(key), 0);
+        Chunk chunk = chunks[chunkIndex];
+        int position = insertionPoint(chunk, key);
+        int removedCount = chunk.count - position;
+        for (int i = chunkIndex + 1; i < chunkCount; i++) {
+            removedCount += chunks[i].count;
+        }
+        if (position == 0) {
+            removeChunks(chunkIndex, chunkCount);
+        } else {
+            Arrays.fill(chunk.values, position, chunk.count, null);
+            chunk.count = position;
+            removeChunks(chunkIndex + 1, chunkCount);
+        }
+        size -= removedCount;
+    }
+
+    /**
+     * Remove the elements in [start, start + count) and move the elements above that range
+     * down by count, as shift and splice do.
+     */
+    public void shiftLeft(long start, long count) {
+        int startKey = toKey(start);
+        long end = start + count;
+        Chunk[] oldChunks = chunks;
+        int oldChunkCount = chunkCount;
+        chunkCount = 0;
+        chunks = new Chunk[Math.max(INITIAL_CHUNK_CAPACITY, oldChunkCount)];
+        firstKeys = new int[chunks.length];
+        size = 0;
+        for (int chunkIndex = 0; chunkIndex < oldChunkCount; chunkIndex++) {
+            Chunk chunk = oldChunks[chunkIndex];
+            for (int i = 0; i < chunk.count; i++) {
+                int key = chunk.keys[i];
+                if (key < startKey) {
+                    append(key, chunk.values[i]);
+                } else {
+                    long index = toIndex(key);
+                    if (index >= end) {
+                        append(toKey(index - count), chunk.values[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * A run of at most CHUNK_CAPACITY sorted keys and their values.
+     */
+    private static final class Chunk {
+        private final int[] keys = new int[CHUNK_CAPACITY];
+        private final JSValue[] values = new JSValue[CHUNK_CAPACITY];
+        private int count;
+    }
+}
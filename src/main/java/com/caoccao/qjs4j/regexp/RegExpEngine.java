@@ -17,6 +17,8 @@
 package com.caoccao.qjs4j.regexp;
 
 import com.caoccao.qjs4j.unicode.CharacterProperties;
+import com.caoccao.qjs4j.unicode.CodePointTrie;
+import com.caoccao.qjs4j.unicode.UnicodePropertyResolver;
 
 import java.util.Arrays;
 
@@ -26,10 +28,28 @@ import java.util.Arrays;
  * Based on QuickJS libregexp.c execution engine.
  */
 public final class RegExpEngine {
+    /**
+     * Range sets with at least this many ranges, such as Unicode property escapes, are
+     * matched with a lookup table instead of a scan of the ranges.
+     */
+    private static final int MIN_TRIE_RANGE_COUNT = 16;
     private final RegExpBytecode bytecode;
+    private final UnicodePropertyResolver unicodePropertyResolver;
+    private int rangeTrieCount;
+    private int[] rangeTriePcs;
+    private CodePointTrie[] rangeTries;
 
     public RegExpEngine(RegExpBytecode bytecode) {
+        this(bytecode, null);
+    }
+
+    /**
+     * Create an engine that takes the lookup tables of large range sets from the resolver,
+     * so engines of the same pattern share them.
+     */
+    public RegExpEngine(RegExpBytecode bytecode, UnicodePropertyResolver unicodePropertyResolver) {
         this.bytecode = bytecode;
+        this.unicodePropertyResolver = unicodePropertyResolver;
     }
 
     private byte[] createAssertionBytecode(byte[] bytecode, int startPc, int len) {
@@ -287,7 +307,10 @@ public final class RegExpEngine {
 
                 case RANGE -> {
                     int len = readU16(bc, pc + 1);
-                    if (!executionContext.matchRange(bc, pc + 3, len, false)) {
+                    CodePointTrie trie = getRangeTrie(bc, pc);
+                    if (!(trie != null
+                            ? executionContext.matchTrie(trie)
+                            : executionContext.matchRange(bc, pc + 3, len, false))) {
                         if (executionContext.hasBacktrack()) {
                             pc = executionContext.popBacktrack();
                             continue;
@@ -333,7 +356,10 @@ public final class RegExpEngine {
 
                 case NOT_RANGE -> {
                     int len = readU16(bc, pc + 1);
-                    if (!executionContext.matchNotRange(bc, pc + 3, len, false)) {
+                    CodePointTrie trie = getRangeTrie(bc, pc);
+                    if (!(trie != null
+                            ? executionContext.matchNotTrie(trie)
+                            : executionContext.matchNotRange(bc, pc + 3, len, false))) {
                         if (executionContext.hasBacktrack()) {
                             pc = executionContext.popBacktrack();
                             continue;
@@ -526,6 +552,39 @@ public final class RegExpEngine {
         return execute(tempContext) ? tempContext : null;
     }
 
+    /**
+     * Get the lookup table of the range set at pc in the main bytecode, fetching it from the
+     * resolver on first use, or null if the range set is small or belongs to a copied
+     * assertion bytecode.
+     */
+    private CodePointTrie getRangeTrie(byte[] bc, int pc) {
+        if (bc != bytecode.instructions() || readU16(bc, pc + 3) < MIN_TRIE_RANGE_COUNT) {
+            return null;
+        }
+        for (int i = 0; i < rangeTrieCount; i++) {
+            if (rangeTriePcs[i] == pc) {
+                return rangeTries[i];
+            }
+        }
+        int[] ranges = new int[readU16(bc, pc + 3) * 2];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = readU32(bc, pc + 5 + i * 4);
+        }
+        CodePointTrie trie = unicodePropertyResolver != null
+                ? unicodePropertyResolver.getCodePointTrie(ranges)
+                : CodePointTrie.of(ranges);
+        if (rangeTries == null) {
+            rangeTriePcs = new int[2];
+            rangeTries = new CodePointTrie[2];
+        } else if (rangeTrieCount == rangeTries.length) {
+            rangeTriePcs = Arrays.copyOf(rangeTriePcs, rangeTrieCount * 2);
+            rangeTries = Arrays.copyOf(rangeTries, rangeTrieCount * 2);
+        }
+        rangeTriePcs[rangeTrieCount] = pc;
+        rangeTries[rangeTrieCount++] = trie;
+        return trie;
+    }
+
     /**
      * Read a 16-bit unsigned value from bytecode (little-endian).
      */
@@ -919,6 +978,14 @@ public final class RegExpEngine {
             return true;
         }
 
+        boolean matchNotTrie(CodePointTrie trie) {
+            if (pos >= codePoints.length || trie.contains(codePoints[pos])) {
+                return false;
+            }
+            pos++;
+            return true;
+        }
+
         boolean matchNotWordBoundary(boolean ignoreCase) {
             return !matchWordBoundary(ignoreCase);
         }
@@ -973,6 +1040,14 @@ public final class RegExpEngine {
             return false;
         }
 
+        boolean matchTrie(CodePointTrie trie) {
+            if (pos >= codePoints.length || !trie.contains(codePoints[pos])) {
+                return false;
+            }
+            pos++;
+            return true;
+        }
+
         boolean matchWordBoundary(boolean ignoreCase) {
             // Word boundary: transition between word and non-word character
             // Check character before current position
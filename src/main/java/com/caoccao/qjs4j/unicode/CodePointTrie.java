@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.unicode;
+
+import java.util.Arrays;
+
+/**
+ * Two-stage lookup table for a set of code points.
+ * <p>
+ * The first stage maps each block of 256 code points to a block number, and the second
+ * stage holds one 256-bit bitmap per distinct block. Blocks with the same content share
+ * one bitmap, so a property with hundreds of ranges such as a script or a general category
+ * takes a few kilobytes, and a membership test is two array reads instead of a scan of
+ * the ranges.
+ */
+public final class CodePointTrie {
+    private static final int BLOCK_COUNT = (Character.MAX_CODE_POINT + 1) >> 8;
+    private static final int BLOCK_SHIFT = 8;
+    private static final int WORDS_PER_BLOCK = 4;
+    private final long[] bitmaps;
+    private final char[] blockIndices;
+
+    private CodePointTrie(char[] blockIndices, long[] bitmaps) {
+        this.bitmaps = bitmaps;
+        this.blockIndices = blockIndices;
+    }
+
+    /**
+     * Create a trie from ranges [start, end, start, end, ...] where ranges are inclusive on
+     * both ends. The ranges do not need to be sorted or disjoint.
+     */
+    public static CodePointTrie of(int[] ranges) {
+        int[] sortedRanges = sortRanges(ranges);
+        char[] blockIndices = new char[BLOCK_COUNT];
+        long[] bitmaps = new long[WORDS_PER_BLOCK * 16];
+        int[] slots = new int[32]; // block number + 1, 0 if empty
+        long[] words = new long[WORDS_PER_BLOCK];
+        int blockCount = 0;
+        int rangeIndex = 0;
+        for (int blockIndex = 0; blockIndex < BLOCK_COUNT; blockIndex++) {
+            int blockStart = blockIndex << BLOCK_SHIFT;
+            int blockEnd = blockStart + (1 << BLOCK_SHIFT) - 1;
+            Arrays.fill(words, 0L);
+            while (rangeIndex < sortedRanges.length && sortedRanges[rangeIndex + 1] < blockStart) {
+                rangeIndex += 2;
+            }
+            for (int i = rangeIndex; i < sortedRanges.length && sortedRanges[i] <= blockEnd; i += 2) {
+                int start = Math.max(sortedRanges[i], blockStart) - blockStart;
+                int end = Math.min(sortedRanges[i + 1], blockEnd) - blockStart;
+                for (int bit = start; bit <= end; ) {
+                    int wordEnd = Math.min(end, bit | 63);
+                    words[bit >> 6] |= -1L >>> (63 - (wordEnd - bit)) << (bit & 63);
+                    bit = wordEnd + 1;
+                }
+            }
+            int hash = hashBlock(words, 0);
+            int mask = slots.length - 1;
+            int index = hash & mask;
+            int blockNumber = -1;
+            while (slots[index] != 0) {
+                if (Arrays.equals(bitmaps, (slots[index] - 1) * WORDS_PER_BLOCK, slots[index] * WORDS_PER_BLOCK,
+                        words, 0, WORDS_PER_BLOCK)) {
+                    blockNumber = slots[index] - 1;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (blockNumber < 0) {
+                blockNumber = blockCount++;
+                if (blockCount * WORDS_PER_BLOCK > bitmaps.length) {
+                    bitmaps = Arrays.copyOf(bitmaps, bitmaps.length * 2);
+                }
+                System.arraycopy(words, 0, bitmaps, blockNumber * WORDS_PER_BLOCK, WORDS_PER_BLOCK);
+                slots[index] = blockCount;
+                if (blockCount * 2 > slots.length) {
+                    slots = rehashBlocks(bitmaps, blockCount, slots.length * 2);
+                }
+            }
+            blockIndices[blockIndex] = (char) blockNumber;
+        }
+        return new CodePointTrie(blockIndices, Arrays.copyOf(bitmaps, blockCount * WORDS_PER_BLOCK));
+    }
+
+    private static int hashBlock(long[] bitmaps, int offset) {
+        long hash = 0;
+        for (int i = offset; i < offset + WORDS_PER_BLOCK; i++) {
+            hash = hash * 31 + bitmaps[i];
+        }
+        int result = (int) (hash ^ (hash >>> 32));
+        return result ^ (result >>> 16);
+    }
+
+    private static int[] rehashBlocks(long[] bitmaps, int blockCount, int slotCount) {
+        int[] slots = new int[slotCount];
+        int mask = slotCount - 1;
+        for (int blockNumber = 0; blockNumber < blockCount; blockNumber++) {
+            int index = hashBlock(bitmaps, blockNumber * WORDS_PER_BLOCK) & mask;
+            while (slots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = blockNumber + 1;
+        }
+        return slots;
+    }
+
+    /**
+     * Clamp the ranges to the code point space, then sort and merge them, so each block is
+     * filled from a forward scan of the ranges.
+     */
+    private static int[] sortRanges(int[] ranges) {
+        long[] packedRanges = new long[ranges.length / 2];
+        int rangeCount = 0;
+        for (int i = 0; i + 1 < ranges.length; i += 2) {
+            int start = Math.max(ranges[i], 0);
+            int end = Math.min(ranges[i + 1], Character.MAX_CODE_POINT);
+            if (start <= end) {
+                packedRanges[rangeCount++] = ((long) start << 32) | end;
+            }
+        }
+        Arrays.sort(packedRanges, 0, rangeCount);
+        int[] sortedRanges = new int[rangeCount * 2];
+        int length = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            int start = (int) (packedRanges[i] >>> 32);
+            int end = (int) packedRanges[i];
+            if (length > 0 && start <= sortedRanges[length - 1] + 1) {
+                sortedRanges[length - 1] = Math.max(sortedRanges[length - 1], end);
+            } else {
+                sortedRanges[length++] = start;
+                sortedRanges[length++] = end;
+            }
+        }
+        return length == sortedRanges.length ? sortedRanges : Arrays.copyOf(sortedRanges, length);
+    }
+
+    /**
+     * Check whether the code point is in the set.
+     */
+    public boolean contains(int codePoint) {
+        int blockIndex = codePoint >>> BLOCK_SHIFT;
+        if (blockIndex >= BLOCK_COUNT) {
+            return false;
+        }
+        int word = blockIndices[blockIndex] * WORDS_PER_BLOCK + ((codePoint >> 6) & (WORDS_PER_BLOCK - 1));
+        return (bitmaps[word] & (1L << codePoint)) != 0;
+    }
+}
@@ -22,8 +22,44 @@ import java.text.Normalizer;
  * Unicode normalization algorithms (NFC, NFD, NFKC, NFKD).
  * Based on QuickJS libunicode.c implementation.
  * Uses Java's built-in Normalizer for Unicode normalization.
+ * <p>
+ * Most input is already normalized, so a quick-check table is consulted first. A char passes
+ * the quick check for a form when it is unchanged by the form, has canonical combining class 0
+ * and never composes with a preceding char. Runs of such chars are copied as is, and only the
+ * segments between them are handed to the Normalizer. The table is built lazily per block of
+ * 256 chars from the Normalizer itself, so it always agrees with it. A block is published
+ * without synchronization: a thread that sees it partially filled only takes the slow path.
  */
 public final class UnicodeNormalization {
+    private static final int BLOCK_SHIFT = 8;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final byte[][] QUICK_CHECK_BLOCKS = new byte[(Character.MAX_VALUE + 1) >> BLOCK_SHIFT][];
+
+    private static byte[] createQuickCheckBlock(int blockIndex) {
+        byte[] block = new byte[BLOCK_SIZE];
+        Form[] forms = Form.values();
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            char ch = (char) ((blockIndex << BLOCK_SHIFT) + i);
+            int type = Character.getType(ch);
+            // Combining marks and Hangul jamo may combine with or reorder around a preceding char.
+            if (type == Character.NON_SPACING_MARK
+                    || type == Character.COMBINING_SPACING_MARK
+                    || type == Character.ENCLOSING_MARK
+                    || type == Character.SURROGATE
+                    || (ch >= 0x1100 && ch <= 0x11FF)) {
+                continue;
+            }
+            String str = String.valueOf(ch);
+            int flags = 0;
+            for (Form form : forms) {
+                if (str.equals(Normalizer.normalize(str, form.javaForm))) {
+                    flags |= form.quickCheckFlag;
+                }
+            }
+            block[i] = (byte) flags;
+        }
+        return block;
+    }
 
     /**
      * Check if a string is already normalized in the specified form.
@@ -32,19 +68,28 @@ public final class UnicodeNormalization {
         if (input == null || input.isEmpty()) {
             return true;
         }
+        if (skipQuickCheckYes(input, 0, form) == input.length()) {
+            return true;
+        }
+        return Normalizer.isNormalized(input, form.javaForm);
+    }
 
-        Normalizer.Form javaForm = switch (form) {
-            case NFC -> Normalizer.Form.NFC;
-            case NFD -> Normalizer.Form.NFD;
-            case NFKC -> Normalizer.Form.NFKC;
-            case NFKD -> Normalizer.Form.NFKD;
-        };
-
-        return Normalizer.isNormalized(input, javaForm);
+    private static boolean isQuickCheckYes(char ch, Form form) {
+        if (ch < form.minQuickCheckNo) {
+            return true;
+        }
+        int blockIndex = ch >> BLOCK_SHIFT;
+        byte[] block = QUICK_CHECK_BLOCKS[blockIndex];
+        if (block == null) {
+            block = createQuickCheckBlock(blockIndex);
+            QUICK_CHECK_BLOCKS[blockIndex] = block;
+        }
+        return (block[ch & (BLOCK_SIZE - 1)] & form.quickCheckFlag) != 0;
     }
 
     /**
      * Normalize a string using the specified normalization form.
+     * The input is returned as is when it is already normalized.
      *
      * @param input The string to normalize
      * @param form  The normalization form to use
@@ -54,19 +99,56 @@ public final class UnicodeNormalization {
         if (input == null) {
             return null;
         }
-
-        if (input.isEmpty()) {
+        int length = input.length();
+        int index = skipQuickCheckYes(input, 0, form);
+        if (index == length) {
             return input;
         }
 
-        Normalizer.Form javaForm = switch (form) {
-            case NFC -> Normalizer.Form.NFC;
-            case NFD -> Normalizer.Form.NFD;
-            case NFKC -> Normalizer.Form.NFKC;
-            case NFKD -> Normalizer.Form.NFKD;
-        };
+        StringBuilder result = null;
+        int copiedIndex = 0;
+        while (index < length) {
+            int segmentStart = index;
+            // A composing form may combine the last quick-check char with the segment.
+            if (form.composing && segmentStart > 0) {
+                segmentStart--;
+            }
+            int segmentEnd = index + 1;
+            while (segmentEnd < length && !isQuickCheckYes(input.charAt(segmentEnd), form)) {
+                segmentEnd++;
+            }
+            String segment = input.substring(segmentStart, segmentEnd);
+            String normalized = Normalizer.normalize(segment, form.javaForm);
+            if (!normalized.equals(segment)) {
+                if (result == null) {
+                    result = new StringBuilder(length + 16);
+                }
+                result.append(input, copiedIndex, segmentStart).append(normalized);
+                copiedIndex = segmentEnd;
+            }
+            index = skipQuickCheckYes(input, segmentEnd, form);
+        }
+        if (result == null) {
+            return input;
+        }
+        return result.append(input, copiedIndex, length).toString();
+    }
 
-        return Normalizer.normalize(input, javaForm);
+    /**
+     * Get the index of the first char from the given index that fails the quick check,
+     * or the length of the input if there is none.
+     */
+    private static int skipQuickCheckYes(String input, int fromIndex, Form form) {
+        int length = input.length();
+        int index = fromIndex;
+        // ASCII, or Latin-1 for NFC, is always normalized.
+        while (index < length && input.charAt(index) < form.minQuickCheckNo) {
+            index++;
+        }
+        while (index < length && isQuickCheckYes(input.charAt(index), form)) {
+            index++;
+        }
+        return index;
     }
 
     /**
@@ -127,21 +209,34 @@ public final class UnicodeNormalization {
         /**
          * Canonical Decomposition, followed by Canonical Composition.
          */
-        NFC,
+        NFC(Normalizer.Form.NFC, true, 0x0300),
 
         /**
          * Canonical Decomposition.
          */
-        NFD,
+        NFD(Normalizer.Form.NFD, false, 0x00C0),
 
         /**
          * Compatibility Decomposition, followed by Canonical Composition.
          */
-        NFKC,
+        NFKC(Normalizer.Form.NFKC, true, 0x00A0),
 
         /**
          * Compatibility Decomposition.
          */
-        NFKD
+        NFKD(Normalizer.Form.NFKD, false, 0x00A0);
+
+        private final boolean composing;
+        private final Normalizer.Form javaForm;
+        // Every char below it passes the quick check.
+        private final char minQuickCheckNo;
+        private final int quickCheckFlag;
+
+        Form(Normalizer.Form javaForm, boolean composing, int minQuickCheckNo) {
+            this.composing = composing;
+            this.javaForm = javaForm;
+            this.minQuickCheckNo = (char) minQuickCheckNo;
+            this.quickCheckFlag = 1 << ordinal();
+        }
     }
 }
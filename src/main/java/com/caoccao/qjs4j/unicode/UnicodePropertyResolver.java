@@ -17,7 +17,9 @@
 package com.caoccao.qjs4j.unicode;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,11 +34,20 @@ import static com.caoccao.qjs4j.unicode.UnicodePropertyTables.*;
  */
 public final class UnicodePropertyResolver {
 
+    private static final int MAX_CODE_POINT_TRIE_CACHE_SIZE = 256;
     private static final int SCRIPT_COMMON = 26;
     private static final int SCRIPT_INHERITED = 59;
     // Script index constants
     private static final int SCRIPT_UNKNOWN = 0;
 
+    // Lookup tables of the range sets of compiled regular expressions, most recently used last.
+    private final Map<RangeSet, CodePointTrie> codePointTrieCache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<RangeSet, CodePointTrie> eldest) {
+                    return size() > MAX_CODE_POINT_TRIE_CACHE_SIZE;
+                }
+            };
     private final Map<String, int[]> gcCache = new HashMap<>();
     private final Map<String, int[]> propertyCache = new HashMap<>();
     private final Map<String, int[]> scriptCache = new HashMap<>();
@@ -134,10 +145,10 @@ public final class UnicodePropertyResolver {
      * Ported from QuickJS unicode_prop1().
      */
     private static int[] decodeBinaryProperty(int propIndex) {
-        if (propIndex < 0 || propIndex >= PROP_TABLES.length) {
+        if (propIndex < 0 || propIndex >= UnicodePropertyTablesData.PROP_TABLES.length) {
             return new int[0];
         }
-        byte[] table = PROP_TABLES[propIndex];
+        byte[] table = UnicodePropertyTablesData.PROP_TABLES[propIndex];
         List<Integer> ranges = new ArrayList<>();
         int pos = 0;
         int codePoint = 0;
@@ -179,7 +190,7 @@ public final class UnicodePropertyResolver {
      * Ported from QuickJS unicode_general_category1().
      */
     private static int[] decodeGeneralCategory(long gcMask) {
-        byte[] table = GC_TABLE;
+        byte[] table = UnicodePropertyTablesGC.GC_TABLE;
         List<Integer> ranges = new ArrayList<>();
         int pos = 0;
         int codePoint = 0;
@@ -262,7 +273,7 @@ public final class UnicodePropertyResolver {
      * If type=1, next byte is the script ID.
      */
     private static int[] decodeScriptBase(int scriptIndex) {
-        byte[] table = SCRIPT_TABLE;
+        byte[] table = UnicodePropertyTablesScript.SCRIPT_TABLE;
         List<Integer> ranges = new ArrayList<>();
         int pos = 0;
         int codePoint = 0;
@@ -300,7 +311,7 @@ public final class UnicodePropertyResolver {
      * For other scripts: collects code points where the script appears in extensions.
      */
     private static int[] decodeScriptExtensions(int scriptIndex, boolean isCommon) {
-        byte[] table = SCRIPT_EXT_TABLE;
+        byte[] table = UnicodePropertyTablesScript.SCRIPT_EXT_TABLE;
         List<Integer> ranges = new ArrayList<>();
         int pos = 0;
         int codePoint = 0;
@@ -1041,6 +1052,20 @@ public final class UnicodePropertyResolver {
         return intersectRanges(aOrB, notAAndB);
     }
 
+    /**
+     * Get the lookup table of a set of code point ranges, building it once per distinct set,
+     * so each evaluation of a regular expression literal such as /\p{L}/u reuses it.
+     */
+    public CodePointTrie getCodePointTrie(int[] ranges) {
+        RangeSet rangeSet = new RangeSet(ranges);
+        CodePointTrie trie = codePointTrieCache.get(rangeSet);
+        if (trie == null) {
+            trie = CodePointTrie.of(ranges);
+            codePointTrieCache.put(rangeSet, trie);
+        }
+        return trie;
+    }
+
     /**
      * Resolve a binary property name (or alias) to code point ranges.
      * Returns null if the name is not recognized.
@@ -1109,6 +1134,21 @@ public final class UnicodePropertyResolver {
         return ranges;
     }
 
+    /**
+     * Code point ranges compared by content, the key of the lookup table cache.
+     */
+    private record RangeSet(int[] ranges) {
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RangeSet rangeSet && Arrays.equals(ranges, rangeSet.ranges);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(ranges);
+        }
+    }
+
     /**
      * Result of resolving a Unicode "property of strings" (sequence property).
      * Used for RegExp with the {@code v} flag.
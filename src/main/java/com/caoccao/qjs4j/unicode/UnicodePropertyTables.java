@@ -20,7 +20,8 @@ package com.caoccao.qjs4j.unicode;
  * Unicode property tables ported from QuickJS libunicode-table.h.
  * These tables use compressed run-length encoding for code point ranges.
  * Property byte arrays are split across helper classes to stay within
- * Java bytecode size limits.
+ * Java bytecode size limits. The helper classes are not referenced from here,
+ * so each one is only loaded when one of its tables is first decoded.
  */
 public final class UnicodePropertyTables {
 
@@ -204,8 +205,6 @@ public final class UnicodePropertyTables {
     public static final int GC_SK = 14;
     public static final int GC_SM = 12;
     public static final int GC_SO = 15;
-    // General Category table
-    public static final byte[] GC_TABLE = UnicodePropertyTablesGC.GC_TABLE;
     public static final int GC_Z = 36;
     public static final int GC_ZL = 24;
     public static final int GC_ZP = 25;
@@ -324,66 +323,6 @@ public final class UnicodePropertyTables {
     public static final int PROP_RGI_EMOJI_MODIFIER_SEQUENCE = 18;
     public static final int PROP_SENTENCE_TERMINAL = 41;
     public static final int PROP_SOFT_DOTTED = 42;
-    // Property tables (from helper classes)
-    public static final byte[][] PROP_TABLES = {
-            UnicodePropertyTablesData.PROP_Hyphen,
-            UnicodePropertyTablesData.PROP_Other_Math,
-            UnicodePropertyTablesData.PROP_Other_Alphabetic,
-            UnicodePropertyTablesData.PROP_Other_Lowercase,
-            UnicodePropertyTablesData.PROP_Other_Uppercase,
-            UnicodePropertyTablesData.PROP_Other_Grapheme_Extend,
-            UnicodePropertyTablesData.PROP_Other_Default_Ignorable_Code_Point,
-            UnicodePropertyTablesData.PROP_Other_ID_Start,
-            UnicodePropertyTablesData.PROP_Other_ID_Continue,
-            UnicodePropertyTablesData.PROP_Prepended_Concatenation_Mark,
-            UnicodePropertyTablesData.PROP_ID_Continue1,
-            UnicodePropertyTablesData.PROP_XID_Start1,
-            UnicodePropertyTablesData.PROP_XID_Continue1,
-            UnicodePropertyTablesData.PROP_Changes_When_Titlecased1,
-            UnicodePropertyTablesData.PROP_Changes_When_Casefolded1,
-            UnicodePropertyTablesData.PROP_Changes_When_NFKC_Casefolded1,
-            UnicodePropertyTablesData.PROP_Basic_Emoji1,
-            UnicodePropertyTablesData.PROP_Basic_Emoji2,
-            UnicodePropertyTablesData.PROP_RGI_Emoji_Modifier_Sequence,
-            UnicodePropertyTablesData.PROP_RGI_Emoji_Flag_Sequence,
-            UnicodePropertyTablesData.PROP_Emoji_Keycap_Sequence,
-            UnicodePropertyTablesData.PROP_ASCII_Hex_Digit,
-            UnicodePropertyTablesData.PROP_Bidi_Control,
-            UnicodePropertyTablesData.PROP_Dash,
-            UnicodePropertyTablesData.PROP_Deprecated,
-            UnicodePropertyTablesData.PROP_Diacritic,
-            UnicodePropertyTablesData.PROP_Extender,
-            UnicodePropertyTablesData.PROP_Hex_Digit,
-            UnicodePropertyTablesData.PROP_IDS_Unary_Operator,
-            UnicodePropertyTablesData.PROP_IDS_Binary_Operator,
-            UnicodePropertyTablesData.PROP_IDS_Trinary_Operator,
-            UnicodePropertyTablesData.PROP_Ideographic,
-            UnicodePropertyTablesData.PROP_Join_Control,
-            UnicodePropertyTablesData.PROP_Logical_Order_Exception,
-            UnicodePropertyTablesData.PROP_Modifier_Combining_Mark,
-            UnicodePropertyTablesData.PROP_Noncharacter_Code_Point,
-            UnicodePropertyTablesData.PROP_Pattern_Syntax,
-            UnicodePropertyTablesData.PROP_Pattern_White_Space,
-            UnicodePropertyTablesData.PROP_Quotation_Mark,
-            UnicodePropertyTablesData.PROP_Radical,
-            UnicodePropertyTablesData.PROP_Regional_Indicator,
-            UnicodePropertyTablesData.PROP_Sentence_Terminal,
-            UnicodePropertyTablesData.PROP_Soft_Dotted,
-            UnicodePropertyTablesData.PROP_Terminal_Punctuation,
-            UnicodePropertyTablesData.PROP_Unified_Ideograph,
-            UnicodePropertyTablesData.PROP_Variation_Selector,
-            UnicodePropertyTablesData.PROP_White_Space,
-            UnicodePropertyTablesData.PROP_Bidi_Mirrored,
-            UnicodePropertyTablesData.PROP_Emoji,
-            UnicodePropertyTablesData.PROP_Emoji_Component,
-            UnicodePropertyTablesData.PROP_Emoji_Modifier,
-            UnicodePropertyTablesData.PROP_Emoji_Modifier_Base,
-            UnicodePropertyTablesData.PROP_Emoji_Presentation,
-            UnicodePropertyTablesData.PROP_Extended_Pictographic,
-            UnicodePropertyTablesData.PROP_Default_Ignorable_Code_Point,
-            UnicodePropertyTablesData.PROP_ID_Start,
-            UnicodePropertyTablesData.PROP_Case_Ignorable,
-    };
     public static final int PROP_TERMINAL_PUNCTUATION = 43;
     public static final int PROP_UNIFIED_IDEOGRAPH = 44;
     public static final int PROP_VARIATION_SELECTOR = 45;
@@ -397,7 +336,6 @@ public final class UnicodePropertyTables {
     public static final int RUN_TYPE_U = 0;
     public static final int RUN_TYPE_UF = 2;
     public static final int RUN_TYPE_UL = 4;
-    public static final byte[] SCRIPT_EXT_TABLE = UnicodePropertyTablesScript.SCRIPT_EXT_TABLE;
     // Script name table entries (comma-separated aliases)
     public static final String[] SCRIPT_NAME_TABLE = {
             "Unknown,Zzzz",
@@ -577,8 +515,6 @@ public final class UnicodePropertyTables {
             "Yi,Yiii",
             "Zanabazar_Square,Zanb",
     };
-    // Script tables
-    public static final byte[] SCRIPT_TABLE = UnicodePropertyTablesScript.SCRIPT_TABLE;
 
     private UnicodePropertyTables() {
     }
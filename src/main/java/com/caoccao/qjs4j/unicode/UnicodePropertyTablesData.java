@@ -1098,6 +1098,66 @@ final class UnicodePropertyTablesData {
             (byte) 0x86, 0x02, 0x4b, 0x16, 0x40, (byte) 0x86, 0x02, 0x26,
             0x19, 0x42, (byte) 0x86, 0x02, (byte) 0xd7, 0x19, 0x40, (byte) 0x86,
     };
+    // Binary property tables indexed by the PROP_* constants of UnicodePropertyTables
+    static final byte[][] PROP_TABLES = {
+            PROP_Hyphen,
+            PROP_Other_Math,
+            PROP_Other_Alphabetic,
+            PROP_Other_Lowercase,
+            PROP_Other_Uppercase,
+            PROP_Other_Grapheme_Extend,
+            PROP_Other_Default_Ignorable_Code_Point,
+            PROP_Other_ID_Start,
+            PROP_Other_ID_Continue,
+            PROP_Prepended_Concatenation_Mark,
+            PROP_ID_Continue1,
+            PROP_XID_Start1,
+            PROP_XID_Continue1,
+            PROP_Changes_When_Titlecased1,
+            PROP_Changes_When_Casefolded1,
+            PROP_Changes_When_NFKC_Casefolded1,
+            PROP_Basic_Emoji1,
+            PROP_Basic_Emoji2,
+            PROP_RGI_Emoji_Modifier_Sequence,
+            PROP_RGI_Emoji_Flag_Sequence,
+            PROP_Emoji_Keycap_Sequence,
+            PROP_ASCII_Hex_Digit,
+            PROP_Bidi_Control,
+            PROP_Dash,
+            PROP_Deprecated,
+            PROP_Diacritic,
+            PROP_Extender,
+            PROP_Hex_Digit,
+            PROP_IDS_Unary_Operator,
+            PROP_IDS_Binary_Operator,
+            PROP_IDS_Trinary_Operator,
+            PROP_Ideographic,
+            PROP_Join_Control,
+            PROP_Logical_Order_Exception,
+            PROP_Modifier_Combining_Mark,
+            PROP_Noncharacter_Code_Point,
+            PROP_Pattern_Syntax,
+            PROP_Pattern_White_Space,
+            PROP_Quotation_Mark,
+            PROP_Radical,
+            PROP_Regional_Indicator,
+            PROP_Sentence_Terminal,
+            PROP_Soft_Dotted,
+            PROP_Terminal_Punctuation,
+            PROP_Unified_Ideograph,
+            PROP_Variation_Selector,
+            PROP_White_Space,
+            PROP_Bidi_Mirrored,
+            PROP_Emoji,
+            PROP_Emoji_Component,
+            PROP_Emoji_Modifier,
+            PROP_Emoji_Modifier_Base,
+            PROP_Emoji_Presentation,
+            PROP_Extended_Pictographic,
+            PROP_Default_Ignorable_Code_Point,
+            PROP_ID_Start,
+            PROP_Case_Ignorable,
+    };
 
     private UnicodePropertyTablesData() {
     }
@@ -18,10 +18,7 @@ package com.caoccao.qjs4j.utils;
 
 import com.caoccao.qjs4j.core.JSKeyword;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * Atom table for interned strings.
@@ -33,6 +30,13 @@ import java.util.Map;
  * - Variable names
  * - Built-in symbols
  * - Fast string comparison (compare integers instead of strings)
+ * <p>
+ * Atoms are kept in an array and found through a primitive open-addressing table of atom
+ * indices, so no Integer boxes or map entries are allocated. Names from compiled code and
+ * data, e.g. JSON keys, are deduplicated through the table: below a fixed atom count, equal
+ * names of one runtime resolve to one String instance, so shape lookups usually match them
+ * with a reference comparison. Atoms are never freed, so beyond that count new names are
+ * not added. Builtin property names are Java literals and are not guaranteed to be atoms.
  */
 public final class AtomTable {
     public static final int ATOM_ASYNC = 40;
@@ -79,43 +83,88 @@ public final class AtomTable {
     public static final int ATOM_YIELD = 38;
     // Reserved for future well-known atoms
     private static final int ATOM_RESERVED_COUNT = 128;
-    private final List<String> atomToString;
-    private final Map<String, Integer> stringToAtom;
+    private static final int INITIAL_SLOT_COUNT = 512;
+    /**
+     * Names from compiled code and data, e.g. JSON property names, are only interned below
+     * this atom count because atoms are never freed. Beyond it they are still resolved to
+     * existing atoms.
+     */
+    private static final int MAX_KEY_ATOM_COUNT = 1 << 16;
+    private int atomCount;
+    private String[] atomToString;
+    private int[] slots; // atom index + 1, 0 if empty
 
     public AtomTable() {
-        this.stringToAtom = new HashMap<>();
-        this.atomToString = new ArrayList<>();
-
         // Pre-allocate well-known atoms
         initializeWellKnownAtoms();
     }
 
+    private static int hash(CharSequence chars) {
+        int hash = 0;
+        for (int i = 0, length = chars.length(); i < length; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int slotIndex(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private int add(String str, int hash) {
+        if (atomCount == atomToString.length) {
+            atomToString = Arrays.copyOf(atomToString, atomCount * 2);
+        }
+        if ((atomCount + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int atom = atomCount++;
+        atomToString[atom] = str;
+        insertSlot(atom, hash);
+        return atom;
+    }
+
     /**
      * Clear all atoms (except well-known atoms).
      */
     public void clear() {
-        stringToAtom.clear();
-        atomToString.clear();
         initializeWellKnownAtoms();
     }
 
+    /**
+     * Find the atom of a string with the given hash, or -1 if it is not interned.
+     */
+    private int find(CharSequence chars, int hash) {
+        int mask = slots.length - 1;
+        for (int index = slotIndex(hash, mask); ; index = (index + 1) & mask) {
+            int slot = slots[index];
+            if (slot == 0) {
+                return -1;
+            }
+            String atomString = atomToString[slot - 1];
+            if (atomString == chars
+                    || (atomString.hashCode() == hash && atomString.contentEquals(chars))) {
+                return slot - 1;
+            }
+        }
+    }
+
     /**
      * Get the atom index for a string without interning it.
      * Returns -1 if the string is not interned.
      */
     public int getAtom(String str) {
-        Integer atom = stringToAtom.get(str);
-        return atom != null ? atom : -1;
+        return str != null ? find(str, str.hashCode()) : -1;
     }
 
     /**
      * Get the string for a given atom index.
      */
     public String getString(int atom) {
-        if (atom < 0 || atom >= atomToString.size()) {
+        if (atom < 0 || atom >= atomCount) {
             return null;
         }
-        return atomToString.get(atom);
+        return atomToString[atom];
     }
 
     /**
@@ -123,9 +172,9 @@ public final class AtomTable {
      */
     private void initializeWellKnownAtoms() {
         // Reserve space for well-known atoms
-        for (int i = 0; i < ATOM_RESERVED_COUNT; i++) {
-            atomToString.add(null);
-        }
+        atomCount = ATOM_RESERVED_COUNT;
+        atomToString = new String[ATOM_RESERVED_COUNT * 2];
+        slots = new int[INITIAL_SLOT_COUNT];
 
         // Initialize the well-known atoms
         setWellKnownAtom(ATOM_NULL, JSKeyword.NULL);
@@ -171,6 +220,15 @@ public final class AtomTable {
         setWellKnownAtom(ATOM_ASYNC, JSKeyword.ASYNC);
     }
 
+    private void insertSlot(int atom, int hash) {
+        int mask = slots.length - 1;
+        int index = slotIndex(hash, mask);
+        while (slots[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        slots[index] = atom + 1;
+    }
+
     /**
      * Intern a string and return its atom index.
      * If the string is already interned, returns the existing atom.
@@ -179,35 +237,56 @@ public final class AtomTable {
         if (str == null) {
             return -1;
         }
+        int hash = str.hashCode();
+        int atom = find(str, hash);
+        return atom >= 0 ? atom : add(str, hash);
+    }
 
-        Integer atom = stringToAtom.get(str);
-        if (atom != null) {
-            return atom;
+    /**
+     * Get the canonical instance of a property name from compiled code or data, e.g. a JSON
+     * key, interning it while the table has room. The characters are only copied into a new
+     * String when the name is not interned yet.
+     */
+    public String internKey(CharSequence chars) {
+        int hash = hash(chars);
+        int atom = find(chars, hash);
+        if (atom >= 0) {
+            return atomToString[atom];
         }
-
-        int newAtom = atomToString.size();
-        atomToString.add(str);
-        stringToAtom.put(str, newAtom);
-        return newAtom;
+        String str = chars.toString();
+        if (atomCount < MAX_KEY_ATOM_COUNT) {
+            add(str, hash);
+        }
+        return str;
     }
 
     /**
      * Check if an atom index is valid.
      */
     public boolean isValidAtom(int atom) {
-        return atom >= 0 && atom < atomToString.size() && atomToString.get(atom) != null;
+        return atom >= 0 && atom < atomCount && atomToString[atom] != null;
+    }
+
+    private void rehash(int slotCount) {
+        slots = new int[slotCount];
+        for (int atom = 0; atom < atomCount; atom++) {
+            String str = atomToString[atom];
+            if (str != null) {
+                insertSlot(atom, str.hashCode());
+            }
+        }
     }
 
     private void setWellKnownAtom(int index, String str) {
-        atomToString.set(index, str);
-        stringToAtom.put(str, index);
+        atomToString[index] = str;
+        insertSlot(index, str.hashCode());
     }
 
     /**
      * Get the number of interned strings.
      */
     public int size() {
-        return atomToString.size();
+        return atomCount;
     }
 
     @Override
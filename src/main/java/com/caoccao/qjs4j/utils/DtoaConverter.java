@@ -36,6 +36,7 @@ public final class DtoaConverter {
     public static final double FIXED_THRESHOLD = 1e21;
     public static final int MAX_DIGITS = 100;
     public static final int MAX_PRECISION = 100;
+    private static final double MAX_SAFE_INTEGER = 9007199254740991d;
 
     /**
      * Clean up number string by removing trailing zeros and unnecessary decimal points.
@@ -90,6 +91,10 @@ public final class DtoaConverter {
             }
             return "0";
         }
+        // A safe integer is exactly representable, so its own digits are the shortest form.
+        if (Math.abs(value) <= MAX_SAFE_INTEGER && value == (long) value) {
+            return Long.toString((long) value);
+        }
 
         boolean negative = value < 0;
         double absValue = Math.abs(value);
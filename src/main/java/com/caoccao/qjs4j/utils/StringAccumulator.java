@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.utils;
+
+import java.util.Arrays;
+
+/**
+ * Collects the parts of a string built by Array.prototype.join, String.prototype.concat
+ * and template literals, and creates the result in one step.
+ * <p>
+ * Unlike a StringBuilder, the parts are only referenced until the end. {@link String#join}
+ * then sums their lengths, picks Latin-1 when every part is Latin-1, and fills a single
+ * array of the exact size that becomes the string without another copy.
+ */
+public final class StringAccumulator {
+    private static final String[] EMPTY_PARTS = new String[0];
+    private int count;
+    private String[] parts;
+
+    /**
+     * Create an accumulator for about the given number of parts.
+     */
+    public StringAccumulator(int expectedPartCount) {
+        this.count = 0;
+        this.parts = expectedPartCount > 0 ? new String[expectedPartCount] : EMPTY_PARTS;
+    }
+
+    /**
+     * Append a part.
+     */
+    public StringAccumulator append(String part) {
+        if (count == parts.length) {
+            parts = Arrays.copyOf(parts, Math.max(8, count * 2));
+        }
+        parts[count++] = part;
+        return this;
+    }
+
+    /**
+     * Join the parts with a separator between each pair of adjacent parts.
+     */
+    public String join(String separator) {
+        if (count == 0) {
+            return "";
+        }
+        if (count == 1) {
+            return parts[0];
+        }
+        return String.join(separator, count == parts.length ? parts : Arrays.copyOf(parts, count));
+    }
+
+    @Override
+    public String toString() {
+        return join("");
+    }
+}
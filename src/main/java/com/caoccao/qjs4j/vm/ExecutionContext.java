@@ -15,6 +15,7 @@ final class ExecutionContext {
     final int restoreStackTop;
     final boolean savedStrictMode;
     final VirtualMachine virtualMachine;
+    boolean completeWithPendingException;
     boolean opcodeRequestedReturn;
     int pc;
     JSValue returnValue;
@@ -40,6 +41,7 @@ final class ExecutionContext {
         this.savedStrictMode = savedStrictMode;
         this.locals = frame.getLocals();
         this.pc = 0;
+        this.completeWithPendingException = false;
         this.opcodeRequestedReturn = false;
         this.returnValue = null;
         this.sp = 0;
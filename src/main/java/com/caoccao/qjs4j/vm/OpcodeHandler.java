@@ -63,18 +63,6 @@ public final class OpcodeHandler {
         return false;
     }
 
-    private static void captureVmExceptionAsPending(ExecutionContext executionContext, JSVirtualMachineException e) {
-        JSValue errorValue = e.getJsValue() != null ? e.getJsValue() : e.getJsError();
-        if (errorValue != null) {
-            executionContext.virtualMachine.pendingException = errorValue;
-        } else {
-            executionContext.virtualMachine.pendingException =
-                    executionContext.virtualMachine.context.throwError(
-                            e.getMessage() != null ? e.getMessage() : "Unknown error");
-            executionContext.virtualMachine.context.clearPendingException();
-        }
-    }
-
     private static JSValue clearAndGetPendingException(JSContext context) {
         JSValue exceptionValue = context.getPendingException();
         context.clearPendingException();
@@ -244,33 +232,8 @@ public final class OpcodeHandler {
             executionContext.virtualMachine.valueStack.stackTop = sp;
             JSValue right = executionContext.virtualMachine.valueStack.pop();
             JSValue left = executionContext.virtualMachine.valueStack.pop();
-            try {
-                executionContext.virtualMachine.valueStack.push(executionContext.virtualMachine.addValues(left, right));
-                if (executionContext.virtualMachine.context.hasPendingException()) {
-                    executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.getPendingException();
-                    executionContext.virtualMachine.context.clearPendingException();
-                    executionContext.virtualMachine.valueStack.pop();
-                    executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
-                }
-            } catch (JSVirtualMachineException e) {
-                executionContext.virtualMachine.captureVMException(e);
-                executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
-            } catch (JSException e) {
-                if (e.getErrorValue() != null) {
-                    executionContext.virtualMachine.pendingException = e.getErrorValue();
-                } else {
-                    executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.throwError(
-                            "Error",
-                            e.getMessage() != null ? e.getMessage() : "Unhandled exception");
-                }
-                executionContext.virtualMachine.context.clearPendingException();
-                executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
-            } catch (JSErrorException e) {
-                executionContext.virtualMachine.pendingException =
-                        executionContext.virtualMachine.context.throwError(e);
-                executionContext.virtualMachine.context.clearPendingException();
-                executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
-            }
+            executionContext.virtualMachine.valueStack.push(executionContext.virtualMachine.addValues(left, right));
+            capturePendingException(executionContext);
             executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
         }
         executionContext.pc += op.getSize();
@@ -281,27 +244,9 @@ public final class OpcodeHandler {
         int localIndex = executionContext.instructions[pc + 1] & 0xFF;
         JSValue rightValue = executionContext.pop();
         JSValue leftValue = executionContext.locals[localIndex];
-        try {
-            executionContext.locals[localIndex] = executionContext.virtualMachine.addValues(leftValue, rightValue);
-            if (executionContext.virtualMachine.context.hasPendingException()) {
-                executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.getPendingException();
-                executionContext.virtualMachine.context.clearPendingException();
-            }
-        } catch (JSVirtualMachineException e) {
-            executionContext.virtualMachine.captureVMException(e);
-        } catch (JSException e) {
-            if (e.getErrorValue() != null) {
-                executionContext.virtualMachine.pendingException = e.getErrorValue();
-            } else {
-                executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.throwError(
-                        "Error",
-                        e.getMessage() != null ? e.getMessage() : "Unhandled exception");
-            }
-            executionContext.virtualMachine.context.clearPendingException();
-        } catch (JSErrorException e) {
-            executionContext.virtualMachine.pendingException =
-                    executionContext.virtualMachine.context.throwError(e);
-            executionContext.virtualMachine.context.clearPendingException();
+        JSValue result = executionContext.virtualMachine.addValues(leftValue, rightValue);
+        if (!capturePendingException(executionContext)) {
+            executionContext.locals[localIndex] = result;
         }
         executionContext.pc = pc + op.getSize();
     }
@@ -324,7 +269,7 @@ public final class OpcodeHandler {
             try {
                 pair = executionContext.virtualMachine.numericPair(left, right);
             } catch (JSVirtualMachineException e) {
-                captureVmExceptionAsPending(executionContext, e);
+                executionContext.virtualMachine.captureVMException(e);
                 pair = null;
             }
             if (pair != null && executionContext.virtualMachine.pendingException != null) {
@@ -2019,14 +1964,8 @@ public final class OpcodeHandler {
         JSValue iterator;
         try {
             iterator = callCallableValue(executionContext.virtualMachine.context, iteratorMethod, iterable, JSValue.NO_ARGS);
-        } catch (JSException e) {
-            executionContext.virtualMachine.pendingException = e.getErrorValue();
-            executionContext.virtualMachine.context.clearPendingException();
-            executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
-            executionContext.pc += op.getSize();
-            return;
-        } catch (JSVirtualMachineException e) {
-            executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+        } catch (JSException | JSVirtualMachineException e) {
+            executionContext.virtualMachine.captureException(e);
             executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
             executionContext.pc += op.getSize();
             return;
@@ -2240,24 +2179,13 @@ public final class OpcodeHandler {
             JSValue result;
             try {
                 result = callCallableValue(executionContext.virtualMachine.context, nextMethod, iterator, JSValue.NO_ARGS);
-            } catch (JSException e) {
-                restoreForOfStateWithoutIteratorCloseMarker(
-                        executionContext,
-                        preservedMarkers,
-                        preservedMarkerCount,
-                        depth);
-                executionContext.virtualMachine.pendingException = e.getErrorValue();
-                executionContext.virtualMachine.context.clearPendingException();
-                executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
-                executionContext.pc = pc + op.getSize();
-                return;
-            } catch (JSVirtualMachineException e) {
+            } catch (JSException | JSVirtualMachineException e) {
                 restoreForOfStateWithoutIteratorCloseMarker(
                         executionContext,
                         preservedMarkers,
                         preservedMarkerCount,
                         depth);
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                executionContext.virtualMachine.captureException(e);
                 executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
                 executionContext.pc = pc + op.getSize();
                 return;
@@ -2395,14 +2323,8 @@ public final class OpcodeHandler {
         JSValue iterator;
         try {
             iterator = callCallableValue(executionContext.virtualMachine.context, iteratorMethod, iterable, JSValue.NO_ARGS);
-        } catch (JSException e) {
-            executionContext.virtualMachine.pendingException = e.getErrorValue();
-            executionContext.virtualMachine.context.clearPendingException();
-            executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
-            executionContext.pc = pc + op.getSize();
-            return;
-        } catch (JSVirtualMachineException e) {
-            executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+        } catch (JSException | JSVirtualMachineException e) {
+            executionContext.virtualMachine.captureException(e);
             executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
             executionContext.pc = pc + op.getSize();
             return;
@@ -2479,7 +2401,7 @@ public final class OpcodeHandler {
             double doubleValue = numberValue.value();
             int index = (int) doubleValue;
             if (index == doubleValue && index >= 0 && index < stringValue.value().length()) {
-                stack[sp - 1] = new JSString(String.valueOf(stringValue.value().charAt(index)));
+                stack[sp - 1] = JSString.of(stringValue.value().charAt(index));
                 executionContext.sp = sp;
                 executionContext.pc = pc + op.getSize();
                 return;
@@ -2536,7 +2458,7 @@ public final class OpcodeHandler {
             double doubleValue = numberValue.value();
             int index = (int) doubleValue;
             if (index == doubleValue && index >= 0 && index < stringValue.value().length()) {
-                stack[sp++] = new JSString(String.valueOf(stringValue.value().charAt(index)));
+                stack[sp++] = JSString.of(stringValue.value().charAt(index));
                 executionContext.sp = sp;
                 executionContext.pc = pc + op.getSize();
                 return;
@@ -2961,10 +2883,7 @@ public final class OpcodeHandler {
         JSValue objectValue = (JSValue) stack[sp - 1];
         JSObject object = executionContext.virtualMachine.toObject(objectValue);
         if (object == null) {
-            if (executionContext.virtualMachine.context.hasPendingException()) {
-                executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.getPendingException();
-                executionContext.virtualMachine.context.clearPendingException();
-            }
+            capturePendingException(executionContext);
             stack[sp - 1] = JSUndefined.INSTANCE;
         } else {
             JSObject prototypeObject = object.getPrototype();
@@ -3389,7 +3308,7 @@ public final class OpcodeHandler {
                                 comparisonResult == JSTypeConversions.RelationalComparisonResult.TRUE));
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                     executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
                 }
             }
@@ -3424,7 +3343,7 @@ public final class OpcodeHandler {
                                 comparisonResult == JSTypeConversions.RelationalComparisonResult.FALSE));
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                     executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
                 }
             }
@@ -3947,7 +3866,7 @@ public final class OpcodeHandler {
                 executionContext.virtualMachine.valueStack.push(
                         executionContext.virtualMachine.ordinaryHasInstance(right, left) ? JSBoolean.TRUE : JSBoolean.FALSE);
             } catch (JSVirtualMachineException e) {
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                executionContext.virtualMachine.captureVMException(e);
                 executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
             }
         }
@@ -4180,7 +4099,7 @@ public final class OpcodeHandler {
                                 comparisonResult == JSTypeConversions.RelationalComparisonResult.TRUE));
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                     executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
                 }
             }
@@ -4215,7 +4134,7 @@ public final class OpcodeHandler {
                                 comparisonResult == JSTypeConversions.RelationalComparisonResult.FALSE));
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                     executionContext.virtualMachine.valueStack.push(JSUndefined.INSTANCE);
                 }
             }
@@ -4377,7 +4296,7 @@ public final class OpcodeHandler {
         try {
             numeric = executionContext.virtualMachine.toNumericValue(operand);
         } catch (JSVirtualMachineException e) {
-            captureVmExceptionAsPending(executionContext, e);
+            executionContext.virtualMachine.captureVMException(e);
             numeric = null;
         }
         if (numeric == null) {
@@ -4415,7 +4334,7 @@ public final class OpcodeHandler {
             try {
                 pair = executionContext.virtualMachine.numericPair(left, right);
             } catch (JSVirtualMachineException e) {
-                captureVmExceptionAsPending(executionContext, e);
+                executionContext.virtualMachine.captureVMException(e);
                 pair = null;
             }
             if (pair != null && executionContext.virtualMachine.pendingException != null) {
@@ -4739,7 +4658,7 @@ public final class OpcodeHandler {
                 }
                 executionContext.virtualMachine.capturePendingExceptionFromContext(jsObject.getContext());
             } catch (JSVirtualMachineException e) {
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                executionContext.virtualMachine.captureVMException(e);
             }
         } else if (objectValue instanceof JSNull || objectValue instanceof JSUndefined) {
             PropertyKey key = PropertyKey.fromValue(executionContext.virtualMachine.context, indexValue);
@@ -4766,7 +4685,7 @@ public final class OpcodeHandler {
                         executionContext.virtualMachine.context.clearPendingException();
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                 }
             }
         }
@@ -4793,7 +4712,7 @@ public final class OpcodeHandler {
                 }
                 executionContext.virtualMachine.capturePendingExceptionFromContext(jsObject.getContext());
             } catch (JSVirtualMachineException e) {
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                executionContext.virtualMachine.captureVMException(e);
             }
         } else if (objectValue instanceof JSNull || objectValue instanceof JSUndefined) {
             executionContext.virtualMachine.context.throwTypeError("cannot set property '" + fieldName + "' of "
@@ -4818,7 +4737,7 @@ public final class OpcodeHandler {
                         executionContext.virtualMachine.context.clearPendingException();
                     }
                 } catch (JSVirtualMachineException e) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                 }
             }
         }
@@ -5586,15 +5505,8 @@ public final class OpcodeHandler {
         JSValue rightNumeric = null;
         try {
             leftPrimitive = JSTypeConversions.toPrimitive(executionContext.virtualMachine.context, left, JSTypeConversions.PreferredType.NUMBER);
-        } catch (JSVirtualMachineException e) {
-            executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
-        } catch (JSException e) {
-            if (e.getErrorValue() != null) {
-                executionContext.virtualMachine.pendingException = e.getErrorValue();
-            } else {
-                executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.throwError(
-                        e.getMessage() != null ? e.getMessage() : "toPrimitive");
-            }
+        } catch (JSVirtualMachineException | JSException e) {
+            executionContext.virtualMachine.captureException(e);
         }
         if (leftPrimitive != null && executionContext.virtualMachine.pendingException == null) {
             if (leftPrimitive instanceof JSBigInt) {
@@ -5608,16 +5520,8 @@ public final class OpcodeHandler {
         if (leftNumeric != null && executionContext.virtualMachine.pendingException == null) {
             try {
                 rightPrimitive = JSTypeConversions.toPrimitive(executionContext.virtualMachine.context, right, JSTypeConversions.PreferredType.NUMBER);
-            } catch (JSVirtualMachineException e) {
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
-            } catch (JSException e) {
-                if (e.getErrorValue() != null) {
-                    executionContext.virtualMachine.pendingException = e.getErrorValue();
-                } else {
-                    executionContext.virtualMachine.pendingException = executionContext.virtualMachine.context.throwError(
-                            "Error",
-                            e.getMessage() != null ? e.getMessage() : "toPrimitive");
-                }
+            } catch (JSVirtualMachineException | JSException e) {
+                executionContext.virtualMachine.captureException(e);
             }
         }
         if (rightPrimitive != null && executionContext.virtualMachine.pendingException == null) {
@@ -5903,7 +5807,7 @@ public final class OpcodeHandler {
             try {
                 pair = executionContext.virtualMachine.numericPair(left, right);
             } catch (JSVirtualMachineException e) {
-                captureVmExceptionAsPending(executionContext, e);
+                executionContext.virtualMachine.captureVMException(e);
                 pair = null;
             }
             if (pair != null && executionContext.virtualMachine.pendingException != null) {
@@ -6291,7 +6195,7 @@ public final class OpcodeHandler {
             executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
             executionContext.pc += op.getSize();
         } catch (JSVirtualMachineException exception) {
-            executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(exception);
+            executionContext.virtualMachine.captureVMException(exception);
             executionContext.sp = executionContext.virtualMachine.valueStack.stackTop;
             executionContext.pc += op.getSize();
         }
@@ -6443,16 +6347,8 @@ public final class OpcodeHandler {
                 } else {
                     stack[sp++] = result;
                 }
-            } catch (JSException e) {
-                virtualMachine.pendingException = e.getErrorValue();
-                context.clearPendingException();
-                stack[sp++] = JSUndefined.INSTANCE;
-            } catch (JSVirtualMachineException e) {
-                virtualMachine.capturePendingExceptionFromVmOrContext(e);
-                stack[sp++] = JSUndefined.INSTANCE;
-            } catch (JSErrorException e) {
-                virtualMachine.pendingException = context.throwError(e);
-                context.clearPendingException();
+            } catch (JSException | JSVirtualMachineException | JSErrorException e) {
+                virtualMachine.captureException(e);
                 stack[sp++] = JSUndefined.INSTANCE;
             }
             virtualMachine.resetPropertyAccessTracking();
@@ -6490,6 +6386,11 @@ public final class OpcodeHandler {
             }
 
             if (function instanceof JSBytecodeFunction bytecodeFunc) {
+                // A plain function running on this VM hands an uncaught exception back as
+                // this loop's pending exception instead of throwing it across the call.
+                virtualMachine.pendingCompletionRequested = !bytecodeFunc.isAsync()
+                        && !bytecodeFunc.isGenerator()
+                        && bytecodeFunc.getRealmContext() == context;
                 try {
                     // Call through the function's call method to handle async wrapping.
                     // Pass argCount so the borrowed buffer (which may be oversized) is
@@ -6501,13 +6402,11 @@ public final class OpcodeHandler {
                     } else {
                         stack[sp++] = result;
                     }
-                } catch (JSException e) {
-                    virtualMachine.pendingException = e.getErrorValue();
-                    context.clearPendingException();
-                    stack[sp++] = JSUndefined.INSTANCE;
-                } catch (JSVirtualMachineException e) {
-                    virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                } catch (JSException | JSVirtualMachineException e) {
+                    virtualMachine.captureException(e);
                     stack[sp++] = JSUndefined.INSTANCE;
+                } finally {
+                    virtualMachine.pendingCompletionRequested = false;
                 }
             } else if (function instanceof JSBoundFunction boundFunc) {
                 // Call bound function - the receiver is ignored for bound functions
@@ -6521,7 +6420,7 @@ public final class OpcodeHandler {
                         stack[sp++] = result;
                     }
                 } catch (JSVirtualMachineException e) {
-                    virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    virtualMachine.captureVMException(e);
                     stack[sp++] = JSUndefined.INSTANCE;
                 }
             } else {
@@ -18,6 +18,7 @@ package com.caoccao.qjs4j.vm;
 
 import com.caoccao.qjs4j.core.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,25 +28,26 @@ import java.util.Map;
 public final class StackFrame {
     private static final VarRef[] EMPTY_VARREFS = new VarRef[0];
 
-    private final JSValue[] arguments;
-    private final StackFrame caller;
-    private final JSValue[] closureVars;
-    private final int frameDepth;
-    private final JSFunction function;
-    private final JSValue[] locals;
-    private final JSValue newTarget;
-    private final int stackBase;
-    private final VarRef[] varRefs;
+    private JSValue[] arguments;
+    private StackFrame caller;
+    private JSValue[] closureVars;
     private VarRef[] closedVarRefs;
     private VarRef derivedThisRef;
     private Map<String, Integer> dynamicVarBindingLocalIndexes;
     private Map<String, JSValue> dynamicVarBindings;
-    private Map<String, VarRef> evalScopeVarRefs;
+    private boolean escaped;
+    private int frameDepth;
+    private JSFunction function;
     private VarRef[] localVarRefs;
+    private JSValue[] locals;
     private JSArguments mappedArgumentsObject;
+    private JSValue newTarget;
+    private boolean ownsLocals;
     private int programCounter;
+    private int stackBase;
     private JSValue thisArg;
     private JSArguments unmappedArgumentsObject;
+    private VarRef[] varRefs;
 
     /**
      * Create a stack frame for a function call.
@@ -56,72 +58,7 @@ public final class StackFrame {
      *                 a shared buffer is used)
      */
     public StackFrame(JSFunction function, JSValue thisArg, JSValue[] args, int argCount, StackFrame caller, JSValue newTarget, int stackBase) {
-        this.function = function;
-        this.thisArg = thisArg;
-        this.newTarget = newTarget;
-        this.stackBase = stackBase;
-        if (caller == null) {
-            frameDepth = 1;
-        } else {
-            frameDepth = caller.frameDepth + 1;
-        }
-
-        // Allocate locals array based on function's local count
-        // For bytecode functions, get local count from bytecode metadata
-        // For native functions, just use args
-        int localCount = 0;
-        if (function instanceof JSBytecodeFunction bytecodeFunc) {
-            localCount = bytecodeFunc.getBytecode().getLocalCount();
-        }
-
-        if (localCount > 0) {
-            // Create owned copy of arguments from the (possibly shared) buffer.
-            // Arguments and locals are separate arrays: GET_ARG reads arguments,
-            // GET_LOC reads locals. SET_LOC_UNINITIALIZED may overwrite locals
-            // for default-parameter TDZ, but arguments must retain original values.
-            this.arguments = new JSValue[argCount];
-            System.arraycopy(args, 0, this.arguments, 0, argCount);
-            this.locals = new JSValue[localCount];
-            System.arraycopy(args, 0, this.locals, 0, Math.min(argCount, localCount));
-            // Initialize remaining locals to undefined
-            for (int i = argCount; i < localCount; i++) {
-                this.locals[i] = JSUndefined.INSTANCE;
-            }
-            if (function instanceof JSBytecodeFunction bytecodeFunction) {
-                int selfLocalIndex = bytecodeFunction.getSelfLocalIndex();
-                if (selfLocalIndex >= 0 && selfLocalIndex < localCount) {
-                    this.locals[selfLocalIndex] = function;
-                }
-            }
-        } else {
-            // For native functions or functions with no locals.
-            // args is always an owned array for native functions (allocated in CALL handler).
-            this.arguments = args;
-            this.locals = args;
-        }
-
-        // Initialize closure variable references
-        // Prefer VarRef[] (reference-based) over JSValue[] (value-based)
-        if (function instanceof JSBytecodeFunction bytecodeFunc) {
-            VarRef[] funcVarRefs = bytecodeFunc.getVarRefs();
-            if (funcVarRefs != null) {
-                this.varRefs = funcVarRefs;
-                this.closureVars = JSValue.NO_ARGS;
-            } else if (bytecodeFunc.getClosureVars() != null) {
-                this.closureVars = bytecodeFunc.getClosureVars();
-                this.varRefs = EMPTY_VARREFS;
-            } else {
-                this.closureVars = JSValue.NO_ARGS;
-                this.varRefs = EMPTY_VARREFS;
-            }
-        } else {
-            this.closureVars = JSValue.NO_ARGS;
-            this.varRefs = EMPTY_VARREFS;
-        }
-        this.programCounter = 0;
-        this.caller = caller;
-        this.dynamicVarBindings = null;
-        this.dynamicVarBindingLocalIndexes = null;
+        initialize(function, thisArg, args, argCount, caller, newTarget, stackBase, null);
     }
 
     /**
@@ -239,6 +176,8 @@ public final class StackFrame {
      * Multiple closures capturing the same local will share the same VarRef.
      */
     public VarRef getOrCreateLocalVarRef(int localIndex) {
+        // The VarRef aliases the locals array, so neither can be recycled.
+        markEscaped();
         if (localVarRefs == null) {
             localVarRefs = new VarRef[locals.length];
         }
@@ -309,6 +248,144 @@ public final class StackFrame {
         return dynamicVarBindingLocalIndexes != null && dynamicVarBindingLocalIndexes.containsKey(name);
     }
 
+    /**
+     * Initialize this frame for a call.
+     * A recycled locals array is reused when its length matches the function's local count.
+     */
+    private void initialize(
+            JSFunction function,
+            JSValue thisArg,
+            JSValue[] args,
+            int argCount,
+            StackFrame caller,
+            JSValue newTarget,
+            int stackBase,
+            JSValue[] recycledLocals) {
+        this.function = function;
+        this.thisArg = thisArg;
+        this.newTarget = newTarget;
+        this.stackBase = stackBase;
+        if (caller == null) {
+            frameDepth = 1;
+        } else {
+            frameDepth = caller.frameDepth + 1;
+        }
+
+        // Allocate locals array based on function's local count
+        // For bytecode functions, get local count from bytecode metadata
+        // For native functions, just use args
+        int localCount = 0;
+        if (function instanceof JSBytecodeFunction bytecodeFunc) {
+            localCount = bytecodeFunc.getBytecode().getLocalCount();
+        }
+
+        if (localCount > 0) {
+            // Create owned copy of arguments from the (possibly shared) buffer.
+            // Arguments and locals are separate arrays: GET_ARG reads arguments,
+            // GET_LOC reads locals. SET_LOC_UNINITIALIZED may overwrite locals
+            // for default-parameter TDZ, but arguments must retain original values.
+            this.arguments = argCount == 0 ? JSValue.NO_ARGS : new JSValue[argCount];
+            System.arraycopy(args, 0, this.arguments, 0, argCount);
+            this.locals = recycledLocals != null && recycledLocals.length == localCount
+                    ? recycledLocals
+                    : new JSValue[localCount];
+            this.ownsLocals = true;
+            System.arraycopy(args, 0, this.locals, 0, Math.min(argCount, localCount));
+            // Initialize remaining locals to undefined
+            for (int i = argCount; i < localCount; i++) {
+                this.locals[i] = JSUndefined.INSTANCE;
+            }
+            if (function instanceof JSBytecodeFunction bytecodeFunction) {
+                int selfLocalIndex = bytecodeFunction.getSelfLocalIndex();
+                if (selfLocalIndex >= 0 && selfLocalIndex < localCount) {
+                    this.locals[selfLocalIndex] = function;
+                }
+            }
+        } else {
+            // For native functions or functions with no locals.
+            // args is always an owned array for native functions (allocated in CALL handler).
+            this.arguments = args;
+            this.locals = args;
+            this.ownsLocals = false;
+        }
+
+        // Initialize closure variable references
+        // Prefer VarRef[] (reference-based) over JSValue[] (value-based)
+        if (function instanceof JSBytecodeFunction bytecodeFunc) {
+            VarRef[] funcVarRefs = bytecodeFunc.getVarRefs();
+            if (funcVarRefs != null) {
+                this.varRefs = funcVarRefs;
+                this.closureVars = JSValue.NO_ARGS;
+            } else if (bytecodeFunc.getClosureVars() != null) {
+                this.closureVars = bytecodeFunc.getClosureVars();
+                this.varRefs = EMPTY_VARREFS;
+            } else {
+                this.closureVars = JSValue.NO_ARGS;
+                this.varRefs = EMPTY_VARREFS;
+            }
+        } else {
+            this.closureVars = JSValue.NO_ARGS;
+            this.varRefs = EMPTY_VARREFS;
+        }
+        this.programCounter = 0;
+        this.caller = caller;
+        // Side tables are materialized on demand (closures, eval, with, arguments).
+        this.closedVarRefs = null;
+        this.derivedThisRef = null;
+        this.dynamicVarBindings = null;
+        this.dynamicVarBindingLocalIndexes = null;
+        this.escaped = false;
+        this.localVarRefs = null;
+        this.mappedArgumentsObject = null;
+        this.unmappedArgumentsObject = null;
+    }
+
+    /**
+     * Whether this frame may be referenced after its call returns
+     * (captured locals, arguments object, eval scope, suspended generator).
+     * Escaped frames are never recycled.
+     */
+    public boolean isEscaped() {
+        return escaped;
+    }
+
+    /**
+     * Mark this frame and its callers as escaped so that none of them are recycled.
+     * Callers are included because a retained frame can still walk its caller chain.
+     */
+    public void markEscaped() {
+        StackFrame frame = this;
+        while (frame != null && !frame.escaped) {
+            frame.escaped = true;
+            frame = frame.caller;
+        }
+    }
+
+    /**
+     * Re-initialize a recycled frame for a new call, reusing its locals array when possible.
+     */
+    void reinitialize(JSFunction function, JSValue thisArg, JSValue[] args, int argCount, StackFrame caller, JSValue newTarget, int stackBase) {
+        initialize(function, thisArg, args, argCount, caller, newTarget, stackBase, ownsLocals ? locals : null);
+    }
+
+    /**
+     * Drop all references held by a returned frame before it goes back to the pool.
+     */
+    void release() {
+        if (ownsLocals) {
+            Arrays.fill(locals, null);
+        } else {
+            locals = JSValue.NO_ARGS;
+        }
+        arguments = JSValue.NO_ARGS;
+        caller = null;
+        closureVars = JSValue.NO_ARGS;
+        function = null;
+        newTarget = null;
+        thisArg = null;
+        varRefs = EMPTY_VARREFS;
+    }
+
     public boolean removeDynamicVarBinding(String name) {
         if (hasDynamicVarBindingAlias(name)) {
             return false;
@@ -333,6 +410,7 @@ public final class StackFrame {
     }
 
     public void setArgumentsObject(boolean mapped, JSArguments argumentsObject) {
+        markEscaped();
         if (mapped) {
             mappedArgumentsObject = argumentsObject;
         } else {
@@ -355,6 +433,7 @@ public final class StackFrame {
             }
         }
         if (dynamicVarBindings == null) {
+            markEscaped();
             dynamicVarBindings = new HashMap<>();
         }
         dynamicVarBindings.put(name, value);
@@ -365,6 +444,7 @@ public final class StackFrame {
             return;
         }
         if (dynamicVarBindingLocalIndexes == null) {
+            markEscaped();
             dynamicVarBindingLocalIndexes = new HashMap<>();
         }
         dynamicVarBindingLocalIndexes.put(name, localIndex);
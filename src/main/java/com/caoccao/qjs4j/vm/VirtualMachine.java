@@ -34,6 +34,7 @@ public final class VirtualMachine {
     static final BigInteger BIGINT_ZERO = BigInteger.ZERO;
     static final int INTERRUPT_CHECK_INTERVAL = 0xFFFF; // Check every ~65K opcodes
     static final int SMALL_ARGS_BUFFER_SIZE = 8;
+    static final int STACK_FRAME_POOL_SIZE = 64;
     static final JSValue UNINITIALIZED_MARKER = new JSSymbol("UninitializedMarker");
     final JSContext context;
     final Set<JSObject> exhaustedForOfIterators;
@@ -41,6 +42,7 @@ public final class VirtualMachine {
     final StringBuilder propertyAccessChain;  // Track last property access for better error messages
     final JSValue[] singleArgBuffer = new JSValue[1];   // Reusable 1-element args buffer
     final JSValue[] smallArgsBuffer = new JSValue[SMALL_ARGS_BUFFER_SIZE]; // Reusable small args buffer
+    final StackFrame[] stackFramePool = new StackFrame[STACK_FRAME_POOL_SIZE]; // Recycled non-escaped frames
     final boolean trackPropertyAccess;
     final CallStack valueStack;
     JSGeneratorState activeGeneratorState;
@@ -49,6 +51,7 @@ public final class VirtualMachine {
     StackFrame currentFrame;
     long executionDeadline;  // 0 = no deadline
     long executionDeadlineNanos; // 0 = no deadline
+    int stackFramePoolSize;
     JSValue[] forOfTempValues;
     boolean generatorForceReturn;  // When true, exception handler skips catch offsets, enters only finally
     int generatorResumeIndex;
@@ -56,6 +59,7 @@ public final class VirtualMachine {
     JSValue generatorReturnValue;  // The return value during generator force return
     int interruptCounter;
     JSValue lastConstructorThisArg;  // Saved from frame before return for derived constructor check
+    boolean pendingCompletionRequested;  // Set by CALL when the callee may hand back an uncaught exception as pending
     JSValue pendingException;
     boolean propertyAccessLock;  // When true, don't update lastPropertyAccess (during argument evaluation)
     TailCallRequest tailCallPending;  // Set by TAIL_CALL handler for trampoline in execute()
@@ -85,6 +89,28 @@ public final class VirtualMachine {
         this.forOfTempValues = JSValue.NO_ARGS;
     }
 
+    /**
+     * Take a frame from the pool for a new call, or allocate one when the pool is empty.
+     * Short hot functions (getters, comparators, small helpers) then reuse both the
+     * frame object and its locals array instead of allocating them per call.
+     */
+    private StackFrame acquireStackFrame(
+            JSBytecodeFunction function,
+            JSValue thisArg,
+            JSValue[] args,
+            int argCount,
+            StackFrame caller,
+            JSValue newTarget,
+            int stackBase) {
+        if (stackFramePoolSize > 0) {
+            StackFrame frame = stackFramePool[--stackFramePoolSize];
+            stackFramePool[stackFramePoolSize] = null;
+            frame.reinitialize(function, thisArg, args, argCount, caller, newTarget, stackBase);
+            return frame;
+        }
+        return new StackFrame(function, thisArg, args, argCount, caller, newTarget, stackBase);
+    }
+
     /**
      * Auto-close an iterator during exception unwinding.
      * Following QuickJS JS_IteratorClose semantics:
@@ -107,7 +133,7 @@ public final class VirtualMachine {
             returnMethodValue = iterator.get(PropertyKey.RETURN);
         } catch (JSVirtualMachineException e) {
             if (!isThrowCompletion) {
-                executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                executionContext.virtualMachine.captureVMException(e);
                 executionContext.virtualMachine.generatorForceReturn = false;
             } else {
                 currentContext.clearPendingException();
@@ -129,7 +155,7 @@ public final class VirtualMachine {
                 closeResult = returnMethod.call(currentContext, iterator, JSValue.NO_ARGS);
             } catch (JSVirtualMachineException e) {
                 if (!isThrowCompletion) {
-                    executionContext.virtualMachine.capturePendingExceptionFromVmOrContext(e);
+                    executionContext.virtualMachine.captureVMException(e);
                     executionContext.virtualMachine.generatorForceReturn = false;
                 } else {
                     currentContext.clearPendingException();
@@ -222,6 +248,18 @@ public final class VirtualMachine {
             executionContext.virtualMachine.pendingException = null;
         }
 
+        if (executionContext.completeWithPendingException) {
+            // The calling dispatch loop takes the exception over as its own pending
+            // exception, so unwinding a frame allocates no Java exception.
+            executionContext.virtualMachine.restoreExecuteFailureState(
+                    executionContext.restoreStackTop,
+                    executionContext.previousFrame,
+                    executionContext.savedStrictMode);
+            executionContext.virtualMachine.pendingException = exception;
+            executionContext.returnValue = JSUndefined.INSTANCE;
+            return PendingExceptionAction.RETURN;
+        }
+
         executionContext.virtualMachine.restoreExecuteCallerState(
                 executionContext.restoreStackTop,
                 executionContext.previousFrame,
@@ -372,18 +410,26 @@ public final class VirtualMachine {
         }
     }
 
-    void capturePendingExceptionFromVmOrContext(JSVirtualMachineException e) {
-        if (e.getJsValue() != null) {
-            pendingException = e.getJsValue();
-        } else if (e.getJsError() != null) {
-            pendingException = e.getJsError();
-        } else if (context.hasPendingException()) {
-            pendingException = context.getPendingException();
+    /**
+     * Record an engine exception thrown by a handler, builtin or conversion as the
+     * pending exception, so the dispatch loop routes it to the nearest JS catch handler.
+     * This is the single conversion point from Java exceptions to JS completions.
+     */
+    void captureException(RuntimeException e) {
+        if (e instanceof JSVirtualMachineException vmException) {
+            captureVMException(vmException);
+        } else if (e instanceof JSException jsException) {
+            JSValue errorValue = jsException.getErrorValue();
+            pendingException = errorValue != null
+                    ? errorValue
+                    : context.throwError("Error", e.getMessage() != null ? e.getMessage() : "Unhandled exception");
+            context.clearPendingException();
+        } else if (e instanceof JSErrorException errorException) {
+            pendingException = context.throwError(errorException);
+            context.clearPendingException();
         } else {
-            pendingException = context.throwError(
-                    e.getMessage() != null ? e.getMessage() : "Unhandled exception");
+            throw e;
         }
-        context.clearPendingException();
     }
 
     /**
@@ -941,6 +987,8 @@ public final class VirtualMachine {
         // Track executing context on runtime for cross-realm proxy support.
         // Uses a plain field (not ThreadLocal) — just a pointer write per outermost call.
         boolean isOuterCall = (currentFrame == null);
+        boolean completeWithPendingException = pendingCompletionRequested;
+        pendingCompletionRequested = false;
         JSContext previousExecutingContext = null;
         if (isOuterCall) {
             previousExecutingContext = context.getRuntime().getCurrentExecutingContext();
@@ -983,7 +1031,7 @@ public final class VirtualMachine {
                 // Create or restore stack frame
                 StackFrame frame = resumeGeneratorExecution
                         ? generatorStateForExecution.getSuspendedFrame()
-                        : new StackFrame(function, thisArg, args, argCount, currentFrame, newTarget, callerStackTop);
+                        : acquireStackFrame(function, thisArg, args, argCount, currentFrame, newTarget, callerStackTop);
                 if (!resumeGeneratorExecution) {
                     int currentFrameDepth;
                     if (currentFrame == null) {
@@ -1019,6 +1067,7 @@ public final class VirtualMachine {
                             savedStrictMode,
                             generatorStateForExecution,
                             resumeGeneratorExecution);
+                    executionContext.completeWithPendingException = completeWithPendingException;
                     int sp = executionContext.sp;
                     int pc = executionContext.pc;
 
@@ -1055,7 +1104,25 @@ public final class VirtualMachine {
 
                         executionContext.opcodeRequestedReturn = false;
                         Opcode op = decodeOpcodeForExecute(executionContext);
-                        op.getHandler().call(op, executionContext);
+                        try {
+                            op.getHandler().call(op, executionContext);
+                        } catch (JSVirtualMachineException | JSException | JSErrorException e) {
+                            // Handlers let JS-level errors propagate; convert them here so the
+                            // pending exception check above is the only place that unwinds.
+                            // Internal VM faults without a JS error value still escape.
+                            if (e instanceof JSVirtualMachineException vmException
+                                    && vmException.getJsValue() == null
+                                    && vmException.getJsError() == null) {
+                                throw e;
+                            }
+                            captureException(e);
+                            if (valueStack.stackTop > sp) {
+                                valueStack.stackTop = sp;
+                            }
+                            sp = valueStack.stackTop;
+                            pc = executionContext.pc;
+                            continue;
+                        }
                         if (executionContext.opcodeRequestedReturn) {
                             // Check for tail call optimization trampoline
                             if (tailCallPending != null) {
@@ -1095,6 +1162,10 @@ public final class VirtualMachine {
                     // Restore stack and strict mode on exception
                     restoreExecuteFailureState(restoreStackTop, previousFrame, savedStrictMode);
                     throw new JSVirtualMachineException("VM error: " + e.getMessage(), e);
+                } finally {
+                    if (!resumeGeneratorExecution) {
+                        releaseStackFrame(frame);
+                    }
                 }
             }
         } finally {
@@ -1537,6 +1608,19 @@ public final class VirtualMachine {
         executionContext.opcodeRequestedReturn = true;
     }
 
+    /**
+     * Return a frame to the pool after its call completed.
+     * Frames that escaped (captured locals, arguments object, eval scope,
+     * suspended generator) are left to the garbage collector.
+     */
+    private void releaseStackFrame(StackFrame frame) {
+        if (frame.isEscaped() || frame == currentFrame || stackFramePoolSize >= STACK_FRAME_POOL_SIZE) {
+            return;
+        }
+        frame.release();
+        stackFramePool[stackFramePoolSize++] = frame;
+    }
+
     void resetPropertyAccessTracking() {
         if (trackPropertyAccess) {
             this.propertyAccessChain.setLength(0);
@@ -1730,7 +1814,7 @@ public final class VirtualMachine {
         try {
             primitive = JSTypeConversions.toPrimitive(context, value, JSTypeConversions.PreferredType.NUMBER);
         } catch (JSVirtualMachineException e) {
-            capturePendingExceptionFromVmOrContext(e);
+            captureVMException(e);
             return JSNumber.of(Double.NaN);
         }
         capturePendingException();
@@ -931,6 +931,20 @@ public class ArrayPrototypeTest extends BaseJavetTest {
                 context.eval("Array.prototype.join.call({ 0: 'a', 0.1: 'b', length: 5 }, '-')").asString().map(JSString::value).orElseThrow()).isEqualTo("a----");
     }
 
+    @Test
+    public void testJoinElementConversion() {
+        assertStringWithJavet(
+                "[1, 'a', null, undefined, , 2.5, -0, 1e21, 123456789012345, 2 ** 53, 2 ** 60, -7].join()",
+                "['\u4e2d', 'x'].join('\u00e9') + [].join() + [,].join() + [, ,].join('.')",
+                "(() => { const calls = []; try { [1, { toString() { throw new Error('boom'); } }, { toString() { calls.push('called'); return 'z'; } }].join(); } catch (e) { return e.message + calls.length; } })()",
+                "'a'.concat(1, null, undefined, {}, [1, 2], '\u4e2d')",
+                "`a${1}b${'c'}d${null}${undefined}${[1, 2]}\u4e2d${2 ** 60}`",
+                "(() => { let s = ''; for (let i = 0; i < 3; i++) s = `${s}<td>${i}</td>`; return s; })()");
+        assertErrorWithJavet(
+                "[Symbol('s')].join()",
+                "'x'.concat(Symbol())");
+    }
+
     @Test
     public void testLastIndexOf() {
         JSArray arr = new JSArray(context);
@@ -1366,6 +1380,25 @@ public class ArrayPrototypeTest extends BaseJavetTest {
                 "[1].sort('abc')");
     }
 
+    @Test
+    public void testSortComparatorAndElementKinds() {
+        assertStringWithJavet(
+                "[3, 1, 2, 10, undefined, , 5].sort().join('|')",
+                "[-1, -2, 0, -0, 1e21, 1.5, NaN, Infinity, 2 ** 60, 9007199254740993].sort().join()",
+                "['b', 'a', 'c', 'aa', 'B', ''].sort().join()",
+                "[1, '1', true, null, 10n, 2, 'a', false].sort().join()",
+                "[1, 2, 3, 4, 5].sort(() => -0.5).join()",
+                "[3, 1, 2].sort(() => NaN).join()",
+                "[3, 1, 2].sort((a, b) => ({ valueOf() { return b - a; } })).join()",
+                "[1, 2].sort(function (a, b) { return arguments.length; }).join()",
+                "(() => { const a = []; for (let i = 0; i < 1000; i++) a.push({ k: (i * 7919) % 13, i }); a.sort((x, y) => x.k - y.k); return a.every((v, i) => i === 0 || a[i - 1].k < v.k || a[i - 1].i < v.i); })() + ''",
+                "(() => { const a = []; for (let i = 0; i < 2000; i++) a.push((i * 7919) % 1000); a.sort(); return a.slice(0, 5).join() + ';' + a.slice(-3).join(); })()",
+                "(() => { const a = [3, 1, 2]; try { a.sort(() => { throw 1; }); } catch (e) {} return a.join(); })()",
+                "[{ toString() { return 'b'; } }, { toString() { return 'a'; } }].sort().map(String).join()",
+                "[3, undefined, 1].toSorted((a, b) => a - b).join()",
+                "(() => { const a = [3, , 1]; const b = a.toSorted(); return b.length + ':' + b.join() + ':' + (1 in b); })()");
+    }
+
     @Test
     public void testSplice() {
         JSArray arr = new JSArray(context);
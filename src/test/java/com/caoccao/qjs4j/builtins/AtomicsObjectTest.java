@@ -514,6 +514,32 @@ public class AtomicsObjectTest extends BaseJavetTest {
         assertRangeError(error);
     }
 
+    @Test
+    public void testWaitAsyncManyWaiters() {
+        int threadCount = Thread.activeCount();
+        context.eval("""
+                var i32 = new Int32Array(new SharedArrayBuffer(8));
+                var order = [];
+                var results = { ok: 0, 'timed-out': 0 };
+                for (let i = 0; i < 10000; i++) {
+                  Atomics.waitAsync(i32, i & 1, 0, (i & 1) ? 10 : Infinity).value
+                    .then(value => { results[value]++; if (value === 'ok' && i < 6) order.push(i); });
+                }""");
+        assertThat(Thread.activeCount() - threadCount).isLessThanOrEqualTo(1);
+        assertThat(context.eval("Atomics.notify(i32, 0, 2)").toJavaObject()).isEqualTo(2.0);
+        assertThat(context.eval("Atomics.notify(i32, 0)").toJavaObject()).isEqualTo(4998.0);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (System.currentTimeMillis() < deadline
+                && !"5000".equals(context.eval("results['timed-out']").toString())) {
+            Thread.yield();
+            context.processMicrotasks();
+        }
+        context.processMicrotasks();
+        assertThat(context.eval("[results.ok, results['timed-out'], order.join()].join(';')").toString())
+                .isEqualTo("5000;5000;0,2,4");
+        assertThat(context.eval("Atomics.notify(i32, 1)").toJavaObject()).isEqualTo(0.0);
+    }
+
     @Test
     public void testXor() {
         // Create SharedArrayBuffer and Int32Array
@@ -171,6 +171,31 @@ public class PromiseConstructorTest extends BaseJavetTest {
                 """);
     }
 
+    @Test
+    public void testPromiseReactionOrdering() {
+        assertStringWithJavet("""
+                (() => {
+                  const log = [];
+                  async function f() { log.push(1); await null; log.push(3); await Promise.resolve(); log.push(5); }
+                  f();
+                  Promise.resolve().then(() => log.push(2)).then(() => log.push(4)).then(() => log.push(6));
+                  new Promise(r => r(Promise.resolve())).then(() => log.push('a'));
+                  Promise.resolve().then(() => log.push('b')).then(() => log.push('c')).then(() => log.push('d'));
+                  let count = 0;
+                  const p = Promise.resolve(1);
+                  Object.defineProperty(p, 'constructor', { get() { count++; return Promise; } });
+                  new Promise(r => r(p)).then(v => log.push('ctor' + count + v));
+                  class MyPromise extends Promise { constructor(e) { log.push('sub'); super(e); } }
+                  new Promise(r => r(MyPromise.resolve(7))).then(v => log.push('subclass' + v));
+                  async function g() { return Promise.resolve('ret'); }
+                  g().then(v => log.push(v));
+                  let done = Promise.resolve();
+                  for (let i = 0; i < 10; i++) done = done.then(() => {});
+                  return done.then(() => log.join());
+                })()
+                """);
+    }
+
     @Test
     public void testPromiseRegistration() {
         assertBooleanWithJavet("""
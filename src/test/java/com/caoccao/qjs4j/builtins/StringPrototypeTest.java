@@ -441,6 +441,27 @@ public class StringPrototypeTest extends BaseJavetTest {
         assertThat(result).isInstanceOfSatisfying(JSNumber.class, jsNum -> assertThat(jsNum.value()).isEqualTo(-1.0));
     }
 
+    @Test
+    public void testLatin1Content() {
+        JSString lower = new JSString("hello world");
+        assertThat(lower.isLatin1()).isTrue();
+        assertThat(new JSString("a\u4e2d").isLatin1()).isFalse();
+        assertThat(StringPrototype.toLowerCase(context, lower, JSValue.NO_ARGS)).isSameAs(lower);
+        assertThat(StringPrototype.trim(context, lower, JSValue.NO_ARGS)).isSameAs(lower);
+        assertThat(new JSString("42").getArrayIndex()).isEqualTo(42L);
+        assertThat(new JSString("042").isArrayIndex()).isFalse();
+        assertThat(new JSString("4294967295").isArrayIndex()).isFalse();
+        assertThat(JSString.of('a')).isSameAs(JSString.of('a')).isEqualTo(new JSString("a"));
+        assertStringWithJavet(
+                "'Hello \u00C0\u00C9\u00D7\u00DE World'.toLowerCase()",
+                "'\u0391\u03A3'.toLowerCase()",
+                "'  a b  '.trim() + '|' + '  a '.trimStart() + '|' + ' a  '.trimEnd()",
+                "'abc'.padStart(10, '12') + '|' + 'abc'.padEnd(8, 'xy') + '|' + 'abc'.padStart(6)",
+                "JSON.stringify('ab\u00E9\u4e2d'.split(''))",
+                "JSON.stringify('abcdef'.split('', 3))",
+                "(() => { const a = [1, 2, 3]; let s = 0; for (const k in a) s += a[k]; return String(s); })()");
+    }
+
     @Test
     public void testLink() {
         assertStringWithJavet(
@@ -580,6 +601,19 @@ public class StringPrototypeTest extends BaseJavetTest {
                 "'test'.normalize('ABC')");
     }
 
+    @Test
+    public void testNormalizeSegments() {
+        assertStringWithJavet(
+                "'caf\u00E9 na\u00EFve'.normalize()",
+                "'cafe\u0301 \u212B \u1100\u1161\u11A8 \u65E5\u672C'.normalize('NFC')",
+                "'cafe\u0301 \u212B \u1100\u1161\u11A8 \u65E5\u672C'.normalize('NFD')",
+                "'\uFB01 x\u00B2 \u00BD a\u0323\u0307'.normalize('NFKC')",
+                "'\uFB01 x\u00B2 \u00BD a\u0323\u0307'.normalize('NFKD')",
+                "'\uD83D\uDE00 a\u0307\u0323'.normalize('NFC')");
+        JSString latin1 = new JSString("caf\u00E9");
+        assertThat(StringPrototype.normalize(context, latin1, JSValue.NO_ARGS)).isSameAs(latin1);
+    }
+
     @Test
     public void testOptionalUndefinedArguments() {
         assertStringWithJavet(
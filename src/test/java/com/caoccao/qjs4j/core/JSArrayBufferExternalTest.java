@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSArrayBufferExternalTest extends BaseTest {
+    @Test
+    public void testAtomicsOnDirectBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(16);
+        context.getGlobalObject().set("buffer", context.createJSArrayBuffer(byteBuffer));
+        assertThat(context.eval("""
+                const i32 = new Int32Array(buffer);
+                const u8 = new Uint8Array(buffer, 8);
+                const results = [
+                  Atomics.store(i32, 0, 40),
+                  Atomics.add(i32, 0, 2),
+                  Atomics.compareExchange(i32, 0, 42, -1),
+                  Atomics.load(i32, 0),
+                  Atomics.sub(u8, 0, 1),
+                  Atomics.load(u8, 0),
+                  Atomics.exchange(u8, 1, 7),
+                ];
+                results.join()""").toString()).isEqualTo("40,40,42,-1,0,255,0");
+        assertThat(byteBuffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0)).isEqualTo(-1);
+        assertThat(byteBuffer.get(9)).isEqualTo((byte) 7);
+    }
+
+    @Test
+    public void testDirectBufferIsShared() {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(8).order(ByteOrder.LITTLE_ENDIAN);
+        byteBuffer.putInt(0, 0x01020304);
+        context.getGlobalObject().set("buffer", context.createJSArrayBuffer(byteBuffer));
+        assertThat(context.eval("const view = new Uint8Array(buffer); view[7] = 9; [buffer.byteLength, view[0], view[3]].join()").toString())
+                .isEqualTo("8,4,1");
+        assertThat(byteBuffer.get(7)).isEqualTo((byte) 9);
+        byteBuffer.put(1, (byte) 0x7F);
+        assertThat(context.eval("view[1]").toJavaObject()).isEqualTo(127.0);
+    }
+
+    @Test
+    public void testMappedFile() throws IOException {
+        Path path = Files.createTempFile("qjs4j", ".bin");
+        try {
+            Files.write(path, new byte[]{1, 2, 3, 4});
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mappedBuffer = channel.map(FileChannel.MapMode.PRIVATE, 0, 4);
+                context.getGlobalObject().set("buffer", context.createJSArrayBuffer(mappedBuffer));
+                assertThat(context.eval("const view = new Uint8Array(buffer); view[0] = 10; view.join()").toString())
+                        .isEqualTo("10,2,3,4");
+            }
+            assertThat(Files.readAllBytes(path)).containsExactly(1, 2, 3, 4);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testReadOnlyBufferIsRejected() {
+        assertThatThrownBy(() -> context.createJSArrayBuffer(ByteBuffer.allocate(4).asReadOnlyBuffer()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testResizableGrowsLazily() {
+        assertThat(context.eval("""
+                const rab = new ArrayBuffer(2, {maxByteLength: 1 << 30});
+                const view = new Uint8Array(rab);
+                view[1] = 5;
+                rab.resize(1000);
+                view[999] = 6;
+                rab.resize(3);
+                rab.resize(1000);
+                [rab.byteLength, rab.maxByteLength, view[1], view[999], view.length].join()""").toString())
+                .isEqualTo("1000,1073741824,5,0,1000");
+    }
+}
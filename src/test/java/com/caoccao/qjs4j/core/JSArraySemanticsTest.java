@@ -59,4 +59,18 @@ public class JSArraySemanticsTest extends BaseJavetTest {
                 "(() => [1].hasOwnProperty('0') ? 'true' : 'false')()"
         );
     }
+
+    @Test
+    public void testSparseArrayElements() {
+        assertStringWithJavet(
+                "(() => { const a = []; a[50000] = 1; a[20000] = 2; a[3] = 3; a[4294967294] = 4; a[3000000000] = 5; return Object.keys(a).join() + ':' + a.length; })()",
+                "(() => { const a = []; a[4294967294] = 'x'; return a[4294967294] + (4294967294 in a) + JSON.stringify(Object.getOwnPropertyDescriptor(a, '4294967294')); })()",
+                "(() => { const a = []; for (let i = 0; i < 300; i++) a[20000 + ((i * 7919) % 1000)] = i; const k = Object.keys(a); return k.length + ':' + k.every((v, i) => i === 0 || +k[i - 1] < +v); })()",
+                "(() => { const a = []; a[20000] = 1; a[20001] = 2; a[20003] = 3; a.length = 20002; return Object.keys(a).join(); })()",
+                "(() => { const a = [1, 2, 3]; a[20000] = 9; a.splice(1, 1); return Object.keys(a).join() + ':' + a.length; })()",
+                "(() => { const a = []; a[20005] = 1; Object.defineProperty(a, '20001', { value: 2, enumerable: false }); a[20003] = 3; return Object.getOwnPropertyNames(a).join(); })()",
+                "(() => { const a = []; a[20000] = 'a'; a[10] = 'b'; const s = []; for (const k in a) s.push(k); return s.join(); })()",
+                "(() => { const o = {}; for (let i = 0; i < 300; i++) o[300 - i] = i; o.x = 1; const k = Object.keys(o); return k.slice(0, 3).join() + '..' + k.slice(-3).join(); })()"
+        );
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.exceptions.JSException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSEventLoopTest extends BaseTest {
+    @Test
+    public void testCallbackErrorLeavesLoopUsable() {
+        JSEventLoop eventLoop = new JSEventLoop(context).install();
+        context.eval("var log = []; setTimeout(() => { throw new Error('boom'); }); setTimeout(() => log.push('after'), 1);");
+        assertThatThrownBy(eventLoop::run).isInstanceOf(JSException.class).hasMessageContaining("boom");
+        eventLoop.run();
+        assertThat(context.eval("log.join()").toString()).isEqualTo("after");
+        assertThat(eventLoop.hasPendingWork()).isFalse();
+    }
+
+    @Test
+    public void testHostTaskOnExecutor() throws Exception {
+        JSEventLoop eventLoop = new JSEventLoop(context).install();
+        ExecutorService hostExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService loopExecutor = Executors.newSingleThreadExecutor();
+        try {
+            context.getGlobalObject().set("fetchLater", new JSNativeFunction(context, "fetchLater", 1, (childContext, thisArg, args) -> {
+                JSEventLoop.HostTask hostTask = eventLoop.createHostTask();
+                String value = args[0].toString();
+                hostExecutor.execute(() -> {
+                    if (value.isEmpty()) {
+                        hostTask.reject(new JSString("empty"));
+                    } else {
+                        hostTask.resolve(new JSString(value));
+                    }
+                });
+                return hostTask.getPromise();
+            }));
+            context.eval("""
+                    var log = [];
+                    fetchLater('a').then(v => log.push(v));
+                    fetchLater('').catch(e => log.push('rejected ' + e));""");
+            eventLoop.start(loopExecutor).get(10, TimeUnit.SECONDS);
+            assertThat(context.eval("log.sort().join()").toString()).isEqualTo("a,rejected empty");
+        } finally {
+            hostExecutor.shutdown();
+            loopExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStopFromAnotherThread() throws Exception {
+        JSEventLoop eventLoop = new JSEventLoop(context).install();
+        context.eval("setInterval(() => {}, 1000)");
+        ExecutorService loopExecutor = Executors.newSingleThreadExecutor();
+        try {
+            CompletableFuture<Void> future = eventLoop.start(loopExecutor);
+            eventLoop.execute(eventLoop::stop);
+            future.get(10, TimeUnit.SECONDS);
+            assertThat(eventLoop.hasPendingWork()).isTrue();
+        } finally {
+            loopExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimers() {
+        JSEventLoop eventLoop = new JSEventLoop(context).install();
+        context.eval("""
+                var log = [];
+                setTimeout(() => log.push('late'), 200);
+                setTimeout((a, b) => log.push(a + b), 0, 'x', 'y');
+                setTimeout(() => log.push('second'), 0);
+                clearTimeout(setTimeout(() => log.push('cancelled'), 1));
+                let count = 0;
+                const id = setInterval(() => { log.push('tick' + count); if (++count === 3) clearInterval(id); }, 1);
+                Promise.resolve().then(() => log.push('micro'));""");
+        eventLoop.run();
+        assertThat(context.eval("log.join()").toString()).isEqualTo("micro,xy,second,tick0,tick1,tick2,late");
+        JSEventLoop.Metrics metrics = eventLoop.getMetrics();
+        assertThat(metrics.timersFired()).isEqualTo(6);
+        assertThat(metrics.maxLagNanos()).isGreaterThanOrEqualTo(metrics.lastLagNanos());
+        assertThatThrownBy(() -> context.eval("setTimeout('x')")).isInstanceOf(JSException.class).hasMessageContaining("TypeError");
+    }
+}
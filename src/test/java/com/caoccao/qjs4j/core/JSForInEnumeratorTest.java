@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseJavetTest;
+import org.junit.jupiter.api.Test;
+
+public class JSForInEnumeratorTest extends BaseJavetTest {
+    @Test
+    public void testArrayIndices() {
+        assertStringWithJavet(
+                "(() => { const a = []; for (const k in [1, 2, 3]) a.push(k); return a.join(); })()",
+                "(() => { const arr = [1, , 3]; arr.x = 5; const a = []; for (const k in arr) a.push(k); return a.join(); })()",
+                "(() => { const arr = [1, 2, 3, 4]; const a = []; for (const k in arr) { a.push(k); if (k === '0') delete arr[2]; } return a.join(); })()",
+                "(() => { const arr = [0, 1]; Object.defineProperty(arr, '0', { value: 9, enumerable: false }); const a = []; for (const k in arr) a.push(k); return a.join(); })()",
+                "(() => { const proto = []; proto[1] = 'p'; const arr = [0, , 2]; Object.setPrototypeOf(arr, proto); const a = []; for (const k in arr) a.push(k); return a.join(); })()",
+                "(() => { const arr = []; for (let i = 0; i < 100000; i++) arr.push(i); let first; for (const k in arr) { first = k; break; } return first; })()",
+                "(() => { const arr = []; for (let i = 0; i < 100; i++) arr.push(i); let sum = 0; for (const k in arr) { sum += +k; if (k === '10') arr.length = 20; } return String(sum); })()");
+    }
+
+    @Test
+    public void testPrototypeChain() {
+        assertStringWithJavet(
+                "(() => { const a = []; for (const k in { b: 1, a: 2, 1: 3, 0: 4 }) a.push(k); return a.join(); })()",
+                "(() => { const c = Object.create({ x: 1, y: 2 }); c.y = 3; c.z = 4; const a = []; for (const k in c) a.push(k); return a.join(); })()",
+                "(() => { const c = Object.create({ x: 1 }); Object.defineProperty(c, 'x', { value: 1, enumerable: false }); const a = []; for (const k in c) a.push(k); return a.join(); })()",
+                "(() => { Array.prototype.foo = 1; try { const a = []; for (const k in [7, 8]) a.push(k); return a.join(); } finally { delete Array.prototype.foo; } })()",
+                "(() => { class A { constructor() { this.q = 1; } m() {} } const a = []; for (const k in new A()) a.push(k); return a.join(); })()",
+                "(() => { const o = { a: 1, b: 2, c: 3 }; const a = []; for (const k in o) { a.push(k); delete o.b; } return a.join(); })()",
+                "(() => { const o = { a: 1 }; for (const k in o) {} Object.defineProperty(o, 'a', { enumerable: false }); o.b = 2; const a = []; for (const k in o) a.push(k); return a.join(); })()");
+    }
+}
@@ -480,6 +480,32 @@ public class JSGlobalObjectTest extends BaseJavetTest {
                 """);
     }
 
+    @Test
+    public void testLazyIntrinsics() {
+        JSGlobalThis globalThis = (JSGlobalThis) context.getGlobalObject();
+        assertThat(globalThis.isLazyProperty(PropertyKey.fromString("Intl"))).isTrue();
+        assertThat(globalThis.isLazyProperty(PropertyKey.fromString("Uint8Array"))).isTrue();
+        String keys = context.eval("Object.getOwnPropertyNames(globalThis).join()").toString();
+        assertThat(context.eval("typeof Intl.NumberFormat").toString()).isEqualTo("function");
+        assertThat(globalThis.isLazyProperty(PropertyKey.fromString("Intl"))).isFalse();
+        assertThat(globalThis.isLazyProperty(PropertyKey.fromString("Uint8Array"))).isTrue();
+        // Internal lookups materialize the whole group, with the usual prototype chains
+        context.createJSUint8Array(4);
+        assertThat(globalThis.isLazyProperty(PropertyKey.fromString("Float64Array"))).isFalse();
+        assertThat(context.eval("""
+                [
+                  Object.getPrototypeOf(Int8Array) === Object.getPrototypeOf(Float64Array),
+                  Object.getPrototypeOf(Float64Array.from) === Function.prototype,
+                  Object.getOwnPropertyDescriptor(globalThis, 'Atomics').enumerable,
+                  delete globalThis.WeakRef && typeof WeakRef,
+                ].join()""").toString()).isEqualTo("true,true,false,undefined");
+        assertThat(context.eval("Object.getOwnPropertyNames(globalThis).join()").toString())
+                .isEqualTo(keys.replace(",WeakRef,", ","));
+        context.eval("Object.freeze(globalThis)");
+        assertThat(globalThis.hasLazyProperties()).isFalse();
+        assertThat(context.eval("typeof DisposableStack").toString()).isEqualTo("function");
+    }
+
     @Test
     public void testParseFloatEdgeCasesWithJavet() {
         assertBooleanWithJavet(
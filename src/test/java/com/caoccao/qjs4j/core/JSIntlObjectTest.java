@@ -20,6 +20,7 @@ import com.caoccao.qjs4j.BaseJavetTest;
 import com.caoccao.qjs4j.exceptions.JSException;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
@@ -86,6 +87,21 @@ public class JSIntlObjectTest extends BaseJavetTest {
                 .hasMessageContaining("RangeError");
     }
 
+    @Test
+    public void testImplicitFormatterCache() {
+        assertStringWithJavet(
+                "[(1234.5).toLocaleString('en-US'), (1234.5).toLocaleString('en-US'), (1234.5).toLocaleString('de-DE')].join('|')",
+                "['b', 'a', 'C'].sort((x, y) => x.localeCompare(y, 'en')).join()",
+                "(() => { let count = 0; const options = { get style() { count++; return 'percent'; } }; (0.5).toLocaleString('en', options); (0.5).toLocaleString('en', options); return String(count); })()");
+        context.getIntlFormatterCache().clear();
+        context.eval("(1).toLocaleString('en-US'); (2).toLocaleString('en-US'); 'a'.localeCompare('b'); (3).toLocaleString('en-US', { style: 'percent' })");
+        assertThat(context.getIntlFormatterCache()).hasSize(2);
+        assertThatThrownBy(() -> context.eval("(1).toLocaleString('xx-invalid-!!')"))
+                .isInstanceOf(JSException.class)
+                .hasMessageContaining("RangeError");
+        assertThat(context.getIntlFormatterCache()).hasSize(2);
+    }
+
     @Test
     public void testIntlNamespace() {
         assertBooleanWithJavet(
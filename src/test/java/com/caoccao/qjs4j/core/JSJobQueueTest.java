@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JSJobQueueTest extends BaseTest {
+    @Test
+    public void testClearContext() {
+        JSContext otherContext = context.getRuntime().createContext();
+        List<String> log = new ArrayList<>();
+        otherContext.enqueueMicrotask(() -> log.add("other"));
+        context.enqueueMicrotask(() -> log.add("main"));
+        otherContext.close();
+        assertThat(context.getRuntime().getJobQueue().size()).isEqualTo(1);
+        context.processMicrotasks();
+        assertThat(log).containsExactly("main");
+    }
+
+    @Test
+    public void testCrossThreadEnqueue() throws InterruptedException {
+        JSJobQueue jobQueue = context.getRuntime().getJobQueue();
+        List<Integer> log = new ArrayList<>();
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                context.enqueueMicrotask(() -> log.add(value));
+            }
+            context.getRuntime().enqueueJobFromAnyThread(() -> log.add(-1));
+        });
+        thread.start();
+        thread.join();
+        assertThat(jobQueue.size()).isEqualTo(1001);
+        assertThat(context.getRuntime().runJobs()).isEqualTo(1001);
+        assertThat(log).hasSize(1001);
+        assertThat(log.get(999)).isEqualTo(999);
+        assertThat(log.get(1000)).isEqualTo(-1);
+        assertThat(jobQueue.hasPendingJobs()).isFalse();
+    }
+
+    @Test
+    public void testFifoAcrossGrowthAndContexts() {
+        JSContext otherContext = context.getRuntime().createContext();
+        List<Integer> log = new ArrayList<>();
+        context.enqueueMicrotask(() -> {
+            for (int i = 0; i < 500; i++) {
+                int value = i;
+                (i % 2 == 0 ? context : otherContext).enqueueMicrotask(() -> log.add(value));
+            }
+        });
+        context.getRuntime().runJobs();
+        assertThat(log).hasSize(500);
+        for (int i = 0; i < 500; i++) {
+            assertThat(log.get(i)).isEqualTo(i);
+        }
+        otherContext.close();
+    }
+
+    @Test
+    public void testPromiseReactions() {
+        context.eval("""
+                var log = [];
+                const promise = Promise.resolve(1);
+                for (let i = 0; i < 1000; i++) promise.then(v => log.push(v + i));
+                Promise.resolve().then(() => log.push('done'));""");
+        assertThat(context.eval("[log.length, log[0], log[999], log[1000]].join()").toString()).isEqualTo("1001,1,1000,done");
+    }
+}
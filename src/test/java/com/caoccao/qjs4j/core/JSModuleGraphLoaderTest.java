@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSModuleGraphLoaderTest {
+    private static IJSModuleLoader createCountingLoader(Map<String, AtomicInteger> fetchCounts) {
+        JSInMemoryModuleLoader memoryLoader = createLoader();
+        return new IJSModuleLoader() {
+            @Override
+            public byte[] fetch(String resolvedSpecifier) throws IOException {
+                fetchCounts.computeIfAbsent(resolvedSpecifier, key -> new AtomicInteger()).incrementAndGet();
+                return memoryLoader.fetch(resolvedSpecifier);
+            }
+
+            @Override
+            public String resolve(String specifier, String referrer) {
+                return memoryLoader.resolve(specifier, referrer);
+            }
+        };
+    }
+
+    private static JSInMemoryModuleLoader createLoader() {
+        return new JSInMemoryModuleLoader()
+                .addModule("/app/main.js", """
+                        import hello, { a } from './a.js';
+                        import * as ns from './lib/b.js';
+                        globalThis.result = a + hello() + ns.b + ns.c;
+                        """)
+                .addModule("/app/a.js", "export const a = 'A';\nconst hello = () => 4;\nexport default hello;\n")
+                .addModule("/app/lib/b.js", "export const b = 'B';\nexport * from '../c.js';\n")
+                .addModule("/app/c.js", "export const c = 'C';\n");
+    }
+
+    @Test
+    public void testContextLinksThroughGraphLoader() {
+        Map<String, AtomicInteger> fetchCounts = new ConcurrentHashMap<>();
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        JSModuleGraphLoader graphLoader = new JSModuleGraphLoader(createCountingLoader(fetchCounts), executorService);
+        String mainSource = """
+                import hello, { a } from './a.js';
+                import * as ns from './lib/b.js';
+                globalThis.result = a + hello() + ns.b + ns.c;
+                """;
+        try (JSRuntime runtime = new JSRuntime(new JSRuntimeOptions().setModuleLoader(graphLoader))) {
+            for (int contextCount = 0; contextCount < 2; contextCount++) {
+                JSContext context = runtime.createContext();
+                context.eval(mainSource, "/app/main.js", true);
+                assertThat(context.getGlobalObject().get("result")).isEqualTo(new JSString("A4BC"));
+                // Later contexts link the modules the runtime has parsed without fetching them again.
+                assertThat(fetchCounts).containsOnlyKeys("/app/a.js", "/app/c.js", "/app/lib/b.js");
+                assertThat(fetchCounts.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+            }
+            // The context took over every parsed module, so the loader holds nothing.
+            assertThat(graphLoader.isLoaded("/app/a.js")).isFalse();
+            assertThat(graphLoader.isLoaded("/app/c.js")).isFalse();
+            assertThat(graphLoader.isLoaded("/app/lib/b.js")).isFalse();
+            assertThat(runtime.hasParsedModule("/app/c.js")).isTrue();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadAndEvaluate() throws IOException {
+        Map<String, AtomicInteger> fetchCounts = new ConcurrentHashMap<>();
+        IJSModuleLoader countingLoader = createCountingLoader(fetchCounts);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try (JSRuntime runtime = new JSRuntime()) {
+            JSModuleGraphLoader graphLoader = new JSModuleGraphLoader(countingLoader, executorService);
+            runtime.setModuleLoader(graphLoader);
+            assertThat(graphLoader.load("/app/main.js", null))
+                    .containsExactly("/app/a.js", "/app/c.js", "/app/lib/b.js", "/app/main.js");
+            assertThat(graphLoader.isLoaded("/app/c.js")).isTrue();
+
+            JSContext context = runtime.createContext();
+            context.eval(graphLoader.fetchSource("/app/main.js"), "/app/main.js", true);
+            assertThat(context.getGlobalObject().get("result")).isEqualTo(new JSString("A4BC"));
+            assertThat(fetchCounts).hasSize(4);
+            assertThat(fetchCounts.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+            assertThat(graphLoader.isLoaded("/app/c.js")).isFalse();
+
+            graphLoader.load("/app/c.js", null);
+            assertThat(graphLoader.isLoaded("/app/c.js")).isTrue();
+            graphLoader.clear();
+            assertThat(graphLoader.isLoaded("/app/c.js")).isFalse();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadDeferredAndCyclicImports() throws IOException {
+        JSInMemoryModuleLoader memoryLoader = new JSInMemoryModuleLoader()
+                .addModule("/x.js", "import { y } from './y.js';\nimport defer * as z from './z.js';\nexport const x = 1;\n")
+                .addModule("/y.js", "import { x } from './x.js';\nexport const y = 2;\n")
+                .addModule("/z.js", "export const z = 3;\n");
+        JSModuleGraphLoader graphLoader = new JSModuleGraphLoader(memoryLoader, Runnable::run);
+        assertThat(graphLoader.load("./x.js", "/main.js")).containsExactly("/y.js", "/z.js", "/x.js");
+    }
+
+    @Test
+    public void testLoadToleratesUnresolvedAndInvalidModules() throws IOException {
+        JSInMemoryModuleLoader memoryLoader = new JSInMemoryModuleLoader()
+                .addModule("/main.js", "import './missing.js';\nimport './broken.js';\n")
+                .addModule("/broken.js", "import { from './main.js';\n");
+        JSModuleGraphLoader graphLoader = new JSModuleGraphLoader(memoryLoader);
+        assertThat(graphLoader.load("/main.js", null)).containsExactly("/broken.js", "/main.js");
+        assertThatThrownBy(() -> graphLoader.load("/missing.js", null))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Cannot find module");
+    }
+}
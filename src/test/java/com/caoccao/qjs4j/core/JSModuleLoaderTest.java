@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSModuleLoaderTest {
+    private static JSInMemoryModuleLoader createLoader() {
+        return new JSInMemoryModuleLoader()
+                .addModule("/app/a.js", "export const a = 'A';\nconst hello = () => 4;\nexport default hello;\n")
+                .addModule("/app/lib/b.js", "export const b = 'B';\nexport * from '../c.js';\n")
+                .addModule("/app/c.js", "export const c = 'C';\n");
+    }
+
+    @Test
+    public void testCompiledModulesAreSharedAcrossContexts() {
+        String mainSource = """
+                import hello, { a } from './a.js';
+                import * as ns from './lib/b.js';
+                globalThis.result = a + hello() + ns.b + ns.c;
+                """;
+        try (JSRuntime runtime = new JSRuntime(new JSRuntimeOptions().setModuleLoader(createLoader()))) {
+            JSContext firstContext = runtime.createContext();
+            firstContext.eval(mainSource, "/app/main.js", true);
+            assertThat(firstContext.getGlobalObject().get("result")).isEqualTo(new JSString("A4BC"));
+            int cacheSize = runtime.getCompiledModuleCacheSize();
+            assertThat(cacheSize).isGreaterThanOrEqualTo(3);
+
+            JSContext secondContext = runtime.createContext();
+            secondContext.eval(mainSource, "/app/main.js", true);
+            assertThat(secondContext.getGlobalObject().get("result")).isEqualTo(new JSString("A4BC"));
+            assertThat(runtime.getCompiledModuleCacheSize()).isEqualTo(cacheSize);
+
+            JSCompiledModule compiledModule = runtime.getCompiledModule(
+                    "/app/a.js", "export const a = 'A';\nconst hello = () => 4;\nexport default hello;\n");
+            assertThat(compiledModule).isNotNull();
+            assertThat(compiledModule.transformedSource()).contains(compiledModule.exportBindingName());
+            assertThat(compiledModule.transformedProgram()).isSameAs(compiledModule.transformedProgram());
+
+            runtime.clearCompiledModuleCache();
+            assertThat(runtime.getCompiledModuleCacheSize()).isZero();
+        }
+    }
+
+    @Test
+    public void testDynamicImportFromMemory() {
+        try (JSRuntime runtime = new JSRuntime(new JSRuntimeOptions().setModuleLoader(createLoader()))) {
+            JSContext context = runtime.createContext();
+            context.eval("import('./lib/b.js').then(ns => { globalThis.result = ns.b + ns.c; });", "/app/main.js", true);
+            context.processMicrotasks();
+            assertThat(context.getGlobalObject().get("result")).isEqualTo(new JSString("BC"));
+        }
+    }
+
+    @Test
+    public void testInMemoryResolve() {
+        JSInMemoryModuleLoader loader = createLoader();
+        assertThat(loader.resolve("./a.js", "/app/main.js")).isEqualTo("/app/a.js");
+        assertThat(loader.resolve("../c.js", "/app/lib/b.js")).isEqualTo("/app/c.js");
+        assertThat(loader.resolve("/app/lib/b.js", null)).isEqualTo("/app/lib/b.js");
+        assertThat(loader.resolve("./missing.js", "/app/main.js")).isNull();
+        assertThat(loader.removeModule("app/a.js")).isTrue();
+        assertThat(loader.resolve("./a.js", "/app/main.js")).isNull();
+    }
+
+    @Test
+    public void testMissingModule() {
+        try (JSRuntime runtime = new JSRuntime(new JSRuntimeOptions().setModuleLoader(createLoader()))) {
+            JSContext context = runtime.createContext();
+            assertThatThrownBy(() -> context.eval("import { x } from './missing.js';", "/app/main.js", true))
+                    .hasMessageContaining("Cannot find module");
+        }
+    }
+
+    @Test
+    public void testResolveVirtualPath() {
+        assertThat(IJSModuleLoader.resolveVirtualPath("./b.js", "/a/main.js")).isEqualTo("/a/b.js");
+        assertThat(IJSModuleLoader.resolveVirtualPath("../b.js", "/a/x/main.js")).isEqualTo("/a/b.js");
+        assertThat(IJSModuleLoader.resolveVirtualPath("b.js", "/a/main.js")).isEqualTo("/a/b.js");
+        assertThat(IJSModuleLoader.resolveVirtualPath("/b.js", "/a/main.js")).isEqualTo("/b.js");
+        assertThat(IJSModuleLoader.resolveVirtualPath("b.js", "<eval>")).isEqualTo("/b.js");
+        assertThat(IJSModuleLoader.resolveVirtualPath("../../b.js", "/main.js")).isEqualTo("/b.js");
+    }
+}
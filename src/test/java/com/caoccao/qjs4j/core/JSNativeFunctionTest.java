@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseJavetTest;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JSNativeFunctionTest extends BaseJavetTest {
+    @Test
+    public void testLengthAndName() {
+        assertStringWithJavet(
+                "JSON.stringify([Math.max.length, Math.max.name, Object.getOwnPropertyNames(Math.max)])",
+                "JSON.stringify(Object.getOwnPropertyDescriptor(Math.ceil, 'length'))",
+                "(() => { Object.defineProperty(Math.max, 'name', { value: 'mx' }); return Math.max.name + ',' + Math.min.name; })()",
+                "(() => { delete Math.abs.length; return Math.abs.length + ',' + Math.abs.hasOwnProperty('length'); })()",
+                "(() => { Math.floor.foo = 1; return Object.keys(Math.floor).join() + ',' + Math.ceil.foo; })()",
+                "(() => { Object.freeze(Math.round); return Object.isFrozen(Math.round) + ',' + Object.isFrozen(Math.trunc); })()");
+    }
+
+    @Test
+    public void testSharedShapeAcrossContexts() {
+        try (JSContext otherContext = context.getRuntime().createContext()) {
+            JSNativeFunction max = (JSNativeFunction) context.eval("Math.max");
+            JSNativeFunction otherMax = (JSNativeFunction) otherContext.eval("Math.max");
+            assertThat(max).isNotSameAs(otherMax);
+            assertThat(max.shape).isSameAs(otherMax.shape);
+            assertThat(max.shape.isShared()).isTrue();
+            context.eval("Object.defineProperty(Math.max, 'name', { value: 'changed' }); delete Math.min.length");
+            assertThat(max.shape.isShared()).isFalse();
+            assertThat(otherMax.shape.isShared()).isTrue();
+            assertThat(otherContext.eval("Math.max.name + ',' + Math.min.length").toString()).isEqualTo("max,2");
+            assertThat(context.eval("Math.max.name + ',' + Math.min.length").toString()).isEqualTo("changed,0");
+        }
+    }
+}
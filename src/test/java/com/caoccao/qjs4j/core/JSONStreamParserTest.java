@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.exceptions.JSException;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSONStreamParserTest extends BaseTest {
+    private static String createRecords(int count) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(",\n");
+            }
+            sb.append("{\"id\":").append(i)
+                    .append(",\"name\":\"n\\u00e9").append(i)
+                    .append("\",\"values\":[").append(i * 0.5).append(",true,null,-0]}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private String stringify(JSValue value) {
+        context.getGlobalObject().set("parsed", value);
+        return context.eval("JSON.stringify(parsed)").toString();
+    }
+
+    @Test
+    public void testByteBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(16);
+        byteBuffer.put("{\"\u00e9\":[1,\"\u4e2d\"]}".getBytes(StandardCharsets.UTF_8)).flip();
+        assertThat(stringify(context.parseJSON(byteBuffer))).isEqualTo("{\"\u00e9\":[1,\"\u4e2d\"]}");
+        assertThat(byteBuffer.position()).isZero();
+    }
+
+    @Test
+    public void testDuplicateKeys() {
+        assertThat(context.eval("JSON.stringify(JSON.parse('{\"a\":1,\"b\":2,\"a\":3}'))").toString())
+                .isEqualTo("{\"a\":3,\"b\":2}");
+        assertThat(context.eval("JSON.stringify(JSON.parse('[{\"a\":1,\"b\":2},{\"a\":1,\"b\":2,\"a\":3}]'))").toString())
+                .isEqualTo("[{\"a\":1,\"b\":2},{\"a\":3,\"b\":2}]");
+    }
+
+    @Test
+    public void testErrorsMatchJSONParse() {
+        String[] inputs = {"", "[1,2", "[1 2]", "{\"a\" 1}", "{a:1}", "{\"a\":1,}", "\"\\x\"", "\"\\u00zz\"",
+                "\"a\nb\"", "tru", "01", "1.", "-", "\n\n [1,\n x]", "1 2"};
+        for (String input : inputs) {
+            context.getGlobalObject().set("input", new JSString(input));
+            String expectedMessage = context.eval("try { JSON.parse(input); '' } catch (e) { e.name + ': ' + e.message }").toString();
+            assertThat(expectedMessage).startsWith("SyntaxError: ");
+            assertThatThrownBy(() -> context.parseJSON(new StringReader(input)))
+                    .isInstanceOf(JSException.class)
+                    .hasMessage(expectedMessage);
+            assertThat(context.hasPendingException()).isFalse();
+        }
+        assertThat(context.eval("try { JSON.parse('\\n [1,\\n x]') } catch (e) { e.message }").toString())
+                .isEqualTo("Unexpected character: xat position 7 (line 3 column 2)");
+    }
+
+    @Test
+    public void testInputStream() throws IOException {
+        String text = createRecords(100);
+        JSValue value = context.parseJSON(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+        context.getGlobalObject().set("text", new JSString(text));
+        assertThat(stringify(value)).isEqualTo(context.eval("JSON.stringify(JSON.parse(text))").toString());
+    }
+
+    @Test
+    public void testObjectsWithSameKeysShareOneShape() {
+        JSArray records = (JSArray) JSONStreamParser.parse(context, createRecords(3));
+        JSObject first = (JSObject) records.get(0);
+        assertThat(((JSObject) records.get(1)).shape).isSameAs(first.shape);
+        assertThat(((JSObject) records.get(2)).shape).isSameAs(first.shape);
+        first.set("extra", JSNumber.of(1));
+        assertThat(((JSObject) records.get(1)).shape).isNotSameAs(first.shape);
+    }
+
+    @Test
+    public void testReaderAcrossBufferBoundaries() throws IOException {
+        String text = createRecords(2000);
+        Reader oneCharReader = new FilterReader(new StringReader(text)) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+        String expected = stringify(context.parseJSON(new StringReader(text)));
+        assertThat(stringify(context.parseJSON(oneCharReader))).isEqualTo(expected);
+        assertThat(context.eval("parsed[1999].name + ':' + Object.keys(parsed[7]) + ':' + Object.is(parsed[3].values[3], -0)").toString())
+                .isEqualTo("n\u00e91999:id,name,values:true");
+    }
+
+    @Test
+    public void testSharedKeySetObjectsStayIndependent() {
+        assertThat(context.eval("""
+                var list = JSON.parse('[{"x":1,"y":2},{"x":3,"y":4}]');
+                list[0].z = 5;
+                delete list[1].x;
+                Object.defineProperty(list[1], 'y', { writable: false });
+                list[1].y = 9;
+                JSON.stringify(list) + Object.keys(list[0]) + Object.getOwnPropertyDescriptor(list[0], 'y').writable""").toString())
+                .isEqualTo("[{\"x\":1,\"y\":2,\"z\":5},{\"y\":4}]x,y,ztrue");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.exceptions.JSException;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JSONStreamWriterTest extends BaseTest {
+    @Test
+    public void testCircularReference() {
+        JSValue value = context.eval("var o = {a: [1]}; o.a.push(o); o");
+        assertThatThrownBy(() -> context.stringifyJSON(value, new StringWriter()))
+                .isInstanceOf(JSException.class)
+                .hasMessageStartingWith("TypeError: Converting circular structure to JSON");
+        assertThat(context.hasPendingException()).isFalse();
+    }
+
+    @Test
+    public void testOutputStream() throws IOException {
+        JSValue value = context.eval("({text: '\\u00e9\\u4e2d\\ud83d\\ude00', lone: '\\ud800'})");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThat(context.stringifyJSON(value, outputStream)).isTrue();
+        assertThat(outputStream.toString(StandardCharsets.UTF_8))
+                .isEqualTo("{\"text\":\"\u00e9\u4e2d\ud83d\ude00\",\"lone\":\"\\ud800\"}");
+    }
+
+    @Test
+    public void testPlainObjectsMutatedByToJSON() {
+        assertThat(context.eval("""
+                var p = {a: 1, b: {toJSON() { delete p.c; p.d = 5; return 'B'; }}, c: 3, e: 4};
+                var q = {a: 1, b: {toJSON() { Object.defineProperty(q, 'c', {get() { return 'G'; }}); return 'B'; }}, c: 3};
+                var r = {a: {toJSON() { Object.defineProperty(r, 'b', {enumerable: false}); r.c = 9; return 1; }}, b: 2, c: 3};
+                JSON.stringify([p, q, r])""").toString())
+                .isEqualTo("[{\"a\":1,\"b\":\"B\",\"e\":4},{\"a\":1,\"b\":\"B\",\"c\":\"G\"},{\"a\":1,\"b\":2,\"c\":9}]");
+    }
+
+    @Test
+    public void testReplacerAndSpace() throws IOException {
+        JSValue value = context.eval("({a: 1, b: [1, {c: 2}], d: 3})");
+        JSValue replacer = context.eval("['b', 'c']");
+        StringWriter writer = new StringWriter();
+        assertThat(context.stringifyJSON(value, replacer, new JSString("--"), writer)).isTrue();
+        assertThat(writer.toString()).isEqualTo("{\n--\"b\": [\n----1,\n----{\n------\"c\": 2\n----}\n--]\n}");
+    }
+
+    @Test
+    public void testUndefined() throws IOException {
+        StringWriter writer = new StringWriter();
+        assertThat(context.stringifyJSON(JSUndefined.INSTANCE, writer)).isFalse();
+        assertThat(context.stringifyJSON(context.eval("(function () {})"), writer)).isFalse();
+        assertThat(writer.toString()).isEmpty();
+    }
+
+    @Test
+    public void testWritesInBoundedChunks() throws IOException {
+        JSValue value = context.eval("""
+                var records = [];
+                for (var i = 0; i < 5000; i++) records.push({id: i, name: 'item' + i, tags: ['x', 'y'], nested: {v: i}});
+                records""");
+        String expected = context.eval("JSON.stringify(records)").toString();
+        int[] maxChunkLength = {0};
+        int[] chunkCount = {0};
+        StringWriter writer = new StringWriter() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                maxChunkLength[0] = Math.max(maxChunkLength[0], length);
+                chunkCount[0]++;
+                super.write(buffer, offset, length);
+            }
+        };
+        assertThat(context.stringifyJSON(value, writer)).isTrue();
+        assertThat(writer.toString()).isEqualTo(expected);
+        assertThat(chunkCount[0]).isGreaterThan(1);
+        assertThat(maxChunkLength[0]).isLessThanOrEqualTo(8192);
+    }
+}
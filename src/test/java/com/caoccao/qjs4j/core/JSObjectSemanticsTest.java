@@ -38,6 +38,17 @@ public class JSObjectSemanticsTest extends BaseJavetTest {
         );
     }
 
+    @Test
+    public void testPropertyAttributeRedefinition() {
+        assertStringWithJavet(
+                "(() => { const o = { a: 1 }; Object.defineProperty(o, 'a', { get() { return 2; } }); const d = Object.getOwnPropertyDescriptor(o, 'a'); return JSON.stringify(Object.keys(d)) + ',' + d.enumerable + ',' + d.configurable + ',' + o.a; })()",
+                "(() => { const o = {}; Object.defineProperty(o, 'a', { get() { return 2; }, configurable: true }); Object.defineProperty(o, 'a', { value: 3 }); return JSON.stringify(Object.getOwnPropertyDescriptor(o, 'a')); })()",
+                "(() => { const o = {}; Object.defineProperty(o, 'a', { value: 1, writable: true }); Object.defineProperty(o, 'a', { enumerable: false, writable: false }); o.a = 5; return JSON.stringify(Object.getOwnPropertyDescriptor(o, 'a')) + ',' + Object.keys(o).length; })()",
+                "(() => { const o = { get a() { return 1; }, b: 2 }; Object.freeze(o); const d = Object.getOwnPropertyDescriptor(o, 'a'); return d.configurable + ',' + JSON.stringify(Object.getOwnPropertyDescriptor(o, 'b')) + ',' + delete o.b; })()",
+                "(() => { const o = { a: 1 }; const d = Object.getOwnPropertyDescriptor(o, 'a'); d.value = 9; Object.defineProperty(o, 'b', { set(v) { this.c = v; }, configurable: true }); o.b = 4; delete o.b; return o.a + ',' + o.c + ',' + ('b' in o) + ',' + JSON.stringify(o); })()"
+        );
+    }
+
     @Test
     public void testSetOnFrozenObjectStrictMode() {
         // Strict mode assignment on frozen object throws TypeError for existing property.
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.core;
+
+import com.caoccao.qjs4j.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JSTypedArrayExternalTest extends BaseTest {
+    @Test
+    public void testByteArrayIsShared() {
+        byte[] bytes = new byte[]{1, 2, 3, (byte) 0xFF, 5};
+        context.getGlobalObject().set("bytes", context.createJSUint8Array(context.createJSArrayBuffer(bytes), 0, -1));
+        assertThat(context.eval("bytes[0] = 42; Atomics.add(bytes, 1, 1); bytes.join()").toString())
+                .isEqualTo("42,2,3,255,5");
+        assertThat(bytes).containsExactly(42, 3, 3, 0xFF, 5);
+    }
+
+    @Test
+    public void testElementBits() {
+        JSFloat64Array float64Array = context.createJSFloat64Array(2);
+        float64Array.setElement(0, -0.0);
+        assertThat(float64Array.getElementBits(0)).isEqualTo(Double.doubleToRawLongBits(-0.0));
+        float64Array.setElementBits(1, Double.doubleToRawLongBits(1.5));
+        assertThat(float64Array.getElement(1)).isEqualTo(1.5);
+        JSUint16Array uint16Array = context.createJSUint16Array(1);
+        uint16Array.setElementBits(0, -1);
+        assertThat(uint16Array.getElement(0)).isEqualTo(65535.0);
+        assertThat(uint16Array.getElementBits(0)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void testHostViewOfTypedArray() {
+        JSInt32Array int32Array = (JSInt32Array) context.eval("new Int32Array([1, 2, 3, 4]).subarray(1)");
+        IntBuffer intBuffer = int32Array.getByteBuffer().asIntBuffer();
+        assertThat(intBuffer.remaining()).isEqualTo(3);
+        assertThat(intBuffer.get(0)).isEqualTo(2);
+        intBuffer.put(2, -9);
+        assertThat(int32Array.getElement(2)).isEqualTo(-9.0);
+    }
+
+    @Test
+    public void testTypedArraysOverDirectBuffer() {
+        ByteBuffer byteBuffer = ByteBuffer.allocateDirect(16);
+        JSArrayBuffer arrayBuffer = context.createJSArrayBuffer(byteBuffer);
+        context.getGlobalObject().set("f64", context.createJSFloat64Array(arrayBuffer, 0, -1));
+        context.getGlobalObject().set("i32", context.createJSInt32Array(arrayBuffer, 8, 2));
+        assertThat(context.eval("""
+                f64[0] = 0.5;
+                i32.set([7, -1]);
+                i32.reverse();
+                [f64[0], i32.indexOf(7), i32.includes(-1), new Uint8Array(f64.buffer, 8).join()].join(';')""").toString())
+                .isEqualTo("0.5;1;true;255,255,255,255,7,0,0,0");
+        assertThat(byteBuffer.asDoubleBuffer().capacity()).isEqualTo(2);
+        assertThat(byteBuffer.order(ByteOrder.LITTLE_ENDIAN).getDouble(0)).isEqualTo(0.5);
+    }
+}
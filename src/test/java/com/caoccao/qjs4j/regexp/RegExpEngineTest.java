@@ -18,6 +18,8 @@ package com.caoccao.qjs4j.regexp;
 
 import com.caoccao.qjs4j.BaseJavetTest;
 import com.caoccao.qjs4j.exceptions.JSException;
+import com.caoccao.qjs4j.unicode.CodePointTrie;
+import com.caoccao.qjs4j.unicode.UnicodePropertyResolver;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.*;
@@ -431,6 +433,35 @@ public class RegExpEngineTest extends BaseJavetTest {
         assertThat(matches("^[\\P{L}]+$", "u", "123A")).isFalse();
     }
 
+    @Test
+    public void testUnicodePropertyEscapesLookupTable() {
+        UnicodePropertyResolver resolver = context.getUnicodePropertyResolver();
+        // The lookup table is taken from the resolver by the first match and shared by the
+        // engines of every compilation of the pattern.
+        for (int i = 0; i < 2; i++) {
+            RegExpEngine engine = new RegExpEngine(
+                    new RegExpCompiler(resolver).compile("\\p{Script=Han}+", "u"), resolver);
+            RegExpEngine.MatchResult result = engine.exec("abc世界def", 0);
+            assertThat(result).isNotNull();
+            assertThat(result.startIndex()).isEqualTo(3);
+            assertThat(result.endIndex()).isEqualTo(5);
+            assertThat(engine.exec("abc", 0)).isNull();
+        }
+        int[] hanRanges = resolver.resolveScript("Han", false);
+        CodePointTrie trie = resolver.getCodePointTrie(hanRanges.clone());
+        assertThat(resolver.getCodePointTrie(hanRanges)).isSameAs(trie);
+        assertThat(trie.contains('世')).isTrue();
+        assertThat(trie.contains('a')).isFalse();
+        assertThat(new RegExpEngine(new RegExpCompiler(resolver).compile("\\p{Script=Han}", "u"))
+                .exec("a世", 0)).isNotNull();
+        assertThat(matches("^\\p{Script=Han}$", "u", "𠀀")).isTrue();
+        assertThat(matches("^\\P{Script=Han}$", "u", "𠀀")).isFalse();
+        assertThat(matches("^\\P{L}+$", "u", "123􏿿")).isTrue();
+        assertThat(matches("^\\p{Lu}$", "u", "À")).isTrue();
+        assertThat(matches("^\\p{Lu}$", "u", "¿")).isFalse();
+        assertThat(matches("(?<=\\p{Lu})\\p{Ll}", "u", "aBc")).isTrue();
+    }
+
     @Test
     public void testUnicodePropertyEscapesPropertyForms() {
         assertThat(matches("\\p{gc=Lu}", "u", "A")).isTrue();
@@ -17,6 +17,7 @@
 package com.caoccao.qjs4j.utils;
 
 import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.core.JSKeyword;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,6 +98,53 @@ public class AtomTableTest extends BaseTest {
         assertThat(table.getString(atom1)).isEqualTo("world");
     }
 
+    @Test
+    public void testInternKey() {
+        AtomTable table = new AtomTable();
+
+        int atom = table.intern(new String("firstName"));
+        String key = table.internKey(new StringBuilder("first").append("Name"));
+        assertThat(key).isSameAs(table.getString(atom));
+
+        int initialSize = table.size();
+        String newKey = table.internKey(new StringBuilder("lastName"));
+        assertThat(table.size()).isEqualTo(initialSize + 1);
+        assertThat(table.internKey("lastName")).isSameAs(newKey);
+        assertThat(table.getAtom("lastName")).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    public void testInternKeyStopsAddingAtTheCap() {
+        AtomTable table = new AtomTable();
+
+        int atom = table.intern("existing");
+        for (int i = 0; table.size() < 1 << 16; i++) {
+            table.internKey("key" + i);
+        }
+        String key = table.internKey(new StringBuilder("overflow"));
+        assertThat(key).isEqualTo("overflow");
+        assertThat(table.size()).isEqualTo(1 << 16);
+        assertThat(table.getAtom("overflow")).isEqualTo(-1);
+        assertThat(table.internKey(new StringBuilder("existing"))).isSameAs(table.getString(atom));
+    }
+
+    @Test
+    public void testInternManyStrings() {
+        AtomTable table = new AtomTable();
+
+        int initialSize = table.size();
+        int[] atoms = new int[10000];
+        for (int i = 0; i < atoms.length; i++) {
+            atoms[i] = table.intern("key" + i);
+        }
+        assertThat(table.size()).isEqualTo(initialSize + atoms.length);
+        for (int i = 0; i < atoms.length; i++) {
+            assertThat(table.getAtom("key" + i)).isEqualTo(atoms[i]);
+            assertThat(table.getString(atoms[i])).isEqualTo("key" + i);
+        }
+        assertThat(table.getAtom(JSKeyword.FUNCTION)).isEqualTo(AtomTable.ATOM_FUNCTION);
+    }
+
     @Test
     public void testInternNewString() {
         AtomTable table = new AtomTable();
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.vm;
+
+import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.core.JSString;
+import com.caoccao.qjs4j.core.JSValue;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PendingExceptionTest extends BaseTest {
+    private String evalString(String code) {
+        JSValue value = context.eval(code);
+        assertThat(value).isInstanceOf(JSString.class);
+        return ((JSString) value).value();
+    }
+
+    @Test
+    public void testConversionErrorsAreCatchable() {
+        assertThat(evalString("""
+                const bad = { valueOf() { throw new TypeError('vo'); } };
+                const results = [];
+                for (const f of [() => 1 + bad, () => { let x = 1; x += bad; return x; }, () => bad < 1, () => 1 < bad]) {
+                  try { f(); results.push('none'); } catch (e) { results.push(e.name + ':' + e.message); }
+                }
+                results.join(',');""")).isEqualTo("TypeError:vo,TypeError:vo,TypeError:vo,TypeError:vo");
+    }
+
+    @Test
+    public void testNativeAndIteratorErrorsAreCatchable() {
+        assertThat(evalString("""
+                const results = [];
+                const run = f => { try { f(); results.push('none'); } catch (e) { results.push(e.name); } };
+                run(() => JSON.parse('{'));
+                run(() => [1].map(() => { throw new RangeError('m'); }));
+                run(() => { for (const x of { [Symbol.iterator]() { throw new URIError('i'); } }) {} });
+                run(() => { for (const x of { [Symbol.iterator]() { return { next() { throw new EvalError('n'); } }; } }) {} });
+                run(() => (function () { throw new Error('b'); }).bind(null)());
+                results.join(',');""")).isEqualTo("SyntaxError,RangeError,URIError,EvalError,Error");
+    }
+
+    @Test
+    public void testThrowAndCatchInLoop() {
+        assertThat(evalString("""
+                let count = 0;
+                for (let i = 0; i < 1000; i++) {
+                  try { if (i % 2) throw new Error('x' + i); count++; } catch (e) { count += 2; }
+                }
+                String(count);""")).isEqualTo("1500");
+    }
+
+    @Test
+    public void testUncaughtExceptionsUnwindCallerFrames() {
+        assertThat(evalString("""
+                const results = [];
+                const thrown = { get message() { results.push('get'); return 'm'; } };
+                function inner(value) { throw value; }
+                function middle(value) { try { return inner(value); } finally { results.push('finally'); } }
+                function outer(value) { return middle(value); }
+                for (const value of [thrown, 42, new TypeError('t')]) {
+                  try { outer(value); } catch (e) { results.push(e === value ? 'same' : 'other'); }
+                }
+                try { outer(thrown); } catch (e) { results.push(e.message); }
+                results.join(',');""")).isEqualTo("finally,same,finally,same,finally,same,finally,get,m");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2025-2026. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.qjs4j.vm;
+
+import com.caoccao.qjs4j.BaseTest;
+import com.caoccao.qjs4j.core.JSString;
+import com.caoccao.qjs4j.core.JSUndefined;
+import com.caoccao.qjs4j.core.JSValue;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StackFramePoolTest extends BaseTest {
+    private String evalString(String code) {
+        JSValue value = context.eval(code);
+        assertThat(value).isInstanceOf(JSString.class);
+        return ((JSString) value).value();
+    }
+
+    @Test
+    public void testArgumentsObjectSurvivesRecycledCalls() {
+        assertThat(evalString("""
+                function keep() { return arguments; }
+                function other(a, b) { return a + b; }
+                const kept = keep('x', 'y');
+                for (let i = 0; i < 100; i++) other(i, i);
+                kept[0] + kept[1] + kept.length;""")).isEqualTo("xy2");
+    }
+
+    @Test
+    public void testClosureSurvivesRecycledCalls() {
+        assertThat(evalString("""
+                function counter(start) { let n = start; return () => n++; }
+                function noise(a, b) { const t = a * b; return t; }
+                const c = counter(10);
+                for (let i = 0; i < 100; i++) noise(i, i);
+                c(); noise(1, 2);
+                String(c());""")).isEqualTo("11");
+    }
+
+    @Test
+    public void testEvalFrameSurvivesRecycledCalls() {
+        assertThat(evalString("""
+                function withEval(v) { var local = v; return function () { return eval('local'); }; }
+                function noise(a) { var x = a + 1; return x; }
+                const f = withEval('kept');
+                for (let i = 0; i < 100; i++) noise(i);
+                f();""")).isEqualTo("kept");
+    }
+
+    @Test
+    public void testGeneratorFrameSurvivesRecycledCalls() {
+        assertThat(evalString("""
+                function* gen(a) { let local = a; yield local; local += 1; yield local; }
+                function noise(a, b) { const t = a - b; return t; }
+                const it = gen(5);
+                const first = it.next().value;
+                for (let i = 0; i < 100; i++) noise(i, 1);
+                const second = it.next().value;
+                first + ',' + second;""")).isEqualTo("5,6");
+    }
+
+    @Test
+    public void testMarkEscapedPropagatesToCallers() {
+        StackFrame outer = new StackFrame(null, JSUndefined.INSTANCE, JSValue.NO_ARGS, 0, null, JSUndefined.INSTANCE, 0);
+        StackFrame inner = new StackFrame(null, JSUndefined.INSTANCE, JSValue.NO_ARGS, 0, outer, JSUndefined.INSTANCE, 0);
+        assertThat(outer.isEscaped()).isFalse();
+        assertThat(inner.isEscaped()).isFalse();
+        inner.markEscaped();
+        assertThat(inner.isEscaped()).isTrue();
+        assertThat(outer.isEscaped()).isTrue();
+    }
+
+    @Test
+    public void testRecursiveCallsReuseFrames() {
+        assertThat(evalString("""
+                function sum(n) { const half = n >> 1; return n === 0 ? 0 : n + sum(n - 1) + half - half; }
+                let total = 0;
+                for (let i = 0; i < 50; i++) total += sum(20);
+                String(total);""")).isEqualTo("10500");
+    }
+}